@@ -27,7 +27,6 @@ import eu.europa.esig.dss.asic.common.ASiCContent;
 import eu.europa.esig.dss.asic.common.ASiCUtils;
 import eu.europa.esig.dss.asic.common.extract.DefaultASiCContainerExtractor;
 import eu.europa.esig.dss.asic.common.validation.ASiCManifestParser;
-import eu.europa.esig.dss.asic.common.validation.ASiCManifestValidator;
 import eu.europa.esig.dss.asic.common.validation.AbstractASiCContainerAnalyzer;
 import eu.europa.esig.dss.cades.validation.CAdESSignature;
 import eu.europa.esig.dss.cades.validation.CMSDocumentAnalyzer;
@@ -267,8 +266,6 @@ public class ASiCContainerWithCAdESAnalyzer extends AbstractASiCContainerAnalyze
 		for (DSSDocument manifestDocument : manifestDocuments) {
 			ManifestFile manifestFile = ASiCManifestParser.getManifestFile(manifestDocument);
 			if (manifestFile != null) {
-				ASiCManifestValidator asiceWithCAdESManifestValidator = new ASiCManifestValidator(manifestFile, getAllDocuments());
-				asiceWithCAdESManifestValidator.validateEntries();
 				descriptions.add(manifestFile);
 			}
 		}
@@ -278,8 +275,6 @@ public class ASiCContainerWithCAdESAnalyzer extends AbstractASiCContainerAnalyze
 			ManifestFile manifestFile = ASiCManifestParser.getManifestFile(manifestDocument);
 			if (manifestFile != null) {
 				manifestFile.setManifestType(ASiCManifestTypeEnum.ARCHIVE_MANIFEST);
-				ASiCManifestValidator asiceWithCAdESManifestValidator = new ASiCManifestValidator(manifestFile, getAllDocuments());
-				asiceWithCAdESManifestValidator.validateEntries();
 				descriptions.add(manifestFile);
 			}
 		}
@@ -289,12 +284,12 @@ public class ASiCContainerWithCAdESAnalyzer extends AbstractASiCContainerAnalyze
 			ManifestFile manifestFile = ASiCManifestParser.getManifestFile(manifestDocument);
 			if (manifestFile != null) {
 				manifestFile.setManifestType(ASiCManifestTypeEnum.EVIDENCE_RECORD);
-				ASiCManifestValidator asiceWithCAdESManifestValidator = new ASiCManifestValidator(manifestFile, getAllDocuments());
-				asiceWithCAdESManifestValidator.validateEntries();
 				descriptions.add(manifestFile);
 			}
 		}
 
+		validateManifestEntries(descriptions);
+
 		return descriptions;
 	}
 	
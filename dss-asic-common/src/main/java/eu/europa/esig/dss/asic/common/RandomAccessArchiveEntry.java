@@ -0,0 +1,414 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.SeekableDSSDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Internal class that is used for performance purposes, accessing a ZIP-archive entry on request
+ * directly from its offset within the archive, as located by {@code ZipCentralDirectoryReader}.
+ * <p>
+ * The content is decompressed while being read. The size and CRC-32 of the read content
+ * are verified against the values from the central directory.
+ * <p>
+ * The complete entry record (local file header, compressed data and data descriptor) and the central directory
+ * record are available to copy the entry to a new archive without recompression.
+ *
+ */
+@SuppressWarnings("serial")
+public class RandomAccessArchiveEntry extends CommonDocument implements DSSZipEntryDocument {
+
+    /** The size of a buffer used to read the archive file */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Document representing a ZIP-container */
+    private final DSSDocument zipArchive;
+
+    /** Contains metadata about the extracted entry */
+    private final DSSZipEntry dssZipEntry;
+
+    /** The compression method of the entry */
+    private final int method;
+
+    /** The offset of the entry (compressed) data within the archive file */
+    private final long dataOffset;
+
+    /** The size of the compressed data */
+    private final long compressedSize;
+
+    /** The size of the uncompressed data */
+    private final long size;
+
+    /** The CRC-32 checksum of the uncompressed data */
+    private final long crc;
+
+    /** The offset of the local file header within the archive */
+    private final long localHeaderOffset;
+
+    /** The length of the complete entry record (local file header, data and data descriptor) */
+    private final long recordLength;
+
+    /** The binaries of the central directory file header of the entry */
+    private final byte[] centralDirectoryRecord;
+
+    /** The entry name as defined within the archive */
+    private final String originalName;
+
+    /**
+     * Default constructor
+     *
+     * @param zipArchive {@link DSSDocument} representing a ZIP-container
+     * @param zipEntry {@link ZipEntry} containing metadata for zip container entry, with known sizes and CRC
+     * @param dataOffset the offset of the entry data within the ZIP-container
+     * @param localHeaderOffset the offset of the local file header of the entry within the ZIP-container
+     * @param recordLength the length of the complete entry record within the ZIP-container
+     * @param centralDirectoryRecord the binaries of the central directory file header of the entry
+     */
+    protected RandomAccessArchiveEntry(final DSSDocument zipArchive, final ZipEntry zipEntry, final long dataOffset,
+                                       final long localHeaderOffset, final long recordLength,
+                                       final byte[] centralDirectoryRecord) {
+        Objects.requireNonNull(zipArchive, "ZIP Archive cannot be null!");
+        Objects.requireNonNull(zipEntry, "ZIP Entry cannot be null!");
+        this.zipArchive = zipArchive;
+        this.dssZipEntry = new DSSZipEntry(zipEntry);
+        this.method = zipEntry.getMethod();
+        this.dataOffset = dataOffset;
+        this.compressedSize = zipEntry.getCompressedSize();
+        this.size = zipEntry.getSize();
+        this.crc = zipEntry.getCrc();
+        this.localHeaderOffset = localHeaderOffset;
+        this.recordLength = recordLength;
+        this.centralDirectoryRecord = centralDirectoryRecord;
+        this.originalName = zipEntry.getName();
+        this.name = dssZipEntry.getName();
+        this.mimeType = MimeType.fromFileName(dssZipEntry.getName());
+    }
+
+    @Override
+    public InputStream openStream() {
+        try {
+            return new VerifyingInputStream(new ArchiveEntryInputStream());
+        } catch (IOException e) {
+            throw new DSSException("Unable to create an InputStream", e);
+        }
+    }
+
+    @Override
+    public void setName(String name) {
+        super.setName(name);
+        dssZipEntry.setName(name);
+    }
+
+    @Override
+    public DSSZipEntry getZipEntry() {
+        return dssZipEntry;
+    }
+
+    /**
+     * Checks whether the entry can be copied to a new archive as is, i.e. it has not been renamed
+     *
+     * @return TRUE if the entry record can be copied without changes, FALSE otherwise
+     */
+    boolean isRecordCopyable() {
+        return originalName.equals(dssZipEntry.getName());
+    }
+
+    /**
+     * Gets the length of the complete entry record (local file header, compressed data and data descriptor)
+     *
+     * @return record length
+     */
+    long getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * Gets a copy of the central directory file header of the entry
+     *
+     * @return central directory record binaries
+     */
+    byte[] getCentralDirectoryRecord() {
+        return centralDirectoryRecord.clone();
+    }
+
+    /**
+     * Opens an InputStream of the complete entry record (local file header, compressed data and data descriptor)
+     *
+     * @return {@link InputStream}
+     * @throws IOException if an error occurs during the archive access
+     */
+    InputStream openRecordStream() throws IOException {
+        return new RawDataInputStream(localHeaderOffset, recordLength);
+    }
+
+    /**
+     * Reads the raw binaries of the archive, starting from the given offset
+     */
+    private class RawDataInputStream extends InputStream {
+
+        /** The archive stream */
+        private final InputStream is;
+
+        /** The remaining number of bytes to read */
+        private long remaining;
+
+        /**
+         * Default constructor
+         *
+         * @param offset the offset within the archive to start reading from
+         * @param length the number of bytes to read
+         * @throws IOException if an error occurs during the archive access
+         */
+        RawDataInputStream(long offset, long length) throws IOException {
+            this.remaining = length;
+            if (zipArchive instanceof SeekableDSSDocument) {
+                // reads the range directly, without going through the preceding entries
+                this.is = ((SeekableDSSDocument) zipArchive).openStream(offset, length);
+            } else {
+                this.is = zipArchive.openStream();
+                try {
+                    skipFully(is, offset);
+                } catch (IOException e) {
+                    is.close();
+                    throw e;
+                }
+            }
+        }
+
+        private void skipFully(InputStream inputStream, long n) throws IOException {
+            long toSkip = n;
+            while (toSkip > 0) {
+                long skipped = inputStream.skip(toSkip);
+                if (skipped <= 0) {
+                    if (inputStream.read() == -1) {
+                        throw new ZipException("Unexpected end of the ZIP archive!");
+                    }
+                    skipped = 1;
+                }
+                toSkip -= skipped;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int toRead = (int) Math.min(len, remaining);
+            int nRead = is.read(b, off, toRead);
+            if (nRead == -1) {
+                throw new ZipException("Unexpected end of the ZIP entry data!");
+            }
+            remaining -= nRead;
+            return nRead;
+        }
+
+        @Override
+        public void close() throws IOException {
+            is.close();
+        }
+
+    }
+
+    /**
+     * Returns the uncompressed content of the entry
+     */
+    private class ArchiveEntryInputStream extends InputStream {
+
+        /** Raw data of the entry */
+        private final RawDataInputStream rawDataInputStream;
+
+        /** Uncompressed data of the entry */
+        private final InputStream contentInputStream;
+
+        /** The inflater, when the data is compressed */
+        private final Inflater inflater;
+
+        /**
+         * Default constructor
+         *
+         * @throws IOException if an error occurs during the archive file access
+         */
+        ArchiveEntryInputStream() throws IOException {
+            this.rawDataInputStream = new RawDataInputStream(dataOffset, compressedSize);
+            if (ZipEntry.DEFLATED == method) {
+                this.inflater = new Inflater(true);
+                this.contentInputStream = new EntryInflaterInputStream(rawDataInputStream, inflater);
+            } else {
+                this.inflater = null;
+                this.contentInputStream = rawDataInputStream;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            return contentInputStream.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return contentInputStream.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                contentInputStream.close();
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Inflates the "nowrap" DEFLATE data, providing an extra dummy byte at the end of the input
+     * as required by {@code java.util.zip.Inflater}
+     */
+    private static class EntryInflaterInputStream extends InflaterInputStream {
+
+        /** Whether the dummy byte has been provided */
+        private boolean eof = false;
+
+        /**
+         * Default constructor
+         *
+         * @param in {@link InputStream} of the compressed data
+         * @param inflater {@link Inflater}
+         */
+        EntryInflaterInputStream(InputStream in, Inflater inflater) {
+            super(in, inflater, BUFFER_SIZE);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new ZipException("Unexpected end of the ZIP entry data!");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+    }
+
+    /**
+     * Verifies the size and CRC-32 of the read content. The verification of the size prevents a "zip bombing",
+     * as the read content is not allowed to exceed the size declared within the central directory
+     */
+    private class VerifyingInputStream extends InputStream {
+
+        /** The uncompressed content */
+        private final InputStream in;
+
+        /** Computes CRC-32 of the read content */
+        private final CRC32 crc32 = new CRC32();
+
+        /** The number of read bytes */
+        private long counter = 0;
+
+        /**
+         * Default constructor
+         *
+         * @param in {@link InputStream} of the uncompressed content
+         */
+        VerifyingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int nRead = in.read(b, off, len);
+            if (nRead == -1) {
+                if (counter != size || crc32.getValue() != crc) {
+                    throw new ZipException(String.format("Invalid content of the ZIP entry with name '%s'!", name));
+                }
+                return -1;
+            }
+            counter += nRead;
+            if (counter > size) {
+                throw new ZipException(String.format(
+                        "The content of the ZIP entry with name '%s' exceeds the declared size!", name));
+            }
+            crc32.update(b, off, nRead);
+            return nRead;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        if (!super.equals(object)) return false;
+
+        RandomAccessArchiveEntry that = (RandomAccessArchiveEntry) object;
+        return localHeaderOffset == that.localHeaderOffset
+                && zipArchive.equals(that.zipArchive)
+                && dssZipEntry.equals(that.dssZipEntry);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + zipArchive.hashCode();
+        result = 31 * result + dssZipEntry.hashCode();
+        result = 31 * result + Long.hashCode(localHeaderOffset);
+        return result;
+    }
+
+}
@@ -33,13 +33,18 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -61,6 +66,21 @@ public class SecureContainerHandler implements ZipContainerHandler {
 	/** The mimetype filename */
 	public static final String MIMETYPE = "mimetype";
 
+	/** End of central directory record signature */
+	private static final int EOCD_SIGNATURE = 0x06054b50;
+
+	/** The length of the end of central directory record (without comment) */
+	private static final int EOCD_LENGTH = 22;
+
+	/** The position of the local file header offset within the central directory file header */
+	private static final int CEN_OFFSET_POSITION = 42;
+
+	/** The maximum value of 16-bit fields, indicating ZIP64 extensions are required */
+	private static final int ZIP64_MAGIC_SHORT = 0xFFFF;
+
+	/** The maximum value of 32-bit fields, indicating ZIP64 extensions are required */
+	private static final long ZIP64_MAGIC_INT = 0xFFFFFFFFL;
+
 	/**
 	 * Minimum file size to be analyzed on zip bombing
 	 */
@@ -87,6 +107,13 @@ public class SecureContainerHandler implements ZipContainerHandler {
 	 */
 	private boolean extractComments = false;
 
+	/**
+	 * Defines whether entries of a ZIP archive represented by a {@code FileDocument} shall be read
+	 * from the central directory, with a lazy access to the entries content.
+	 * Default : false (all entries are read sequentially)
+	 */
+	private boolean readCentralDirectory = false;
+
 	/**
 	 * Internal variable used to calculate the extracted entries size
 	 * NOTE: shall be reset on every use
@@ -181,6 +208,30 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		this.extractComments = extractComments;
 	}
 
+	/**
+	 * Sets whether entries of a ZIP archive represented by a {@code FileDocument} shall be read
+	 * from the central directory of the archive.
+	 *
+	 * When enabled, the central directory is read once and the entries are returned as
+	 * {@code RandomAccessArchiveEntry}s, decompressing the content only on request (e.g. on digest computation).
+	 * The extraction time then does not depend on the size of the entries, which is useful for large containers.
+	 * The zip-bombing is controlled based on the entry sizes declared within the central directory, which are
+	 * enforced when reading the entries content.
+	 *
+	 * If the archive is not consistent (e.g. local file headers do not match the central directory),
+	 * or uses unsupported features (e.g. encryption), the entries are read sequentially.
+	 *
+	 * When a new archive is created from the extracted entries (e.g. on a signature extension),
+	 * the records of untouched entries are copied as is, without decompression or recompression.
+	 *
+	 * Default : false (all entries are read sequentially)
+	 *
+	 * @param readCentralDirectory whether entries shall be read from the central directory
+	 */
+	public void setReadCentralDirectory(boolean readCentralDirectory) {
+		this.readCentralDirectory = readCentralDirectory;
+	}
+
 	/**
 	 * Sets {@code DSSResourcesFactoryBuilder} to be used for a {@code DSSResourcesHandler}
 	 * creation in internal methods.
@@ -198,6 +249,11 @@ public class SecureContainerHandler implements ZipContainerHandler {
 	public List<DSSDocument> extractContainerContent(DSSDocument zipArchive) {
 		resetCounters();
 
+		List<RandomAccessArchiveEntry> centralDirectoryEntries = readCentralDirectoryEntries(zipArchive);
+		if (centralDirectoryEntries != null) {
+			return new ArrayList<>(centralDirectoryEntries);
+		}
+
 		List<DSSDocument> result = new ArrayList<>();
 		if (isInFileProcessingSupported(zipArchive)) {
 			FileDocument zipFileDocument = (FileDocument) zipArchive;
@@ -227,6 +283,37 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		return result;
 	}
 
+	/**
+	 * Reads entries of the {@code zipArchive} from its central directory, when the processing is enabled
+	 * and supported for the given archive
+	 *
+	 * @param zipArchive {@link DSSDocument} to read
+	 * @return a list of {@link RandomAccessArchiveEntry}s, or NULL if the entries shall be read sequentially
+	 */
+	private List<RandomAccessArchiveEntry> readCentralDirectoryEntries(DSSDocument zipArchive) {
+		if (!readCentralDirectory || !(zipArchive instanceof FileDocument)) {
+			return null;
+		}
+		List<RandomAccessArchiveEntry> entries;
+		try {
+			ZipCentralDirectoryReader centralDirectoryReader = new ZipCentralDirectoryReader((FileDocument) zipArchive);
+			centralDirectoryReader.setExtractComments(extractComments);
+			entries = centralDirectoryReader.readEntries();
+		} catch (IOException e) {
+			LOG.warn("Unable to read the central directory of archive with name '{}'. " +
+					"Continue with ZipInputStream... Reason : {}", zipArchive.getName(), e.getMessage());
+			return null;
+		}
+		assertCollectionSizeValid(entries);
+
+		long allowedSize = DSSUtils.getFileByteSize(zipArchive) * maxCompressionRatio;
+		for (RandomAccessArchiveEntry entry : entries) {
+			byteCounter += entry.getZipEntry().getSize();
+			assertExtractEntryLengthValid(allowedSize);
+		}
+		return entries;
+	}
+
 	/**
 	 * This method used to verify whether the provided archive container is supported by
 	 * java.util.zip.ZipFile implementation
@@ -266,6 +353,13 @@ public class SecureContainerHandler implements ZipContainerHandler {
 
 	@Override
 	public List<String> extractEntryNames(DSSDocument zipArchive) {
+		resetCounters();
+
+		List<RandomAccessArchiveEntry> centralDirectoryEntries = readCentralDirectoryEntries(zipArchive);
+		if (centralDirectoryEntries != null) {
+			return centralDirectoryEntries.stream().map(DSSDocument::getName).collect(Collectors.toList());
+		}
+
 		List<ZipEntry> zipEntries = extractZipEntries(zipArchive);
 		if (Utils.isCollectionNotEmpty(zipEntries)) {
 			return zipEntries.stream().map(ZipEntry::getName).collect(Collectors.toList());
@@ -319,6 +413,14 @@ public class SecureContainerHandler implements ZipContainerHandler {
 
 	@Override
 	public DSSDocument createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment) {
+		if (containsCopyableRecords(containerEntries)) {
+			DSSDocument zipArchive = createZipArchiveWithRecordsCopy(containerEntries, creationTime, zipComment);
+			if (zipArchive != null) {
+				return zipArchive;
+			}
+			LOG.debug("Unable to copy the ZIP entry records. Continue with a complete archive creation...");
+		}
+
 		try (DSSResourcesHandler dssResourcesHandler = instantiateResourcesHandler();
 			 OutputStream os = dssResourcesHandler.createOutputStream(); ZipOutputStream zos = new ZipOutputStream(os)) {
 			buildZip(containerEntries, creationTime, zipComment, zos);
@@ -328,6 +430,203 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		}
 	}
 
+	private boolean containsCopyableRecords(List<DSSDocument> containerEntries) {
+		for (DSSDocument entry : containerEntries) {
+			if (isCopyableRecord(entry)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isCopyableRecord(DSSDocument entry) {
+		// the mimetype is always re-created in order to ensure it is not compressed
+		return entry instanceof RandomAccessArchiveEntry && ((RandomAccessArchiveEntry) entry).isRecordCopyable()
+				&& !MIMETYPE.equals(entry.getName());
+	}
+
+	/**
+	 * Creates a ZIP-archive by copying the records of the untouched entries (extracted from the central directory
+	 * of an existing archive) as they are, without decompression, recompression and CRC computation.
+	 * Only new or modified entries are compressed. A new central directory is written.
+	 * <p>
+	 * NOTE: the copied entries keep their original metadata (e.g. modification time).
+	 *
+	 * @param containerEntries a list of {@link DSSDocument}s to store
+	 * @param creationTime {@link Date} ZIP archive creation time, used for the new entries
+	 * @param zipComment {@link String} zip comment (optional)
+	 * @return {@link DSSDocument} ZIP-Archive, or NULL if the archive cannot be created by copying records
+	 *         (e.g. when ZIP64 extensions are required)
+	 */
+	private DSSDocument createZipArchiveWithRecordsCopy(List<DSSDocument> containerEntries, Date creationTime,
+														String zipComment) {
+		byte[] zipCommentBytes = zipComment != null ? zipComment.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		if (containerEntries.size() >= ZIP64_MAGIC_SHORT || zipCommentBytes.length > ZIP64_MAGIC_SHORT) {
+			return null;
+		}
+
+		DSSDocument newEntriesArchive = null;
+		try {
+			List<DSSDocument> newEntries = getNewEntries(containerEntries);
+			if (!newEntries.isEmpty()) {
+				newEntriesArchive = createNewEntriesArchive(newEntries, creationTime);
+				if (newEntriesArchive == null) {
+					return null;
+				}
+			}
+			List<RandomAccessArchiveEntry> records = getEntryRecords(containerEntries, newEntries, newEntriesArchive);
+			if (records == null) {
+				return null;
+			}
+			return createZipArchiveWithRecords(records, zipCommentBytes);
+
+		} finally {
+			// the new entries are copied from the temporary archive, which is no longer needed
+			deleteTemporaryDocument(newEntriesArchive);
+		}
+	}
+
+	private DSSDocument createZipArchiveWithRecords(List<RandomAccessArchiveEntry> records, byte[] zipCommentBytes) {
+		long offset = 0;
+		for (RandomAccessArchiveEntry record : records) {
+			if (offset >= ZIP64_MAGIC_INT || getInt(record.getCentralDirectoryRecord(), CEN_OFFSET_POSITION) == ZIP64_MAGIC_INT) {
+				return null;
+			}
+			offset += record.getRecordLength();
+		}
+		if (offset >= ZIP64_MAGIC_INT) {
+			return null;
+		}
+
+		try (DSSResourcesHandler dssResourcesHandler = instantiateResourcesHandler();
+			 OutputStream os = dssResourcesHandler.createOutputStream();
+			 ByteArrayOutputStream cen = new ByteArrayOutputStream()) {
+			offset = 0;
+			for (RandomAccessArchiveEntry record : records) {
+				try (InputStream is = record.openRecordStream()) {
+					Utils.copy(is, os);
+				}
+				byte[] cenRecord = record.getCentralDirectoryRecord();
+				setInt(cenRecord, CEN_OFFSET_POSITION, offset);
+				cen.write(cenRecord);
+				offset += record.getRecordLength();
+			}
+			cen.writeTo(os);
+
+			byte[] eocd = new byte[EOCD_LENGTH];
+			setInt(eocd, 0, EOCD_SIGNATURE);
+			setShort(eocd, 8, records.size());
+			setShort(eocd, 10, records.size());
+			setInt(eocd, 12, cen.size());
+			setInt(eocd, 16, offset);
+			setShort(eocd, 20, zipCommentBytes.length);
+			os.write(eocd);
+			os.write(zipCommentBytes);
+			os.flush();
+
+			return dssResourcesHandler.writeToDSSDocument();
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to create an ASiC container. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	private List<DSSDocument> getNewEntries(List<DSSDocument> containerEntries) {
+		List<DSSDocument> newEntries = new ArrayList<>();
+		for (DSSDocument entry : containerEntries) {
+			if (!isCopyableRecord(entry)) {
+				newEntries.add(entry);
+			}
+		}
+		return newEntries;
+	}
+
+	/**
+	 * Compresses the new entries to a temporary archive, in order to obtain their records
+	 *
+	 * @param newEntries a list of {@link DSSDocument}s to be compressed
+	 * @param creationTime {@link Date} ZIP archive creation time
+	 * @return {@link DSSDocument} temporary archive, or NULL if the archive cannot be created
+	 */
+	private DSSDocument createNewEntriesArchive(List<DSSDocument> newEntries, Date creationTime) {
+		try (DSSResourcesHandler dssResourcesHandler = instantiateResourcesHandler();
+			 OutputStream os = dssResourcesHandler.createOutputStream(); ZipOutputStream zos = new ZipOutputStream(os)) {
+			buildZip(newEntries, creationTime, null, zos);
+			return dssResourcesHandler.writeToDSSDocument();
+		} catch (IOException e) {
+			LOG.debug("Unable to create a temporary archive of the new ZIP entries. Reason : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the records to be written for the given {@code containerEntries}, in the same order
+	 *
+	 * @param containerEntries a list of {@link DSSDocument}s to store
+	 * @param newEntries a list of {@link DSSDocument}s which records cannot be copied
+	 * @param newEntriesArchive {@link DSSDocument} temporary archive containing the {@code newEntries}
+	 * @return a list of {@link RandomAccessArchiveEntry}s, or NULL if the records cannot be obtained
+	 */
+	private List<RandomAccessArchiveEntry> getEntryRecords(List<DSSDocument> containerEntries,
+														   List<DSSDocument> newEntries, DSSDocument newEntriesArchive) {
+		List<RandomAccessArchiveEntry> newRecords = Collections.emptyList();
+		if (newEntriesArchive != null) {
+			try {
+				newRecords = new ZipCentralDirectoryReader(newEntriesArchive).readEntries();
+			} catch (IOException e) {
+				LOG.debug("Unable to read records of the new ZIP entries. Reason : {}", e.getMessage());
+				return null;
+			}
+		}
+		if (newRecords.size() != newEntries.size()) {
+			return null;
+		}
+
+		List<RandomAccessArchiveEntry> records = new ArrayList<>();
+		Iterator<RandomAccessArchiveEntry> newRecordsIt = newRecords.iterator();
+		for (DSSDocument entry : containerEntries) {
+			records.add(isCopyableRecord(entry) ? (RandomAccessArchiveEntry) entry : newRecordsIt.next());
+		}
+		return records;
+	}
+
+	/**
+	 * Removes the file of a temporary document created by the resources handler, when applicable
+	 * (e.g. when a {@code TempFileResourcesHandlerBuilder} is used)
+	 *
+	 * @param document {@link DSSDocument} temporary document
+	 */
+	private void deleteTemporaryDocument(DSSDocument document) {
+		if (document instanceof FileDocument) {
+			File file = ((FileDocument) document).getFile();
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException e) {
+				String errorMessage = "Unable to remove a temporary file '{}'. Reason : {}";
+				if (LOG.isDebugEnabled()) {
+					LOG.warn(errorMessage, file.getName(), e.getMessage(), e);
+				} else {
+					LOG.warn(errorMessage, file.getName(), e.getMessage());
+				}
+			}
+		}
+	}
+
+	private static long getInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xffL) | ((bytes[offset + 1] & 0xffL) << 8)
+				| ((bytes[offset + 2] & 0xffL) << 16) | ((bytes[offset + 3] & 0xffL) << 24);
+	}
+
+	private static void setShort(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) value;
+		bytes[offset + 1] = (byte) (value >> 8);
+	}
+
+	private static void setInt(byte[] bytes, int offset, long value) {
+		setShort(bytes, offset, (int) value);
+		setShort(bytes, offset + 2, (int) (value >> 16));
+	}
+
 	/**
 	 * This method instantiates a new {@code DSSResourcesFactory}
 	 *
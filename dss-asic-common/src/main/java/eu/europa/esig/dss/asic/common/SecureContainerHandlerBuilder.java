@@ -58,6 +58,13 @@ public class SecureContainerHandlerBuilder implements ZipContainerHandlerBuilder
      */
     private boolean extractComments = false;
 
+    /**
+     * Defines whether entries of a ZIP archive represented by a {@code FileDocument} shall be read
+     * from the central directory, with a lazy access to the entries content.
+     * Default : false (all entries are read sequentially)
+     */
+    private boolean readCentralDirectory = false;
+
     /**
      * The builder to be used to create a new {@code DSSResourcesHandler} for each internal call,
      * defining a way working with internal resources (e.g. in memory or by using temporary files).
@@ -150,6 +157,23 @@ public class SecureContainerHandlerBuilder implements ZipContainerHandlerBuilder
         return this;
     }
 
+    /**
+     * Sets whether entries of a ZIP archive represented by a {@code FileDocument} shall be read
+     * from the central directory of the archive.
+     * <p>
+     * When enabled, the central directory is read once and the entries content is decompressed only on request.
+     * See {@code SecureContainerHandler#setReadCentralDirectory} for more details.
+     * <p>
+     * Default : false (all entries are read sequentially)
+     *
+     * @param readCentralDirectory whether entries shall be read from the central directory
+     * @return {@link SecureContainerHandlerBuilder}
+     */
+    public SecureContainerHandlerBuilder setReadCentralDirectory(boolean readCentralDirectory) {
+        this.readCentralDirectory = readCentralDirectory;
+        return this;
+    }
+
     /**
      * Sets {@code DSSResourcesFactoryBuilder} to be used for a {@code DSSResourcesHandler}
      * creation in internal methods.
@@ -173,6 +197,7 @@ public class SecureContainerHandlerBuilder implements ZipContainerHandlerBuilder
         secureContainerHandler.setMaxAllowedFilesAmount(maxAllowedFilesAmount);
         secureContainerHandler.setMaxMalformedFiles(maxMalformedFiles);
         secureContainerHandler.setExtractComments(extractComments);
+        secureContainerHandler.setReadCentralDirectory(readCentralDirectory);
         secureContainerHandler.setResourcesHandlerBuilder(resourcesHandlerBuilder);
         return secureContainerHandler;
     }
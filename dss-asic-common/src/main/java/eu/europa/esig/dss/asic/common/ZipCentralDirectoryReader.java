@@ -0,0 +1,477 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the entries of a ZIP-archive from its central directory, without decompressing the entries content.
+ * The entries are returned as {@code RandomAccessArchiveEntry}s, decompressing the content on request
+ * from the known offset within the archive. The location of the complete entry record within the archive
+ * is kept as well, allowing to copy the entry to a new archive without recompression.
+ * <p>
+ * The reader is strict: the local file header of every entry shall be consistent with the central directory.
+ * Encrypted entries and compression methods other than STORED or DEFLATED are not supported.
+ * A {@code ZipException} is thrown in such cases, in order to let the caller continue with a sequential processing.
+ *
+ */
+public class ZipCentralDirectoryReader {
+
+    /** End of central directory record signature */
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+
+    /** ZIP64 end of central directory locator signature */
+    private static final int ZIP64_EOCD_LOCATOR_SIGNATURE = 0x07064b50;
+
+    /** ZIP64 end of central directory record signature */
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+
+    /** Central directory file header signature */
+    private static final int CEN_SIGNATURE = 0x02014b50;
+
+    /** Local file header signature */
+    private static final int LOC_SIGNATURE = 0x04034b50;
+
+    /** Data descriptor signature */
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    /** ZIP64 extended information extra field header id */
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    /** The fixed length of the end of central directory record */
+    private static final int EOCD_LENGTH = 22;
+
+    /** The fixed length of the ZIP64 end of central directory locator */
+    private static final int ZIP64_EOCD_LOCATOR_LENGTH = 20;
+
+    /** The fixed length of the ZIP64 end of central directory record */
+    private static final int ZIP64_EOCD_LENGTH = 56;
+
+    /** The fixed length of the central directory file header */
+    private static final int CEN_LENGTH = 46;
+
+    /** The fixed length of the local file header */
+    private static final int LOC_LENGTH = 30;
+
+    /** The maximum length of the archive comment */
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    /** The value of 16-bit fields indicating the value is present in a ZIP64 record */
+    private static final int ZIP64_MAGIC_SHORT = 0xFFFF;
+
+    /** The value of 32-bit fields indicating the value is present in a ZIP64 extra field */
+    private static final long ZIP64_MAGIC_INT = 0xFFFFFFFFL;
+
+    /** The flag indicating the sizes and CRC-32 are provided in a data descriptor following the entry data */
+    private static final int DATA_DESCRIPTOR_FLAG = 0x08;
+
+    /** The ZIP-archive to read */
+    private final DSSDocument zipArchive;
+
+    /** Defines whether comments of ZIP entries shall be extracted */
+    private boolean extractComments = false;
+
+    /**
+     * Default constructor
+     *
+     * @param zipArchive {@link DSSDocument} representing a ZIP-archive. {@link FileDocument} is accessed
+     *                   directly within the file system, other documents are read in memory
+     */
+    public ZipCentralDirectoryReader(final DSSDocument zipArchive) {
+        Objects.requireNonNull(zipArchive, "ZIP Archive cannot be null!");
+        this.zipArchive = zipArchive;
+    }
+
+    /**
+     * Sets whether comments of ZIP entries shall be extracted
+     * <p>
+     * Default : false (not extracted)
+     *
+     * @param extractComments whether comments shall be extracted
+     */
+    public void setExtractComments(boolean extractComments) {
+        this.extractComments = extractComments;
+    }
+
+    /**
+     * Reads the central directory of the ZIP-archive and returns the entries in the order of the central directory
+     *
+     * @return a list of {@link RandomAccessArchiveEntry}s
+     * @throws IOException if the archive cannot be read or is not consistent
+     */
+    public List<RandomAccessArchiveEntry> readEntries() throws IOException {
+        try (ArchiveSource source = openArchiveSource()) {
+            final long archiveLength = source.length();
+            final long eocdPosition = findEndOfCentralDirectory(source, archiveLength);
+
+            byte[] eocd = source.read(eocdPosition, EOCD_LENGTH);
+            long entriesNumber = getShort(eocd, 10);
+            long cenSize = getInt(eocd, 12);
+            long cenOffset = getInt(eocd, 16);
+            long cenEnd = eocdPosition;
+
+            if (entriesNumber == ZIP64_MAGIC_SHORT || cenSize == ZIP64_MAGIC_INT || cenOffset == ZIP64_MAGIC_INT) {
+                long locatorPosition = eocdPosition - ZIP64_EOCD_LOCATOR_LENGTH;
+                if (locatorPosition < 0) {
+                    throw new ZipException("ZIP64 end of central directory locator is not found!");
+                }
+                byte[] locator = source.read(locatorPosition, ZIP64_EOCD_LOCATOR_LENGTH);
+                assertSignature(locator, ZIP64_EOCD_LOCATOR_SIGNATURE, "ZIP64 end of central directory locator");
+                long zip64EocdPosition = getLong(locator, 8);
+                if (zip64EocdPosition < 0 || zip64EocdPosition + ZIP64_EOCD_LENGTH > locatorPosition) {
+                    throw new ZipException("Invalid ZIP64 end of central directory offset!");
+                }
+                byte[] zip64Eocd = source.read(zip64EocdPosition, ZIP64_EOCD_LENGTH);
+                assertSignature(zip64Eocd, ZIP64_EOCD_SIGNATURE, "ZIP64 end of central directory");
+                entriesNumber = getLong(zip64Eocd, 32);
+                cenSize = getLong(zip64Eocd, 40);
+                cenOffset = getLong(zip64Eocd, 48);
+                cenEnd = zip64EocdPosition;
+            }
+
+            if (cenOffset < 0 || cenSize < 0 || cenOffset + cenSize != cenEnd || cenSize > Integer.MAX_VALUE) {
+                throw new ZipException("Invalid central directory location!");
+            }
+
+            byte[] cen = source.read(cenOffset, (int) cenSize);
+            List<RandomAccessArchiveEntry> entries = new ArrayList<>();
+            int position = 0;
+            while (position < cen.length) {
+                position = readEntry(source, cen, position, cenOffset, entries);
+            }
+            if (entries.size() != entriesNumber) {
+                throw new ZipException("The number of entries does not match the central directory!");
+            }
+            return entries;
+        }
+    }
+
+    private int readEntry(ArchiveSource source, byte[] cen, int position, long dataEnd,
+                          List<RandomAccessArchiveEntry> entries) throws IOException {
+        if (position + CEN_LENGTH > cen.length || getInt(cen, position) != CEN_SIGNATURE) {
+            throw new ZipException("Invalid central directory file header!");
+        }
+        int flags = getShort(cen, position + 8);
+        int method = getShort(cen, position + 10);
+        long dosTime = getInt(cen, position + 12);
+        long crc = getInt(cen, position + 16);
+        long compressedSize = getInt(cen, position + 20);
+        long size = getInt(cen, position + 24);
+        int nameLength = getShort(cen, position + 28);
+        int extraLength = getShort(cen, position + 30);
+        int commentLength = getShort(cen, position + 32);
+        long locOffset = getInt(cen, position + 42);
+
+        int namePosition = position + CEN_LENGTH;
+        int nextPosition = namePosition + nameLength + extraLength + commentLength;
+        if (nextPosition > cen.length) {
+            throw new ZipException("Invalid central directory file header length!");
+        }
+        if ((flags & 1) != 0) {
+            throw new ZipException("Encrypted ZIP entries are not supported!");
+        }
+        if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+            throw new ZipException(String.format("Unsupported compression method '%s'!", method));
+        }
+
+        if (size == ZIP64_MAGIC_INT || compressedSize == ZIP64_MAGIC_INT || locOffset == ZIP64_MAGIC_INT) {
+            long[] zip64Values = readZip64Extra(cen, namePosition + nameLength, extraLength,
+                    size == ZIP64_MAGIC_INT, compressedSize == ZIP64_MAGIC_INT, locOffset == ZIP64_MAGIC_INT);
+            size = zip64Values[0] != -1 ? zip64Values[0] : size;
+            compressedSize = zip64Values[1] != -1 ? zip64Values[1] : compressedSize;
+            locOffset = zip64Values[2] != -1 ? zip64Values[2] : locOffset;
+        }
+
+        byte[] nameBytes = Arrays.copyOfRange(cen, namePosition, namePosition + nameLength);
+        if (locOffset < 0 || locOffset + LOC_LENGTH > dataEnd) {
+            throw new ZipException("Invalid local file header offset!");
+        }
+        byte[] loc = source.read(locOffset, LOC_LENGTH);
+        assertSignature(loc, LOC_SIGNATURE, "local file header");
+        int locNameLength = getShort(loc, 26);
+        int locExtraLength = getShort(loc, 28);
+        long dataOffset = locOffset + LOC_LENGTH + locNameLength + locExtraLength;
+        if (dataOffset + compressedSize > dataEnd || size < 0 || compressedSize < 0) {
+            throw new ZipException("The entry data exceeds the archive boundaries!");
+        }
+        byte[] locNameAndExtra = source.read(locOffset + LOC_LENGTH, locNameLength + locExtraLength);
+        if (locNameLength != nameLength || !Arrays.equals(nameBytes, Arrays.copyOf(locNameAndExtra, locNameLength))) {
+            throw new ZipException("The local file header does not match the central directory!");
+        }
+        byte[] locExtra = Arrays.copyOfRange(locNameAndExtra, locNameLength, locNameAndExtra.length);
+
+        long recordLength = dataOffset + compressedSize - locOffset;
+        if ((flags & DATA_DESCRIPTOR_FLAG) != 0) {
+            recordLength += getDataDescriptorLength(source, dataOffset + compressedSize, dataEnd,
+                    hasZip64Extra(locExtra) || size >= ZIP64_MAGIC_INT || compressedSize >= ZIP64_MAGIC_INT);
+        }
+
+        ZipEntry zipEntry = new ZipEntry(new String(nameBytes, StandardCharsets.UTF_8));
+        zipEntry.setMethod(method);
+        long javaTime = dosToJavaTime(dosTime);
+        if (javaTime != -1) {
+            zipEntry.setTime(javaTime);
+        }
+        if (locExtraLength > 0) {
+            // the local header extra field contains all the extended timestamps, as read by ZipInputStream
+            zipEntry.setExtra(locExtra);
+        }
+        zipEntry.setCrc(crc);
+        zipEntry.setSize(size);
+        zipEntry.setCompressedSize(compressedSize);
+        if (extractComments && commentLength > 0) {
+            int commentPosition = namePosition + nameLength + extraLength;
+            zipEntry.setComment(new String(cen, commentPosition, commentLength, StandardCharsets.UTF_8));
+        }
+
+        byte[] cenRecord = Arrays.copyOfRange(cen, position, nextPosition);
+        entries.add(new RandomAccessArchiveEntry(zipArchive, zipEntry, dataOffset, locOffset, recordLength, cenRecord));
+        return nextPosition;
+    }
+
+    private int getDataDescriptorLength(ArchiveSource source, long position, long dataEnd, boolean zip64) throws IOException {
+        int length = zip64 ? 20 : 12;
+        if (position + 4 <= dataEnd && getInt(source.read(position, 4), 0) == DATA_DESCRIPTOR_SIGNATURE) {
+            length += 4;
+        }
+        if (position + length > dataEnd) {
+            throw new ZipException("The data descriptor exceeds the archive boundaries!");
+        }
+        return length;
+    }
+
+    private boolean hasZip64Extra(byte[] extra) {
+        int position = 0;
+        while (position + 4 <= extra.length) {
+            if (getShort(extra, position) == ZIP64_EXTRA_ID) {
+                return true;
+            }
+            position += 4 + getShort(extra, position + 2);
+        }
+        return false;
+    }
+
+    private long[] readZip64Extra(byte[] cen, int extraPosition, int extraLength,
+                                  boolean readSize, boolean readCompressedSize, boolean readOffset) throws ZipException {
+        long[] result = new long[] { -1, -1, -1 };
+        int position = extraPosition;
+        int end = extraPosition + extraLength;
+        while (position + 4 <= end) {
+            int headerId = getShort(cen, position);
+            int dataSize = getShort(cen, position + 2);
+            int dataPosition = position + 4;
+            if (dataPosition + dataSize > end) {
+                break;
+            }
+            if (headerId == ZIP64_EXTRA_ID) {
+                int valuePosition = dataPosition;
+                int dataEnd = dataPosition + dataSize;
+                if (readSize && valuePosition + 8 <= dataEnd) {
+                    result[0] = getLong(cen, valuePosition);
+                    valuePosition += 8;
+                }
+                if (readCompressedSize && valuePosition + 8 <= dataEnd) {
+                    result[1] = getLong(cen, valuePosition);
+                    valuePosition += 8;
+                }
+                if (readOffset && valuePosition + 8 <= dataEnd) {
+                    result[2] = getLong(cen, valuePosition);
+                }
+                return result;
+            }
+            position = dataPosition + dataSize;
+        }
+        throw new ZipException("ZIP64 extended information extra field is not found!");
+    }
+
+    private long findEndOfCentralDirectory(ArchiveSource source, long archiveLength) throws IOException {
+        if (archiveLength < EOCD_LENGTH) {
+            throw new ZipException("The file is too short to be a ZIP archive!");
+        }
+        int tailLength = (int) Math.min(archiveLength, EOCD_LENGTH + MAX_COMMENT_LENGTH);
+        long tailPosition = archiveLength - tailLength;
+        byte[] tail = source.read(tailPosition, tailLength);
+        for (int i = tailLength - EOCD_LENGTH; i >= 0; i--) {
+            if (getInt(tail, i) == EOCD_SIGNATURE && i + EOCD_LENGTH + getShort(tail, i + 20) == tailLength) {
+                return tailPosition + i;
+            }
+        }
+        throw new ZipException("End of central directory record is not found!");
+    }
+
+    private ArchiveSource openArchiveSource() throws IOException {
+        if (zipArchive instanceof FileDocument) {
+            return new FileArchiveSource(((FileDocument) zipArchive).getFile().getPath());
+        }
+        return new InMemoryArchiveSource(DSSUtils.toByteArray(zipArchive));
+    }
+
+    /**
+     * Provides a random access to the archive binaries
+     */
+    private interface ArchiveSource extends Closeable {
+
+        /**
+         * Returns the length of the archive
+         *
+         * @return archive length
+         * @throws IOException if an error occurs
+         */
+        long length() throws IOException;
+
+        /**
+         * Reads {@code length} bytes from the given {@code position}
+         *
+         * @param position the position within the archive
+         * @param length the number of bytes to read
+         * @return read bytes
+         * @throws IOException if an error occurs or the end of the archive is reached
+         */
+        byte[] read(long position, int length) throws IOException;
+
+    }
+
+    /**
+     * Reads the archive within the file system
+     */
+    private static class FileArchiveSource implements ArchiveSource {
+
+        /** The archive file */
+        private final RandomAccessFile raf;
+
+        /**
+         * Default constructor
+         *
+         * @param filePath path to the archive file
+         * @throws IOException if the file cannot be open
+         */
+        FileArchiveSource(String filePath) throws IOException {
+            this.raf = new RandomAccessFile(filePath, "r");
+        }
+
+        @Override
+        public long length() throws IOException {
+            return raf.length();
+        }
+
+        @Override
+        public byte[] read(long position, int length) throws IOException {
+            byte[] bytes = new byte[length];
+            raf.seek(position);
+            raf.readFully(bytes);
+            return bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            raf.close();
+        }
+
+    }
+
+    /**
+     * Reads the archive from the binaries in memory
+     */
+    private static class InMemoryArchiveSource implements ArchiveSource {
+
+        /** The archive binaries */
+        private final byte[] binaries;
+
+        /**
+         * Default constructor
+         *
+         * @param binaries the archive binaries
+         */
+        InMemoryArchiveSource(byte[] binaries) {
+            this.binaries = binaries;
+        }
+
+        @Override
+        public long length() {
+            return binaries.length;
+        }
+
+        @Override
+        public byte[] read(long position, int length) throws IOException {
+            if (position < 0 || position + length > binaries.length) {
+                throw new ZipException("Unexpected end of the ZIP archive!");
+            }
+            return Arrays.copyOfRange(binaries, (int) position, (int) position + length);
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+    }
+
+    private static void assertSignature(byte[] bytes, int signature, String recordName) throws ZipException {
+        if (getInt(bytes, 0) != signature) {
+            throw new ZipException(String.format("Invalid %s signature!", recordName));
+        }
+    }
+
+    private static long dosToJavaTime(long dosTime) {
+        try {
+            LocalDateTime localDateTime = LocalDateTime.of(
+                    (int) (((dosTime >> 25) & 0x7f) + 1980),
+                    (int) ((dosTime >> 21) & 0x0f),
+                    (int) ((dosTime >> 16) & 0x1f),
+                    (int) ((dosTime >> 11) & 0x1f),
+                    (int) ((dosTime >> 5) & 0x3f),
+                    (int) ((dosTime << 1) & 0x3e));
+            return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeException e) {
+            // invalid DOS date-time, the time is not set
+            return -1;
+        }
+    }
+
+    private static int getShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | ((bytes[offset + 1] & 0xff) << 8);
+    }
+
+    private static long getInt(byte[] bytes, int offset) {
+        return ((long) getShort(bytes, offset)) | ((long) getShort(bytes, offset + 2) << 16);
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        return getInt(bytes, offset) | (getInt(bytes, offset + 4) << 32);
+    }
+
+}
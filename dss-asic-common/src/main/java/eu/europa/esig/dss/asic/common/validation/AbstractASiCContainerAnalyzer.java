@@ -33,6 +33,7 @@ import eu.europa.esig.dss.model.ManifestEntry;
 import eu.europa.esig.dss.model.ManifestFile;
 import eu.europa.esig.dss.model.ReferenceValidation;
 import eu.europa.esig.dss.model.scope.SignatureScope;
+import eu.europa.esig.dss.spi.DSSDocumentDigestPlanner;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.signature.AdvancedSignature;
 import eu.europa.esig.dss.spi.validation.analyzer.DefaultDocumentAnalyzer;
@@ -170,6 +171,34 @@ public abstract class AbstractASiCContainerAnalyzer extends DefaultDocumentAnaly
 	 */
 	protected abstract List<ManifestFile> getManifestFilesDescriptions();
 
+	/**
+	 * Validates the entries of the given {@code manifestFiles} against the documents of the container.
+	 * The digests required by all the manifests are computed within a single read of each covered document.
+	 *
+	 * @param manifestFiles a list of {@link ManifestFile}s to validate
+	 */
+	protected void validateManifestEntries(List<ManifestFile> manifestFiles) {
+		final List<DSSDocument> allDocuments = getAllDocuments();
+		if (Utils.isCollectionNotEmpty(allDocuments)) {
+			final DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+			for (ManifestFile manifestFile : manifestFiles) {
+				for (ManifestEntry entry : manifestFile.getEntries()) {
+					if (entry.getDigest() != null && entry.getDigest().getAlgorithm() != null) {
+						DSSDocument signedDocument = DSSUtils.getDocumentWithName(allDocuments, entry.getUri());
+						if (signedDocument != null) {
+							digestPlanner.register(signedDocument, entry.getDigest().getAlgorithm());
+						}
+					}
+				}
+			}
+			executeDigestPlan(digestPlanner);
+		}
+		for (ManifestFile manifestFile : manifestFiles) {
+			ASiCManifestValidator manifestValidator = new ASiCManifestValidator(manifestFile, allDocuments);
+			manifestValidator.validateEntries();
+		}
+	}
+
 	@Override
 	public List<AdvancedSignature> getAllSignatures() {
 		final List<AdvancedSignature> allSignatureList = super.getAllSignatures();
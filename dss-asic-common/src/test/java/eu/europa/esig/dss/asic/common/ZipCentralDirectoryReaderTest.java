@@ -0,0 +1,246 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.exception.IllegalInputException;
+import eu.europa.esig.dss.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipCentralDirectoryReaderTest {
+
+    @Test
+    void test() throws IOException {
+        FileDocument archive = createArchive("target/central-directory.zip");
+
+        List<DSSDocument> sequentialEntries = new SecureContainerHandler().extractContainerContent(archive);
+
+        ZipCentralDirectoryReader reader = new ZipCentralDirectoryReader(archive);
+        List<RandomAccessArchiveEntry> entries = reader.readEntries();
+        assertEquals(sequentialEntries.size(), entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            DSSDocument sequentialEntry = sequentialEntries.get(i);
+            RandomAccessArchiveEntry entry = entries.get(i);
+            assertEquals(sequentialEntry.getName(), entry.getName());
+            assertEquals(sequentialEntry.getMimeType(), entry.getMimeType());
+            assertEquals(((DSSZipEntryDocument) sequentialEntry).getZipEntry(), entry.getZipEntry());
+            assertArrayEquals(DSSUtils.toByteArray(sequentialEntry), DSSUtils.toByteArray(entry));
+            // should be able to read more than once
+            assertArrayEquals(DSSUtils.toByteArray(sequentialEntry), DSSUtils.toByteArray(entry));
+        }
+    }
+
+    @Test
+    void secureContainerHandlerTest() {
+        FileDocument archive = new FileDocument("src/test/resources/multifiles-ok.asice");
+
+        SecureContainerHandler sequentialHandler = new SecureContainerHandler();
+        SecureContainerHandler centralDirectoryHandler = new SecureContainerHandlerBuilder()
+                .setReadCentralDirectory(true).build();
+
+        assertEquals(sequentialHandler.extractEntryNames(archive), centralDirectoryHandler.extractEntryNames(archive));
+
+        List<DSSDocument> sequentialEntries = sequentialHandler.extractContainerContent(archive);
+        List<DSSDocument> entries = centralDirectoryHandler.extractContainerContent(archive);
+        assertEquals(sequentialEntries.size(), entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertTrue(entries.get(i) instanceof RandomAccessArchiveEntry);
+            assertEquals(sequentialEntries.get(i).getName(), entries.get(i).getName());
+            assertArrayEquals(DSSUtils.toByteArray(sequentialEntries.get(i)), DSSUtils.toByteArray(entries.get(i)));
+        }
+    }
+
+    @Test
+    void zipBombTest() throws IOException {
+        FileDocument archive = createArchive("target/central-directory-bomb.zip");
+
+        SecureContainerHandler handler = new SecureContainerHandler();
+        handler.setReadCentralDirectory(true);
+        handler.setThreshold(1000);
+        handler.setMaxCompressionRatio(1);
+        Exception exception = assertThrows(IllegalInputException.class, () -> handler.extractContainerContent(archive));
+        assertEquals("Zip Bomb detected in the ZIP container. Validation is interrupted.", exception.getMessage());
+    }
+
+    @Test
+    void declaredSizeExceededTest() throws IOException {
+        FileDocument archive = createArchive("target/central-directory-size.zip");
+
+        byte[] binaries = Files.readAllBytes(archive.getFile().toPath());
+        int cenPosition = findLastSignature(binaries, new byte[] { 'P', 'K', 1, 2 });
+        // decrease the declared uncompressed size of the last entry
+        binaries[cenPosition + 24] = (byte) (binaries[cenPosition + 24] - 1);
+        FileDocument tamperedArchive = save(binaries, "target/central-directory-size-tampered.zip");
+
+        List<RandomAccessArchiveEntry> entries = new ZipCentralDirectoryReader(tamperedArchive).readEntries();
+        RandomAccessArchiveEntry lastEntry = entries.get(entries.size() - 1);
+        assertThrows(DSSException.class, () -> DSSUtils.toByteArray(lastEntry));
+    }
+
+    @Test
+    void inconsistentLocalHeaderTest() throws IOException {
+        FileDocument archive = createArchive("target/central-directory-loc.zip");
+
+        byte[] binaries = Files.readAllBytes(archive.getFile().toPath());
+        int locPosition = findLastSignature(binaries, new byte[] { 'P', 'K', 3, 4 });
+        // change the first character of the entry name within the local file header
+        binaries[locPosition + 30] = (byte) 'x';
+        FileDocument tamperedArchive = save(binaries, "target/central-directory-loc-tampered.zip");
+
+        Exception exception = assertThrows(ZipException.class, () -> new ZipCentralDirectoryReader(tamperedArchive).readEntries());
+        assertEquals("The local file header does not match the central directory!", exception.getMessage());
+
+        // the handler continues with a sequential processing
+        SecureContainerHandler handler = new SecureContainerHandlerBuilder().setReadCentralDirectory(true).build();
+        List<DSSDocument> entries = handler.extractContainerContent(tamperedArchive);
+        for (DSSDocument entry : entries) {
+            assertTrue(!(entry instanceof RandomAccessArchiveEntry));
+        }
+    }
+
+    @Test
+    void inMemoryArchiveTest() throws IOException {
+        FileDocument archive = createArchive("target/central-directory-in-memory.zip");
+        InMemoryDocument inMemoryArchive = new InMemoryDocument(DSSUtils.toByteArray(archive));
+
+        List<RandomAccessArchiveEntry> fileEntries = new ZipCentralDirectoryReader(archive).readEntries();
+        List<RandomAccessArchiveEntry> inMemoryEntries = new ZipCentralDirectoryReader(inMemoryArchive).readEntries();
+        assertEquals(fileEntries.size(), inMemoryEntries.size());
+        for (int i = 0; i < fileEntries.size(); i++) {
+            assertEquals(fileEntries.get(i).getZipEntry(), inMemoryEntries.get(i).getZipEntry());
+            assertArrayEquals(DSSUtils.toByteArray(fileEntries.get(i)), DSSUtils.toByteArray(inMemoryEntries.get(i)));
+        }
+    }
+
+    @Test
+    void createZipArchiveWithRecordsCopyTest() throws IOException {
+        FileDocument archive = createArchive("target/central-directory-copy.zip");
+
+        SecureContainerHandler handler = new SecureContainerHandlerBuilder().setReadCentralDirectory(true).build();
+        List<DSSDocument> entries = handler.extractContainerContent(archive);
+        List<DSSDocument> updatedEntries = new ArrayList<>(entries);
+        updatedEntries.add(new InMemoryDocument("<signature/>".getBytes(), "META-INF/signatures001.xml"));
+
+        DSSDocument updatedArchive = handler.createZipArchive(updatedEntries, new Date(), "zip comment");
+        FileDocument updatedArchiveFile = save(DSSUtils.toByteArray(updatedArchive), "target/central-directory-copy-updated.zip");
+
+        // the archive is readable by the JDK and the sequential processing
+        try (ZipFile zipFile = new ZipFile(updatedArchiveFile.getFile())) {
+            assertEquals(updatedEntries.size(), zipFile.size());
+            assertEquals("zip comment", zipFile.getComment());
+            ZipEntry mimetype = zipFile.entries().nextElement();
+            assertEquals("mimetype", mimetype.getName());
+            assertEquals(ZipEntry.STORED, mimetype.getMethod());
+        }
+        List<DSSDocument> sequentialEntries = new SecureContainerHandler().extractContainerContent(updatedArchiveFile);
+        assertEquals(updatedEntries.size(), sequentialEntries.size());
+        for (int i = 0; i < updatedEntries.size(); i++) {
+            assertEquals(updatedEntries.get(i).getName(), sequentialEntries.get(i).getName());
+            assertArrayEquals(DSSUtils.toByteArray(updatedEntries.get(i)), DSSUtils.toByteArray(sequentialEntries.get(i)));
+        }
+
+        // the untouched entries are copied as is
+        List<RandomAccessArchiveEntry> originalRecords = new ZipCentralDirectoryReader(archive).readEntries();
+        List<RandomAccessArchiveEntry> updatedRecords = new ZipCentralDirectoryReader(updatedArchiveFile).readEntries();
+        for (int i = 1; i < originalRecords.size(); i++) {
+            assertArrayEquals(toByteArray(originalRecords.get(i)), toByteArray(updatedRecords.get(i)));
+        }
+    }
+
+    @Test
+    void createZipArchiveWithRenamedEntryTest() throws IOException {
+        FileDocument archive = createArchive("target/central-directory-rename.zip");
+
+        SecureContainerHandler handler = new SecureContainerHandlerBuilder().setReadCentralDirectory(true).build();
+        List<DSSDocument> entries = handler.extractContainerContent(archive);
+        DSSDocument renamedEntry = entries.get(1);
+        renamedEntry.setName("renamed.txt");
+
+        DSSDocument updatedArchive = handler.createZipArchive(entries, new Date(), null);
+        List<DSSDocument> updatedEntries = new SecureContainerHandler().extractContainerContent(updatedArchive);
+        assertEquals(entries.size(), updatedEntries.size());
+        assertEquals("renamed.txt", updatedEntries.get(1).getName());
+        assertArrayEquals("Hello World!".getBytes(), DSSUtils.toByteArray(updatedEntries.get(1)));
+    }
+
+    private FileDocument createArchive(String filePath) throws IOException {
+        byte[] randomContent = new byte[100000];
+        new Random(42).nextBytes(randomContent);
+        byte[] repetitiveContent = new byte[200000];
+        Arrays.fill(repetitiveContent, (byte) 'a');
+
+        List<DSSDocument> documents = new ArrayList<>();
+        documents.add(new InMemoryDocument("application/vnd.etsi.asic-e+zip".getBytes(), "mimetype"));
+        documents.add(new InMemoryDocument("Hello World!".getBytes(), "hello.txt"));
+        documents.add(new InMemoryDocument(randomContent, "random.bin"));
+        documents.add(new InMemoryDocument(new byte[0], "empty.txt"));
+        documents.add(new InMemoryDocument(repetitiveContent, "folder/repetitive.txt"));
+
+        DSSDocument zipArchive = ZipUtils.getInstance().createZipArchive(documents, new Date(), null);
+        zipArchive.save(filePath);
+        return new FileDocument(filePath);
+    }
+
+    private byte[] toByteArray(RandomAccessArchiveEntry entry) throws IOException {
+        try (InputStream is = entry.openRecordStream()) {
+            return Utils.toByteArray(is);
+        }
+    }
+
+    private FileDocument save(byte[] binaries, String filePath) throws IOException {
+        File file = new File(filePath);
+        Files.write(file.toPath(), binaries);
+        return new FileDocument(file);
+    }
+
+    private int findLastSignature(byte[] binaries, byte[] signature) {
+        for (int i = binaries.length - signature.length; i >= 0; i--) {
+            if (binaries[i] == signature[0] && binaries[i + 1] == signature[1]
+                    && binaries[i + 2] == signature[2] && binaries[i + 3] == signature[3]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Signature not found");
+    }
+
+}
@@ -24,7 +24,6 @@ import eu.europa.esig.dss.asic.common.ASiCContent;
 import eu.europa.esig.dss.asic.common.ASiCUtils;
 import eu.europa.esig.dss.asic.common.extract.DefaultASiCContainerExtractor;
 import eu.europa.esig.dss.asic.common.validation.ASiCManifestParser;
-import eu.europa.esig.dss.asic.common.validation.ASiCManifestValidator;
 import eu.europa.esig.dss.asic.common.validation.AbstractASiCContainerAnalyzer;
 import eu.europa.esig.dss.asic.xades.ASiCWithXAdESFormatDetector;
 import eu.europa.esig.dss.asic.xades.OpenDocumentSupportUtils;
@@ -128,16 +127,17 @@ public class ASiCContainerWithXAdESAnalyzer extends AbstractASiCContainerAnalyze
 			}
 		}
 
+		final List<ManifestFile> evidenceRecordManifests = new ArrayList<>();
 		List<DSSDocument> evidenceRecordManifestDocuments = getEvidenceRecordManifestDocuments();
 		for (DSSDocument manifestDocument : evidenceRecordManifestDocuments) {
 			ManifestFile manifestFile = ASiCManifestParser.getManifestFile(manifestDocument);
 			if (manifestFile != null) {
 				manifestFile.setManifestType(ASiCManifestTypeEnum.EVIDENCE_RECORD);
-				ASiCManifestValidator manifestValidator = new ASiCManifestValidator(manifestFile, getAllDocuments());
-				manifestValidator.validateEntries();
-				descriptions.add(manifestFile);
+				evidenceRecordManifests.add(manifestFile);
 			}
 		}
+		validateManifestEntries(evidenceRecordManifests);
+		descriptions.addAll(evidenceRecordManifests);
 
 		return descriptions;
 	}
@@ -0,0 +1,175 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.xades.signature.asice;
+
+import eu.europa.esig.dss.asic.common.SecureContainerHandlerBuilder;
+import eu.europa.esig.dss.asic.common.ZipUtils;
+import eu.europa.esig.dss.asic.xades.ASiCWithXAdESSignatureParameters;
+import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.enumerations.ASiCContainerType;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.signature.resources.TempFileResourcesHandlerBuilder;
+import eu.europa.esig.dss.xades.XAdESTimestampParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ASiCEXAdESWithCentralDirectoryReadingTest extends AbstractASiCEXAdESTestSignature {
+
+    private static final File TEMP_FILE_DIRECTORY = new File("target/central-directory-reading");
+
+    private DocumentSignatureService<ASiCWithXAdESSignatureParameters, XAdESTimestampParameters> service;
+    private ASiCWithXAdESSignatureParameters signatureParameters;
+    private DSSDocument documentToSign;
+
+    @BeforeEach
+    void init() throws Exception {
+        if (TEMP_FILE_DIRECTORY.exists()) {
+            for (File file : TEMP_FILE_DIRECTORY.listFiles()) {
+                Files.delete(file.toPath());
+            }
+        }
+
+        service = new ASiCWithXAdESService(getCompleteCertificateVerifier());
+        service.setTspSource(getAlternateGoodTsa());
+
+        byte[] content = new byte[500000];
+        new Random(42).nextBytes(content);
+        documentToSign = new InMemoryDocument(content, "test.bin", MimeTypeEnum.BINARY);
+
+        signatureParameters = new ASiCWithXAdESSignatureParameters();
+        signatureParameters.bLevel().setSigningDate(new Date());
+        signatureParameters.setSigningCertificate(getSigningCert());
+        signatureParameters.setCertificateChain(getCertificateChain());
+        signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+        signatureParameters.aSiC().setContainerType(ASiCContainerType.ASiC_E);
+    }
+
+    @AfterEach
+    void reset() {
+        ZipUtils.getInstance().setZipContainerHandlerBuilder(new SecureContainerHandlerBuilder());
+    }
+
+    @Override
+    protected DSSDocument sign() {
+        TempFileResourcesHandlerBuilder tempFileResourcesHandlerBuilder = new TempFileResourcesHandlerBuilder();
+        tempFileResourcesHandlerBuilder.setTempFileDirectory(TEMP_FILE_DIRECTORY);
+
+        SecureContainerHandlerBuilder secureContainerHandlerBuilder = new SecureContainerHandlerBuilder()
+                .setResourcesHandlerBuilder(tempFileResourcesHandlerBuilder)
+                .setReadCentralDirectory(true);
+        ZipUtils.getInstance().setZipContainerHandlerBuilder(secureContainerHandlerBuilder);
+
+        ToBeSigned dataToSign = service.getDataToSign(documentToSign, signatureParameters);
+        SignatureValue signatureValue = getToken().sign(dataToSign, getSignatureParameters().getDigestAlgorithm(), getPrivateKeyEntry());
+        DSSDocument signedDocument = service.signDocument(documentToSign, signatureParameters, signatureValue);
+        assertInstanceOf(FileDocument.class, signedDocument);
+        assertEquals(Collections.singleton(getFileName(signedDocument)), getTempFiles());
+
+        ZipEntry originalEntry = getZipEntry(signedDocument, "test.bin");
+
+        signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_T);
+        DSSDocument tLevelSignature = service.extendDocument(signedDocument, signatureParameters);
+        assertInstanceOf(FileDocument.class, tLevelSignature);
+        // the temporary archive of the new entries is removed
+        assertEquals(new HashSet<>(Arrays.asList(getFileName(signedDocument), getFileName(tLevelSignature))), getTempFiles());
+
+        signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_LTA);
+        DSSDocument ltaLevelSignature = service.extendDocument(tLevelSignature, signatureParameters);
+        assertInstanceOf(FileDocument.class, ltaLevelSignature);
+        assertEquals(new HashSet<>(Arrays.asList(getFileName(signedDocument), getFileName(tLevelSignature),
+                getFileName(ltaLevelSignature))), getTempFiles());
+
+        // the signed data entry is copied without changes
+        ZipEntry extendedEntry = getZipEntry(ltaLevelSignature, "test.bin");
+        assertEquals(originalEntry.getCrc(), extendedEntry.getCrc());
+        assertEquals(originalEntry.getCompressedSize(), extendedEntry.getCompressedSize());
+        assertEquals(originalEntry.getTime(), extendedEntry.getTime());
+
+        return ltaLevelSignature;
+    }
+
+    private Set<String> getTempFiles() {
+        return new HashSet<>(Arrays.asList(TEMP_FILE_DIRECTORY.list()));
+    }
+
+    private String getFileName(DSSDocument document) {
+        return ((FileDocument) document).getFile().getName();
+    }
+
+    private ZipEntry getZipEntry(DSSDocument container, String entryName) {
+        try (ZipFile zipFile = new ZipFile(((FileDocument) container).getFile())) {
+            assertTrue(zipFile.entries().hasMoreElements());
+            assertEquals("mimetype", zipFile.entries().nextElement().getName());
+            ZipEntry zipEntry = zipFile.getEntry(entryName);
+            assertNotNull(zipEntry);
+            return zipEntry;
+        } catch (IOException e) {
+            fail(e);
+            return null;
+        }
+    }
+
+    @Override
+    protected DocumentSignatureService<ASiCWithXAdESSignatureParameters, XAdESTimestampParameters> getService() {
+        return service;
+    }
+
+    @Override
+    protected ASiCWithXAdESSignatureParameters getSignatureParameters() {
+        return signatureParameters;
+    }
+
+    @Override
+    protected DSSDocument getDocumentToSign() {
+        return documentToSign;
+    }
+
+    @Override
+    protected String getSigningAlias() {
+        return GOOD_USER;
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Generates the documents to be signed within the benchmarks.
+ * The content is generated deterministically, so the results are comparable between the runs.
+ *
+ */
+public final class BenchmarkDocuments {
+
+    /** The seed used to generate the content */
+    private static final long SEED = 42L;
+
+    /**
+     * Utils class
+     */
+    private BenchmarkDocuments() {
+        // empty
+    }
+
+    /**
+     * Creates a binary document of the given size
+     *
+     * @param size the size of the document in bytes
+     * @return {@link DSSDocument}
+     */
+    public static DSSDocument createBinaryDocument(int size) {
+        byte[] content = new byte[size];
+        new Random(SEED).nextBytes(content);
+        return new InMemoryDocument(content, "content.bin", MimeTypeEnum.BINARY);
+    }
+
+    /**
+     * Creates an XML document containing the given number of elements
+     *
+     * @param nbElements the number of child elements
+     * @return {@link DSSDocument}
+     */
+    public static DSSDocument createXmlDocument(int nbElements) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        sb.append("<root xmlns=\"urn:dss:benchmark\">");
+        for (int i = 0; i < nbElements; i++) {
+            sb.append("<element id=\"e").append(i).append("\">Value ").append(i).append("</element>");
+        }
+        sb.append("</root>");
+        return new InMemoryDocument(sb.toString().getBytes(StandardCharsets.UTF_8), "content.xml", MimeTypeEnum.XML);
+    }
+
+    /**
+     * Creates a PDF document with the given number of pages
+     *
+     * @param nbPages the number of pages
+     * @return {@link DSSDocument}
+     */
+    public static DSSDocument createPdfDocument(int nbPages) {
+        try (PDDocument pdDocument = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 0; i < nbPages; i++) {
+                PDPage page = new PDPage();
+                pdDocument.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(pdDocument, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(font, 12);
+                    contentStream.newLineAtOffset(50, 700);
+                    contentStream.showText("DSS benchmark - page " + (i + 1));
+                    contentStream.endText();
+                }
+            }
+            pdDocument.save(baos);
+            return new InMemoryDocument(baos.toByteArray(), "content.pdf", MimeTypeEnum.PDF);
+        } catch (IOException e) {
+            throw new DSSException(String.format("Unable to create a PDF document : %s", e.getMessage()), e);
+        }
+    }
+
+}
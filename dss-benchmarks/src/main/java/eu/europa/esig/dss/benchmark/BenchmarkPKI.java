@@ -0,0 +1,246 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.pki.jaxb.JAXBPKILoader;
+import eu.europa.esig.dss.pki.jaxb.PKIJaxbFacade;
+import eu.europa.esig.dss.pki.jaxb.XmlPki;
+import eu.europa.esig.dss.pki.jaxb.model.JAXBCertEntity;
+import eu.europa.esig.dss.pki.jaxb.model.JAXBCertEntityRepository;
+import eu.europa.esig.dss.pki.model.CertEntity;
+import eu.europa.esig.dss.pki.x509.aia.PKIAIASource;
+import eu.europa.esig.dss.pki.x509.revocation.crl.PKICRLSource;
+import eu.europa.esig.dss.pki.x509.revocation.ocsp.PKIOCSPSource;
+import eu.europa.esig.dss.pki.x509.tsp.PKITSPSource;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.token.AbstractSignatureTokenConnection;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KSPrivateKeyEntry;
+
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Provides a fully offline PKI used by the benchmarks.
+ * The certificates, CRLs, OCSP responses and timestamps are generated on the fly by
+ * the {@code dss-pki-factory} sources from the "good-pki" definition, therefore no network access is required.
+ *
+ */
+public final class BenchmarkPKI {
+
+    /** Subject name of the signing certificate */
+    public static final String GOOD_USER = "good-user";
+
+    /** Subject name of a revoked certificate */
+    public static final String REVOKED_USER = "revoked-user";
+
+    /** Subject name of the CA issuing the user certificates */
+    public static final String GOOD_CA = "good-ca";
+
+    /** Subject name of the timestamping unit */
+    public static final String GOOD_TSA = "good-tsa";
+
+    /** Location of the PKI definition (provided within the dss-test test-jar) */
+    private static final String PKI_LOCATION = "/pki/good-pki.xml";
+
+    /** The TSA policy used for the produced timestamps */
+    private static final String TSA_POLICY = "1.2.3.4";
+
+    /** The single instance, as the PKI creation is expensive (key pairs generation) */
+    private static BenchmarkPKI instance;
+
+    /** Repository containing the generated PKI entries */
+    private final JAXBCertEntityRepository repository;
+
+    /**
+     * Private constructor loading the PKI
+     */
+    private BenchmarkPKI() {
+        this.repository = new JAXBCertEntityRepository();
+        try (InputStream is = BenchmarkPKI.class.getResourceAsStream(PKI_LOCATION)) {
+            Objects.requireNonNull(is, String.format("The PKI definition '%s' is not found in the classpath!", PKI_LOCATION));
+            XmlPki pki = PKIJaxbFacade.newFacade().unmarshall(is);
+            new JAXBPKILoader().persistPKI(repository, pki);
+        } catch (Exception e) {
+            throw new DSSException(String.format("Unable to load the PKI : %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns the offline PKI instance, loading it on the first call
+     *
+     * @return {@link BenchmarkPKI}
+     */
+    public static synchronized BenchmarkPKI getInstance() {
+        if (instance == null) {
+            instance = new BenchmarkPKI();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the repository containing the generated PKI entries
+     *
+     * @return {@link JAXBCertEntityRepository}
+     */
+    public JAXBCertEntityRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Returns the PKI entry for the given subject name
+     *
+     * @param subjectName {@link String}
+     * @return {@link CertEntity}
+     */
+    public CertEntity getCertEntity(String subjectName) {
+        JAXBCertEntity certEntity = repository.getCertEntityBySubject(subjectName);
+        if (certEntity == null) {
+            throw new DSSException(String.format("No PKI entry found for subject '%s'!", subjectName));
+        }
+        return certEntity;
+    }
+
+    /**
+     * Returns the certificate for the given subject name
+     *
+     * @param subjectName {@link String}
+     * @return {@link CertificateToken}
+     */
+    public CertificateToken getCertificate(String subjectName) {
+        return getCertEntity(subjectName).getCertificateToken();
+    }
+
+    /**
+     * Returns a signature token containing the private key of the given subject name
+     *
+     * @param subjectName {@link String}
+     * @return {@link AbstractSignatureTokenConnection}
+     */
+    public AbstractSignatureTokenConnection getToken(String subjectName) {
+        return new CertEntitySignatureToken(getCertEntity(subjectName));
+    }
+
+    /**
+     * Returns a new {@code CertificateVerifier} configured with the offline PKI sources
+     *
+     * @return {@link CertificateVerifier}
+     */
+    public CertificateVerifier getCertificateVerifier() {
+        CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+        certificateVerifier.setCrlSource(getCRLSource());
+        certificateVerifier.setOcspSource(getOCSPSource());
+        certificateVerifier.setAIASource(new PKIAIASource(repository));
+        certificateVerifier.setTrustedCertSources(getTrustedCertificateSource());
+        return certificateVerifier;
+    }
+
+    /**
+     * Returns a trusted certificate source containing the trust anchors of the PKI
+     *
+     * @return {@link CommonTrustedCertificateSource}
+     */
+    public CommonTrustedCertificateSource getTrustedCertificateSource() {
+        CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+        for (JAXBCertEntity trustAnchor : repository.getTrustAnchors()) {
+            trustedCertificateSource.addCertificate(trustAnchor.getCertificateToken());
+        }
+        return trustedCertificateSource;
+    }
+
+    /**
+     * Returns a CRL source issuing CRLs on request
+     *
+     * @return {@link PKICRLSource}
+     */
+    public PKICRLSource getCRLSource() {
+        PKICRLSource crlSource = new PKICRLSource(repository);
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.MONTH, 6);
+        crlSource.setNextUpdate(calendar.getTime());
+        return crlSource;
+    }
+
+    /**
+     * Returns an OCSP source issuing OCSP responses on request
+     *
+     * @return {@link PKIOCSPSource}
+     */
+    public PKIOCSPSource getOCSPSource() {
+        return new PKIOCSPSource(repository);
+    }
+
+    /**
+     * Returns a TSP source issuing timestamps on request
+     *
+     * @return {@link PKITSPSource}
+     */
+    public PKITSPSource getTSPSource() {
+        PKITSPSource tspSource = new PKITSPSource(getCertEntity(GOOD_TSA));
+        tspSource.setTsaPolicy(TSA_POLICY);
+        return tspSource;
+    }
+
+    /**
+     * Signature token based on a private key of the PKI entry
+     */
+    private static final class CertEntitySignatureToken extends AbstractSignatureTokenConnection {
+
+        /** The key entry */
+        private final DSSPrivateKeyEntry keyEntry;
+
+        /**
+         * Default constructor
+         *
+         * @param certEntity {@link CertEntity}
+         */
+        private CertEntitySignatureToken(CertEntity certEntity) {
+            List<CertificateToken> certificateChain = certEntity.getCertificateChain();
+            X509Certificate[] chain = new X509Certificate[certificateChain.size()];
+            for (int i = 0; i < certificateChain.size(); i++) {
+                chain[i] = certificateChain.get(i).getCertificate();
+            }
+            this.keyEntry = new KSPrivateKeyEntry(certEntity.getCertificateToken().getDSSIdAsString(),
+                    new KeyStore.PrivateKeyEntry(certEntity.getPrivateKey(), chain));
+        }
+
+        @Override
+        public List<DSSPrivateKeyEntry> getKeys() {
+            return Collections.singletonList(keyEntry);
+        }
+
+        @Override
+        public void close() {
+            // not required
+        }
+
+    }
+
+}
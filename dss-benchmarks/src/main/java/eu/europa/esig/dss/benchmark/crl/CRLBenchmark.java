@@ -0,0 +1,193 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.crl;
+
+import eu.europa.esig.dss.benchmark.BenchmarkPKI;
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.crl.ICRLUtils;
+import eu.europa.esig.dss.crl.stream.impl.CRLUtilsStreamImpl;
+import eu.europa.esig.dss.crl.x509.impl.CRLUtilsX509CRLImpl;
+import eu.europa.esig.dss.enumerations.RevocationReason;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.pki.model.CertEntity;
+import eu.europa.esig.dss.pki.model.CertEntityRevocation;
+import eu.europa.esig.dss.pki.model.CertEntityRepository;
+import eu.europa.esig.dss.pki.x509.revocation.crl.PKICRLSource;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the CRL parsing, signature verification and serial number lookup
+ * for both the stream and the X509CRL based implementations
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CRLBenchmark {
+
+    /** The CRL parser implementation */
+    @Param({ "STREAM", "X509CRL" })
+    public String implementation;
+
+    /** Number of additional revoked entries within the CRL */
+    @Param({ "10", "100000" })
+    public int nbEntries;
+
+    /** The CRL parser */
+    private ICRLUtils crlUtils;
+
+    /** The issuer of the CRL */
+    private CertificateToken issuer;
+
+    /** The DER-encoded CRL */
+    private byte[] crlBytes;
+
+    /** The parsed CRL, used for the lookup benchmarks */
+    private CRLValidity crlValidity;
+
+    /** Serial number of the revoked certificate, present within the CRL */
+    private BigInteger revokedSerialNumber;
+
+    /** Serial number of the valid certificate, absent from the CRL */
+    private BigInteger goodSerialNumber;
+
+    /**
+     * Generates the CRL and instantiates the parser
+     *
+     * @throws IOException if an error occurs on the CRL creation
+     * @throws OperatorCreationException if an error occurs on the CRL signing
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException, OperatorCreationException {
+        if ("STREAM".equals(implementation)) {
+            crlUtils = new CRLUtilsStreamImpl();
+        } else if ("X509CRL".equals(implementation)) {
+            crlUtils = new CRLUtilsX509CRLImpl();
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported implementation '%s'!", implementation));
+        }
+
+        BenchmarkPKI pki = BenchmarkPKI.getInstance();
+        CertEntity crlIssuer = pki.getCertEntity(BenchmarkPKI.GOOD_CA);
+        issuer = crlIssuer.getCertificateToken();
+        revokedSerialNumber = pki.getCertificate(BenchmarkPKI.REVOKED_USER).getSerialNumber();
+        goodSerialNumber = pki.getCertificate(BenchmarkPKI.GOOD_USER).getSerialNumber();
+
+        crlBytes = new LargeCRLSource(pki.getRepository(), nbEntries).generateCRL(crlIssuer).getBinaries();
+        crlValidity = crlUtils.buildCRLValidity(new CRLBinary(crlBytes), issuer);
+    }
+
+    /**
+     * Parses the CRL and verifies its signature
+     *
+     * @return {@link CRLValidity}
+     * @throws IOException if an error occurs on the CRL parsing
+     */
+    @Benchmark
+    public CRLValidity buildCRLValidity() throws IOException {
+        return crlUtils.buildCRLValidity(new CRLBinary(crlBytes), issuer);
+    }
+
+    /**
+     * Looks up a serial number present within the CRL
+     *
+     * @return {@link X509CRLEntry}
+     */
+    @Benchmark
+    public X509CRLEntry lookupRevoked() {
+        return crlUtils.getRevocationInfo(crlValidity, revokedSerialNumber);
+    }
+
+    /**
+     * Looks up a serial number absent from the CRL (worst case)
+     *
+     * @return {@link X509CRLEntry}, null
+     */
+    @Benchmark
+    public X509CRLEntry lookupNotRevoked() {
+        return crlUtils.getRevocationInfo(crlValidity, goodSerialNumber);
+    }
+
+    /**
+     * Produces CRLs containing a configurable number of synthetic entries, in addition to the PKI revocations
+     */
+    private static class LargeCRLSource extends PKICRLSource {
+
+        private static final long serialVersionUID = 2890236713284765411L;
+
+        /** Number of synthetic entries to add */
+        private final int nbEntries;
+
+        /**
+         * Default constructor
+         *
+         * @param certEntityRepository {@link CertEntityRepository}
+         * @param nbEntries number of synthetic entries to add
+         */
+        LargeCRLSource(CertEntityRepository<? extends CertEntity> certEntityRepository, int nbEntries) {
+            super(certEntityRepository);
+            this.nbEntries = nbEntries;
+        }
+
+        @Override
+        protected CRLBinary generateCRL(CertEntity crlIssuer) throws IOException, OperatorCreationException {
+            return super.generateCRL(crlIssuer);
+        }
+
+        @Override
+        protected void addRevocationsToCRL(X509v2CRLBuilder builder, Map<CertEntity, CertEntityRevocation> revocationList) {
+            Date revocationDate = new Date();
+            // serial numbers far above the ones used by the PKI
+            BigInteger serialNumber = BigInteger.valueOf(Long.MAX_VALUE);
+            for (int i = 0; i < nbEntries; i++) {
+                serialNumber = serialNumber.add(BigInteger.ONE);
+                builder.addCRLEntry(serialNumber, revocationDate, RevocationReason.KEY_COMPROMISE.getValue());
+            }
+            super.addRevocationsToCRL(builder, revocationList);
+        }
+
+    }
+
+}
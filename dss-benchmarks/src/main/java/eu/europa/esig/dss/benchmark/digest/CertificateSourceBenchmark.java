@@ -0,0 +1,107 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.digest;
+
+import eu.europa.esig.dss.benchmark.BenchmarkPKI;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.pki.model.CertEntity;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the digest-heavy certificate operations : the indexing of certificates within
+ * a {@code CommonCertificateSource} (entity key, public key and subject identifiers) and the certificate digest
+ * computation used for the revocation data matching.
+ * The results are to be compared between releases, in order to measure the {@code MessageDigest} engines re-use.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class CertificateSourceBenchmark {
+
+    /** The certificates of the PKI */
+    private List<X509Certificate> certificates;
+
+    /**
+     * Loads the certificates of the PKI
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        certificates = new ArrayList<>();
+        for (CertEntity certEntity : BenchmarkPKI.getInstance().getRepository().getAll()) {
+            certificates.add(certEntity.getCertificateToken().getCertificate());
+        }
+    }
+
+    /**
+     * Creates new certificate tokens and indexes them within a certificate source
+     *
+     * @return {@link CommonCertificateSource}
+     */
+    @Benchmark
+    public CommonCertificateSource certificateSourceIndexing() {
+        CommonCertificateSource certificateSource = new CommonCertificateSource();
+        for (X509Certificate certificate : certificates) {
+            certificateSource.addCertificate(new CertificateToken(certificate));
+        }
+        return certificateSource;
+    }
+
+    /**
+     * Creates new certificate tokens and computes the digests used for the revocation data matching
+     * (e.g. OCSP responder identification, CRL and OCSP references)
+     *
+     * @return number of the computed digest bytes
+     */
+    @Benchmark
+    public int revocationMatchingDigests() {
+        int length = 0;
+        for (X509Certificate certificate : certificates) {
+            CertificateToken certificateToken = new CertificateToken(certificate);
+            length += certificateToken.getDigest(DigestAlgorithm.SHA1).length;
+            length += certificateToken.getDigest(DigestAlgorithm.SHA256).length;
+        }
+        return length;
+    }
+
+}
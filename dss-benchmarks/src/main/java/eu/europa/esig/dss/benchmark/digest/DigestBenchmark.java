@@ -0,0 +1,124 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.digest;
+
+import eu.europa.esig.dss.benchmark.BenchmarkPKI;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the computation of small digests (certificate digests, hash-tree nodes),
+ * comparing the creation of a {@code MessageDigest} per computation with the engines cloned by {@code DSSUtils}
+ * from the prototype cached within {@code DigestAlgorithm}
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class DigestBenchmark {
+
+    /**
+     * The way to obtain the engine : GET_INSTANCE creates a new engine with a provider lookup
+     * for each computation, DSS uses the {@code DSSUtils} digest methods
+     */
+    @Param({ "GET_INSTANCE", "DSS" })
+    public String engine;
+
+    /** The digest algorithm to use */
+    @Param({ "SHA256", "SHA3_256" })
+    public String digestAlgorithm;
+
+    /** The used digest algorithm */
+    private DigestAlgorithm algorithm;
+
+    /** DER-encoded certificate to compute digest on */
+    private byte[] certificateBinaries;
+
+    /** Left child digest of a hash-tree node */
+    private byte[] leftNode;
+
+    /** Right child digest of a hash-tree node */
+    private byte[] rightNode;
+
+    /**
+     * Loads the data to digest
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        algorithm = DigestAlgorithm.valueOf(digestAlgorithm);
+        certificateBinaries = BenchmarkPKI.getInstance().getCertificate(BenchmarkPKI.GOOD_USER).getEncoded();
+        leftNode = DSSUtils.digest(algorithm, new byte[] { 1 });
+        rightNode = DSSUtils.digest(algorithm, new byte[] { 2 });
+    }
+
+    /**
+     * Computes the digest of a certificate (e.g. on certificate indexing, OCSP and CRL matching)
+     *
+     * @return digest value
+     * @throws NoSuchAlgorithmException if the digest algorithm is not supported
+     */
+    @Benchmark
+    public byte[] certificateDigest() throws NoSuchAlgorithmException {
+        if ("GET_INSTANCE".equals(engine)) {
+            return MessageDigest.getInstance(algorithm.getJavaName()).digest(certificateBinaries);
+        }
+        return DSSUtils.digest(algorithm, certificateBinaries);
+    }
+
+    /**
+     * Computes the digest of a hash-tree node (concatenation of the children digests)
+     *
+     * @return digest value
+     * @throws NoSuchAlgorithmException if the digest algorithm is not supported
+     */
+    @Benchmark
+    public byte[] hashTreeNode() throws NoSuchAlgorithmException {
+        if ("GET_INSTANCE".equals(engine)) {
+            MessageDigest messageDigest = MessageDigest.getInstance(algorithm.getJavaName());
+            messageDigest.update(leftNode);
+            messageDigest.update(rightNode);
+            return messageDigest.digest();
+        }
+        return DSSUtils.digest(algorithm, leftNode, rightNode);
+    }
+
+}
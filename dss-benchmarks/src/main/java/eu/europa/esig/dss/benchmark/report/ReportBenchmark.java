@@ -0,0 +1,168 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.report;
+
+import eu.europa.esig.dss.benchmark.BenchmarkDocuments;
+import eu.europa.esig.dss.benchmark.BenchmarkPKI;
+import eu.europa.esig.dss.detailedreport.DetailedReportFacade;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import eu.europa.esig.dss.simplereport.SimpleReportFacade;
+import eu.europa.esig.dss.token.AbstractSignatureTokenConnection;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
+import eu.europa.esig.dss.validation.policy.ValidationPolicyLoader;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the validation process execution (diagnostic data to reports) and the reports generation
+ * (XML marshalling and HTML transformation) for an XAdES-BASELINE-LTA signature
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReportBenchmark {
+
+    /** The validation policy */
+    private ValidationPolicy validationPolicy;
+
+    /** The validation time */
+    private Date currentTime;
+
+    /** The reports obtained during the setup */
+    private Reports reports;
+
+    /**
+     * Creates and validates a signature to obtain the diagnostic data
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkPKI pki = BenchmarkPKI.getInstance();
+        XAdESService service = new XAdESService(pki.getCertificateVerifier());
+        service.setTspSource(pki.getTSPSource());
+
+        DSSDocument signedDocument;
+        try (AbstractSignatureTokenConnection token = pki.getToken(BenchmarkPKI.GOOD_USER)) {
+            DSSPrivateKeyEntry privateKey = token.getKeys().get(0);
+
+            XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+            parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_LTA);
+            parameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+            parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+            parameters.setSigningCertificate(privateKey.getCertificate());
+            parameters.setCertificateChain(privateKey.getCertificateChain());
+
+            DSSDocument documentToSign = BenchmarkDocuments.createXmlDocument(10);
+            ToBeSigned dataToSign = service.getDataToSign(documentToSign, parameters);
+            SignatureValue signatureValue = token.sign(dataToSign, parameters.getDigestAlgorithm(), privateKey);
+            signedDocument = service.signDocument(documentToSign, parameters, signatureValue);
+        }
+
+        SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+        validator.setCertificateVerifier(pki.getCertificateVerifier());
+        reports = validator.validateDocument();
+
+        validationPolicy = ValidationPolicyLoader.fromDefaultValidationPolicy().create();
+        currentTime = new Date();
+    }
+
+    /**
+     * Executes the validation process on the diagnostic data
+     *
+     * @return {@link Reports}
+     */
+    @Benchmark
+    public Reports executeValidationProcess() {
+        DefaultSignatureProcessExecutor executor = new DefaultSignatureProcessExecutor();
+        executor.setDiagnosticData(reports.getDiagnosticDataJaxb());
+        executor.setValidationPolicy(validationPolicy);
+        executor.setCurrentTime(currentTime);
+        return executor.execute();
+    }
+
+    /**
+     * Marshalls all the reports to XML
+     *
+     * @param blackhole {@link Blackhole}
+     */
+    @Benchmark
+    public void marshallXmlReports(Blackhole blackhole) {
+        // a new instance is required, as the marshalled reports are cached
+        XmlDiagnosticData diagnosticData = reports.getDiagnosticDataJaxb();
+        Reports newReports = new Reports(diagnosticData, reports.getDetailedReportJaxb(),
+                reports.getSimpleReportJaxb(), reports.getEtsiValidationReportJaxb());
+        blackhole.consume(newReports.getXmlDiagnosticData());
+        blackhole.consume(newReports.getXmlDetailedReport());
+        blackhole.consume(newReports.getXmlSimpleReport());
+        blackhole.consume(newReports.getXmlValidationReport());
+    }
+
+    /**
+     * Generates the HTML representation of the simple report
+     *
+     * @return {@link String}
+     * @throws Exception if an error occurs on the report transformation
+     */
+    @Benchmark
+    public String generateSimpleReportHtml() throws Exception {
+        return SimpleReportFacade.newFacade().generateHtmlReport(reports.getSimpleReportJaxb());
+    }
+
+    /**
+     * Generates the HTML representation of the detailed report
+     *
+     * @return {@link String}
+     * @throws Exception if an error occurs on the report transformation
+     */
+    @Benchmark
+    public String generateDetailedReportHtml() throws Exception {
+        return DetailedReportFacade.newFacade().generateHtmlReport(reports.getDetailedReportJaxb());
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.signature;
+
+import eu.europa.esig.dss.benchmark.BenchmarkPKI;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.token.AbstractSignatureTokenConnection;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common benchmark for the signature creation and validation of a signature format.
+ * The signature level is defined by the implementation as a JMH parameter.
+ *
+ * @param <SP> signature parameters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class AbstractSignatureBenchmark<SP extends AbstractSignatureParameters<?>> {
+
+    /** The offline PKI */
+    protected BenchmarkPKI pki;
+
+    /** The signature token */
+    private AbstractSignatureTokenConnection token;
+
+    /** The signing key */
+    private DSSPrivateKeyEntry privateKey;
+
+    /** The signature service */
+    private DocumentSignatureService<SP, ?> service;
+
+    /** The document to be signed */
+    private DSSDocument documentToSign;
+
+    /** The document signed during the setup, used for validation */
+    private DSSDocument signedDocument;
+
+    /**
+     * Prepares the PKI, the signature service and a signed document
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        pki = BenchmarkPKI.getInstance();
+        token = pki.getToken(BenchmarkPKI.GOOD_USER);
+        privateKey = token.getKeys().get(0);
+
+        service = createService(pki.getCertificateVerifier());
+        service.setTspSource(pki.getTSPSource());
+
+        documentToSign = createDocumentToSign();
+        signedDocument = sign();
+    }
+
+    /**
+     * Closes the signature token
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        token.close();
+    }
+
+    /**
+     * Creates a signature with the target signature level
+     *
+     * @return {@link DSSDocument} signed document
+     */
+    @Benchmark
+    public DSSDocument sign() {
+        SP parameters = createSignatureParameters();
+        parameters.setSignatureLevel(getSignatureLevel());
+        parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+        parameters.setSigningCertificate(privateKey.getCertificate());
+        parameters.setCertificateChain(privateKey.getCertificateChain());
+
+        ToBeSigned dataToSign = service.getDataToSign(documentToSign, parameters);
+        SignatureValue signatureValue = token.sign(dataToSign, parameters.getDigestAlgorithm(), privateKey);
+        return service.signDocument(documentToSign, parameters, signatureValue);
+    }
+
+    /**
+     * Validates the signature created during the setup with the default validation policy
+     *
+     * @return {@link Reports}
+     */
+    @Benchmark
+    public Reports validate() {
+        SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+        validator.setCertificateVerifier(pki.getCertificateVerifier());
+        return validator.validateDocument();
+    }
+
+    /**
+     * Creates the signature service for the given {@code certificateVerifier}
+     *
+     * @param certificateVerifier {@link CertificateVerifier}
+     * @return {@link DocumentSignatureService}
+     */
+    protected abstract DocumentSignatureService<SP, ?> createService(CertificateVerifier certificateVerifier);
+
+    /**
+     * Creates the format-specific signature parameters (e.g. packaging)
+     *
+     * @return signature parameters
+     */
+    protected abstract SP createSignatureParameters();
+
+    /**
+     * Gets the target signature level
+     *
+     * @return {@link SignatureLevel}
+     */
+    protected abstract SignatureLevel getSignatureLevel();
+
+    /**
+     * Creates the document to be signed
+     *
+     * @return {@link DSSDocument}
+     */
+    protected abstract DSSDocument createDocumentToSign();
+
+}
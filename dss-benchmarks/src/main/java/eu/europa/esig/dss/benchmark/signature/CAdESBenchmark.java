@@ -0,0 +1,69 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.signature;
+
+import eu.europa.esig.dss.benchmark.BenchmarkDocuments;
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the creation and validation of an enveloping CAdES signature
+ *
+ */
+public class CAdESBenchmark extends AbstractSignatureBenchmark<CAdESSignatureParameters> {
+
+    /** The target signature level */
+    @Param({ "CAdES_BASELINE_B", "CAdES_BASELINE_T", "CAdES_BASELINE_LT", "CAdES_BASELINE_LTA" })
+    public SignatureLevel signatureLevel;
+
+    /** Size of the signed content in bytes */
+    @Param({ "1024", "10485760" })
+    public int contentSize;
+
+    @Override
+    protected DocumentSignatureService<CAdESSignatureParameters, ?> createService(CertificateVerifier certificateVerifier) {
+        return new CAdESService(certificateVerifier);
+    }
+
+    @Override
+    protected CAdESSignatureParameters createSignatureParameters() {
+        CAdESSignatureParameters parameters = new CAdESSignatureParameters();
+        parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+        return parameters;
+    }
+
+    @Override
+    protected SignatureLevel getSignatureLevel() {
+        return signatureLevel;
+    }
+
+    @Override
+    protected DSSDocument createDocumentToSign() {
+        return BenchmarkDocuments.createBinaryDocument(contentSize);
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.signature;
+
+import eu.europa.esig.dss.benchmark.BenchmarkDocuments;
+import eu.europa.esig.dss.enumerations.JWSSerializationType;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.jades.JAdESSignatureParameters;
+import eu.europa.esig.dss.jades.signature.JAdESService;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the creation and validation of an enveloping JAdES signature (JSON serialization)
+ *
+ */
+public class JAdESBenchmark extends AbstractSignatureBenchmark<JAdESSignatureParameters> {
+
+    /** The target signature level */
+    @Param({ "JAdES_BASELINE_B", "JAdES_BASELINE_T", "JAdES_BASELINE_LT", "JAdES_BASELINE_LTA" })
+    public SignatureLevel signatureLevel;
+
+    /** Size of the signed content in bytes */
+    @Param({ "1024", "1048576" })
+    public int contentSize;
+
+    @Override
+    protected DocumentSignatureService<JAdESSignatureParameters, ?> createService(CertificateVerifier certificateVerifier) {
+        return new JAdESService(certificateVerifier);
+    }
+
+    @Override
+    protected JAdESSignatureParameters createSignatureParameters() {
+        JAdESSignatureParameters parameters = new JAdESSignatureParameters();
+        parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+        parameters.setJwsSerializationType(JWSSerializationType.JSON_SERIALIZATION);
+        return parameters;
+    }
+
+    @Override
+    protected SignatureLevel getSignatureLevel() {
+        return signatureLevel;
+    }
+
+    @Override
+    protected DSSDocument createDocumentToSign() {
+        return BenchmarkDocuments.createBinaryDocument(contentSize);
+    }
+
+}
@@ -0,0 +1,66 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.signature;
+
+import eu.europa.esig.dss.benchmark.BenchmarkDocuments;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the creation and validation of a PAdES signature (PDFBox implementation)
+ *
+ */
+public class PAdESBenchmark extends AbstractSignatureBenchmark<PAdESSignatureParameters> {
+
+    /** The target signature level */
+    @Param({ "PAdES_BASELINE_B", "PAdES_BASELINE_T", "PAdES_BASELINE_LT", "PAdES_BASELINE_LTA" })
+    public SignatureLevel signatureLevel;
+
+    /** Number of pages within the signed PDF document */
+    @Param({ "1", "100" })
+    public int nbPages;
+
+    @Override
+    protected DocumentSignatureService<PAdESSignatureParameters, ?> createService(CertificateVerifier certificateVerifier) {
+        return new PAdESService(certificateVerifier);
+    }
+
+    @Override
+    protected PAdESSignatureParameters createSignatureParameters() {
+        return new PAdESSignatureParameters();
+    }
+
+    @Override
+    protected SignatureLevel getSignatureLevel() {
+        return signatureLevel;
+    }
+
+    @Override
+    protected DSSDocument createDocumentToSign() {
+        return BenchmarkDocuments.createPdfDocument(nbPages);
+    }
+
+}
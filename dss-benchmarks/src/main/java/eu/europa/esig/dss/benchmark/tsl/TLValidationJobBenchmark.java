@@ -0,0 +1,151 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark.tsl;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.tsl.job.TLValidationJob;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the synchronisation of trusted lists (download, parsing and signature validation)
+ * performed by {@code TLValidationJob}. The trusted lists are served from memory, so no network access is required.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TLValidationJobBenchmark {
+
+    /** The trusted lists to be synchronised (provided within the dss-tsl-validation test-jar) */
+    private static final String[] TRUSTED_LISTS = { "/fr.xml", "/de-tl.xml", "/ie-tl.xml", "/sk-tl.xml", "/fi-v5.xml", "/dk_tl-sn21.xml" };
+
+    /** The trusted lists content, by url */
+    private Map<String, DSSDocument> urlMap;
+
+    /** The executor shared between the job executions */
+    private ExecutorService executorService;
+
+    /**
+     * Loads the trusted lists in memory
+     *
+     * @throws IOException if an error occurs on the resource reading
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        urlMap = new HashMap<>();
+        for (String trustedList : TRUSTED_LISTS) {
+            try (InputStream is = TLValidationJobBenchmark.class.getResourceAsStream(trustedList)) {
+                if (is == null) {
+                    throw new DSSException(String.format("The trusted list '%s' is not found in the classpath!", trustedList));
+                }
+                urlMap.put(trustedList, new InMemoryDocument(is));
+            }
+        }
+        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Shuts down the executor
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Synchronises all the trusted lists with an empty cache
+     *
+     * @return {@link TrustedListsCertificateSource}
+     */
+    @Benchmark
+    public TrustedListsCertificateSource offlineRefresh() {
+        TLSource[] tlSources = new TLSource[TRUSTED_LISTS.length];
+        for (int i = 0; i < TRUSTED_LISTS.length; i++) {
+            TLSource tlSource = new TLSource();
+            tlSource.setUrl(TRUSTED_LISTS[i]);
+            tlSources[i] = tlSource;
+        }
+
+        TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+
+        TLValidationJob job = new TLValidationJob();
+        job.setTrustedListSources(tlSources);
+        job.setOfflineDataLoader(new InMemoryFileLoader(urlMap));
+        job.setExecutorService(executorService);
+        job.setTrustedListCertificateSource(trustedListsCertificateSource);
+        job.offlineRefresh();
+        return trustedListsCertificateSource;
+    }
+
+    /**
+     * Returns the documents from the provided map
+     */
+    private static class InMemoryFileLoader implements DSSFileLoader {
+
+        private static final long serialVersionUID = -2529405914836787544L;
+
+        /** The documents by url */
+        private final Map<String, DSSDocument> urlMap;
+
+        /**
+         * Default constructor
+         *
+         * @param urlMap the documents by url
+         */
+        InMemoryFileLoader(Map<String, DSSDocument> urlMap) {
+            this.urlMap = urlMap;
+        }
+
+        @Override
+        public DSSDocument getDocument(String url) {
+            return urlMap.get(url);
+        }
+
+    }
+
+}
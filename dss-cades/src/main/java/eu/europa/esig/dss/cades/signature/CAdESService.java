@@ -47,6 +47,7 @@ import eu.europa.esig.dss.signature.CounterSignatureService;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.exception.IllegalInputException;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
@@ -143,6 +144,20 @@ public class CAdESService extends
 		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
 		Objects.requireNonNull(signatureValue, "SignatureValue cannot be null!");
 
+		// the extension re-uses the signing certificate chain and its revocation data obtained on validation
+		final boolean validationDataShared = !SignatureLevel.CAdES_BASELINE_B.equals(parameters.getSignatureLevel())
+				&& initSharedValidationData(parameters);
+		try {
+			return createSignedDocument(toSignDocument, parameters, signatureValue);
+		} finally {
+			if (validationDataShared) {
+				clearSharedValidationData(parameters);
+			}
+		}
+	}
+
+	private DSSDocument createSignedDocument(final DSSDocument toSignDocument, final CAdESSignatureParameters parameters,
+											 SignatureValue signatureValue) {
 		assertSigningCertificateValid(parameters);
 		final SignaturePackaging packaging = parameters.getSignaturePackaging();
 		assertSignaturePackaging(packaging);
@@ -160,14 +175,19 @@ public class CAdESService extends
 				.setIncludeUnsignedAttributes(true)
 				.setOriginalCMS(originalCms);
 
-		CMS cms = cmsBuilderHelper.createCMS();
-
 		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
+		CMS cms;
+		try (DSSMetrics.Timer timer = startSigningPhaseTimer(signatureLevel, DSSMetrics.PHASE_CREATION)) {
+			cms = cmsBuilderHelper.createCMS();
+		}
+
 		if (!SignatureLevel.CAdES_BASELINE_B.equals(signatureLevel)) {
 			// Only the last signature will be extended
 			final SignerInformation newSignerInformation = getNewSignerInformation(originalCms, cms);
 			final CAdESSignatureExtension extension = getExtensionProfile(parameters);
-			cms = extension.extendCMSSignatures(cms, newSignerInformation, parameters);
+			try (DSSMetrics.Timer timer = startSigningPhaseTimer(signatureLevel, DSSMetrics.PHASE_EXTENSION)) {
+				cms = extension.extendCMSSignatures(cms, newSignerInformation, parameters);
+			}
 		}
 
 		DSSDocument signature = CMSUtils.writeToDSSDocument(cms, resourcesHandlerBuilder);
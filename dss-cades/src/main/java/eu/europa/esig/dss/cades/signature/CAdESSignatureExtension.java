@@ -248,7 +248,9 @@ public abstract class CAdESSignatureExtension implements SignatureExtension<CAdE
 	 */
 	protected CMSDocumentAnalyzer getDocumentValidator(CMS cms, CAdESSignatureParameters parameters) {
 		CMSDocumentAnalyzer documentValidator = new CMSDocumentAnalyzer(cms);
-		documentValidator.setCertificateVerifier(certificateVerifier);
+		// re-uses the validation data obtained within the signing operation
+		documentValidator.setCertificateVerifier(parameters.getSharedCertificateVerifier() != null ?
+				parameters.getSharedCertificateVerifier() : certificateVerifier);
 		documentValidator.setDetachedContents(parameters.getDetachedContents());
 		documentValidator.setValidationContextExecutor(CompleteValidationContextExecutor.INSTANCE);
 		return documentValidator;
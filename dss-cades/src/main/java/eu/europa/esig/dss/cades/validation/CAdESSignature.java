@@ -984,6 +984,12 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		}
 		return result;
 	}
+
+	@Override
+	public Set<DigestAlgorithm> getDetachedContentsDigestAlgorithms() {
+		// the message-digest is verified against each of the digest algorithms incorporated into the CMS
+		return getMessageDigestAlgorithms();
+	}
 	
 	private DigestAlgorithm getDigestAlgorithmForOID(String oid) {
 		if (Utils.isStringEmpty(oid)) {
@@ -337,7 +337,7 @@ public class CAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 		 */
 		DSSDocument originalDocument = getOriginalDocument();
 		if (originalDocument != null) {
-			os.write(DSSUtils.toByteArray(originalDocument));
+			originalDocument.writeTo(os);
 		} else {
 			throw new DSSException(String.format("The detached content is not provided for a TimestampToken with Id '%s'. "
 					+ "Not possible to compute message imprint!", timestampToken.getDSSIdAsString()));
@@ -0,0 +1,117 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CAdESSignAndExtendValidationDataReuseTest extends PKIFactoryAccess {
+
+	@Test
+	void validationDataReuseTest() {
+		Map<String, Integer> revocationCalls = new HashMap<>();
+		Map<String, Integer> aiaCalls = new HashMap<>();
+
+		CertificateVerifier certificateVerifier = getCompleteCertificateVerifier();
+		OCSPSource ocspSource = (OCSPSource) certificateVerifier.getOcspSource();
+		certificateVerifier.setOcspSource((OCSPSource) (certificateToken, issuerCertificateToken) -> {
+			revocationCalls.merge("OCSP-" + certificateToken.getDSSIdAsString(), 1, Integer::sum);
+			return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		});
+		CRLSource crlSource = (CRLSource) certificateVerifier.getCrlSource();
+		certificateVerifier.setCrlSource((CRLSource) (certificateToken, issuerCertificateToken) -> {
+			revocationCalls.merge("CRL-" + certificateToken.getDSSIdAsString(), 1, Integer::sum);
+			return crlSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		});
+		AIASource aiaSource = certificateVerifier.getAIASource();
+		certificateVerifier.setAIASource(certificateToken -> {
+			aiaCalls.merge(certificateToken.getDSSIdAsString(), 1, Integer::sum);
+			return aiaSource.getCertificatesByAIA(certificateToken);
+		});
+
+		DSSDocument toSignDocument = new InMemoryDocument("Hello World".getBytes(StandardCharsets.UTF_8), "doc.txt");
+		CAdESSignatureParameters parameters = new CAdESSignatureParameters();
+		parameters.bLevel().setSigningDate(new Date());
+		parameters.setSigningCertificate(getSigningCert());
+		parameters.setCertificateChain(getCertificateChain());
+		parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		parameters.setSignatureLevel(SignatureLevel.CAdES_BASELINE_LT);
+		parameters.setCheckCertificateRevocation(true);
+
+		CAdESService service = new CAdESService(certificateVerifier);
+		service.setTspSource(getGoodTsa());
+
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		revocationCalls.clear();
+		aiaCalls.clear();
+
+		DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
+		assertNull(parameters.getSharedCertificateVerifier());
+
+		// the validation data obtained on signing is re-used by the extension
+		assertTrue(revocationCalls.size() > 0);
+		for (Map.Entry<String, Integer> entry : revocationCalls.entrySet()) {
+			assertEquals(1, entry.getValue(), entry.getKey());
+		}
+		for (Map.Entry<String, Integer> entry : aiaCalls.entrySet()) {
+			assertEquals(1, entry.getValue(), entry.getKey());
+		}
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(SignatureLevel.CAdES_BASELINE_LT, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+		assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
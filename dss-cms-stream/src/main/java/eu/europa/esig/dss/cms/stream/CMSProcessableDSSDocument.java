@@ -0,0 +1,92 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cms.stream;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSTypedData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Represents a {@code DSSDocument} as a {@code CMSTypedData}, streaming the document content
+ * on each write operation instead of loading it into memory
+ * (contrary to {@code org.bouncycastle.cms.CMSProcessableByteArray}).
+ *
+ */
+class CMSProcessableDSSDocument implements CMSTypedData {
+
+    /** The document to be processed */
+    private final DSSDocument document;
+
+    /** The content type */
+    private final ASN1ObjectIdentifier contentType;
+
+    /**
+     * Constructor to create a CMSTypedData of type id-data
+     *
+     * @param document {@link DSSDocument} to be processed
+     */
+    CMSProcessableDSSDocument(final DSSDocument document) {
+        this(document, CMSObjectIdentifiers.data);
+    }
+
+    /**
+     * Default constructor
+     *
+     * @param document {@link DSSDocument} to be processed
+     * @param contentType {@link ASN1ObjectIdentifier} the content type
+     */
+    CMSProcessableDSSDocument(final DSSDocument document, final ASN1ObjectIdentifier contentType) {
+        Objects.requireNonNull(document, "Document cannot be null!");
+        this.document = document;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void write(OutputStream out) throws IOException {
+        try (InputStream is = document.openStream()) {
+            Utils.copy(is, out);
+        }
+    }
+
+    /**
+     * Returns the processed {@code DSSDocument}.
+     * NOTE: no stream is opened, the content is written with {@code #write(OutputStream)}.
+     *
+     * @return {@link DSSDocument}
+     */
+    @Override
+    public Object getContent() {
+        return document;
+    }
+
+    @Override
+    public ASN1ObjectIdentifier getContentType() {
+        return contentType;
+    }
+
+}
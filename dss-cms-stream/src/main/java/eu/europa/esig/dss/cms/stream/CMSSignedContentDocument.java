@@ -136,7 +136,8 @@ public class CMSSignedContentDocument extends CommonDocument {
 
             @Override
             public Object getContent() {
-                return openStream();
+                // the content is written with #write(OutputStream), no stream is opened
+                return CMSSignedContentDocument.this;
             }
 
             @Override
@@ -302,6 +302,13 @@ public class CMSSignedDataStream implements CMS {
         this.signerInfos = signerInfos;
     }
 
+    /**
+     * Returns the DER-encoded CMS SignedData.
+     * NOTE: the returned CMS is materialized in memory, including the encapsulated content when present.
+     * Use {@code CMSStreamDocumentBuilder#createCMSSignedDocument} to write a CMS of an unbounded size.
+     *
+     * @return byte array
+     */
     @Override
     public byte[] getDEREncoded() {
         /*
@@ -327,6 +334,13 @@ public class CMSSignedDataStream implements CMS {
         }
     }
 
+    /**
+     * Returns the encoded CMS SignedData, using the encoding of the original ContentInfo.
+     * NOTE: the returned CMS is materialized in memory, including the encapsulated content when present.
+     * Use {@code CMSStreamDocumentBuilder#createCMSSignedDocument} to write a CMS of an unbounded size.
+     *
+     * @return byte array
+     */
     @Override
     public byte[] getEncoded() {
         final String encoding = CMSUtils.getContentInfoEncoding(this);
@@ -26,11 +26,13 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.FileDocument;
-import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandlerBuilder;
+import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
 import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.ASN1OctetStringParser;
 import org.bouncycastle.asn1.ASN1SequenceParser;
 import org.bouncycastle.asn1.ASN1Set;
@@ -40,7 +42,6 @@ import org.bouncycastle.asn1.BEROctetStringGenerator;
 import org.bouncycastle.asn1.BERSequenceGenerator;
 import org.bouncycastle.asn1.BERSet;
 import org.bouncycastle.asn1.BERTags;
-import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.DERSequenceGenerator;
 import org.bouncycastle.asn1.DERSet;
 import org.bouncycastle.asn1.DLSet;
@@ -265,19 +266,95 @@ public class CMSStreamUtils implements ICMSUtils {
             sequenceGenerator.close();
 
         } else {
-            DERSequenceGenerator sequenceGenerator = new DERSequenceGenerator(os);
-            sequenceGenerator.addObject(cms.getSignedContentType());
-            if (cms.getSignedContent() != null) {
-                DERSequenceGenerator contentGenerator = new DERSequenceGenerator(sequenceGenerator.getRawOutputStream(), 0, false);
-                // TODO : did not find streaming possibility for DER encoding. Implement own DEROctetStringGenerator ?
-                byte[] signedContentBytes = DSSUtils.toByteArray(cms.getSignedContent());
-                contentGenerator.addObject(new DEROctetString(signedContentBytes));
-                contentGenerator.close();
+            writeDEREncapsulatedContentInfo(cms.getSignedContentType(), cms.getSignedContent(), os);
+        }
+    }
+
+    /**
+     * Writes a DER-encoded EncapsulatedContentInfo, streaming the content of the given {@code signedContent}.
+     * As DER requires definite lengths, the content length is determined before the content is copied
+     * (using the file length for a {@code FileDocument}, or by reading the content stream once otherwise).
+     *
+     * @param contentType {@link ASN1ObjectIdentifier} eContentType
+     * @param signedContent {@link DSSDocument} eContent, can be null
+     * @param os {@link OutputStream} to write the encoded structure into
+     * @throws IOException if an error occurs on writing
+     */
+    static void writeDEREncapsulatedContentInfo(ASN1ObjectIdentifier contentType, DSSDocument signedContent,
+                                                OutputStream os) throws IOException {
+        final byte[] contentTypeBinaries = contentType.getEncoded(ASN1Encoding.DER);
+        long contentLength = -1;
+        long taggedObjectLength = 0;
+        if (signedContent != null) {
+            contentLength = getContentLength(signedContent);
+            long octetStringLength = getEncodedLength(contentLength);
+            taggedObjectLength = getEncodedLength(octetStringLength);
+        }
+
+        writeDERHeader(os, BERTags.CONSTRUCTED | BERTags.SEQUENCE, contentTypeBinaries.length + taggedObjectLength);
+        os.write(contentTypeBinaries);
+        if (signedContent != null) {
+            writeDERHeader(os, BERTags.CONSTRUCTED | BERTags.CONTEXT_SPECIFIC, getEncodedLength(contentLength));
+            writeDERHeader(os, BERTags.OCTET_STRING, contentLength);
+            try (InputStream is = signedContent.openStream()) {
+                long copiedLength = copy(is, os);
+                if (copiedLength != contentLength) {
+                    throw new DSSException(String.format("The signed content length has changed during encoding " +
+                            "(expected : %s, obtained : %s)!", contentLength, copiedLength));
+                }
             }
-            sequenceGenerator.close();
         }
     }
 
+    private static long getContentLength(DSSDocument document) throws IOException {
+        if (document instanceof FileDocument) {
+            return ((FileDocument) document).getFile().length();
+        }
+        try (InputStream is = document.openStream()) {
+            return Utils.getInputStreamSize(is);
+        }
+    }
+
+    private static long getEncodedLength(long contentLength) {
+        return 1 + getLengthOctetsNumber(contentLength) + contentLength;
+    }
+
+    private static int getLengthOctetsNumber(long length) {
+        if (length < 128) {
+            return 1;
+        }
+        int size = 1;
+        long value = length;
+        while ((value >>>= 8) != 0) {
+            size++;
+        }
+        return size + 1;
+    }
+
+    private static void writeDERHeader(OutputStream os, int tag, long length) throws IOException {
+        os.write(tag);
+        if (length < 128) {
+            os.write((int) length);
+            return;
+        }
+        int octetsNumber = getLengthOctetsNumber(length) - 1;
+        os.write(0x80 | octetsNumber);
+        for (int i = (octetsNumber - 1) * 8; i >= 0; i -= 8) {
+            os.write((int) (length >> i));
+        }
+    }
+
+    private static long copy(InputStream is, OutputStream os) throws IOException {
+        final byte[] buffer = new byte[8192];
+        long count = 0;
+        int n;
+        while ((n = is.read(buffer)) != -1) {
+            os.write(buffer, 0, n);
+            count += n;
+        }
+        return count;
+    }
+
     private boolean isBEREncodedContentInfo(CMS cms) {
         String contentInfoEncoding = getContentInfoEncoding(cms);
         return ASN1Encoding.BER.equals(contentInfoEncoding);
@@ -494,8 +571,11 @@ public class CMSStreamUtils implements ICMSUtils {
         } else if (document instanceof FileDocument) {
             FileDocument fileDocument = (FileDocument) document;
             content = new CMSProcessableFile(fileDocument.getFile());
+        } else if (document instanceof InMemoryDocument) {
+            content = new CMSProcessableByteArray(((InMemoryDocument) document).getBytes());
         } else {
-            content = new CMSProcessableByteArray(DSSUtils.toByteArray(document));
+            // stream the content, in order to avoid loading of large documents into the memory
+            content = new CMSProcessableDSSDocument(document);
         }
         return content;
     }
@@ -0,0 +1,59 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cms.stream;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.signature.resources.InMemoryResourcesHandlerBuilder;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.bouncycastle.cms.CMSSignedData;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class CMSSignedDataStreamTest {
+
+    @Test
+    void encodedTest() throws Exception {
+        DSSDocument cmsDocument = new InMemoryDocument(
+                CMSSignedDataStreamTest.class.getResourceAsStream("/validation/CAdESDoubleLTA.p7m"));
+        CMSSignedDataStream cms = CMSStreamDocumentParser.fromDSSDocument(cmsDocument);
+        assertNotNull(cms.getSignedContent());
+
+        // #getEncoded and #getDEREncoded materialize the CMS, including the encapsulated content
+        byte[] encoded = cms.getEncoded();
+        byte[] derEncoded = cms.getDEREncoded();
+        assertArrayEquals(DSSASN1Utils.getDEREncoded(DSSUtils.toByteArray(cmsDocument)), DSSASN1Utils.getDEREncoded(encoded));
+        assertArrayEquals(DSSASN1Utils.getDEREncoded(encoded), derEncoded);
+
+        // the streamed output contains the same CMS
+        CMSStreamDocumentBuilder cmsStreamDocumentBuilder = new CMSStreamDocumentBuilder()
+                .setResourcesHandlerBuilder(new InMemoryResourcesHandlerBuilder());
+        DSSDocument streamedDocument = cmsStreamDocumentBuilder.createCMSSignedDocument(cms);
+        assertArrayEquals(derEncoded, DSSASN1Utils.getDEREncoded(DSSUtils.toByteArray(streamedDocument)));
+
+        CMSSignedData cmsSignedData = new CMSSignedData(encoded);
+        assertArrayEquals(DSSUtils.toByteArray(cms.getSignedContent()), (byte[]) cmsSignedData.getSignedContent().getContent());
+    }
+
+}
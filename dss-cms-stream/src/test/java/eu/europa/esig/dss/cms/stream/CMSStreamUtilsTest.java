@@ -0,0 +1,255 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cms.stream;
+
+import eu.europa.esig.dss.cms.CMSUtils;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.DERTaggedObject;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.cms.CMSTypedData;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CMSStreamUtilsTest {
+
+    /** The maximum heap allocation accepted for a streamed content, independently of its size */
+    private static final long MAX_ALLOCATED_BYTES = 4 * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeDEREncapsulatedContentInfoTest() throws IOException {
+        for (int size : new int[] { 0, 1, 127, 128, 255, 256, 65535, 65536, 70000 }) {
+            byte[] content = getContent(size);
+            byte[] expected = new DERSequence(new ASN1Encodable[] { CMSObjectIdentifiers.data,
+                    new DERTaggedObject(true, 0, new DEROctetString(content)) }).getEncoded(ASN1Encoding.DER);
+
+            assertArrayEquals(expected, writeDEREncapsulatedContentInfo(new InMemoryDocument(content)));
+            assertArrayEquals(expected, writeDEREncapsulatedContentInfo(new GeneratedDocument(size)));
+
+            File file = tempDir.resolve("content-" + size + ".bin").toFile();
+            Files.write(file.toPath(), content);
+            assertArrayEquals(expected, writeDEREncapsulatedContentInfo(new FileDocument(file)));
+        }
+    }
+
+    @Test
+    void writeDEREncapsulatedContentInfoNoContentTest() throws IOException {
+        byte[] expected = new DERSequence(CMSObjectIdentifiers.data).getEncoded(ASN1Encoding.DER);
+        assertArrayEquals(expected, writeDEREncapsulatedContentInfo(null));
+    }
+
+    @Test
+    void toCMSEncapsulatedContentTest() throws Exception {
+        CMSStreamUtils cmsStreamUtils = new CMSStreamUtils();
+
+        CMSTypedData inMemoryContent = cmsStreamUtils.toCMSEncapsulatedContent(new InMemoryDocument(getContent(100)));
+        assertTrue(inMemoryContent instanceof CMSProcessableByteArray);
+
+        CMSTypedData streamedContent = cmsStreamUtils.toCMSEncapsulatedContent(new GeneratedDocument(100));
+        assertFalse(streamedContent instanceof CMSProcessableByteArray);
+        assertEquals(CMSObjectIdentifiers.data, streamedContent.getContentType());
+        // no stream is opened to be left unclosed
+        assertTrue(streamedContent.getContent() instanceof GeneratedDocument);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        streamedContent.write(baos);
+        assertArrayEquals(getContent(100), baos.toByteArray());
+    }
+
+    @Test
+    @Tag("slow")
+    void writeDEREncapsulatedContentInfoLargeContentTest() throws IOException {
+        // -Dlarge.file.size.mb=... (the default size exceeds the maximum size of a byte array)
+        long size = Long.parseLong(System.getProperty("large.file.size.mb", "2048")) * 1024 * 1024;
+
+        CountingOutputStream os = new CountingOutputStream();
+        long allocatedBytes = getAllocatedBytes(() ->
+                CMSStreamUtils.writeDEREncapsulatedContentInfo(CMSObjectIdentifiers.data, new GeneratedDocument(size), os));
+
+        byte[] contentTypeBinaries = CMSObjectIdentifiers.data.getEncoded(ASN1Encoding.DER);
+        // SEQUENCE, [0] and OCTET STRING headers with a 4-bytes (or 5-bytes) length each
+        long headersLength = 3 * (size < 0xFFFFFF00L ? 6 : 7);
+        assertEquals(size + contentTypeBinaries.length + headersLength, os.count);
+        assertTrue(allocatedBytes < MAX_ALLOCATED_BYTES, "Allocated bytes : " + allocatedBytes);
+    }
+
+    @Test
+    void writeDEREncapsulatedContentInfoBoundedHeapTest() throws IOException {
+        long size = 64 * 1024 * 1024;
+
+        CountingOutputStream os = new CountingOutputStream();
+        long allocatedBytes = getAllocatedBytes(() ->
+                CMSStreamUtils.writeDEREncapsulatedContentInfo(CMSObjectIdentifiers.data, new GeneratedDocument(size), os));
+        assertTrue(os.count > size);
+        // the content is copied by chunks and never materialized
+        assertTrue(allocatedBytes < MAX_ALLOCATED_BYTES, "Allocated bytes : " + allocatedBytes);
+    }
+
+    @Test
+    void encapsulatedContentBoundedHeapTest() throws IOException {
+        long size = 64 * 1024 * 1024;
+
+        CMSTypedData cmsTypedData = CMSUtils.toCMSEncapsulatedContent(new GeneratedDocument(size));
+        CountingOutputStream os = new CountingOutputStream();
+        long allocatedBytes = getAllocatedBytes(() -> {
+            try {
+                cmsTypedData.write(os);
+            } catch (CMSException e) {
+                throw new IOException(e);
+            }
+        });
+        assertEquals(size, os.count);
+        assertTrue(allocatedBytes < MAX_ALLOCATED_BYTES, "Allocated bytes : " + allocatedBytes);
+    }
+
+    /**
+     * Returns the number of bytes allocated on the heap by the current thread during the execution of the {@code operation}
+     */
+    private static long getAllocatedBytes(IOOperation operation) throws IOException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean, "Allocated memory measurement is not supported");
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported() && allocationMXBean.isThreadAllocatedMemoryEnabled(),
+                "Allocated memory measurement is not enabled");
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocationMXBean.getThreadAllocatedBytes(threadId);
+        operation.execute();
+        return allocationMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private interface IOOperation {
+
+        void execute() throws IOException;
+
+    }
+
+    private byte[] writeDEREncapsulatedContentInfo(DSSDocument document) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        CMSStreamUtils.writeDEREncapsulatedContentInfo(CMSObjectIdentifiers.data, document, baos);
+        return baos.toByteArray();
+    }
+
+    private static byte[] getContent(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    /**
+     * Generates the content on the fly, without keeping it in memory
+     */
+    private static class GeneratedDocument extends CommonDocument {
+
+        private static final long serialVersionUID = 4213651442581245466L;
+
+        private final long size;
+
+        GeneratedDocument(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new InputStream() {
+
+                private long position = 0;
+
+                @Override
+                public int read() {
+                    return position < size ? (int) (position++ & 0xFF) : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (position >= size) {
+                        return -1;
+                    }
+                    int n = (int) Math.min(len, size - position);
+                    for (int i = 0; i < n; i++) {
+                        b[off + i] = (byte) (position++ & 0xFF);
+                    }
+                    return n;
+                }
+
+            };
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o) && size == ((GeneratedDocument) o).size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(new long[] { super.hashCode(), size });
+        }
+
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+    }
+
+}
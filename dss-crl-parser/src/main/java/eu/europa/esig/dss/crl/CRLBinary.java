@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.identifier.EncapsulatedRevocationTokenIdentifier;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 
@@ -40,4 +41,15 @@ public class CRLBinary extends EncapsulatedRevocationTokenIdentifier<CRL> {
 		super(derEncoded);
 	}
 
+	/**
+	 * Constructor to build an identifier from the digest of the CRL binaries,
+	 * when the binaries are obtained on demand (see {@code #getBinaries})
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} used to compute the digest (SHA-256)
+	 * @param digestValue the digest value of the DER encoded CRL
+	 */
+	protected CRLBinary(DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+		super(digestAlgorithm, digestValue);
+	}
+
 }
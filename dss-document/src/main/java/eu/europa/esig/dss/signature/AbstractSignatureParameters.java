@@ -27,6 +27,7 @@ import eu.europa.esig.dss.model.SerializableTimestampParameters;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 
@@ -59,6 +60,17 @@ public abstract class AbstractSignatureParameters<TP extends SerializableTimesta
 	 */
 	private CertificateToken signingCertificate;
 
+	/**
+	 * The signing certificate already validated within a batch signing (internal variable)
+	 */
+	private transient CertificateToken batchValidatedSigningCertificate;
+
+	/**
+	 * The certificate verifier sharing the validation data between the signatures of a batch, or between
+	 * the creation and the extension of a signature (internal variable)
+	 */
+	private transient CertificateVerifier sharedCertificateVerifier;
+
 	/**
 	 * Optional parameter that contains the actual canonicalized data that was used when creating the
 	 * signature value. This allows scenarios were ToBeSigned was externally updated before signature
@@ -239,6 +251,46 @@ public abstract class AbstractSignatureParameters<TP extends SerializableTimesta
 		return context;
 	}
 
+	/**
+	 * Gets the signing certificate already validated within a batch signing (internal variable)
+	 * (see {@code AbstractSignatureService#signDocuments})
+	 *
+	 * @return {@link CertificateToken}
+	 */
+	CertificateToken getBatchValidatedSigningCertificate() {
+		return batchValidatedSigningCertificate;
+	}
+
+	/**
+	 * Sets the signing certificate already validated within a batch signing (internal variable)
+	 *
+	 * @param batchValidatedSigningCertificate {@link CertificateToken}
+	 */
+	void setBatchValidatedSigningCertificate(CertificateToken batchValidatedSigningCertificate) {
+		this.batchValidatedSigningCertificate = batchValidatedSigningCertificate;
+	}
+
+	/**
+	 * Gets the certificate verifier sharing the validation data (i.e. the certificates obtained by AIA and the revocation
+	 * data) between the signatures of a batch (see {@code AbstractSignatureService#signDocuments}), or between
+	 * the creation of a signature and its extension to a T-level or higher within the same signing operation
+	 * (internal variable). Returns null outside a signing operation.
+	 *
+	 * @return {@link CertificateVerifier}
+	 */
+	public CertificateVerifier getSharedCertificateVerifier() {
+		return sharedCertificateVerifier;
+	}
+
+	/**
+	 * Sets the certificate verifier sharing the validation data within a signing operation (internal variable)
+	 *
+	 * @param sharedCertificateVerifier {@link CertificateVerifier}
+	 */
+	void setSharedCertificateVerifier(CertificateVerifier sharedCertificateVerifier) {
+		this.sharedCertificateVerifier = sharedCertificateVerifier;
+	}
+
 	/**
 	 * This method re-inits signature parameters to clean temporary settings
 	 */
@@ -26,21 +26,37 @@ import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.enumerations.SignaturePackaging;
 import eu.europa.esig.dss.enumerations.SigningOperation;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.SerializableSignatureParameters;
 import eu.europa.esig.dss.model.SerializableTimestampParameters;
 import eu.europa.esig.dss.model.SignatureValue;
 import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.signature.BatchSigner;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSSecurityProvider;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.signature.security.DSSSignatureSecurityFactory;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
+import eu.europa.esig.dss.spi.x509.MemoizingRevocationSource;
+import eu.europa.esig.dss.spi.x509.aia.MemoizingAIASource;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.GeneralSecurityException;
 import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * The abstract class containing the main methods for a signature creation/extension
@@ -64,6 +80,11 @@ public abstract class AbstractSignatureService<SP extends SerializableSignatureP
     /** The TSPSource to use for timestamp requests */
     protected TSPSource tspSource;
 
+    /**
+     * Executes the tasks of a batch signing (a pool is created per batch, when not provided)
+     */
+    private transient ExecutorService batchExecutorService;
+
     /**
      * To construct a signature service the <code>CertificateVerifier</code> must be set and cannot be null.
      *
@@ -81,6 +102,19 @@ public abstract class AbstractSignatureService<SP extends SerializableSignatureP
         this.tspSource = tspSource;
     }
 
+    /**
+     * Sets the executor service used to prepare and finalize the signatures of a batch in parallel
+     * (see {@code #signDocuments}).
+     * If not defined, a fixed thread pool of daemon threads (one per available processor) is created
+     * for every batch and shut down at its end.
+     * NOTE: the provided executor service is not shut down by the signature service.
+     *
+     * @param batchExecutorService {@link ExecutorService}
+     */
+    public void setBatchExecutorService(ExecutorService batchExecutorService) {
+        this.batchExecutorService = batchExecutorService;
+    }
+
     /**
      * This method raises an exception if the signing rules forbid the use the certificate.
      *
@@ -97,12 +131,212 @@ public abstract class AbstractSignatureService<SP extends SerializableSignatureP
                         "Set signing certificate or use method setGenerateTBSWithoutCertificate(true).");
             }
         }
+        if (signingCertificate.equals(parameters.getBatchValidatedSigningCertificate())) {
+            LOG.trace("The signing certificate has already been validated within the batch.");
+            return;
+        }
 
         final SignatureRequirementsChecker signatureRequirementsChecker = new SignatureRequirementsChecker(
                 certificateVerifier, parameters);
         signatureRequirementsChecker.assertSigningCertificateIsValid(signingCertificate);
     }
 
+    /**
+     * Signs several independent documents, each with its own signature, within a single batch :
+     * <ol>
+     *     <li>the validity of the signing certificate (shared by the whole batch) is verified once;</li>
+     *     <li>the data to be signed of all documents is computed in parallel;</li>
+     *     <li>all the data to be signed is signed with a single call to the {@code batchSigner};</li>
+     *     <li>the signed documents are produced in parallel.</li>
+     * </ol>
+     * The signatures of the batch share a copy of the {@code CertificateVerifier}, which keeps in memory
+     * the obtained OCSP and CRL responses (see {@code MemoizingRevocationSource}). Thus, the revocation data of the
+     * signing and time-stamping certificate chains is requested once for the whole batch.
+     * The {@code parametersProvider} shall return a new parameters instance for every document,
+     * as the parameters keep the state of a signature creation.
+     * All the parameters shall define the same signing certificate and signature algorithm.
+     * NOTE: every signature obtains its own time-stamp(s), as a signature time-stamp covers the value of
+     * a single signature and a content time-stamp covers the content of a single document.
+     *
+     * @param toSignDocuments a list of {@link DSSDocument}s to be signed
+     * @param parametersProvider {@link Function} returning new signature parameters for the given document
+     * @param batchSigner {@link BatchSigner} computing the signature values
+     * @return a list of signed {@link DSSDocument}s, in the same order as {@code toSignDocuments}
+     */
+    public List<DSSDocument> signDocuments(final List<DSSDocument> toSignDocuments, final Function<DSSDocument, SP> parametersProvider,
+                                           final BatchSigner batchSigner) {
+        Objects.requireNonNull(toSignDocuments, "List of documents to be signed cannot be null!");
+        Objects.requireNonNull(parametersProvider, "Parameters provider cannot be null!");
+        Objects.requireNonNull(batchSigner, "BatchSigner cannot be null!");
+        if (toSignDocuments.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<SP> parametersList = new ArrayList<>(toSignDocuments.size());
+        for (DSSDocument toSignDocument : toSignDocuments) {
+            parametersList.add(Objects.requireNonNull(parametersProvider.apply(toSignDocument),
+                    "Parameters provider shall return signature parameters!"));
+        }
+        final SP firstParameters = parametersList.get(0);
+        final SignatureAlgorithm signatureAlgorithm = firstParameters.getSignatureAlgorithm();
+        final CertificateToken signingCertificate = getSigningCertificate(firstParameters);
+        for (SP parameters : parametersList.subList(1, parametersList.size())) {
+            if (signatureAlgorithm != parameters.getSignatureAlgorithm()
+                    || !Objects.equals(signingCertificate, getSigningCertificate(parameters))) {
+                throw new IllegalArgumentException("All the parameters of a batch shall define " +
+                        "the same signing certificate and signature algorithm!");
+            }
+        }
+
+        final CertificateVerifier sharedCertificateVerifier = createSharedCertificateVerifier();
+        final ExecutorService executorService = batchExecutorService != null ? batchExecutorService : createBatchExecutorService();
+        try {
+            // the validation data obtained on the signing certificate validation is shared within the batch as well
+            setBatchState(parametersList, null, sharedCertificateVerifier);
+            if (firstParameters instanceof AbstractSignatureParameters<?>) {
+                assertSigningCertificateValid((AbstractSignatureParameters<?>) firstParameters);
+            }
+
+            setBatchState(parametersList, signingCertificate, sharedCertificateVerifier);
+            return signBatch(toSignDocuments, parametersList, batchSigner, executorService);
+
+        } finally {
+            setBatchState(parametersList, null, null);
+            if (executorService != batchExecutorService) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    private List<DSSDocument> signBatch(final List<DSSDocument> toSignDocuments, final List<SP> parametersList,
+                                        final BatchSigner batchSigner, final ExecutorService executorService) {
+        final SignatureAlgorithm signatureAlgorithm = parametersList.get(0).getSignatureAlgorithm();
+
+        final List<Callable<ToBeSigned>> dataToSignTasks = new ArrayList<>(toSignDocuments.size());
+        for (int i = 0; i < toSignDocuments.size(); i++) {
+            final DSSDocument toSignDocument = toSignDocuments.get(i);
+            final SP parameters = parametersList.get(i);
+            dataToSignTasks.add(() -> getDataToSign(toSignDocument, parameters));
+        }
+        final List<ToBeSigned> dataToSign = executeBatchTasks(dataToSignTasks, executorService);
+
+        final List<SignatureValue> signatureValues = batchSigner.sign(dataToSign, signatureAlgorithm);
+        if (signatureValues == null || signatureValues.size() != dataToSign.size()) {
+            throw new DSSException(String.format("The BatchSigner shall return %s signature values!", dataToSign.size()));
+        }
+
+        final List<Callable<DSSDocument>> signDocumentTasks = new ArrayList<>(toSignDocuments.size());
+        for (int i = 0; i < toSignDocuments.size(); i++) {
+            final DSSDocument toSignDocument = toSignDocuments.get(i);
+            final SP parameters = parametersList.get(i);
+            final SignatureValue signatureValue = signatureValues.get(i);
+            signDocumentTasks.add(() -> signDocument(toSignDocument, parameters, signatureValue));
+        }
+        return executeBatchTasks(signDocumentTasks, executorService);
+    }
+
+    private CertificateToken getSigningCertificate(SP parameters) {
+        if (parameters instanceof AbstractSignatureParameters<?>) {
+            return ((AbstractSignatureParameters<?>) parameters).getSigningCertificate();
+        }
+        return null;
+    }
+
+    private void setBatchState(List<SP> parametersList, CertificateToken signingCertificate,
+                               CertificateVerifier sharedCertificateVerifier) {
+        for (SP parameters : parametersList) {
+            if (parameters instanceof AbstractSignatureParameters<?>) {
+                AbstractSignatureParameters<?> signatureParameters = (AbstractSignatureParameters<?>) parameters;
+                signatureParameters.setBatchValidatedSigningCertificate(signingCertificate);
+                signatureParameters.setSharedCertificateVerifier(sharedCertificateVerifier);
+            }
+        }
+    }
+
+    /**
+     * Shares the validation data obtained on the signing certificate validation (i.e. the certificates obtained
+     * by AIA and the revocation data) with the extension of the created signature within the same signing operation.
+     * Does nothing when the validation data is already shared within a batch.
+     * NOTE: the sharing shall be ended with {@code #clearSharedValidationData} at the end of the signing operation.
+     *
+     * @param parameters {@link AbstractSignatureParameters} of the signing operation
+     * @return TRUE if the sharing has been initialized by the current call, FALSE otherwise
+     */
+    protected boolean initSharedValidationData(final AbstractSignatureParameters<?> parameters) {
+        if (parameters.getSharedCertificateVerifier() != null) {
+            LOG.trace("The validation data is already shared within the batch.");
+            return false;
+        }
+        parameters.setSharedCertificateVerifier(createSharedCertificateVerifier());
+        return true;
+    }
+
+    /**
+     * Ends the sharing of the validation data initialized with {@code #initSharedValidationData}
+     *
+     * @param parameters {@link AbstractSignatureParameters} of the signing operation
+     */
+    protected void clearSharedValidationData(final AbstractSignatureParameters<?> parameters) {
+        parameters.setSharedCertificateVerifier(null);
+    }
+
+    /**
+     * Creates a copy of the {@code certificateVerifier} keeping in memory the certificates obtained by AIA and
+     * the revocation data within a signing operation (e.g. by the signatures of a batch)
+     *
+     * @return {@link CertificateVerifier}
+     */
+    private CertificateVerifier createSharedCertificateVerifier() {
+        final CertificateVerifier sharedCertificateVerifier = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+        if (certificateVerifier.getAIASource() != null) {
+            sharedCertificateVerifier.setAIASource(new MemoizingAIASource(certificateVerifier.getAIASource()));
+        }
+        if (certificateVerifier.getOcspSource() != null) {
+            sharedCertificateVerifier.setOcspSource(new MemoizingRevocationSource<>(certificateVerifier.getOcspSource()));
+        }
+        if (certificateVerifier.getCrlSource() != null) {
+            sharedCertificateVerifier.setCrlSource(new MemoizingRevocationSource<>(certificateVerifier.getCrlSource()));
+        }
+        return sharedCertificateVerifier;
+    }
+
+    private <T> List<T> executeBatchTasks(List<Callable<T>> tasks, ExecutorService executorService) {
+        if (tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executorService.submit(task));
+        }
+
+        final List<T> result = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : futures) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new DSSException("Interrupted while processing the batch!");
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DSSException(String.format("Unable to process the batch : %s", e.getCause().getMessage()), e.getCause());
+        }
+        return result;
+    }
+
+    private ExecutorService createBatchExecutorService() {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "dss-batch-signing-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * This method ensures the provided {@code signatureValue} has the expected {@code targetSignatureAlgorithm}
      *
@@ -116,6 +350,19 @@ public abstract class AbstractSignatureService<SP extends SerializableSignatureP
         return new SignatureValueChecker().ensureSignatureValue(signatureValue, targetSignatureAlgorithm);
     }
 
+    /**
+     * Starts a timer measuring a signature creation {@code phase}, to be closed at the end of the phase
+     *
+     * @param signatureLevel {@link SignatureLevel} the target signature level, used to tag the signature format
+     * @param phase {@link String} the measured phase (see {@code DSSMetrics.PHASE_CREATION} and {@code DSSMetrics.PHASE_EXTENSION})
+     * @return {@link DSSMetrics.Timer}
+     */
+    protected DSSMetrics.Timer startSigningPhaseTimer(SignatureLevel signatureLevel, String phase) {
+        return DSSMetrics.startTimer(DSSMetrics.SIGNATURE_PHASE,
+                DSSMetrics.TAG_FORMAT, signatureLevel != null ? String.valueOf(signatureLevel.getSignatureForm()) : null,
+                DSSMetrics.TAG_PHASE, phase);
+    }
+
     /**
      * Generates and returns a final name for the document to create
      *
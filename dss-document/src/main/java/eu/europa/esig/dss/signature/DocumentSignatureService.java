@@ -30,6 +30,9 @@ import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * This interface {@code DocumentSignatureService} provides operations for the signature creation and for its extension.
@@ -92,6 +95,27 @@ public interface DocumentSignatureService<SP extends SerializableSignatureParame
 	 */
 	DSSDocument signDocument(final DSSDocument toSignDocument, final SP parameters, SignatureValue signatureValue);
 
+	/**
+	 * Signs the toSignDocument with the provided signatureValue asynchronously within the given {@code executor}.
+	 * NOTE: the method only offloads the blocking {@code #signDocument} call to a thread of the {@code executor}.
+	 * The time-stamp and revocation data requests still block that thread.
+	 *
+	 * @param toSignDocument
+	 *            document to sign
+	 * @param parameters
+	 *            set of the driving signing parameters
+	 * @param signatureValue
+	 *            the signature value to incorporate
+	 * @param executor
+	 *            {@link Executor} to run the signature creation
+	 * @return {@link CompletableFuture} completed with the signed document, or exceptionally in case of a failure
+	 */
+	default CompletableFuture<DSSDocument> signDocumentAsync(final DSSDocument toSignDocument, final SP parameters,
+															 final SignatureValue signatureValue, final Executor executor) {
+		Objects.requireNonNull(executor, "Executor cannot be null!");
+		return CompletableFuture.supplyAsync(() -> signDocument(toSignDocument, parameters, signatureValue), executor);
+	}
+
 	/**
 	 * Extends the level of the signatures in the {@code toExtendDocument}
 	 *
@@ -103,6 +127,26 @@ public interface DocumentSignatureService<SP extends SerializableSignatureParame
 	 */
 	DSSDocument extendDocument(final DSSDocument toExtendDocument, final SP parameters);
 
+	/**
+	 * Extends the level of the signatures in the {@code toExtendDocument} asynchronously
+	 * within the given {@code executor}.
+	 * NOTE: the method only offloads the blocking {@code #extendDocument} call to a thread of the {@code executor}.
+	 * The time-stamp and revocation data requests still block that thread.
+	 *
+	 * @param toExtendDocument
+	 *            document to extend
+	 * @param parameters
+	 *            set of the driving signing parameters
+	 * @param executor
+	 *            {@link Executor} to run the extension
+	 * @return {@link CompletableFuture} completed with the extended signature, or exceptionally in case of a failure
+	 */
+	default CompletableFuture<DSSDocument> extendDocumentAsync(final DSSDocument toExtendDocument, final SP parameters,
+															   final Executor executor) {
+		Objects.requireNonNull(executor, "Executor cannot be null!");
+		return CompletableFuture.supplyAsync(() -> extendDocument(toExtendDocument, parameters), executor);
+	}
+
 	/**
 	 * This setter allows to define the TSP (timestamp provider) source.
 	 *
@@ -134,4 +178,23 @@ public interface DocumentSignatureService<SP extends SerializableSignatureParame
 	 */
 	DSSDocument timestamp(final DSSDocument toTimestampDocument, final TP parameters);
 
+	/**
+	 * This method allows to add a timestamp to an unsigned document asynchronously within the given {@code executor}.
+	 * NOTE: the method only offloads the blocking {@code #timestamp} call to a thread of the {@code executor}.
+	 * The time-stamp and revocation data requests still block that thread.
+	 *
+	 * @param toTimestampDocument
+	 *                            the document to be timestamped
+	 * @param parameters
+	 *                            set of the driving timestamping parameters
+	 * @param executor
+	 *                            {@link Executor} to run the timestamping
+	 * @return {@link CompletableFuture} completed with the timestamped document, or exceptionally in case of a failure
+	 */
+	default CompletableFuture<DSSDocument> timestampAsync(final DSSDocument toTimestampDocument, final TP parameters,
+														  final Executor executor) {
+		Objects.requireNonNull(executor, "Executor cannot be null!");
+		return CompletableFuture.supplyAsync(() -> timestamp(toTimestampDocument, parameters), executor);
+	}
+
 }
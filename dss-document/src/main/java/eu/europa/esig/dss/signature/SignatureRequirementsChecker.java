@@ -270,13 +270,16 @@ public class SignatureRequirementsChecker {
      * @return {@link CertificateVerifier}
      */
     protected CertificateVerifier getCertificateVerifier() {
+        // re-uses the validation data obtained within the signing operation
+        final CertificateVerifier currentCertificateVerifier = signatureParameters.getSharedCertificateVerifier() != null ?
+                signatureParameters.getSharedCertificateVerifier() : certificateVerifier;
         if (signatureParameters.isCheckCertificateRevocation()) {
-            return certificateVerifier;
+            return currentCertificateVerifier;
         }
 
         // skip revocation check
         final CertificateVerifier offlineCertificateVerifier =
-                new CertificateVerifierBuilder(certificateVerifier).buildOfflineCopy();
+                new CertificateVerifierBuilder(currentCertificateVerifier).buildOfflineCopy();
 
         RevocationDataVerifier acceptAllRevocationDataVerifier = createAcceptAllRevocationDataVerifier();
         offlineCertificateVerifier.setRevocationDataVerifier(acceptAllRevocationDataVerifier);
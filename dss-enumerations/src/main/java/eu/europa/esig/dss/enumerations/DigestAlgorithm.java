@@ -116,6 +116,12 @@ public enum DigestAlgorithm implements OidAndUriBasedEnum {
 	/** Salt length for MGF usage */
 	private final int saltLength;
 
+	/**
+	 * An initialized MessageDigest, never used directly, but cloned in order to avoid
+	 * the security provider lookup on every {@link #getMessageDigest()} call
+	 */
+	private volatile MessageDigest messageDigestPrototype;
+
 	private static class Registry {
 
 		/** A map between algorithm names */
@@ -461,13 +467,43 @@ public enum DigestAlgorithm implements OidAndUriBasedEnum {
 
 	/**
 	 * Get a new instance of MessageDigest for the current digestAlgorithm
+	 * <p>
+	 * NOTE: the provider is resolved on the first call, the following instances are obtained by cloning
+	 * the first one when supported by the provider (see {@link #clearMessageDigestCache()}).
 	 * 
 	 * @return an instance of MessageDigest
 	 * @throws NoSuchAlgorithmException
 	 *                                  if the algorithm is not supported
 	 */
 	public MessageDigest getMessageDigest() throws NoSuchAlgorithmException {
-		return MessageDigest.getInstance(javaName);
+		final MessageDigest prototype = messageDigestPrototype;
+		if (prototype != null) {
+			try {
+				return (MessageDigest) prototype.clone();
+			} catch (CloneNotSupportedException e) {
+				// not expected, the prototype is cloned on creation
+			}
+		}
+		final MessageDigest messageDigest = MessageDigest.getInstance(javaName);
+		if (prototype == null) {
+			try {
+				messageDigestPrototype = (MessageDigest) messageDigest.clone();
+			} catch (CloneNotSupportedException e) {
+				// the provider implementation is not cloneable, the instance is created on every call
+			}
+		}
+		return messageDigest;
+	}
+
+	/**
+	 * Clears the cached MessageDigest instances of all the algorithms.
+	 * The method shall be called when the security providers are re-ordered after the first use
+	 * of {@link #getMessageDigest()}, in order to resolve the provider again.
+	 */
+	public static void clearMessageDigestCache() {
+		for (DigestAlgorithm digestAlgorithm : values()) {
+			digestAlgorithm.messageDigestPrototype = null;
+		}
 	}
 
 	/**
@@ -0,0 +1,110 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.asn1.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.evidencerecord.asn1.digest.ASN1EvidenceRecordDataObjectDigestBuilder;
+import eu.europa.esig.dss.evidencerecord.common.generation.AbstractEvidenceRecordGenerator;
+import eu.europa.esig.dss.evidencerecord.common.generation.HashTreeTimestampAggregator;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.x509.evidencerecord.digest.DataObjectDigestBuilder;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.ContentInfo;
+import org.bouncycastle.asn1.tsp.ArchiveTimeStamp;
+import org.bouncycastle.asn1.tsp.ArchiveTimeStampChain;
+import org.bouncycastle.asn1.tsp.ArchiveTimeStampSequence;
+import org.bouncycastle.asn1.tsp.EvidenceRecord;
+import org.bouncycastle.asn1.tsp.PartialHashtree;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Generates ASN.1 Evidence Records as defined in RFC 4998.
+ * <p>
+ * Each produced evidence record contains a single ArchiveTimeStampChain with a single ArchiveTimeStamp,
+ * including the reduced hash tree of the data object and the RFC 3161 time-stamp obtained on the root hash value.
+ *
+ */
+public class ASN1EvidenceRecordGenerator extends AbstractEvidenceRecordGenerator {
+
+    /**
+     * Default constructor
+     *
+     * @param tspSource {@link TSPSource} to request the archive time-stamps from
+     */
+    public ASN1EvidenceRecordGenerator(final TSPSource tspSource) {
+        super(tspSource);
+    }
+
+    /**
+     * Constructor with an aggregator, sharing the archive time-stamps between the evidence records
+     * requested by concurrent threads within the aggregation window (see {@code #generate(DSSDocument)})
+     *
+     * @param aggregator {@link HashTreeTimestampAggregator} to request the archive time-stamps from
+     */
+    public ASN1EvidenceRecordGenerator(final HashTreeTimestampAggregator aggregator) {
+        super(aggregator);
+    }
+
+    @Override
+    protected DataObjectDigestBuilder getDataObjectDigestBuilder(DSSDocument document, DigestAlgorithm digestAlgorithm) {
+        return new ASN1EvidenceRecordDataObjectDigestBuilder(document, digestAlgorithm);
+    }
+
+    @Override
+    protected DSSDocument buildEvidenceRecord(DSSDocument document, List<List<byte[]>> digestValueGroups,
+                                              TimestampBinary timestampBinary) {
+        final AlgorithmIdentifier digestAlgorithmIdentifier = new AlgorithmIdentifier(
+                new ASN1ObjectIdentifier(getDigestAlgorithm().getOid()));
+
+        final PartialHashtree[] reducedHashTree = new PartialHashtree[digestValueGroups.size()];
+        for (int i = 0; i < digestValueGroups.size(); i++) {
+            reducedHashTree[i] = new PartialHashtree(digestValueGroups.get(i).toArray(new byte[0][]));
+        }
+
+        final ArchiveTimeStamp archiveTimeStamp = new ArchiveTimeStamp(digestAlgorithmIdentifier, reducedHashTree,
+                ContentInfo.getInstance(timestampBinary.getBytes()));
+        final EvidenceRecord evidenceRecord = new EvidenceRecord(new AlgorithmIdentifier[] { digestAlgorithmIdentifier },
+                null, null, new ArchiveTimeStampSequence(new ArchiveTimeStampChain(archiveTimeStamp)));
+
+        try {
+            final InMemoryDocument evidenceRecordDocument = new InMemoryDocument(evidenceRecord.getEncoded(ASN1Encoding.DER));
+            evidenceRecordDocument.setName(getEvidenceRecordName(document));
+            evidenceRecordDocument.setMimeType(MimeTypeEnum.BINARY);
+            return evidenceRecordDocument;
+        } catch (IOException e) {
+            throw new DSSException(String.format("Unable to encode the evidence record : %s", e.getMessage()), e);
+        }
+    }
+
+    private String getEvidenceRecordName(DSSDocument document) {
+        return document.getName() != null ? "er-" + document.getName() + ".ers" : null;
+    }
+
+}
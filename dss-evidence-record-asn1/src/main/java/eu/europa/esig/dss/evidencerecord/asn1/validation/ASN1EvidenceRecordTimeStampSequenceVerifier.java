@@ -38,9 +38,11 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Verifies ArchiveTimeStampSequence for an ASN.1 Evidence Record
@@ -50,6 +52,15 @@ public class ASN1EvidenceRecordTimeStampSequenceVerifier extends EvidenceRecordT
 
 	private static final Logger LOG = LoggerFactory.getLogger(ASN1EvidenceRecordTimeStampSequenceVerifier.class);
 
+    /** The hash of the ArchiveTimeStampChain the {@code renewedDocumentsIndex} has been computed for */
+    private DSSMessageDigest renewedDocumentsIndexChainHash;
+
+    /** The list of detached documents the {@code renewedDocumentsIndex} has been computed for */
+    private List<DSSDocument> renewedDocumentsIndexDocuments;
+
+    /** The detached documents indexed by their (archiveTimeStampChainHash || documentHash) digest value */
+    private Map<ByteBuffer, DSSDocument> renewedDocumentsIndex;
+
     /**
      * Default constructor to instantiate an ASN.1 evidence record verifier
      *
@@ -79,15 +90,20 @@ public class ASN1EvidenceRecordTimeStampSequenceVerifier extends EvidenceRecordT
         if (lastTimeStampSequenceHash.isEmpty()) {
             return super.getMatchingDocument(digest, archiveTimeStampChain, lastTimeStampSequenceHash, detachedContents);
 
-        } else if (Utils.isCollectionNotEmpty(detachedContents)) {
-            for (DSSDocument document : detachedContents) {
-                DSSMessageDigest chainAndDocumentHash = getEvidenceRecordRenewalDigestBuilderHelper()
-                        .computeChainAndDocumentHash(lastTimeStampSequenceHash, document);
-                byte[] documentDigest = chainAndDocumentHash.getValue();
-                if (Arrays.equals(digest.getValue(), documentDigest)) {
-                    return document;
+        } else if (Utils.isCollectionNotEmpty(detachedContents) && digest.getValue() != null) {
+            if (renewedDocumentsIndex == null || lastTimeStampSequenceHash != renewedDocumentsIndexChainHash
+                    || detachedContents != renewedDocumentsIndexDocuments) {
+                // compute the hashes once per ArchiveTimeStampChain
+                renewedDocumentsIndex = new HashMap<>();
+                for (DSSDocument document : detachedContents) {
+                    DSSMessageDigest chainAndDocumentHash = getEvidenceRecordRenewalDigestBuilderHelper()
+                            .computeChainAndDocumentHash(lastTimeStampSequenceHash, document);
+                    renewedDocumentsIndex.putIfAbsent(ByteBuffer.wrap(chainAndDocumentHash.getValue()), document);
                 }
+                renewedDocumentsIndexChainHash = lastTimeStampSequenceHash;
+                renewedDocumentsIndexDocuments = detachedContents;
             }
+            return renewedDocumentsIndex.get(ByteBuffer.wrap(digest.getValue()));
         }
         return null;
     }
@@ -0,0 +1,243 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.asn1.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.evidencerecord.common.generation.HashTreeTimestamp;
+import eu.europa.esig.dss.evidencerecord.common.generation.HashTreeTimestampAggregator;
+import eu.europa.esig.dss.evidencerecord.common.validation.DefaultEvidenceRecordValidator;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.ReferenceValidation;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.evidencerecord.EvidenceRecord;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ASN1EvidenceRecordAggregatedGenerationTest extends PKIFactoryAccess {
+
+    private AtomicInteger tspCalls;
+
+    private TSPSource countingTSPSource;
+
+    @BeforeEach
+    void init() {
+        tspCalls = new AtomicInteger();
+        TSPSource tspSource = getGoodTsa();
+        countingTSPSource = (digestAlgorithm, digest) -> {
+            tspCalls.incrementAndGet();
+            return tspSource.getTimeStampResponse(digestAlgorithm, digest);
+        };
+    }
+
+    @Test
+    void concurrentGenerationTest() throws Exception {
+        List<DSSDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            documents.add(new InMemoryDocument(("Hello World " + i).getBytes(), "hello-" + i + ".txt"));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(documents.size());
+        try (HashTreeTimestampAggregator aggregator = new HashTreeTimestampAggregator(countingTSPSource)) {
+            aggregator.setBatchWindow(500);
+            ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(aggregator);
+
+            List<Future<DSSDocument>> futures = new ArrayList<>();
+            for (DSSDocument document : documents) {
+                futures.add(executorService.submit(() -> generator.generate(document)));
+            }
+            for (int i = 0; i < documents.size(); i++) {
+                assertEvidenceRecordValid(futures.get(i).get(10, TimeUnit.SECONDS), documents.get(i));
+            }
+            // a single archive time-stamp covers all the evidence records
+            assertEquals(1, tspCalls.get());
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void generationWithoutAggregatorTest() {
+        ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(countingTSPSource);
+        DSSDocument document = new InMemoryDocument("Hello World".getBytes(), "hello.txt");
+        assertEvidenceRecordValid(generator.generate(document), document);
+        assertEvidenceRecordValid(generator.generate(document), document);
+        assertEquals(2, tspCalls.get());
+    }
+
+    @Test
+    void explicitBatchTest() {
+        List<byte[]> digests = getDigests(7);
+        try (HashTreeTimestampAggregator aggregator = new HashTreeTimestampAggregator(countingTSPSource)) {
+            List<HashTreeTimestamp> timestamps = aggregator.getTimeStamps(DigestAlgorithm.SHA256, digests);
+            assertEquals(7, timestamps.size());
+            assertEquals(1, tspCalls.get());
+
+            for (int i = 0; i < digests.size(); i++) {
+                HashTreeTimestamp hashTreeTimestamp = timestamps.get(i);
+                assertSame(digests.get(i), hashTreeTimestamp.getDigest());
+                assertTrue(getTimestampToken(hashTreeTimestamp).matchData(hashTreeTimestamp.getRootHash()));
+            }
+
+            HashTreeTimestamp tampered = new HashTreeTimestamp(timestamps.get(0).getTimestampBinary(), DigestAlgorithm.SHA256,
+                    digests.get(1), timestamps.get(0).getReducedHashTree());
+            assertFalse(getTimestampToken(tampered).matchData(tampered.getRootHash()));
+        }
+    }
+
+    @Test
+    void maxBatchSizeTest() throws Exception {
+        List<byte[]> digests = getDigests(20);
+        ExecutorService executorService = Executors.newFixedThreadPool(digests.size());
+        try (HashTreeTimestampAggregator aggregator = new HashTreeTimestampAggregator(countingTSPSource)) {
+            aggregator.setBatchWindow(500);
+            aggregator.setMaxBatchSize(10);
+
+            List<Future<HashTreeTimestamp>> futures = new ArrayList<>();
+            for (byte[] digest : digests) {
+                futures.add(executorService.submit(() -> aggregator.getTimeStamp(DigestAlgorithm.SHA256, digest)));
+            }
+            List<TimestampBinary> timestampBinaries = new ArrayList<>();
+            for (int i = 0; i < digests.size(); i++) {
+                HashTreeTimestamp hashTreeTimestamp = futures.get(i).get(10, TimeUnit.SECONDS);
+                assertSame(digests.get(i), hashTreeTimestamp.getDigest());
+                assertTrue(getTimestampToken(hashTreeTimestamp).matchData(hashTreeTimestamp.getRootHash()));
+                if (!timestampBinaries.contains(hashTreeTimestamp.getTimestampBinary())) {
+                    timestampBinaries.add(hashTreeTimestamp.getTimestampBinary());
+                }
+            }
+            assertTrue(tspCalls.get() >= 2);
+            assertTrue(tspCalls.get() < digests.size());
+            assertEquals(tspCalls.get(), timestampBinaries.size());
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void errorTest() {
+        TSPSource failingTSPSource = (digestAlgorithm, digest) -> {
+            throw new DSSExternalResourceException("TSA is not available");
+        };
+        try (HashTreeTimestampAggregator aggregator = new HashTreeTimestampAggregator(failingTSPSource)) {
+            aggregator.setBatchWindow(10);
+            ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(aggregator);
+            DSSDocument document = new InMemoryDocument("Hello World".getBytes(), "hello.txt");
+            Exception exception = assertThrows(DSSException.class, () -> generator.generate(document));
+            assertEquals("TSA is not available", exception.getMessage());
+        }
+    }
+
+    @Test
+    void closeTest() throws Exception {
+        HashTreeTimestampAggregator aggregator = new HashTreeTimestampAggregator(countingTSPSource);
+        aggregator.setBatchWindow(60000);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            byte[] digest = getDigests(1).get(0);
+            Future<HashTreeTimestamp> future = executorService.submit(() -> aggregator.getTimeStamp(DigestAlgorithm.SHA256, digest));
+            Thread.sleep(200);
+            assertFalse(future.isDone());
+
+            // the pending batch is time-stamped on close, without waiting for the end of the window
+            aggregator.close();
+            assertNotNull(future.get(10, TimeUnit.SECONDS));
+            assertEquals(1, tspCalls.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<byte[]> getDigests(int number) {
+        List<byte[]> digests = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            digests.add(DSSUtils.digest(DigestAlgorithm.SHA256, ("Document " + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return digests;
+    }
+
+    private TimestampToken getTimestampToken(HashTreeTimestamp hashTreeTimestamp) {
+        try {
+            return new TimestampToken(hashTreeTimestamp.getTimestampBinary().getBytes(), TimestampType.EVIDENCE_RECORD_TIMESTAMP);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void assertEvidenceRecordValid(DSSDocument evidenceRecordDocument, DSSDocument document) {
+        DefaultEvidenceRecordValidator validator = DefaultEvidenceRecordValidator.fromDocument(evidenceRecordDocument);
+        validator.setCertificateVerifier(new CommonCertificateVerifier());
+        validator.setDetachedContents(Collections.singletonList(document));
+        EvidenceRecord evidenceRecord = validator.getEvidenceRecord();
+        assertNotNull(evidenceRecord);
+
+        int dataObjectReferencesCounter = 0;
+        for (ReferenceValidation referenceValidation : evidenceRecord.getReferenceValidation()) {
+            // sibling digests from the hash tree are reported as orphan references
+            if (DigestMatcherType.EVIDENCE_RECORD_ORPHAN_REFERENCE != referenceValidation.getType()) {
+                assertTrue(referenceValidation.isFound());
+                assertTrue(referenceValidation.isIntact());
+                ++dataObjectReferencesCounter;
+            }
+        }
+        assertEquals(1, dataObjectReferencesCounter);
+
+        List<TimestampToken> timestamps = evidenceRecord.getTimestamps();
+        assertEquals(1, timestamps.size());
+        assertTrue(timestamps.get(0).isMessageImprintDataFound());
+        assertTrue(timestamps.get(0).isMessageImprintDataIntact());
+    }
+
+    @Override
+    protected String getSigningAlias() {
+        return GOOD_USER;
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.asn1.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.enumerations.EvidenceRecordTypeEnum;
+import eu.europa.esig.dss.evidencerecord.common.validation.DefaultEvidenceRecordValidator;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.ReferenceValidation;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.evidencerecord.EvidenceRecord;
+import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ASN1EvidenceRecordGeneratorTest extends PKIFactoryAccess {
+
+    @Test
+    void generateTest() {
+        List<DSSDocument> documents = new ArrayList<>();
+        documents.add(new FileDocument("src/test/resources/BIN-1.bin"));
+        documents.add(new FileDocument("src/test/resources/BIN-2.bin"));
+        for (int i = 0; i < 5; i++) {
+            documents.add(new InMemoryDocument(("Hello World " + i).getBytes(), "hello-" + i + ".txt"));
+        }
+
+        ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(getGoodTsa());
+        generator.setDigestAlgorithm(DigestAlgorithm.SHA512);
+        generator.setBatchSize(3);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            generator.setExecutorService(executorService);
+            List<DSSDocument> evidenceRecords = generator.generate(documents);
+            assertEquals(documents.size(), evidenceRecords.size());
+            for (int i = 0; i < documents.size(); i++) {
+                assertEquals("er-" + documents.get(i).getName() + ".ers", evidenceRecords.get(i).getName());
+                assertEvidenceRecordValid(evidenceRecords.get(i), documents.get(i));
+            }
+            assertEvidenceRecordInvalid(evidenceRecords.get(0), new InMemoryDocument("Not preserved".getBytes(), "other.txt"));
+
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void singleDocumentTest() {
+        DSSDocument document = new InMemoryDocument("Hello World".getBytes(), "hello.txt");
+        ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(getGoodTsa());
+        List<DSSDocument> evidenceRecords = generator.generate(Collections.singletonList(document));
+        assertEquals(1, evidenceRecords.size());
+        assertEvidenceRecordValid(evidenceRecords.get(0), document);
+    }
+
+    @Test
+    void sameDigestsTest() {
+        List<DSSDocument> documents = Arrays.asList(
+                new InMemoryDocument("Hello World".getBytes(), "hello.txt"),
+                new InMemoryDocument("Hello World".getBytes(), "hello-copy.txt"),
+                new InMemoryDocument("Bye World".getBytes(), "bye.txt"));
+        ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(getGoodTsa());
+        List<DSSDocument> evidenceRecords = generator.generate(documents);
+        for (int i = 0; i < documents.size(); i++) {
+            assertEvidenceRecordValid(evidenceRecords.get(i), documents.get(i));
+        }
+    }
+
+    @Test
+    void emptyListTest() {
+        ASN1EvidenceRecordGenerator generator = new ASN1EvidenceRecordGenerator(getGoodTsa());
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> generator.setBatchSize(0));
+    }
+
+    private void assertEvidenceRecordValid(DSSDocument evidenceRecordDocument, DSSDocument document) {
+        EvidenceRecord evidenceRecord = getEvidenceRecord(evidenceRecordDocument, document);
+        assertEquals(EvidenceRecordTypeEnum.ASN1_EVIDENCE_RECORD, evidenceRecord.getEvidenceRecordType());
+
+        int dataObjectReferencesCounter = 0;
+        for (ReferenceValidation referenceValidation : evidenceRecord.getReferenceValidation()) {
+            // sibling digests from the hash tree are reported as orphan references
+            if (DigestMatcherType.EVIDENCE_RECORD_ORPHAN_REFERENCE != referenceValidation.getType()) {
+                assertTrue(referenceValidation.isFound());
+                assertTrue(referenceValidation.isIntact());
+                ++dataObjectReferencesCounter;
+            }
+        }
+        assertEquals(1, dataObjectReferencesCounter);
+
+        List<TimestampToken> timestamps = evidenceRecord.getTimestamps();
+        assertEquals(1, timestamps.size());
+        assertTrue(timestamps.get(0).isMessageImprintDataFound());
+        assertTrue(timestamps.get(0).isMessageImprintDataIntact());
+    }
+
+    private void assertEvidenceRecordInvalid(DSSDocument evidenceRecordDocument, DSSDocument document) {
+        EvidenceRecord evidenceRecord = getEvidenceRecord(evidenceRecordDocument, document);
+        boolean intactReferenceFound = false;
+        for (ReferenceValidation referenceValidation : evidenceRecord.getReferenceValidation()) {
+            if (referenceValidation.isFound() && referenceValidation.isIntact()) {
+                intactReferenceFound = true;
+            }
+        }
+        assertFalse(intactReferenceFound);
+    }
+
+    private EvidenceRecord getEvidenceRecord(DSSDocument evidenceRecordDocument, DSSDocument document) {
+        DefaultEvidenceRecordValidator validator = DefaultEvidenceRecordValidator.fromDocument(evidenceRecordDocument);
+        validator.setCertificateVerifier(new CommonCertificateVerifier());
+        validator.setDetachedContents(Collections.singletonList(document));
+        EvidenceRecord evidenceRecord = validator.getEvidenceRecord();
+        assertNotNull(evidenceRecord);
+        return evidenceRecord;
+    }
+
+    @Override
+    protected String getSigningAlias() {
+        return GOOD_USER;
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.digest;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSMessageDigest;
+import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
+import eu.europa.esig.dss.spi.validation.evidencerecord.ByteArrayComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes the hash values of a hash tree, as defined in RFC 4998 "4.2. Generation" and RFC 6283 "3.2.1. Generation".
+ * The same rules are used to build the hash trees of the generated evidence records and to verify them.
+ *
+ */
+public final class HashTreeDigestUtils {
+
+    /**
+     * Utils class
+     */
+    private HashTreeDigestUtils() {
+        // empty
+    }
+
+    /**
+     * Computes the hash value of a group of hash values: the hash values are ordered in binary ascending order,
+     * concatenated and a new hash value is generated from the obtained binaries.
+     * With one exception to this rule: a group containing a single hash value returns this value.
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm} to be used
+     * @param hashValues a list of hash values
+     * @return {@link DSSMessageDigest}
+     */
+    public static DSSMessageDigest computeHashValue(DigestAlgorithm digestAlgorithm, List<byte[]> hashValues) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        Objects.requireNonNull(hashValues, "List of hash values cannot be null!");
+        // Exception
+        if (hashValues.size() == 1) {
+            return new DSSMessageDigest(digestAlgorithm, hashValues.get(0));
+        }
+        // Binary ascending sort
+        final List<byte[]> sortedHashValues = new ArrayList<>(hashValues);
+        sortedHashValues.sort(ByteArrayComparator.getInstance());
+        // Concatenate
+        final DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
+        for (byte[] hashValue : sortedHashValues) {
+            digestCalculator.update(hashValue);
+        }
+        // Calculate hash value
+        return digestCalculator.getMessageDigest(digestAlgorithm);
+    }
+
+}
@@ -0,0 +1,306 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.validation.evidencerecord.ByteArrayComparator;
+import eu.europa.esig.dss.spi.x509.evidencerecord.digest.DataObjectDigestBuilder;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Abstract implementation of an evidence record generator, as defined in RFC 4998 "4.2. Generation".
+ * The generator computes a digest for each data object, builds a hash tree per batch of data objects,
+ * requests a single archive time-stamp on the root hash of each tree and produces an evidence record
+ * for each data object, containing its reduced hash tree and the archive time-stamp.
+ * <p>
+ * The leaves of each tree are sorted in binary ascending order before the tree is built,
+ * so the produced hash trees do not depend on the order of the provided documents.
+ * When an {@code ExecutorService} is defined, the digests of the data objects and the hash trees
+ * of the different batches are computed concurrently (the used {@code TSPSource} shall be thread-safe).
+ * <p>
+ * When created with a {@code HashTreeTimestampAggregator}, the evidence records requested one by one
+ * from concurrent threads (see {@code #generate(DSSDocument)}) share the archive time-stamps
+ * obtained within the aggregation window.
+ *
+ */
+public abstract class AbstractEvidenceRecordGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractEvidenceRecordGenerator.class);
+
+    /** The default maximum number of data objects covered by a single archive time-stamp */
+    private static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /** Builds the hash trees and requests the archive time-stamps */
+    private final HashTreeTimestampAggregator aggregator;
+
+    /** Defines whether the single data objects are aggregated with the requests of the other threads */
+    private final boolean aggregateRequests;
+
+    /** The digest algorithm used to compute the hash trees (SHA-256 by default) */
+    private DigestAlgorithm digestAlgorithm = DigestAlgorithm.SHA256;
+
+    /** The maximum number of data objects covered by a single archive time-stamp */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Used to compute digests and hash trees concurrently (optional) */
+    private ExecutorService executorService;
+
+    /**
+     * Default constructor
+     *
+     * @param tspSource {@link TSPSource} to request the archive time-stamps from
+     */
+    protected AbstractEvidenceRecordGenerator(final TSPSource tspSource) {
+        Objects.requireNonNull(tspSource, "TSPSource cannot be null!");
+        // only explicit batches are used, the aggregator does not start any thread
+        this.aggregator = new HashTreeTimestampAggregator(tspSource);
+        this.aggregateRequests = false;
+    }
+
+    /**
+     * Constructor with an aggregator, allowing to share the archive time-stamps between the evidence records
+     * requested by concurrent threads (see {@code #generate(DSSDocument)}).
+     * The aggregator is not closed by the generator.
+     *
+     * @param aggregator {@link HashTreeTimestampAggregator} to request the archive time-stamps from
+     */
+    protected AbstractEvidenceRecordGenerator(final HashTreeTimestampAggregator aggregator) {
+        Objects.requireNonNull(aggregator, "HashTreeTimestampAggregator cannot be null!");
+        this.aggregator = aggregator;
+        this.aggregateRequests = true;
+    }
+
+    /**
+     * Gets the digest algorithm used to compute the hash trees
+     *
+     * @return {@link DigestAlgorithm}
+     */
+    public DigestAlgorithm getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    /**
+     * Sets the digest algorithm to be used to compute the data object digests and the hash trees
+     * Default : SHA-256
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm}
+     */
+    public void setDigestAlgorithm(DigestAlgorithm digestAlgorithm) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        this.digestAlgorithm = digestAlgorithm;
+    }
+
+    /**
+     * Sets the maximum number of data objects to be covered by a single hash tree and archive time-stamp.
+     * When more documents are provided, several hash trees are built and time-stamped.
+     * Default : 4096
+     *
+     * @param batchSize the maximum number of data objects per archive time-stamp
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size shall be a positive number!");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets an {@code ExecutorService} to be used to compute the data object digests and the hash trees
+     * of the different batches concurrently.
+     * When not defined, the computation is done sequentially (default behavior).
+     *
+     * @param executorService {@link ExecutorService}
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Generates an evidence record for each of the given documents
+     *
+     * @param documents a list of {@link DSSDocument}s to be preserved
+     * @return a list of evidence records, in the same order as the provided {@code documents}
+     */
+    public List<DSSDocument> generate(final List<DSSDocument> documents) {
+        if (Utils.isCollectionEmpty(documents)) {
+            throw new IllegalArgumentException("At least one document shall be provided to generate an evidence record!");
+        }
+
+        final byte[][] digests = new byte[documents.size()][];
+        final List<Runnable> digestTasks = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            final int index = i;
+            digestTasks.add(() -> digests[index] = computeDigest(documents.get(index)));
+        }
+        execute(digestTasks);
+
+        final DSSDocument[] evidenceRecords = new DSSDocument[documents.size()];
+        final List<Runnable> batchTasks = new ArrayList<>();
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            final int start = from;
+            final int end = Math.min(from + batchSize, documents.size());
+            batchTasks.add(() -> processBatch(documents, digests, start, end, evidenceRecords));
+        }
+        execute(batchTasks);
+
+        return Arrays.asList(evidenceRecords);
+    }
+
+    /**
+     * Generates an evidence record for the given document.
+     * When the generator is created with a {@code HashTreeTimestampAggregator}, the method waits for the end
+     * of the aggregation window and the archive time-stamp is shared with the documents provided
+     * by other threads within the same window.
+     *
+     * @param document {@link DSSDocument} to be preserved
+     * @return evidence record
+     */
+    public DSSDocument generate(final DSSDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null!");
+        final byte[] digest = computeDigest(document);
+        final HashTreeTimestamp hashTreeTimestamp = aggregateRequests ?
+                aggregator.getTimeStamp(digestAlgorithm, digest) :
+                aggregator.getTimeStamps(digestAlgorithm, Collections.singletonList(digest)).get(0);
+        return buildEvidenceRecord(document, hashTreeTimestamp);
+    }
+
+    private byte[] computeDigest(DSSDocument document) {
+        final DataObjectDigestBuilder digestBuilder = getDataObjectDigestBuilder(document, digestAlgorithm);
+        return digestBuilder.build().getValue();
+    }
+
+    private void processBatch(final List<DSSDocument> documents, final byte[][] digests, final int start,
+                              final int end, final DSSDocument[] evidenceRecords) {
+        final List<Integer> sortedIndexes = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            sortedIndexes.add(i);
+        }
+        sortedIndexes.sort((i1, i2) -> ByteArrayComparator.getInstance().compare(digests[i1], digests[i2]));
+
+        final List<byte[]> leaves = new ArrayList<>(sortedIndexes.size());
+        for (Integer index : sortedIndexes) {
+            leaves.add(digests[index]);
+        }
+        final List<HashTreeTimestamp> hashTreeTimestamps = aggregator.getTimeStamps(digestAlgorithm, leaves);
+        LOG.debug("Archive time-stamp obtained for a hash tree covering {} data objects", leaves.size());
+
+        for (int i = 0; i < sortedIndexes.size(); i++) {
+            final int documentIndex = sortedIndexes.get(i);
+            evidenceRecords[documentIndex] = buildEvidenceRecord(documents.get(documentIndex), hashTreeTimestamps.get(i));
+        }
+    }
+
+    private DSSDocument buildEvidenceRecord(final DSSDocument document, final HashTreeTimestamp hashTreeTimestamp) {
+        final List<List<byte[]>> digestValueGroups = getDigestValueGroups(
+                hashTreeTimestamp.getDigest(), hashTreeTimestamp.getReducedHashTree());
+        return buildEvidenceRecord(document, digestValueGroups, hashTreeTimestamp.getTimestampBinary());
+    }
+
+    /**
+     * Converts a reduced hash tree into a list of digest value groups, as expected within an evidence record.
+     * The first group contains the digest of the data object and its sibling, when present.
+     * Each of the following groups contains a single sibling hash value.
+     *
+     * @param leaf the digest of the data object
+     * @param reducedHashTree the list of sibling hash values from the leaf up to the root
+     * @return a list of digest value groups
+     */
+    static List<List<byte[]>> getDigestValueGroups(final byte[] leaf, final List<byte[]> reducedHashTree) {
+        final List<List<byte[]>> digestValueGroups = new ArrayList<>();
+        final List<byte[]> firstGroup = new ArrayList<>();
+        firstGroup.add(leaf);
+        if (Utils.isCollectionNotEmpty(reducedHashTree)) {
+            firstGroup.add(reducedHashTree.get(0));
+            for (int i = 1; i < reducedHashTree.size(); i++) {
+                digestValueGroups.add(Collections.singletonList(reducedHashTree.get(i)));
+            }
+        }
+        digestValueGroups.add(0, firstGroup);
+        return digestValueGroups;
+    }
+
+    private void execute(final List<Runnable> tasks) {
+        if (executorService == null || tasks.size() < 2) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        final List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            futures.add(executorService.submit(task));
+        }
+        for (Future<?> future : futures) {
+            awaitTermination(future);
+        }
+    }
+
+    private void awaitTermination(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSException("Interrupted while generating the evidence records", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DSSException(String.format("Unable to generate the evidence records : %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns a {@code DataObjectDigestBuilder} to compute digest of the given document,
+     * in the same way as it is done on the evidence record validation
+     *
+     * @param document {@link DSSDocument} to compute digest for
+     * @param digestAlgorithm {@link DigestAlgorithm} to be used
+     * @return {@link DataObjectDigestBuilder}
+     */
+    protected abstract DataObjectDigestBuilder getDataObjectDigestBuilder(DSSDocument document, DigestAlgorithm digestAlgorithm);
+
+    /**
+     * Builds an evidence record for a single data object
+     *
+     * @param document {@link DSSDocument} the data object protected by the evidence record
+     * @param digestValueGroups the reduced hash tree of the data object, split into digest value groups
+     * @param timestampBinary {@link TimestampBinary} the archive time-stamp obtained on the root hash value
+     * @return {@link DSSDocument} evidence record
+     */
+    protected abstract DSSDocument buildEvidenceRecord(DSSDocument document, List<List<byte[]>> digestValueGroups,
+                                                       TimestampBinary timestampBinary);
+
+}
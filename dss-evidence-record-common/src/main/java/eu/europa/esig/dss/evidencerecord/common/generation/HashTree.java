@@ -0,0 +1,167 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.evidencerecord.common.digest.HashTreeDigestUtils;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a binary hash tree computed over a list of digests, as defined in RFC 4998 "4.2. Generation"
+ * (the hash value of a node is computed with {@code HashTreeDigestUtils}, as on the evidence record verification).
+ * The class allows to extract a reduced hash tree for each leaf, i.e. the list of sibling hash values
+ * required to re-compute the root hash from the leaf.
+ *
+ */
+final class HashTree {
+
+    /** The digest algorithm used to compute the tree */
+    private final DigestAlgorithm digestAlgorithm;
+
+    /** The tree levels, from the leaves (index 0) to the root (last index) */
+    private final List<List<byte[]>> levels;
+
+    /**
+     * The private constructor
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm}
+     * @param levels the computed tree levels
+     */
+    private HashTree(final DigestAlgorithm digestAlgorithm, final List<List<byte[]>> levels) {
+        this.digestAlgorithm = digestAlgorithm;
+        this.levels = levels;
+    }
+
+    /**
+     * Builds a hash tree for the given leaf digests
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm} used to compute the leaf digests and the tree nodes
+     * @param leaves a list of digests to build the tree for
+     * @return {@link HashTree}
+     */
+    static HashTree build(final DigestAlgorithm digestAlgorithm, final List<byte[]> leaves) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        if (Utils.isCollectionEmpty(leaves)) {
+            throw new IllegalArgumentException("At least one digest shall be provided to build a hash tree!");
+        }
+
+        final List<List<byte[]>> levels = new ArrayList<>();
+        List<byte[]> currentLevel = new ArrayList<>(leaves);
+        levels.add(currentLevel);
+        while (currentLevel.size() > 1) {
+            final List<byte[]> nextLevel = new ArrayList<>((currentLevel.size() + 1) / 2);
+            for (int i = 0; i < currentLevel.size(); i += 2) {
+                if (i + 1 < currentLevel.size()) {
+                    nextLevel.add(computeNodeHash(digestAlgorithm, currentLevel.get(i), currentLevel.get(i + 1)));
+                } else {
+                    // an odd node is promoted to the next level
+                    nextLevel.add(currentLevel.get(i));
+                }
+            }
+            levels.add(nextLevel);
+            currentLevel = nextLevel;
+        }
+        return new HashTree(digestAlgorithm, levels);
+    }
+
+    /**
+     * Gets the digest algorithm used to build the tree
+     *
+     * @return {@link DigestAlgorithm}
+     */
+    DigestAlgorithm getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    /**
+     * Returns the number of leaves of the tree
+     *
+     * @return number of leaves
+     */
+    int getNumberOfLeaves() {
+        return levels.get(0).size();
+    }
+
+    /**
+     * Returns the root hash value of the tree (the value to be time-stamped)
+     *
+     * @return byte array
+     */
+    byte[] getRootHash() {
+        return levels.get(levels.size() - 1).get(0);
+    }
+
+    /**
+     * Returns the reduced hash tree for the leaf with the given index, i.e. the ordered list of sibling hash values
+     * from the leaf level up to the root
+     *
+     * @param leafIndex the index of the leaf
+     * @return a list of sibling hash values
+     */
+    List<byte[]> getReducedHashTree(final int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= getNumberOfLeaves()) {
+            throw new IndexOutOfBoundsException(String.format("No leaf found with index %s!", leafIndex));
+        }
+        final List<byte[]> reducedHashTree = new ArrayList<>();
+        int index = leafIndex;
+        for (int i = 0; i < levels.size() - 1; i++) {
+            final List<byte[]> level = levels.get(i);
+            final int siblingIndex = index % 2 == 0 ? index + 1 : index - 1;
+            if (siblingIndex < level.size()) {
+                reducedHashTree.add(level.get(siblingIndex));
+            }
+            index /= 2;
+        }
+        return Collections.unmodifiableList(reducedHashTree);
+    }
+
+    /**
+     * Re-computes the root hash value from the given leaf digest and its reduced hash tree
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm} used to build the tree
+     * @param leaf the digest of the leaf
+     * @param reducedHashTree the ordered list of sibling hash values (see {@code #getReducedHashTree})
+     * @return the root hash value
+     */
+    static byte[] computeRootHash(final DigestAlgorithm digestAlgorithm, final byte[] leaf,
+                                  final List<byte[]> reducedHashTree) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        Objects.requireNonNull(leaf, "Leaf digest cannot be null!");
+        byte[] currentHash = leaf;
+        if (reducedHashTree != null) {
+            for (byte[] siblingHash : reducedHashTree) {
+                currentHash = computeNodeHash(digestAlgorithm, currentHash, siblingHash);
+            }
+        }
+        return currentHash;
+    }
+
+    private static byte[] computeNodeHash(final DigestAlgorithm digestAlgorithm, final byte[] first, final byte[] second) {
+        return HashTreeDigestUtils.computeHashValue(digestAlgorithm, Arrays.asList(first, second)).getValue();
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSMessageDigest;
+import eu.europa.esig.dss.model.TimestampBinary;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a time-stamp obtained on the root of a hash tree aggregating several digests,
+ * together with the reduced hash tree proving the inclusion of a given digest.
+ * <p>
+ * NOTE: the time-stamp does not cover the digest directly and cannot be used as a signature time-stamp.
+ * It is intended to be incorporated within an evidence record, as an archive time-stamp with its reduced hash tree
+ * (see {@code AbstractEvidenceRecordGenerator#generate(DSSDocument)}).
+ *
+ */
+public class HashTreeTimestamp {
+
+    /** The time-stamp obtained on the root hash value */
+    private final TimestampBinary timestampBinary;
+
+    /** The digest algorithm used to build the hash tree */
+    private final DigestAlgorithm digestAlgorithm;
+
+    /** The aggregated digest */
+    private final byte[] digest;
+
+    /** The ordered list of sibling hash values from the leaf to the root */
+    private final List<byte[]> reducedHashTree;
+
+    /**
+     * Default constructor
+     *
+     * @param timestampBinary {@link TimestampBinary} time-stamp obtained on the root hash value
+     * @param digestAlgorithm {@link DigestAlgorithm} used to build the hash tree
+     * @param digest the aggregated digest
+     * @param reducedHashTree the ordered list of sibling hash values from the leaf to the root
+     */
+    public HashTreeTimestamp(final TimestampBinary timestampBinary, final DigestAlgorithm digestAlgorithm,
+                             final byte[] digest, final List<byte[]> reducedHashTree) {
+        Objects.requireNonNull(timestampBinary, "TimestampBinary cannot be null!");
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        Objects.requireNonNull(digest, "Digest cannot be null!");
+        Objects.requireNonNull(reducedHashTree, "ReducedHashTree cannot be null!");
+        this.timestampBinary = timestampBinary;
+        this.digestAlgorithm = digestAlgorithm;
+        this.digest = digest;
+        this.reducedHashTree = reducedHashTree;
+    }
+
+    /**
+     * Gets the time-stamp obtained on the root hash value
+     *
+     * @return {@link TimestampBinary}
+     */
+    public TimestampBinary getTimestampBinary() {
+        return timestampBinary;
+    }
+
+    /**
+     * Gets the digest algorithm used to build the hash tree
+     *
+     * @return {@link DigestAlgorithm}
+     */
+    public DigestAlgorithm getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    /**
+     * Gets the aggregated digest
+     *
+     * @return byte array
+     */
+    public byte[] getDigest() {
+        return digest;
+    }
+
+    /**
+     * Gets the reduced hash tree (the ordered list of sibling hash values from the leaf to the root)
+     *
+     * @return a list of hash values
+     */
+    public List<byte[]> getReducedHashTree() {
+        return reducedHashTree;
+    }
+
+    /**
+     * Computes the root hash value (the message-imprint of the time-stamp) from the digest and the reduced hash tree
+     *
+     * @return {@link DSSMessageDigest}
+     */
+    public DSSMessageDigest getRootHash() {
+        return new DSSMessageDigest(digestAlgorithm, HashTree.computeRootHash(digestAlgorithm, digest, reducedHashTree));
+    }
+
+}
@@ -0,0 +1,361 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class aggregates digests to be time-stamped within a hash tree and requests a single time-stamp
+ * on the root hash value, using the provided {@code TSPSource}.
+ * Each caller obtains a {@code HashTreeTimestamp} containing the time-stamp and the reduced hash tree
+ * proving the inclusion of its digest.
+ * <p>
+ * The digests may be provided:
+ * - as an explicit batch, using {@code #getTimeStamps} method;
+ * - one by one from concurrent threads, using {@code #getTimeStamp} method.
+ *   The digests are collected during the {@code batchWindow} (or until {@code maxBatchSize} is reached)
+ *   and time-stamped together. The time-stamp requests of the batches are executed within the executor service
+ *   (see {@code #setExecutorService}), so several batches may be time-stamped concurrently.
+ * <p>
+ * NOTE: the obtained time-stamp does not cover the digest directly, therefore the class is not a {@code TSPSource}.
+ * The obtained {@code HashTreeTimestamp}s are incorporated within evidence records by
+ * {@code AbstractEvidenceRecordGenerator}, which are validated as any other evidence record.
+ * <p>
+ * The aggregator shall be closed when not used anymore, in order to release its threads.
+ *
+ */
+public class HashTreeTimestampAggregator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashTreeTimestampAggregator.class);
+
+    /** The default time window in milliseconds used to collect the digests */
+    private static final long DEFAULT_BATCH_WINDOW = 100;
+
+    /** The default maximum number of digests aggregated within a single time-stamp */
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    /** The TSPSource used to time-stamp the root hash values */
+    private final TSPSource tspSource;
+
+    /** The time window in milliseconds used to collect the digests */
+    private long batchWindow = DEFAULT_BATCH_WINDOW;
+
+    /** The maximum number of digests aggregated within a single time-stamp */
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    /** The pending batches per digest algorithm */
+    private final Map<DigestAlgorithm, Batch> pendingBatches = new EnumMap<>(DigestAlgorithm.class);
+
+    /** Closes the batches at the end of their window (lazily instantiated) */
+    private ScheduledExecutorService scheduler;
+
+    /** Executes the time-stamp requests of the batches (lazily instantiated, when not provided) */
+    private ExecutorService executorService;
+
+    /** Defines whether the executor service has been created by this class (and shall be shut down on close) */
+    private boolean ownExecutorService;
+
+    /**
+     * Default constructor
+     *
+     * @param tspSource {@link TSPSource} used to time-stamp the root hash values
+     */
+    public HashTreeTimestampAggregator(final TSPSource tspSource) {
+        Objects.requireNonNull(tspSource, "TSPSource cannot be null!");
+        this.tspSource = tspSource;
+    }
+
+    /**
+     * Sets the time window in milliseconds used to collect the digests provided with {@code #getTimeStamp} method
+     *
+     * Default : 100 ms
+     *
+     * @param batchWindow time window in milliseconds
+     */
+    public void setBatchWindow(long batchWindow) {
+        if (batchWindow < 0) {
+            throw new IllegalArgumentException("The batch window cannot be negative!");
+        }
+        this.batchWindow = batchWindow;
+    }
+
+    /**
+     * Sets the maximum number of digests aggregated within a single time-stamp.
+     * When the limit is reached, the batch is time-stamped without waiting for the end of the batch window.
+     *
+     * Default : 1024
+     *
+     * @param maxBatchSize the maximum number of digests per time-stamp
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size shall be positive!");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sets the executor service used to execute the time-stamp requests of the batches closed at the end
+     * of their window. The provided executor service is not shut down by {@code #close}.
+     * If not defined, a cached thread pool of daemon threads is used.
+     *
+     * @param executorService {@link ExecutorService}
+     */
+    public synchronized void setExecutorService(ExecutorService executorService) {
+        if (ownExecutorService) {
+            this.executorService.shutdown();
+        }
+        this.executorService = executorService;
+        this.ownExecutorService = false;
+    }
+
+    /**
+     * Time-stamps the given list of digests with a single time-stamp request
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm} used to compute the digests
+     * @param digests a list of digests to be time-stamped
+     * @return a list of {@link HashTreeTimestamp}s, in the same order as the provided digests
+     */
+    public List<HashTreeTimestamp> getTimeStamps(final DigestAlgorithm digestAlgorithm, final List<byte[]> digests) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        if (Utils.isCollectionEmpty(digests)) {
+            return Collections.emptyList();
+        }
+        final HashTree hashTree = HashTree.build(digestAlgorithm, digests);
+        LOG.debug("Requesting a time-stamp for a hash tree of {} digest(s)", digests.size());
+        final TimestampBinary timestampBinary = tspSource.getTimeStampResponse(digestAlgorithm, hashTree.getRootHash());
+        if (timestampBinary == null) {
+            throw new DSSExternalResourceException("No time-stamp obtained for the hash tree root!");
+        }
+
+        final List<HashTreeTimestamp> result = new ArrayList<>(digests.size());
+        for (int i = 0; i < digests.size(); i++) {
+            result.add(new HashTreeTimestamp(timestampBinary, digestAlgorithm, digests.get(i), hashTree.getReducedHashTree(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Time-stamps the given digest together with the other digests provided within the same batch window.
+     * The method blocks until the time-stamp of the batch is obtained.
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm} used to compute the digest
+     * @param digest the digest to be time-stamped
+     * @return {@link HashTreeTimestamp}
+     * @throws DSSException if the time-stamp cannot be obtained
+     */
+    public HashTreeTimestamp getTimeStamp(final DigestAlgorithm digestAlgorithm, final byte[] digest) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        Objects.requireNonNull(digest, "Digest cannot be null!");
+
+        final CompletableFuture<HashTreeTimestamp> future = new CompletableFuture<>();
+        final Batch batchToProcess = addToBatch(digestAlgorithm, digest, future);
+        if (batchToProcess != null) {
+            // the caller is waiting for the result anyway
+            process(batchToProcess);
+        }
+        return await(future);
+    }
+
+    /**
+     * Adds the digest to the pending batch of the digest algorithm
+     *
+     * @return the full {@link Batch} to be processed, NULL if the batch is still pending
+     */
+    private synchronized Batch addToBatch(final DigestAlgorithm digestAlgorithm, final byte[] digest,
+                                          final CompletableFuture<HashTreeTimestamp> future) {
+        Batch batch = pendingBatches.get(digestAlgorithm);
+        if (batch == null) {
+            batch = new Batch(digestAlgorithm);
+            pendingBatches.put(digestAlgorithm, batch);
+            scheduleBatch(batch);
+        }
+        batch.add(digest, future);
+        if (batch.size() >= maxBatchSize) {
+            pendingBatches.remove(digestAlgorithm);
+            return batch;
+        }
+        return null;
+    }
+
+    private void scheduleBatch(final Batch batch) {
+        getScheduler().schedule(() -> {
+            if (removePendingBatch(batch)) {
+                submit(batch);
+            }
+        }, batchWindow, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized boolean removePendingBatch(final Batch batch) {
+        return pendingBatches.remove(batch.digestAlgorithm, batch);
+    }
+
+    private void submit(final Batch batch) {
+        try {
+            getExecutorService().execute(() -> process(batch));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("The time-stamp request of a batch of {} digest(s) has been rejected : {}", batch.size(), e.getMessage());
+            batch.fail(e);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dss-hash-tree-timestamp-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            executorService = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "dss-hash-tree-timestamp-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ownExecutorService = true;
+        }
+        return executorService;
+    }
+
+    private void process(final Batch batch) {
+        try {
+            final List<HashTreeTimestamp> timestamps = getTimeStamps(batch.digestAlgorithm, batch.digests);
+            for (int i = 0; i < timestamps.size(); i++) {
+                batch.futures.get(i).complete(timestamps.get(i));
+            }
+        } catch (Exception e) {
+            LOG.warn("Unable to time-stamp a batch of {} digest(s) : {}", batch.size(), e.getMessage());
+            batch.fail(e);
+        }
+    }
+
+    private HashTreeTimestamp await(final CompletableFuture<HashTreeTimestamp> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSExternalResourceException("Interrupted while waiting for the hash tree time-stamp!");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DSSException) {
+                throw (DSSException) e.getCause();
+            }
+            throw new DSSExternalResourceException(String.format(
+                    "Unable to obtain the hash tree time-stamp : %s", e.getCause().getMessage()), e.getCause());
+        }
+    }
+
+    /**
+     * Time-stamps the pending batches without waiting for the end of their window
+     * and releases the threads of the scheduler and of the default executor service.
+     * The executor service provided with {@code #setExecutorService} is not shut down.
+     */
+    @Override
+    public void close() {
+        final List<Batch> batches;
+        synchronized (this) {
+            batches = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        for (Batch batch : batches) {
+            process(batch);
+        }
+        synchronized (this) {
+            if (ownExecutorService) {
+                executorService.shutdown();
+                executorService = null;
+                ownExecutorService = false;
+            }
+        }
+    }
+
+    /**
+     * Contains the digests collected within a batch window
+     */
+    private static final class Batch {
+
+        /** The digest algorithm used to compute the digests */
+        private final DigestAlgorithm digestAlgorithm;
+
+        /** The collected digests */
+        private final List<byte[]> digests = new ArrayList<>();
+
+        /** The futures to be completed, in the same order as the digests */
+        private final List<CompletableFuture<HashTreeTimestamp>> futures = new ArrayList<>();
+
+        /**
+         * Default constructor
+         *
+         * @param digestAlgorithm {@link DigestAlgorithm}
+         */
+        private Batch(final DigestAlgorithm digestAlgorithm) {
+            this.digestAlgorithm = digestAlgorithm;
+        }
+
+        private void add(byte[] digest, CompletableFuture<HashTreeTimestamp> future) {
+            digests.add(digest);
+            futures.add(future);
+        }
+
+        private void fail(Exception e) {
+            for (CompletableFuture<HashTreeTimestamp> future : futures) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private int size() {
+            return digests.size();
+        }
+
+    }
+
+}
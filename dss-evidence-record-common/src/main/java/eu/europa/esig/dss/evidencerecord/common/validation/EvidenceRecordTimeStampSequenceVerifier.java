@@ -22,15 +22,14 @@ package eu.europa.esig.dss.evidencerecord.common.validation;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.evidencerecord.common.digest.HashTreeDigestUtils;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSMessageDigest;
 import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.ManifestEntry;
 import eu.europa.esig.dss.model.ManifestFile;
 import eu.europa.esig.dss.model.ReferenceValidation;
-import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
 import eu.europa.esig.dss.spi.DSSUtils;
-import eu.europa.esig.dss.spi.validation.evidencerecord.ByteArrayComparator;
 import eu.europa.esig.dss.spi.validation.evidencerecord.EmbeddedEvidenceRecordHelper;
 import eu.europa.esig.dss.spi.x509.evidencerecord.EvidenceRecord;
 import eu.europa.esig.dss.spi.x509.evidencerecord.digest.DataObjectDigestBuilder;
@@ -39,12 +38,17 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +65,18 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
     /** Contains a list of reference validations performed on the archive data objects */
     private List<ReferenceValidation> referenceValidations;
 
+    /** Caches digests of the detached documents, per digest computation configuration (see {@code #getDocumentDigestKey}) */
+    private final Map<String, Map<DSSDocument, byte[]>> documentDigestsCache = new HashMap<>();
+
+    /** Indexes the detached documents by their digest value, per digest computation configuration */
+    private final Map<String, DocumentIndex> documentDigestIndexes = new HashMap<>();
+
+    /** Indexes the detached documents by their name */
+    private DocumentIndex documentNameIndex;
+
+    /** Indexes the manifest entries by their digest and URI */
+    private ManifestEntryIndex manifestEntryIndex;
+
     /**
      * Evidence record to be validated
      *
@@ -289,8 +305,26 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
      * @return byte array representing document digest
      */
     protected byte[] getDocumentDigest(DSSDocument document, ArchiveTimeStampChainObject archiveTimeStampChain) {
-        Digest digest = getDataObjectDigestBuilder(document, archiveTimeStampChain).build();
-        return digest.getValue();
+        Map<DSSDocument, byte[]> documentDigests = documentDigestsCache.computeIfAbsent(
+                getDocumentDigestKey(archiveTimeStampChain), k -> new IdentityHashMap<>());
+        byte[] digestValue = documentDigests.get(document);
+        if (digestValue == null) {
+            Digest digest = getDataObjectDigestBuilder(document, archiveTimeStampChain).build();
+            digestValue = digest.getValue();
+            documentDigests.put(document, digestValue);
+        }
+        return digestValue;
+    }
+
+    /**
+     * Returns a key identifying the configuration used to compute digests of the data objects
+     * within the given {@code archiveTimeStampChain}. Document digests are computed only once per key.
+     *
+     * @param archiveTimeStampChain {@link ArchiveTimeStampChainObject}
+     * @return {@link String} key
+     */
+    protected String getDocumentDigestKey(ArchiveTimeStampChainObject archiveTimeStampChain) {
+        return String.valueOf(archiveTimeStampChain.getDigestAlgorithm());
     }
 
     /**
@@ -357,19 +391,33 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
      */
     protected List<ReferenceValidation> validateAdditionalDigest(List<ReferenceValidation> referenceValidations,
                                                                  Digest digest, DigestMatcherType type) {
-        List<ReferenceValidation> invalidReferences = getInvalidReferences(referenceValidations);
-        for (ReferenceValidation reference : invalidReferences) {
-            if (digestMatch(digest, reference)) {
-                reference.setType(type);
-                reference.setFound(true);
-                reference.setIntact(true);
-                return referenceValidations;
-            }
+        ReferenceValidation reference = getMatchingReference(referenceValidations, digest);
+        if (reference != null) {
+            reference.setType(type);
+            reference.setFound(true);
+            reference.setIntact(true);
+            return referenceValidations;
         }
         referenceValidations = ensureReferenceValidationOfType(referenceValidations, type, !digest.isEmpty());
         return referenceValidations;
     }
 
+    /**
+     * Returns the first not intact reference validation matching the given {@code digest}
+     *
+     * @param referenceValidations a list of {@link ReferenceValidation}s
+     * @param digest {@link Digest}
+     * @return {@link ReferenceValidation} if found, NULL otherwise
+     */
+    private ReferenceValidation getMatchingReference(List<ReferenceValidation> referenceValidations, Digest digest) {
+        for (ReferenceValidation reference : referenceValidations) {
+            if (!reference.isIntact() && digestMatch(digest, reference)) {
+                return reference;
+            }
+        }
+        return null;
+    }
+
     private List<ReferenceValidation> getInvalidReferences(List<ReferenceValidation> referenceValidations) {
         return referenceValidations.stream().filter(r -> !r.isIntact()).collect(Collectors.toList());
     }
@@ -391,8 +439,8 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
         }
 
         // create empty ReferenceValidations for not found manifest entries, when applicable
-        List<String> foundDocumentNames = referenceValidations.stream().map(ReferenceValidation::getDocument).filter(Objects::nonNull)
-                .map(DSSDocument::getName).filter(Objects::nonNull).collect(Collectors.toList());
+        Set<String> foundDocumentNames = referenceValidations.stream().map(ReferenceValidation::getDocument).filter(Objects::nonNull)
+                .map(DSSDocument::getName).filter(Objects::nonNull).collect(Collectors.toSet());
         if (Utils.collectionSize(manifestFile.getEntries()) > Utils.collectionSize(foundDocumentNames)) {
             List<ReferenceValidation> failedReferences = referenceValidations.stream().filter(r -> !r.isIntact()).collect(Collectors.toList());
             if (Utils.collectionSize(manifestFile.getEntries()) - Utils.collectionSize(foundDocumentNames) >= Utils.collectionSize(failedReferences)) {
@@ -427,10 +475,19 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
          * Time-stamp protecting the first ReducedHashTree element as defined in IETF RFC 4998 [8] or IETF RFC 6283 [9].
          */
         if (firstTimeStamp) {
+            Map<String, List<ReferenceValidation>> referencesByName = new HashMap<>();
+            for (ReferenceValidation reference : referenceValidations) {
+                if (reference.getDocument() != null && reference.getDocument().getName() != null) {
+                    referencesByName.computeIfAbsent(reference.getDocument().getName(), k -> new ArrayList<>()).add(reference);
+                }
+            }
             for (ManifestEntry manifestEntry : manifestFile.getEntries()) {
-                for (ReferenceValidation reference : referenceValidations) {
-                    if (reference.getDocument() != null && manifestEntry.getUri().equals(reference.getDocument().getName()) &&
-                            manifestEntry.getDigest() != null && reference.getDigest() != null &&
+                List<ReferenceValidation> matchingReferences = referencesByName.get(manifestEntry.getUri());
+                if (matchingReferences == null) {
+                    continue;
+                }
+                for (ReferenceValidation reference : matchingReferences) {
+                    if (manifestEntry.getDigest() != null && reference.getDigest() != null &&
                             !manifestEntry.getDigest().getAlgorithm().equals(reference.getDigest().getAlgorithm())) {
                         LOG.warn("The digest algorithm '{}' defined in a manifest file with name '{}' does not match " +
                                         "the digest algorithm '{}' used within an evidence record for file with name '{}'",
@@ -524,14 +581,12 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
      */
     protected ManifestEntry getMatchingManifestEntry(ManifestFile manifestFile, Digest digest, DSSDocument document) {
         if (manifestFile != null) {
-            for (ManifestEntry manifestEntry : manifestFile.getEntries()) {
-                Digest manifestEntryDigest = manifestEntry.getDigest();
-                if (digest.equals(manifestEntryDigest)) {
-                    return manifestEntry;
-                }
-                if (document != null && document.getName().equals(manifestEntry.getUri())) {
-                    return manifestEntry;
-                }
+            if (manifestEntryIndex == null || manifestEntryIndex.manifestFile != manifestFile) {
+                manifestEntryIndex = new ManifestEntryIndex(manifestFile);
+            }
+            ManifestEntry manifestEntry = manifestEntryIndex.getMatchingEntry(digest, document != null ? document.getName() : null);
+            if (manifestEntry != null) {
+                return manifestEntry;
             }
             LOG.debug("No manifest entry found matching the archive data object with digest value '{}'", digest.getHexValue());
         }
@@ -550,14 +605,17 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
     protected DSSDocument getMatchingDocument(Digest digest, ArchiveTimeStampChainObject archiveTimeStampChain,
                                               DSSMessageDigest lastTimeStampSequenceHash,
                                               List<DSSDocument> detachedContents) {
-        byte[] documentDigest;
-        if (Utils.isCollectionNotEmpty(detachedContents)) {
-            for (DSSDocument document : detachedContents) {
-                documentDigest = getDocumentDigest(document, archiveTimeStampChain);
-                if (Arrays.equals(digest.getValue(), documentDigest)) {
-                    return document;
+        if (Utils.isCollectionNotEmpty(detachedContents) && digest.getValue() != null) {
+            String key = getDocumentDigestKey(archiveTimeStampChain);
+            DocumentIndex documentIndex = documentDigestIndexes.get(key);
+            if (documentIndex == null || documentIndex.documents != detachedContents) {
+                documentIndex = new DocumentIndex(detachedContents);
+                for (DSSDocument document : detachedContents) {
+                    documentIndex.add(ByteBuffer.wrap(getDocumentDigest(document, archiveTimeStampChain)), document);
                 }
+                documentDigestIndexes.put(key, documentIndex);
             }
+            return documentIndex.get(ByteBuffer.wrap(digest.getValue()));
         }
         return null;
     }
@@ -570,12 +628,18 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
      * @return {@link DSSDocument} matching document when found, NULL otherwise
      */
     protected DSSDocument getMatchingDocument(ManifestEntry manifestEntry, List<DSSDocument> detachedContents) {
-        for (DSSDocument document : detachedContents) {
-            if (manifestEntry.getUri().equals(document.getName())) {
-                return document;
+        if (Utils.isCollectionEmpty(detachedContents) || manifestEntry.getUri() == null) {
+            return null;
+        }
+        if (documentNameIndex == null || documentNameIndex.documents != detachedContents) {
+            documentNameIndex = new DocumentIndex(detachedContents);
+            for (DSSDocument document : detachedContents) {
+                if (document.getName() != null) {
+                    documentNameIndex.add(document.getName(), document);
+                }
             }
         }
-        return null;
+        return documentNameIndex.get(manifestEntry.getUri());
     }
 
     /**
@@ -687,19 +751,92 @@ public abstract class EvidenceRecordTimeStampSequenceVerifier {
                 hashValueList.add(messageDigest.getValue());
             }
         }
-        // 2a. Exception
-        if (Utils.collectionSize(hashValueList) == 1) {
-            return new DSSMessageDigest(digestAlgorithm, hashValueList.get(0));
+        // 2. Sort, concatenate and calculate hash value
+        return HashTreeDigestUtils.computeHashValue(digestAlgorithm, hashValueList);
+    }
+
+    /**
+     * Indexes a list of detached documents by a key (a digest value or a name).
+     * The first document in the list wins when several documents share the same key.
+     */
+    private static final class DocumentIndex {
+
+        /** The indexed list of documents */
+        private final List<DSSDocument> documents;
+
+        /** The documents by key */
+        private final Map<Object, DSSDocument> documentsByKey = new HashMap<>();
+
+        /**
+         * Default constructor
+         *
+         * @param documents a list of {@link DSSDocument}s to be indexed
+         */
+        private DocumentIndex(List<DSSDocument> documents) {
+            this.documents = documents;
+        }
+
+        private void add(Object key, DSSDocument document) {
+            documentsByKey.putIfAbsent(key, document);
+        }
+
+        private DSSDocument get(Object key) {
+            return documentsByKey.get(key);
+        }
+
+    }
+
+    /**
+     * Indexes the entries of a manifest file by their digest and URI
+     */
+    private static final class ManifestEntryIndex {
+
+        /** The indexed manifest file */
+        private final ManifestFile manifestFile;
+
+        /** Position of the first manifest entry for each digest */
+        private final Map<Digest, Integer> positionsByDigest = new HashMap<>();
+
+        /** Position of the first manifest entry for each URI */
+        private final Map<String, Integer> positionsByUri = new HashMap<>();
+
+        /**
+         * Default constructor
+         *
+         * @param manifestFile {@link ManifestFile} to be indexed
+         */
+        private ManifestEntryIndex(ManifestFile manifestFile) {
+            this.manifestFile = manifestFile;
+            List<ManifestEntry> entries = manifestFile.getEntries();
+            for (int i = 0; i < entries.size(); i++) {
+                ManifestEntry manifestEntry = entries.get(i);
+                if (manifestEntry.getDigest() != null) {
+                    positionsByDigest.putIfAbsent(manifestEntry.getDigest(), i);
+                }
+                if (manifestEntry.getUri() != null) {
+                    positionsByUri.putIfAbsent(manifestEntry.getUri(), i);
+                }
+            }
         }
-        // 2b. Binary ascending sort
-        hashValueList.sort(ByteArrayComparator.getInstance());
-        // 3. Concatenate
-        final DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
-        for (byte[] hashValue : hashValueList) {
-            digestCalculator.update(hashValue);
+
+        /**
+         * Returns the first manifest entry matching either the digest or the document name
+         *
+         * @param digest {@link Digest}
+         * @param documentName {@link String}, can be null
+         * @return {@link ManifestEntry} if found, NULL otherwise
+         */
+        private ManifestEntry getMatchingEntry(Digest digest, String documentName) {
+            Integer digestPosition = positionsByDigest.get(digest);
+            Integer uriPosition = documentName != null ? positionsByUri.get(documentName) : null;
+            if (digestPosition == null && uriPosition == null) {
+                return null;
+            }
+            int position = digestPosition == null ? uriPosition :
+                    uriPosition == null ? digestPosition : Math.min(digestPosition, uriPosition);
+            return manifestFile.getEntries().get(position);
         }
-        // 4. Calculate hash value
-        return digestCalculator.getMessageDigest(digestAlgorithm);
+
     }
 
 }
@@ -0,0 +1,103 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.evidencerecord.ByteArrayComparator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashTreeTest {
+
+    @Test
+    void singleLeafTest() {
+        byte[] digest = DSSUtils.digest(DigestAlgorithm.SHA256, "Hello".getBytes(StandardCharsets.UTF_8));
+        HashTree hashTree = HashTree.build(DigestAlgorithm.SHA256, Collections.singletonList(digest));
+        assertEquals(1, hashTree.getNumberOfLeaves());
+        assertArrayEquals(digest, hashTree.getRootHash());
+        assertTrue(hashTree.getReducedHashTree(0).isEmpty());
+    }
+
+    @Test
+    void twoLeavesTest() {
+        byte[] first = DSSUtils.digest(DigestAlgorithm.SHA256, "Hello".getBytes(StandardCharsets.UTF_8));
+        byte[] second = DSSUtils.digest(DigestAlgorithm.SHA256, "World".getBytes(StandardCharsets.UTF_8));
+        List<byte[]> leaves = new ArrayList<>();
+        leaves.add(first);
+        leaves.add(second);
+        HashTree hashTree = HashTree.build(DigestAlgorithm.SHA256, leaves);
+
+        // RFC 4998 : binary ascending sort of the concatenated hash values
+        byte[] expectedRoot = ByteArrayComparator.getInstance().compare(first, second) < 0 ?
+                DSSUtils.digest(DigestAlgorithm.SHA256, first, second) : DSSUtils.digest(DigestAlgorithm.SHA256, second, first);
+        assertArrayEquals(expectedRoot, hashTree.getRootHash());
+
+        // order of the leaves does not impact the root
+        Collections.reverse(leaves);
+        assertArrayEquals(expectedRoot, HashTree.build(DigestAlgorithm.SHA256, leaves).getRootHash());
+    }
+
+    @Test
+    void reducedHashTreeTest() {
+        for (int nbLeaves = 1; nbLeaves <= 17; nbLeaves++) {
+            List<byte[]> leaves = new ArrayList<>();
+            for (int i = 0; i < nbLeaves; i++) {
+                leaves.add(DSSUtils.digest(DigestAlgorithm.SHA512, ("Leaf " + i).getBytes(StandardCharsets.UTF_8)));
+            }
+            HashTree hashTree = HashTree.build(DigestAlgorithm.SHA512, leaves);
+            assertEquals(nbLeaves, hashTree.getNumberOfLeaves());
+            for (int i = 0; i < nbLeaves; i++) {
+                List<byte[]> reducedHashTree = hashTree.getReducedHashTree(i);
+                assertTrue(reducedHashTree.size() <= 32 - Integer.numberOfLeadingZeros(nbLeaves));
+                assertArrayEquals(hashTree.getRootHash(),
+                        HashTree.computeRootHash(DigestAlgorithm.SHA512, leaves.get(i), reducedHashTree));
+            }
+
+            if (nbLeaves > 1) {
+                byte[] otherDigest = DSSUtils.digest(DigestAlgorithm.SHA512, "Other".getBytes(StandardCharsets.UTF_8));
+                assertFalse(Arrays.equals(hashTree.getRootHash(),
+                        HashTree.computeRootHash(DigestAlgorithm.SHA512, otherDigest, hashTree.getReducedHashTree(0))));
+            }
+        }
+    }
+
+    @Test
+    void invalidInputTest() {
+        assertThrows(IllegalArgumentException.class, () -> HashTree.build(DigestAlgorithm.SHA256, Collections.emptyList()));
+        assertThrows(NullPointerException.class, () -> HashTree.build(null, Collections.singletonList(new byte[32])));
+
+        HashTree hashTree = HashTree.build(DigestAlgorithm.SHA256, Collections.singletonList(new byte[32]));
+        assertThrows(IndexOutOfBoundsException.class, () -> hashTree.getReducedHashTree(1));
+    }
+
+}
@@ -0,0 +1,263 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.common.validation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSMessageDigest;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.ManifestEntry;
+import eu.europa.esig.dss.model.ManifestFile;
+import eu.europa.esig.dss.model.ReferenceValidation;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.evidencerecord.digest.DataObjectDigestBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvidenceRecordTimeStampSequenceVerifierTest {
+
+    private static final byte[] FIRST_CONTENT = "Hello World!".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SECOND_CONTENT = "Bye World!".getBytes(StandardCharsets.UTF_8);
+
+    private static final Digest FIRST_DIGEST = new Digest(DigestAlgorithm.SHA256, DSSUtils.digest(DigestAlgorithm.SHA256, FIRST_CONTENT));
+
+    private static final Digest SECOND_DIGEST = new Digest(DigestAlgorithm.SHA256, DSSUtils.digest(DigestAlgorithm.SHA256, SECOND_CONTENT));
+
+    private MockEvidenceRecordTimeStampSequenceVerifier verifier;
+
+    private ArchiveTimeStampChainObject archiveTimeStampChain;
+
+    @BeforeEach
+    void init() {
+        verifier = new MockEvidenceRecordTimeStampSequenceVerifier();
+        archiveTimeStampChain = new ArchiveTimeStampChainObject();
+        archiveTimeStampChain.setDigestAlgorithm(DigestAlgorithm.SHA256);
+    }
+
+    @Test
+    void matchingDocumentByDigestTest() {
+        DSSDocument firstDocument = new InMemoryDocument(FIRST_CONTENT, "first.txt");
+        DSSDocument duplicateDocument = new InMemoryDocument(FIRST_CONTENT, "duplicate.txt");
+        DSSDocument secondDocument = new InMemoryDocument(SECOND_CONTENT, "second.txt");
+        List<DSSDocument> detachedContents = Arrays.asList(secondDocument, firstDocument, duplicateDocument);
+
+        // the first document in the list wins
+        assertSame(firstDocument, verifier.getMatchingDocument(FIRST_DIGEST, archiveTimeStampChain,
+                DSSMessageDigest.createEmptyDigest(), detachedContents));
+        assertSame(secondDocument, verifier.getMatchingDocument(SECOND_DIGEST, archiveTimeStampChain,
+                DSSMessageDigest.createEmptyDigest(), detachedContents));
+        assertNull(verifier.getMatchingDocument(new Digest(DigestAlgorithm.SHA256, new byte[32]), archiveTimeStampChain,
+                DSSMessageDigest.createEmptyDigest(), detachedContents));
+
+        // each document is digested once
+        assertEquals(3, verifier.digestComputations);
+
+        List<DSSDocument> reorderedContents = Arrays.asList(duplicateDocument, firstDocument, secondDocument);
+        assertSame(duplicateDocument, verifier.getMatchingDocument(FIRST_DIGEST, archiveTimeStampChain,
+                DSSMessageDigest.createEmptyDigest(), reorderedContents));
+        assertEquals(3, verifier.digestComputations);
+    }
+
+    @Test
+    void matchingDocumentByNameTest() {
+        DSSDocument firstDocument = new InMemoryDocument(FIRST_CONTENT, "doc.txt");
+        DSSDocument duplicateDocument = new InMemoryDocument(SECOND_CONTENT, "doc.txt");
+        List<DSSDocument> detachedContents = Arrays.asList(firstDocument, duplicateDocument);
+
+        assertSame(firstDocument, verifier.getMatchingDocument(createManifestEntry("doc.txt", SECOND_DIGEST), detachedContents));
+        assertNull(verifier.getMatchingDocument(createManifestEntry("other.txt", FIRST_DIGEST), detachedContents));
+    }
+
+    @Test
+    void matchingManifestEntryTest() {
+        ManifestEntry firstEntry = createManifestEntry("first.txt", SECOND_DIGEST);
+        ManifestEntry secondEntry = createManifestEntry("second.txt", FIRST_DIGEST);
+        ManifestEntry duplicateEntry = createManifestEntry("duplicate.txt", FIRST_DIGEST);
+        ManifestEntry duplicateNameEntry = createManifestEntry("first.txt", FIRST_DIGEST);
+
+        ManifestFile manifestFile = new ManifestFile();
+        manifestFile.setEntries(Arrays.asList(firstEntry, secondEntry, duplicateEntry, duplicateNameEntry));
+
+        // the first entry by digest
+        assertSame(secondEntry, verifier.getMatchingManifestEntry(manifestFile, FIRST_DIGEST, null));
+        assertSame(secondEntry, verifier.getMatchingManifestEntry(manifestFile, FIRST_DIGEST,
+                new InMemoryDocument(FIRST_CONTENT, "duplicate.txt")));
+        // the first entry matching either the digest or the name
+        assertSame(firstEntry, verifier.getMatchingManifestEntry(manifestFile, FIRST_DIGEST,
+                new InMemoryDocument(FIRST_CONTENT, "first.txt")));
+        assertSame(duplicateEntry, verifier.getMatchingManifestEntry(manifestFile, new Digest(DigestAlgorithm.SHA256, new byte[32]),
+                new InMemoryDocument(FIRST_CONTENT, "duplicate.txt")));
+        assertNull(verifier.getMatchingManifestEntry(manifestFile, new Digest(DigestAlgorithm.SHA256, new byte[32]),
+                new InMemoryDocument(FIRST_CONTENT, "other.txt")));
+        assertNull(verifier.getMatchingManifestEntry(null, FIRST_DIGEST, null));
+    }
+
+    @Test
+    void validateAdditionalDigestTest() {
+        ReferenceValidation intactReference = createReference(FIRST_DIGEST, true);
+        ReferenceValidation firstReference = createReference(FIRST_DIGEST, false);
+        ReferenceValidation duplicateReference = createReference(FIRST_DIGEST, false);
+        ReferenceValidation secondReference = createReference(SECOND_DIGEST, false);
+        List<ReferenceValidation> referenceValidations = new ArrayList<>(
+                Arrays.asList(intactReference, firstReference, duplicateReference, secondReference));
+
+        // the first not intact reference is matched
+        referenceValidations = verifier.validateAdditionalDigest(referenceValidations, FIRST_DIGEST,
+                DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP);
+        assertEquals(4, referenceValidations.size());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_OBJECT, intactReference.getType());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP, firstReference.getType());
+        assertTrue(firstReference.isFound());
+        assertTrue(firstReference.isIntact());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_OBJECT, duplicateReference.getType());
+        assertFalse(duplicateReference.isIntact());
+
+        // the matched reference is skipped, the digest implementation does not matter
+        referenceValidations = verifier.validateAdditionalDigest(referenceValidations, new DSSMessageDigest(FIRST_DIGEST),
+                DigestMatcherType.EVIDENCE_RECORD_MASTER_SIGNATURE);
+        assertEquals(4, referenceValidations.size());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_MASTER_SIGNATURE, duplicateReference.getType());
+        assertTrue(duplicateReference.isIntact());
+
+        // a reference added to the list is taken into account
+        Digest thirdDigest = new Digest(DigestAlgorithm.SHA256, DSSUtils.digest(DigestAlgorithm.SHA256, new byte[] { 1 }));
+        ReferenceValidation addedReference = createReference(thirdDigest, false);
+        referenceValidations.add(addedReference);
+        referenceValidations = verifier.validateAdditionalDigest(referenceValidations, thirdDigest,
+                DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP_SEQUENCE);
+        assertEquals(5, referenceValidations.size());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP_SEQUENCE, addedReference.getType());
+        assertTrue(addedReference.isIntact());
+        assertFalse(secondReference.isIntact());
+    }
+
+    @Test
+    void validateAdditionalDigestModifiedListTest() {
+        ReferenceValidation firstReference = createReference(FIRST_DIGEST, false);
+        ReferenceValidation duplicateReference = createReference(FIRST_DIGEST, false);
+        List<ReferenceValidation> referenceValidations = new ArrayList<>(Arrays.asList(firstReference, duplicateReference));
+
+        // a reference removed from the list is not matched, even when the list size is unchanged
+        referenceValidations.remove(firstReference);
+        referenceValidations.add(createReference(SECOND_DIGEST, false));
+        referenceValidations = verifier.validateAdditionalDigest(referenceValidations, FIRST_DIGEST,
+                DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP);
+        assertFalse(firstReference.isIntact());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP, duplicateReference.getType());
+        assertTrue(duplicateReference.isIntact());
+    }
+
+    @Test
+    void validateAdditionalDigestValueOnlyTest() {
+        // the digest values are compared, whatever the digest algorithm is
+        ReferenceValidation reference = createReference(new Digest(DigestAlgorithm.SHA3_256, FIRST_DIGEST.getValue()), false);
+        ReferenceValidation secondReference = createReference(new Digest(DigestAlgorithm.SHA3_256, SECOND_DIGEST.getValue()), false);
+        List<ReferenceValidation> referenceValidations = new ArrayList<>(Arrays.asList(reference, secondReference));
+
+        referenceValidations = verifier.validateAdditionalDigest(referenceValidations, FIRST_DIGEST,
+                DigestMatcherType.EVIDENCE_RECORD_MASTER_SIGNATURE);
+        assertEquals(2, referenceValidations.size());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_MASTER_SIGNATURE, reference.getType());
+        assertTrue(reference.isIntact());
+        assertFalse(secondReference.isIntact());
+    }
+
+    @Test
+    void validateAdditionalDigestOverriddenMatchTest() {
+        MockEvidenceRecordTimeStampSequenceVerifier uriVerifier = new MockEvidenceRecordTimeStampSequenceVerifier() {
+            @Override
+            protected boolean digestMatch(Digest digest, ReferenceValidation reference) {
+                return "first.txt".equals(reference.getUri());
+            }
+        };
+        ReferenceValidation reference = createReference(null, false);
+        reference.setUri("first.txt");
+        ReferenceValidation secondReference = createReference(FIRST_DIGEST, false);
+        List<ReferenceValidation> referenceValidations = new ArrayList<>(Arrays.asList(secondReference, reference));
+
+        referenceValidations = uriVerifier.validateAdditionalDigest(referenceValidations, FIRST_DIGEST,
+                DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP);
+        assertEquals(2, referenceValidations.size());
+        assertEquals(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_TIME_STAMP, reference.getType());
+        assertTrue(reference.isIntact());
+        assertFalse(secondReference.isIntact());
+    }
+
+    private ManifestEntry createManifestEntry(String uri, Digest digest) {
+        ManifestEntry manifestEntry = new ManifestEntry();
+        manifestEntry.setUri(uri);
+        manifestEntry.setDigest(digest);
+        return manifestEntry;
+    }
+
+    private ReferenceValidation createReference(Digest digest, boolean intact) {
+        ReferenceValidation referenceValidation = new ReferenceValidation();
+        referenceValidation.setType(DigestMatcherType.EVIDENCE_RECORD_ARCHIVE_OBJECT);
+        referenceValidation.setDigest(digest);
+        referenceValidation.setFound(intact);
+        referenceValidation.setIntact(intact);
+        return referenceValidation;
+    }
+
+    private static class MockEvidenceRecordTimeStampSequenceVerifier extends EvidenceRecordTimeStampSequenceVerifier {
+
+        private int digestComputations;
+
+        MockEvidenceRecordTimeStampSequenceVerifier() {
+            super(null);
+        }
+
+        @Override
+        protected DataObjectDigestBuilder getDataObjectDigestBuilder(DSSDocument document, ArchiveTimeStampChainObject archiveTimeStampChain) {
+            return () -> {
+                digestComputations++;
+                DigestAlgorithm digestAlgorithm = archiveTimeStampChain.getDigestAlgorithm();
+                return new Digest(digestAlgorithm, DSSUtils.digest(digestAlgorithm, document));
+            };
+        }
+
+        @Override
+        protected DSSMessageDigest computeTimeStampHash(ArchiveTimeStampObject archiveTimeStamp) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected DSSMessageDigest computeTimeStampSequenceHash(ArchiveTimeStampChainObject archiveTimeStampChain) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
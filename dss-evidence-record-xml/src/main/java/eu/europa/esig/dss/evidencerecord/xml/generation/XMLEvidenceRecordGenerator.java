@@ -0,0 +1,156 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.evidencerecord.xml.generation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.evidencerecord.common.generation.AbstractEvidenceRecordGenerator;
+import eu.europa.esig.dss.evidencerecord.common.generation.HashTreeTimestampAggregator;
+import eu.europa.esig.dss.evidencerecord.xml.definition.XMLERSAttribute;
+import eu.europa.esig.dss.evidencerecord.xml.definition.XMLERSElement;
+import eu.europa.esig.dss.evidencerecord.xml.definition.XMLERSNamespace;
+import eu.europa.esig.dss.evidencerecord.xml.digest.XMLEvidenceRecordDataObjectDigestBuilder;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.x509.evidencerecord.digest.DataObjectDigestBuilder;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.xml.utils.DomUtils;
+import eu.europa.esig.dss.xml.utils.XMLCanonicalizer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Generates XML Evidence Records as defined in RFC 6283 (XMLERS).
+ * <p>
+ * Each produced evidence record contains a single ArchiveTimeStampChain with a single ArchiveTimeStamp,
+ * including the reduced hash tree of the data object and the RFC 3161 time-stamp obtained on the root hash value.
+ * XML documents are canonicalized before digest computation, as it is done on the validation.
+ *
+ */
+public class XMLEvidenceRecordGenerator extends AbstractEvidenceRecordGenerator {
+
+    /** The version of the created evidence records */
+    private static final String VERSION = "1.0";
+
+    /** The type of the incorporated time-stamp tokens */
+    private static final String RFC3161_TIMESTAMP_TYPE = "RFC3161";
+
+    /** The canonicalization method used on XML data objects */
+    private String canonicalizationMethod = XMLCanonicalizer.DEFAULT_DSS_C14N_METHOD;
+
+    /**
+     * Default constructor
+     *
+     * @param tspSource {@link TSPSource} to request the archive time-stamps from
+     */
+    public XMLEvidenceRecordGenerator(final TSPSource tspSource) {
+        super(tspSource);
+    }
+
+    /**
+     * Constructor with an aggregator, sharing the archive time-stamps between the evidence records
+     * requested by concurrent threads within the aggregation window (see {@code #generate(DSSDocument)})
+     *
+     * @param aggregator {@link HashTreeTimestampAggregator} to request the archive time-stamps from
+     */
+    public XMLEvidenceRecordGenerator(final HashTreeTimestampAggregator aggregator) {
+        super(aggregator);
+    }
+
+    /**
+     * Sets the canonicalization method to be used on XML data objects before the digest computation
+     * Default : Exclusive Canonicalization (http://www.w3.org/2001/10/xml-exc-c14n#)
+     *
+     * @param canonicalizationMethod {@link String} canonicalization algorithm URI
+     */
+    public void setCanonicalizationMethod(String canonicalizationMethod) {
+        Objects.requireNonNull(canonicalizationMethod, "Canonicalization method cannot be null!");
+        this.canonicalizationMethod = canonicalizationMethod;
+    }
+
+    @Override
+    protected DataObjectDigestBuilder getDataObjectDigestBuilder(DSSDocument document, DigestAlgorithm digestAlgorithm) {
+        return new XMLEvidenceRecordDataObjectDigestBuilder(document, digestAlgorithm)
+                .setCanonicalizationMethod(canonicalizationMethod);
+    }
+
+    @Override
+    protected DSSDocument buildEvidenceRecord(DSSDocument document, List<List<byte[]>> digestValueGroups,
+                                              TimestampBinary timestampBinary) {
+        final Document documentDom = DomUtils.buildDOM();
+
+        final Element evidenceRecord = DomUtils.createElementNS(documentDom, XMLERSNamespace.XMLERS, XMLERSElement.EVIDENCE_RECORD);
+        DomUtils.addNamespaceAttribute(evidenceRecord, XMLERSNamespace.XMLERS);
+        evidenceRecord.setAttribute(XMLERSAttribute.VERSION.getAttributeName(), VERSION);
+        documentDom.appendChild(evidenceRecord);
+
+        final Element archiveTimeStampSequence = DomUtils.addElement(documentDom, evidenceRecord,
+                XMLERSNamespace.XMLERS, XMLERSElement.ARCHIVE_TIME_STAMP_SEQUENCE);
+        final Element archiveTimeStampChain = DomUtils.addElement(documentDom, archiveTimeStampSequence,
+                XMLERSNamespace.XMLERS, XMLERSElement.ARCHIVE_TIME_STAMP_CHAIN);
+        archiveTimeStampChain.setAttribute(XMLERSAttribute.ORDER.getAttributeName(), "1");
+
+        final Element digestMethod = DomUtils.addElement(documentDom, archiveTimeStampChain,
+                XMLERSNamespace.XMLERS, XMLERSElement.DIGEST_METHOD);
+        digestMethod.setAttribute(XMLERSAttribute.ALGORITHM.getAttributeName(), getDigestAlgorithm().getUri());
+        final Element canonicalization = DomUtils.addElement(documentDom, archiveTimeStampChain,
+                XMLERSNamespace.XMLERS, XMLERSElement.CANONICALIZATION_METHOD);
+        canonicalization.setAttribute(XMLERSAttribute.ALGORITHM.getAttributeName(), canonicalizationMethod);
+
+        final Element archiveTimeStamp = DomUtils.addElement(documentDom, archiveTimeStampChain,
+                XMLERSNamespace.XMLERS, XMLERSElement.ARCHIVE_TIME_STAMP);
+        archiveTimeStamp.setAttribute(XMLERSAttribute.ORDER.getAttributeName(), "1");
+
+        final Element hashTree = DomUtils.addElement(documentDom, archiveTimeStamp,
+                XMLERSNamespace.XMLERS, XMLERSElement.HASH_TREE);
+        int order = 1;
+        for (List<byte[]> digestValueGroup : digestValueGroups) {
+            final Element sequence = DomUtils.addElement(documentDom, hashTree,
+                    XMLERSNamespace.XMLERS, XMLERSElement.SEQUENCE);
+            sequence.setAttribute(XMLERSAttribute.ORDER.getAttributeName(), String.valueOf(order++));
+            for (byte[] digestValue : digestValueGroup) {
+                DomUtils.addTextElement(documentDom, sequence, XMLERSNamespace.XMLERS,
+                        XMLERSElement.DIGEST_VALUE, Utils.toBase64(digestValue));
+            }
+        }
+
+        final Element timeStamp = DomUtils.addElement(documentDom, archiveTimeStamp,
+                XMLERSNamespace.XMLERS, XMLERSElement.TIME_STAMP);
+        final Element timeStampToken = DomUtils.addTextElement(documentDom, timeStamp, XMLERSNamespace.XMLERS,
+                XMLERSElement.TIME_STAMP_TOKEN, Utils.toBase64(timestampBinary.getBytes()));
+        timeStampToken.setAttribute(XMLERSAttribute.TYPE.getAttributeName(), RFC3161_TIMESTAMP_TYPE);
+
+        final InMemoryDocument evidenceRecordDocument = new InMemoryDocument(DomUtils.serializeNode(documentDom));
+        evidenceRecordDocument.setName(getEvidenceRecordName(document));
+        evidenceRecordDocument.setMimeType(MimeTypeEnum.XML);
+        return evidenceRecordDocument;
+    }
+
+    private String getEvidenceRecordName(DSSDocument document) {
+        return document.getName() != null ? "er-" + document.getName() + ".xml" : null;
+    }
+
+}
@@ -60,6 +60,12 @@ public class XmlEvidenceRecordTimeStampSequenceVerifier extends EvidenceRecordTi
                 .setCanonicalizationMethod(canonicalizationMethod);
     }
 
+    @Override
+    protected String getDocumentDigestKey(ArchiveTimeStampChainObject archiveTimeStampChain) {
+        // XML data objects are canonicalized before the digest computation
+        return super.getDocumentDigestKey(archiveTimeStampChain) + ";" + getCanonicalizationMethod(archiveTimeStampChain);
+    }
+
     /**
      * Extracts a canonicalization method defined within XML {@code ArchiveTimeStampChainObject}
      *
@@ -59,6 +59,7 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
@@ -66,6 +67,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -130,6 +132,9 @@ public class DSSJsonUtils {
 	/** The binary content encoding (RFC 2045) */
 	public static final String CONTENT_ENCODING_BINARY = "binary";
 
+	/** The size of a document chunk to be base64url-encoded at once (shall be a multiple of 3) */
+	private static final int BASE64URL_CHUNK_SIZE = 3 * 8192;
+
 	/** Format date-time as specified in RFC 3339 5.6 */
 	private static final String DATE_TIME_FORMAT_RFC3339 = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 	
@@ -494,6 +499,8 @@ public class DSSJsonUtils {
 	
 	/**
 	 * Concatenates document octets to a single byte array
+	 * NOTE: the whole content is loaded into memory, as required for a JWS payload.
+	 * Use {@code #writeDocumentsDigest} when only a digest of the concatenated octets is needed.
 	 * 
 	 * @param documents a list of {@link DSSDocument}s to concatenate
 	 * @param isBase64UrlEncoded defines whether the document octets shall be base64url-encoded
@@ -509,7 +516,7 @@ public class DSSJsonUtils {
 
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 			for (DSSDocument document : documents) {
-				baos.write(getDocumentOctets(document, isBase64UrlEncoded));
+				writeDocumentOctets(document, isBase64UrlEncoded, baos);
 			}
 			return baos.toByteArray();
 
@@ -531,16 +538,9 @@ public class DSSJsonUtils {
 			throw new IllegalArgumentException("Unable to build a message-digest. Reason : the detached content is not provided!");
 		}
 
-		byte[] octets = null;
-		if (documents.size() == 1) {
-			octets = getDocumentOctets(documents.get(0), isBase64UrlEncoded);
-			digestCalculator.update(octets);
-
-		} else {
-			for (DSSDocument document : documents) {
-				octets = getDocumentOctets(document, isBase64UrlEncoded);
-				digestCalculator.update(octets);
-			}
+		OutputStream digestOutputStream = digestCalculator.getOutputStream();
+		for (DSSDocument document : documents) {
+			writeDocumentOctets(document, isBase64UrlEncoded, digestOutputStream);
 		}
 	}
 
@@ -549,6 +549,7 @@ public class DSSJsonUtils {
 	 * depending on the {@code isBase64UrlEncoded} parameter.
 	 * When {@code isBase64UrlEncoded} is set to TRUE, returns base64url-encoded binaries of the {@code document}.
 	 * When {@code isBase64UrlEncoded} is set to FALSE, returns original octets of the document.
+	 * NOTE: the whole content is loaded into memory. Use {@code #writeDocumentOctets} to stream the octets.
 	 *
 	 * @param document {@link DSSDocument} to get octets from
 	 * @param isBase64UrlEncoded defines whether return base64url-encoded octets
@@ -557,10 +558,64 @@ public class DSSJsonUtils {
 	public static byte[] getDocumentOctets(DSSDocument document, boolean isBase64UrlEncoded) {
 		byte[] octets = DSSUtils.toByteArray(document);
 		if (isBase64UrlEncoded) {
-			octets = DSSJsonUtils.toBase64Url(octets).getBytes();
+			// encodes to bytes directly, without an intermediate String copy of the encoded content
+			octets = Base64.getUrlEncoder().withoutPadding().encode(octets);
 		}
 		return octets;
 	}
+
+	/**
+	 * Writes the octets of the {@code document} used for payload computation into the {@code outputStream},
+	 * depending on the {@code isBase64UrlEncoded} parameter (see {@code #getDocumentOctets}).
+	 * The document content is read and base64url-encoded by chunks, without loading the whole document into memory.
+	 * NOTE: the provided {@code outputStream} is not closed by the method.
+	 *
+	 * @param document {@link DSSDocument} to get octets from
+	 * @param isBase64UrlEncoded defines whether the written octets shall be base64url-encoded
+	 * @param outputStream {@link OutputStream} to write the octets into
+	 */
+	public static void writeDocumentOctets(DSSDocument document, boolean isBase64UrlEncoded, OutputStream outputStream) {
+		try (InputStream is = document.openStream()) {
+			if (!isBase64UrlEncoded) {
+				Utils.copy(is, outputStream);
+				return;
+			}
+			// a chunk size multiple of 3 ensures the concatenated encoded chunks equal to the encoded document
+			final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+			final byte[] buffer = new byte[BASE64URL_CHUNK_SIZE];
+			int length;
+			while ((length = readChunk(is, buffer)) > 0) {
+				byte[] chunk = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+				outputStream.write(encoder.encode(chunk));
+			}
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write document octets. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Computes digest on the base64url-encoded content of the {@code document}, without loading
+	 * the whole document into memory. To be used for the 'sigD' ObjectIdByURIHash mechanism.
+	 *
+	 * @param document {@link DSSDocument} to compute digest for
+	 * @param digestAlgorithm {@link DigestAlgorithm} to use
+	 * @return digest value of the base64url-encoded document content
+	 */
+	public static byte[] getBase64UrlEncodedDocumentDigest(DSSDocument document, DigestAlgorithm digestAlgorithm) {
+		DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
+		writeDocumentOctets(document, true, digestCalculator.getOutputStream());
+		return digestCalculator.getMessageDigest(digestAlgorithm).getValue();
+	}
+
+	private static int readChunk(InputStream is, byte[] buffer) throws IOException {
+		int offset = 0;
+		int read;
+		while (offset < buffer.length && (read = is.read(buffer, offset, buffer.length - offset)) != -1) {
+			offset += read;
+		}
+		return offset;
+	}
 	
 	/**
 	 * Checks if the provided document is JSON document
@@ -964,6 +1019,8 @@ public class DSSJsonUtils {
 
 	/**
 	 * This method computes the signing input bytes for a JWS signature
+	 * NOTE: the signing input, including the payload, is built in memory, as the signature value is computed
+	 * and verified over the complete signing input (see {@code ToBeSigned} and {@code JWS#verifySignature}).
 	 *
 	 * @param jws {@link JWS} to get signing input for
 	 * @return signing input bytes
@@ -54,6 +54,8 @@ public class JWSJsonSerializationParser {
 	
 	/**
 	 * Parses the provided document and returns JWSJsonSerializationObject if applicable
+	 * NOTE: the whole document is loaded into memory, as the JSON schema validation and the jose4j parser
+	 * operate on a String, and the payload is kept within the returned object
 	 * 
 	 * @return {@link JWSJsonSerializationObject}
 	 */
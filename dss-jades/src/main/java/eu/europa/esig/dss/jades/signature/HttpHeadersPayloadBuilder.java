@@ -25,11 +25,11 @@ import eu.europa.esig.dss.jades.HTTPHeader;
 import eu.europa.esig.dss.jades.HTTPHeaderDigest;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
-import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -66,6 +66,24 @@ public class HttpHeadersPayloadBuilder {
 	 * @return payload binaries
 	 */
 	public byte[] build() {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			build(baos);
+			return baos.toByteArray();
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("An error occurred while building an HTTPHeaders payload : %s",
+					e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Builds the payload from HTTPHeaderDocuments and writes it into the {@code outputStream}.
+	 * The message body of a 'Digest' header (for a timestamp) is streamed and not loaded into memory.
+	 * NOTE: the provided {@code outputStream} is not closed by the method.
+	 *
+	 * @param outputStream {@link OutputStream} to write the payload binaries into
+	 */
+	public void build(OutputStream outputStream) {
 		assertHttpHeadersConfigurationIsValid();
 
 		List<HTTPHeader> httpHeaderDocuments = toHTTPHeaders(detachedContents);
@@ -128,27 +146,26 @@ public class HttpHeadersPayloadBuilder {
 			}
 		}
 
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+		try {
 			Iterator<HTTPHeader> iterator = concatenatedHttpFields.iterator();
 			while (iterator.hasNext()) {
 				HTTPHeader header = iterator.next();
 				if (DSSJsonUtils.HTTP_HEADER_DIGEST.equals(header.getName()) && isTimestamp) {
 					HTTPHeaderDigest httpHeaderDigest = (HTTPHeaderDigest) header;
 					DSSDocument messageBodyDocument = httpHeaderDigest.getMessageBodyDocument();
-					baos.write(DSSUtils.toByteArray(messageBodyDocument));
+					DSSJsonUtils.writeDocumentOctets(messageBodyDocument, false, outputStream);
 				} else {
 					StringBuilder stringBuilder = new StringBuilder();
 					stringBuilder.append(Utils.lowerCase(header.getName()));
 					stringBuilder.append(":");
 					stringBuilder.append(" ");
 					stringBuilder.append(header.getValue());
-					baos.write(stringBuilder.toString().getBytes());
+					outputStream.write(stringBuilder.toString().getBytes());
 				}
 				if (iterator.hasNext()) {
-					baos.write("\n".getBytes());
+					outputStream.write("\n".getBytes());
 				}
 			}
-			return baos.toByteArray();
 
 		} catch (IOException e) {
 			throw new DSSException(String.format("An error occurred while building an HTTPHeaders payload : %s",
@@ -860,8 +860,7 @@ public class JAdESLevelBaselineB {
 			 * or it is present and set to "true".
 			 */
 			else {
-				byte[] base64urlDocumentContent = DSSJsonUtils.toBase64Url(document).getBytes();
-				docDigest = DSSUtils.digest(digestAlgorithm, base64urlDocumentContent);
+				docDigest = DSSJsonUtils.getBase64UrlEncodedDocumentDigest(document, digestAlgorithm);
 			}
 			digests.add(DSSJsonUtils.toBase64Url(docDigest)); // base64Url digest
 		}
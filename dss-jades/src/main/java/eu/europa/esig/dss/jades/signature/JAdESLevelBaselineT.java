@@ -106,7 +106,9 @@ public class JAdESLevelBaselineT extends JAdESExtensionBuilder implements JAdESL
 
 		JWSDocumentAnalyzerFactory documentValidatorFactory = new JWSDocumentAnalyzerFactory();
 		documentValidator = documentValidatorFactory.create(document);
-		documentValidator.setCertificateVerifier(certificateVerifier);
+		// re-uses the validation data obtained within the signing operation
+		documentValidator.setCertificateVerifier(params.getSharedCertificateVerifier() != null ?
+				params.getSharedCertificateVerifier() : certificateVerifier);
 		documentValidator.setDetachedContents(params.getDetachedContents());
 		documentValidator.setValidationContextExecutor(CompleteValidationContextExecutor.INSTANCE);
 
@@ -49,7 +49,8 @@ import eu.europa.esig.dss.signature.CounterSignatureService;
 import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
 import eu.europa.esig.dss.enumerations.SigningOperation;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
-import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.DSSPKUtils;
@@ -107,17 +108,17 @@ public class JAdESService extends AbstractSignatureService<JAdESSignatureParamet
 		Objects.requireNonNull(tspSource, "A TSPSource is required!");
 		assertContentTimestampCreationPossible(toSignDocuments);
 		
-		byte[] messageImprint;
+		DigestAlgorithm digestAlgorithm = parameters.getContentTimestampParameters().getDigestAlgorithm();
+		DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
 		if (SigDMechanism.HTTP_HEADERS.equals(parameters.getSigDMechanism())) {
 			HttpHeadersPayloadBuilder httpHeadersPayloadBuilder = new HttpHeadersPayloadBuilder(toSignDocuments, true);
-			messageImprint = httpHeadersPayloadBuilder.build();
+			httpHeadersPayloadBuilder.build(digestCalculator.getOutputStream());
 		} else {
-			messageImprint = DSSJsonUtils.concatenateDSSDocuments(toSignDocuments, parameters.isBase64UrlEncodedPayload());
+			DSSJsonUtils.writeDocumentsDigest(toSignDocuments, parameters.isBase64UrlEncodedPayload(), digestCalculator);
 		}
 
-		DigestAlgorithm digestAlgorithm = parameters.getContentTimestampParameters().getDigestAlgorithm();
 		TimestampBinary timeStampResponse = tspSource.getTimeStampResponse(digestAlgorithm,
-				DSSUtils.digest(digestAlgorithm, messageImprint));
+				digestCalculator.getMessageDigest(digestAlgorithm).getValue());
 		try {
 			return new TimestampToken(timeStampResponse.getBytes(), TimestampType.CONTENT_TIMESTAMP);
 		} catch (TSPException | IOException | CMSException e) {
@@ -190,20 +191,41 @@ public class JAdESService extends AbstractSignatureService<JAdESSignatureParamet
 		Objects.requireNonNull(toSignDocuments, "toSignDocuments cannot be null!");
 		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
 		Objects.requireNonNull(signatureValue, "SignatureValue cannot be null!");
+
+		final JAdESLevelBaselineExtension signatureExtension = getExtensionProfile(parameters);
+		// the extension re-uses the signing certificate chain and its revocation data obtained on validation
+		final boolean validationDataShared = signatureExtension != null && initSharedValidationData(parameters);
+		try {
+			return signDocument(toSignDocuments, parameters, signatureValue, signatureExtension);
+		} finally {
+			if (validationDataShared) {
+				clearSharedValidationData(parameters);
+			}
+		}
+	}
+
+	private DSSDocument signDocument(List<DSSDocument> toSignDocuments, JAdESSignatureParameters parameters,
+			SignatureValue signatureValue, JAdESLevelBaselineExtension signatureExtension) {
 		assertMultiDocumentsAllowed(toSignDocuments, parameters);
 		assertSigningCertificateValid(parameters);
 
 		JAdESBuilder jadesBuilder = getJAdESBuilder(parameters, toSignDocuments);
-		DSSDocument signedDocument = jadesBuilder.build(signatureValue);
+		DSSDocument signedDocument;
+		try (DSSMetrics.Timer timer = startSigningPhaseTimer(parameters.getSignatureLevel(), DSSMetrics.PHASE_CREATION)) {
+			signedDocument = jadesBuilder.build(signatureValue);
+		}
 
-		JAdESLevelBaselineExtension signatureExtension = getExtensionProfile(parameters);
 		if (signatureExtension != null) {
 			if (SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging()) &&
 					Utils.isCollectionEmpty(parameters.getDetachedContents())) {
 				parameters.getContext().setDetachedContents(toSignDocuments);
 			}
 			signatureExtension.setOperationKind(SigningOperation.SIGN);
-			signedDocument = signatureExtension.extendSignatures(signedDocument, parameters);
+			// the created JWS is parsed again, as the extension requires the JSON structure validation
+			// of the serialized signature and may change its serialization type (e.g. for a compact signature)
+			try (DSSMetrics.Timer timer = startSigningPhaseTimer(parameters.getSignatureLevel(), DSSMetrics.PHASE_EXTENSION)) {
+				signedDocument = signatureExtension.extendSignatures(signedDocument, parameters);
+			}
 		}
 
 		parameters.reinit();
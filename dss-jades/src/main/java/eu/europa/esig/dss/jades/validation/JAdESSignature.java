@@ -73,6 +73,7 @@ import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents the JAdES signature
@@ -681,6 +682,19 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		}
 		return referenceValidations;
 	}
+
+	@Override
+	public Set<DigestAlgorithm> getDetachedContentsDigestAlgorithms() {
+		// only 'sigD' hash values of unencoded payload are computed on the original content of detached documents
+		if (isDetachedSignature() && SigDMechanism.OBJECT_ID_BY_URI_HASH.equals(getSigDMechanism())
+				&& jws.isRfc7797UnencodedPayload()) {
+			DigestAlgorithm digestAlgorithm = getDigestAlgorithmForDetachedContent();
+			if (digestAlgorithm != null) {
+				return Collections.singleton(digestAlgorithm);
+			}
+		}
+		return Collections.emptySet();
+	}
 	
 	private JAdESReferenceValidation getSigningInputReferenceValidation() {
 		JAdESReferenceValidation signatureValueReferenceValidation = new JAdESReferenceValidation();
@@ -1073,8 +1087,7 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		if (jws.isRfc7797UnencodedPayload() || document instanceof DigestDocument) {
 			computedDigestValue = document.getDigestValue(digestAlgorithm);
 		} else {
-			String base64UrlEncodedDocument = DSSJsonUtils.toBase64Url(document);
-			computedDigestValue = DSSUtils.digest(digestAlgorithm, base64UrlEncodedDocument.getBytes());
+			computedDigestValue = DSSJsonUtils.getBase64UrlEncodedDocumentDigest(document, digestAlgorithm);
 		}
 
 		if (Arrays.equals(expectedDigest, computedDigestValue)) {
@@ -22,16 +22,22 @@ package eu.europa.esig.dss.jades;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.jose4j.jws.EcdsaUsingShaAlgorithm;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -112,4 +118,39 @@ class DSSJsonUtilsTest {
 		assertFalse(DSSJsonUtils.isJsonDocument(new DigestDocument(DigestAlgorithm.SHA1, Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA1, jsonDoc)))));
 	}
 
+	@Test
+	void writeDocumentOctetsTest() {
+		Random random = new Random(42);
+		int[] sizes = new int[] { 0, 1, 2, 3, 4, 24575, 24576, 24577, 3 * 24576 + 2 };
+		for (int size : sizes) {
+			byte[] content = new byte[size];
+			random.nextBytes(content);
+			InMemoryDocument document = new InMemoryDocument(content);
+
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			DSSJsonUtils.writeDocumentOctets(document, true, baos);
+			assertArrayEquals(DSSJsonUtils.toBase64Url(content).getBytes(), DSSJsonUtils.getDocumentOctets(document, true));
+			assertArrayEquals(DSSJsonUtils.getDocumentOctets(document, true), baos.toByteArray());
+
+			baos = new ByteArrayOutputStream();
+			DSSJsonUtils.writeDocumentOctets(document, false, baos);
+			assertArrayEquals(content, baos.toByteArray());
+
+			assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, DSSJsonUtils.getDocumentOctets(document, true)),
+					DSSJsonUtils.getBase64UrlEncodedDocumentDigest(document, DigestAlgorithm.SHA256));
+		}
+	}
+
+	@Test
+	void writeDocumentsDigestTest() {
+		List<DSSDocument> documents = Arrays.asList(new InMemoryDocument("Hello".getBytes()),
+				new InMemoryDocument("World!".getBytes()), new FileDocument("src/test/resources/sample.json"));
+		for (boolean isBase64UrlEncoded : new boolean[] { true, false }) {
+			DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(DigestAlgorithm.SHA512);
+			DSSJsonUtils.writeDocumentsDigest(documents, isBase64UrlEncoded, digestCalculator);
+			assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA512, DSSJsonUtils.concatenateDSSDocuments(documents, isBase64UrlEncoded)),
+					digestCalculator.getMessageDigest(DigestAlgorithm.SHA512).getValue());
+		}
+	}
+
 }
@@ -42,7 +42,9 @@ import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.signature.DocumentSignatureService;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.signature.AdvancedSignature;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
 import org.jose4j.json.JsonUtil;
 import org.jose4j.jwx.HeaderParameterNames;
 import org.jose4j.lang.JoseException;
@@ -50,6 +52,7 @@ import org.junit.jupiter.api.BeforeEach;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -102,6 +105,15 @@ class JAdESLevelBDetachedUriByHashNonB64Test extends AbstractJAdESTestSignature
 
         assertRequirementsValid(jws.getEncodedHeader());
 
+        // the 'sigD' digests of an unencoded payload may be computed on the original documents before validation
+        SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(compactSignature);
+        validator.setDetachedContents(getDetachedContents());
+        List<AdvancedSignature> signatures = validator.getSignatures();
+        assertEquals(1, signatures.size());
+        DigestAlgorithm sigDDigestAlgorithm = signatureParameters.getReferenceDigestAlgorithm() != null ?
+                signatureParameters.getReferenceDigestAlgorithm() : signatureParameters.getDigestAlgorithm();
+        assertEquals(Collections.singleton(sigDDigestAlgorithm), signatures.get(0).getDetachedContentsDigestAlgorithms());
+
         DSSDocument converted = JWSConverter.fromJWSCompactToJSONFlattenedSerialization(compactSignature);
         assertNotNull(converted);
         assertNotNull(converted.getMimeType());
@@ -30,6 +30,7 @@ import java.io.OutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
@@ -127,6 +128,56 @@ public abstract class CommonDocument implements DSSDocument {
 		return digest;
 	}
 
+	/**
+	 * Computes the digests of the document for all the given {@code digestAlgorithms} not yet present
+	 * within the cache, by reading the document content only once. The computed digests are cached and returned
+	 * by the subsequent calls of {@link #getDigestValue(DigestAlgorithm)}.
+	 *
+	 * @param digestAlgorithms a collection of {@link DigestAlgorithm}s to compute digests for
+	 */
+	public void computeDigestValues(Collection<DigestAlgorithm> digestAlgorithms) {
+		final Map<DigestAlgorithm, MessageDigest> messageDigests = new EnumMap<>(DigestAlgorithm.class);
+		try {
+			for (DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+				if (!digestMap.containsKey(digestAlgorithm) && !messageDigests.containsKey(digestAlgorithm)) {
+					messageDigests.put(digestAlgorithm, digestAlgorithm.getMessageDigest());
+				}
+			}
+			if (messageDigests.isEmpty()) {
+				return;
+			}
+			try (InputStream is = openStream()) {
+				final byte[] buffer = new byte[8192];
+				int count;
+				while ((count = is.read(buffer)) > 0) {
+					for (MessageDigest messageDigest : messageDigests.values()) {
+						messageDigest.update(buffer, 0, count);
+					}
+				}
+			}
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new DSSException("Unable to compute the digest", e);
+		}
+		for (Map.Entry<DigestAlgorithm, MessageDigest> entry : messageDigests.entrySet()) {
+			digestMap.put(entry.getKey(), entry.getValue().digest());
+		}
+	}
+
+	/**
+	 * Verifies whether the given range parameters are valid
+	 *
+	 * @param offset the position of the first byte to be read
+	 * @param length the maximum number of bytes to be read
+	 */
+	protected void assertValidRange(long offset, long length) {
+		if (offset < 0) {
+			throw new IllegalArgumentException(String.format("The offset cannot be negative! Obtained : %s", offset));
+		}
+		if (length < 0) {
+			throw new IllegalArgumentException(String.format("The length cannot be negative! Obtained : %s", length));
+		}
+	}
+
 	@Override
 	public String toString() {
 		final String mimeTypeString = (mimeType == null) ? "" : mimeType.getMimeTypeString();
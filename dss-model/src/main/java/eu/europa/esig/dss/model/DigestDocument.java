@@ -26,6 +26,7 @@ import eu.europa.esig.dss.enumerations.MimeType;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Map.Entry;
 import java.util.Objects;
 
@@ -232,6 +233,11 @@ public class DigestDocument extends CommonDocument {
 		return digestValue;
 	}
 
+	@Override
+	public void computeDigestValues(Collection<DigestAlgorithm> digestAlgorithms) {
+		// not applicable, the digests are provided with addDigest() method
+	}
+
 	/**
 	 * Gets the defined digest value for the DigestDocument
 	 *
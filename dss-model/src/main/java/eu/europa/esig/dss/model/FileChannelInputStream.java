@@ -0,0 +1,121 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a range of a file using positional reads on a {@code FileChannel}.
+ * Skipping the content is performed by moving the position, without reading the skipped bytes.
+ *
+ */
+final class FileChannelInputStream extends InputStream {
+
+	/** The channel to read from */
+	private final FileChannel channel;
+
+	/** The position after the last byte to be read */
+	private final long end;
+
+	/** The current position within the file */
+	private long position;
+
+	/** Defines whether the stream has been closed */
+	private boolean closed = false;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param file {@link File} to read
+	 * @param offset the position of the first byte to read
+	 * @param length the maximum number of bytes to read
+	 * @throws IOException if the file cannot be opened
+	 */
+	FileChannelInputStream(final File file, final long offset, final long length) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		final long size = channel.size();
+		this.position = Math.min(offset, size);
+		this.end = length > size - position ? size : position + length;
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] b = new byte[1];
+		int read = read(b, 0, 1);
+		return read == -1 ? -1 : b[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		final long remaining = end - position;
+		if (remaining <= 0) {
+			return -1;
+		}
+		final int toRead = (int) Math.min(len, remaining);
+		final int read = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+		if (read > 0) {
+			position += read;
+		}
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		ensureOpen();
+		if (n <= 0) {
+			return 0;
+		}
+		final long skipped = Math.min(n, end - position);
+		position += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() throws IOException {
+		ensureOpen();
+		return (int) Math.min(Integer.MAX_VALUE, end - position);
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		channel.close();
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream Closed");
+		}
+	}
+
+}
@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Objects;
 
@@ -35,7 +36,7 @@ import java.util.Objects;
  *
  */
 @SuppressWarnings("serial")
-public class FileDocument extends CommonDocument {
+public class FileDocument extends CommonDocument implements SeekableDSSDocument {
 
 	private static final Logger LOG = LoggerFactory.getLogger(FileDocument.class);
 
@@ -80,6 +81,25 @@ public class FileDocument extends CommonDocument {
 		}
 	}
 
+	@Override
+	public InputStream openStream(long offset, long length) {
+		assertValidRange(offset, length);
+		try {
+			return new FileChannelInputStream(file, offset, length);
+		} catch (IOException e) {
+			throw new DSSException("Unable to open a FileChannel", e);
+		}
+	}
+
+	@Override
+	public long getLength() {
+		if (!file.exists()) {
+			throw new DSSException(String.format("Unable to get the length of the file with name '%s' : " +
+					"the file does not exist!", file.getName()));
+		}
+		return file.length();
+	}
+
 	/**
 	 * Checks if the file exists
 	 *
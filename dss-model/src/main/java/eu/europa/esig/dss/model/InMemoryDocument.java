@@ -34,7 +34,7 @@ import java.util.Objects;
  *
  */
 @SuppressWarnings("serial")
-public class InMemoryDocument extends CommonDocument {
+public class InMemoryDocument extends CommonDocument implements SeekableDSSDocument {
 
 	/** The binary content of the document */
 	private byte[] bytes;
@@ -150,6 +150,21 @@ public class InMemoryDocument extends CommonDocument {
 		return new ByteArrayInputStream(bytes);
 	}
 
+	@Override
+	public InputStream openStream(long offset, long length) {
+		Objects.requireNonNull(bytes, "Byte array is not defined!");
+		assertValidRange(offset, length);
+		final int start = (int) Math.min(offset, bytes.length);
+		final int count = (int) Math.min(length, bytes.length - start);
+		return new ByteArrayInputStream(bytes, start, count);
+	}
+
+	@Override
+	public long getLength() {
+		Objects.requireNonNull(bytes, "Byte array is not defined!");
+		return bytes.length;
+	}
+
 	/**
 	 * Gets binary content of the document
 	 *
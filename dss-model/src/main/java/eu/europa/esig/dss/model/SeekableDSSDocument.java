@@ -0,0 +1,53 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model;
+
+import java.io.InputStream;
+
+/**
+ * Represents a {@code DSSDocument} providing a random access to its content.
+ * The interface allows reading a range of the document (e.g. a PDF /ByteRange) without re-reading
+ * or copying the preceding content.
+ * Offsets and lengths are expressed as {@code long} values, in order to support documents larger than 2 GB.
+ *
+ */
+public interface SeekableDSSDocument extends DSSDocument {
+
+	/**
+	 * Returns the length of the document's content in bytes
+	 *
+	 * @return the content length
+	 */
+	long getLength();
+
+	/**
+	 * Opens an {@code InputStream} reading {@code length} bytes of the document's content
+	 * starting from the position {@code offset}.
+	 * When the requested range exceeds the content, the returned {@code InputStream} ends at the end of the content.
+	 *
+	 * @param offset the position of the first byte to be read
+	 * @param length the maximum number of bytes to be read
+	 * @return {@link InputStream}
+	 * @throws IllegalArgumentException if a negative offset or length is provided
+	 */
+	InputStream openStream(long offset, long length);
+
+}
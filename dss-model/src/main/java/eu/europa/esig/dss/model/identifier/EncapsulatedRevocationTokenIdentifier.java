@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.model.identifier;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
 
 /**
@@ -39,6 +41,17 @@ public class EncapsulatedRevocationTokenIdentifier<R extends Revocation> extends
 	public EncapsulatedRevocationTokenIdentifier(byte[] binaries) {
 		super("R-", binaries);
 	}
+
+	/**
+	 * Constructor to build an identifier from the digest of the revocation data binaries,
+	 * when the binaries are obtained on demand (see {@code #getBinaries})
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} used to compute the digest (SHA-256)
+	 * @param digestValue the digest value of the revocation data binaries
+	 */
+	protected EncapsulatedRevocationTokenIdentifier(DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+		super("R-", new Digest(digestAlgorithm, digestValue));
+	}
 	
 	@Override
 	public Identifier getDSSId() {
@@ -54,6 +54,22 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 		digestMap.put(id.getAlgorithm(), id.getValue());
 	}
 
+	/**
+	 * Constructor to build an identifier from the digest of the binaries, when the binaries are obtained on demand
+	 * (see {@code #getBinaries})
+	 *
+	 * @param prefix {@link String} for the identifier
+	 * @param digest {@link Digest} of the binaries, computed with the identifier digest algorithm (SHA-256)
+	 */
+	protected MultipleDigestIdentifier(final String prefix, final Digest digest) {
+		super(prefix, digest);
+		if (DIGEST_ALGO != digest.getAlgorithm()) {
+			throw new IllegalArgumentException(String.format("The digest shall be computed with %s algorithm!", DIGEST_ALGO));
+		}
+		this.binaries = null;
+		digestMap.put(digest.getAlgorithm(), digest.getValue());
+	}
+
 	/**
 	 * Gets token binaries
 	 *
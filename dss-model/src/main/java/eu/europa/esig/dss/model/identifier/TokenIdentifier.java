@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.model.identifier;
 
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.x509.Token;
 
 /**
@@ -50,4 +51,14 @@ public abstract class TokenIdentifier extends MultipleDigestIdentifier {
 		super(prefix, binaries);
 	}
 
+	/**
+	 * Constructor to build an identifier from the digest of the Token binaries
+	 *
+	 * @param prefix {@link String} identifier prefix
+	 * @param digest {@link Digest} of the Token binaries (SHA-256)
+	 */
+	protected TokenIdentifier(final String prefix, Digest digest) {
+		super(prefix, digest);
+	}
+
 }
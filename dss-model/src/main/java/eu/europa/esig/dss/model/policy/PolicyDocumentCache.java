@@ -0,0 +1,224 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.policy;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.Digest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class is used to keep a bounded number of parsed policy models (e.g. a validation policy or
+ * a cryptographic suite), identified by the digest of the original policy document.
+ * The cache allows to skip the unmarshalling and schema validation of the same policy document
+ * when it is provided several times (e.g. with each validation request).
+ * <p>
+ * NOTE: when no copier is provided, the cached objects are shared between the callers, therefore they
+ * shall not be modified. For mutable models, a copier shall be provided, so each caller obtains its own copy.
+ * The least recently used entry is evicted when the maximum size is reached.
+ *
+ * @param <T> the type of the cached policy model
+ */
+public class PolicyDocumentCache<T> {
+
+    /** The default maximum number of cached entries */
+    public static final int DEFAULT_MAX_SIZE = 16;
+
+    /** The digest algorithm used to compute the cache key */
+    private static final DigestAlgorithm DIGEST_ALGORITHM = DigestAlgorithm.SHA256;
+
+    /** Map between the digests of policy documents and the parsed models */
+    private final Map<Digest, T> cache;
+
+    /** Creates an independent copy of a cached model to be returned to the caller (identity by default) */
+    private final UnaryOperator<T> copier;
+
+    /** The maximum number of cached entries */
+    private int maxSize;
+
+    /**
+     * Default constructor instantiating a cache with the {@code DEFAULT_MAX_SIZE}
+     */
+    public PolicyDocumentCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor instantiating a cache with the given maximum number of entries
+     *
+     * @param maxSize the maximum number of cached entries. When 0, the caching is disabled.
+     */
+    public PolicyDocumentCache(int maxSize) {
+        this(maxSize, UnaryOperator.identity());
+    }
+
+    /**
+     * Constructor instantiating a cache with the given maximum number of entries and a copier,
+     * used to return an independent copy of the cached model to each caller
+     *
+     * @param maxSize the maximum number of cached entries. When 0, the caching is disabled.
+     * @param copier {@link UnaryOperator} creating a copy of the cached model
+     */
+    public PolicyDocumentCache(int maxSize, UnaryOperator<T> copier) {
+        Objects.requireNonNull(copier, "Copier cannot be null!");
+        this.copier = copier;
+        setMaxSize(maxSize);
+        this.cache = new LinkedHashMap<Digest, T>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -1593453893462375046L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Digest, T> eldest) {
+                return size() > PolicyDocumentCache.this.maxSize;
+            }
+
+        };
+    }
+
+    /**
+     * Sets the maximum number of entries to be kept within the cache.
+     * When 0, the caching is disabled.
+     * The already cached entries exceeding the new limit are evicted on the next insertion.
+     *
+     * @param maxSize the maximum number of cached entries
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size of the cache cannot be negative!");
+        }
+        this.maxSize = maxSize;
+        if (maxSize == 0 && cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Gets the maximum number of entries to be kept within the cache
+     *
+     * @return the maximum number of cached entries
+     */
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns whether a model is cached for the given {@code policyDocument}
+     *
+     * @param policyDocument {@link DSSDocument} the policy document
+     * @return TRUE if the model is cached, FALSE otherwise
+     */
+    public boolean contains(DSSDocument policyDocument) {
+        return getCached(policyDocument) != null;
+    }
+
+    /**
+     * Returns (a copy of) the cached model for the given {@code policyDocument}, when present
+     *
+     * @param policyDocument {@link DSSDocument} the policy document
+     * @return cached model if present, NULL otherwise
+     */
+    public T get(DSSDocument policyDocument) {
+        T cached = getCached(policyDocument);
+        return cached != null ? copier.apply(cached) : null;
+    }
+
+    private T getCached(DSSDocument policyDocument) {
+        Objects.requireNonNull(policyDocument, "Policy document cannot be null!");
+        if (!isEnabled()) {
+            return null;
+        }
+        final Digest key = getKey(policyDocument);
+        synchronized (this) {
+            return cache.get(key);
+        }
+    }
+
+    /**
+     * Returns (a copy of) the cached model for the given {@code policyDocument}, or loads it with the provided
+     * {@code loader} and caches the result.
+     * NOTE: the loader and the copier are executed outside the lock, therefore the same document may be loaded
+     * concurrently by different threads, in which case the first stored model is kept.
+     *
+     * @param policyDocument {@link DSSDocument} the policy document
+     * @param loader {@link Function} used to load the model from the document, when not cached
+     * @return the cached or loaded model
+     */
+    public T computeIfAbsent(DSSDocument policyDocument, Function<DSSDocument, T> loader) {
+        Objects.requireNonNull(policyDocument, "Policy document cannot be null!");
+        Objects.requireNonNull(loader, "Loader cannot be null!");
+        if (!isEnabled()) {
+            return loader.apply(policyDocument);
+        }
+
+        final Digest key = getKey(policyDocument);
+        T cached;
+        synchronized (this) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            return copier.apply(cached);
+        }
+
+        final T loaded = loader.apply(policyDocument);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            cached = cache.get(key);
+            if (cached == null) {
+                cached = loaded;
+                cache.put(key, loaded);
+            }
+        }
+        // the cached instance is never returned nor modified, so the copy is created outside the lock
+        return copier.apply(cached);
+    }
+
+    /**
+     * Returns the current number of cached entries
+     *
+     * @return number of cached entries
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all the cached entries
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    private synchronized boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    private Digest getKey(DSSDocument policyDocument) {
+        return new Digest(DIGEST_ALGORITHM, policyDocument.getDigestValue(DIGEST_ALGORITHM));
+    }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.signature;
+
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+
+import java.util.List;
+
+/**
+ * Computes the signature values of several data to be signed within a single operation
+ * (e.g. a single call to a remote signing service, or a concurrent signing with a pool of token connections,
+ * see {@code TokenBatchSigner}).
+ * Used for batch signing (see {@code AbstractSignatureService#signDocuments})
+ *
+ */
+@FunctionalInterface
+public interface BatchSigner {
+
+    /**
+     * Signs the given data
+     *
+     * @param toBeSigned a list of {@link ToBeSigned} to be signed
+     * @param signatureAlgorithm {@link SignatureAlgorithm} to be used
+     * @return a list of {@link SignatureValue}s, in the same order as {@code toBeSigned}
+     */
+    List<SignatureValue> sign(List<ToBeSigned> toBeSigned, SignatureAlgorithm signatureAlgorithm);
+
+}
@@ -23,7 +23,12 @@ package eu.europa.esig.dss.model;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DigestAlgorithmTest {
@@ -68,4 +73,20 @@ class DigestAlgorithmTest {
 		assertEquals(DigestAlgorithm.SHA256, DigestAlgorithm.forName("aaa", DigestAlgorithm.SHA256));
 	}
 
+	@Test
+	void getMessageDigest() throws Exception {
+		byte[] data = "Hello world!".getBytes(StandardCharsets.UTF_8);
+		MessageDigest first = DigestAlgorithm.SHA256.getMessageDigest();
+		first.update(data);
+
+		// a new instance is returned, not affected by the previous updates
+		MessageDigest second = DigestAlgorithm.SHA256.getMessageDigest();
+		assertNotSame(first, second);
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), second.digest(data));
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), first.digest());
+
+		DigestAlgorithm.clearMessageDigestCache();
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), DigestAlgorithm.SHA256.getMessageDigest().digest(data));
+	}
+
 }
@@ -25,13 +25,17 @@ import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -73,6 +77,63 @@ class FileDocumentTest extends AbstractTestDSSDocument {
 		assertFalse(file.exists());
 	}
 
+	@Test
+	void rangeTest() throws IOException {
+		FileDocument doc = new FileDocument("src/test/resources/AdobeCA.p7c");
+		byte[] bytes = Files.readAllBytes(doc.getFile().toPath());
+		assertEquals(bytes.length, doc.getLength());
+
+		try (InputStream is = doc.openStream(100, 200)) {
+			assertEquals(200, is.available());
+			assertArrayEquals(Arrays.copyOfRange(bytes, 100, 300), readAll(is));
+		}
+		try (InputStream is = doc.openStream(0, bytes.length)) {
+			assertEquals(10, is.skip(10));
+			assertEquals(bytes[10] & 0xFF, is.read());
+			assertArrayEquals(Arrays.copyOfRange(bytes, 11, bytes.length), readAll(is));
+			assertEquals(-1, is.read());
+		}
+		try (InputStream is = doc.openStream(bytes.length - 10, 100)) {
+			assertArrayEquals(Arrays.copyOfRange(bytes, bytes.length - 10, bytes.length), readAll(is));
+		}
+		try (InputStream is = doc.openStream(bytes.length + 10, 100)) {
+			assertEquals(-1, is.read());
+		}
+
+		InputStream is = doc.openStream(0, 10);
+		is.close();
+		Exception exception = assertThrows(IOException.class, is::read);
+		assertEquals("Stream Closed", exception.getMessage());
+
+		assertThrows(IllegalArgumentException.class, () -> doc.openStream(-1, 10));
+		assertThrows(IllegalArgumentException.class, () -> doc.openStream(0, -1));
+	}
+
+	@Test
+	void deletedFileTest() throws IOException {
+		Path path = temporaryFolder.resolve("deletedFile");
+		Files.write(path, new byte[] { 1, 2, 3 });
+		FileDocument doc = new FileDocument(path.toFile());
+		assertEquals(3, doc.getLength());
+
+		assertTrue(path.toFile().delete(), "Cannot delete the temporary file");
+		Exception exception = assertThrows(DSSException.class, doc::getLength);
+		assertEquals("Unable to get the length of the file with name 'deletedFile' : the file does not exist!", exception.getMessage());
+		exception = assertThrows(DSSException.class, doc::openStream);
+		assertEquals("Unable to create a FileInputStream", exception.getMessage());
+	}
+
+	private static byte[] readAll(InputStream is) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			byte[] buffer = new byte[64];
+			int count;
+			while ((count = is.read(buffer, 0, buffer.length)) > 0) {
+				baos.write(buffer, 0, count);
+			}
+			return baos.toByteArray();
+		}
+	}
+
 	@Override
 	protected DSSDocument getPersistenceTestDocument() {
 		return new FileDocument("src/test/resources/AdobeCA.p7c");
@@ -24,12 +24,14 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -117,6 +119,35 @@ class InMemoryDocumentTest extends AbstractTestDSSDocument {
 		assertEquals("Bytes cannot be null", exception.getMessage());
 	}
 
+	@Test
+	void rangeTest() throws IOException {
+		byte[] bytes = "Hello World!".getBytes(StandardCharsets.UTF_8);
+		InMemoryDocument doc = new InMemoryDocument(bytes);
+		assertEquals(12, doc.getLength());
+
+		try (InputStream is = doc.openStream(6, 5)) {
+			assertArrayEquals("World".getBytes(StandardCharsets.UTF_8), toByteArray(is));
+		}
+		try (InputStream is = doc.openStream(6, 100)) {
+			assertArrayEquals("World!".getBytes(StandardCharsets.UTF_8), toByteArray(is));
+		}
+		try (InputStream is = doc.openStream(100, 5)) {
+			assertEquals(-1, is.read());
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> doc.openStream(-1, 5));
+		assertThrows(IllegalArgumentException.class, () -> doc.openStream(0, -5));
+	}
+
+	private static byte[] toByteArray(InputStream is) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		int b;
+		while ((b = is.read()) != -1) {
+			baos.write(b);
+		}
+		return baos.toByteArray();
+	}
+
 	@Override
 	protected DSSDocument getPersistenceTestDocument() {
 		return new InMemoryDocument("Hello World!".getBytes(StandardCharsets.UTF_8), "helloworld.pdf");
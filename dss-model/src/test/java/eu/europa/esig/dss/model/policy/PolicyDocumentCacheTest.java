@@ -0,0 +1,162 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.policy;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyDocumentCacheTest {
+
+    @Test
+    void computeIfAbsentTest() {
+        PolicyDocumentCache<String> cache = new PolicyDocumentCache<>();
+        AtomicInteger counter = new AtomicInteger();
+
+        DSSDocument policy = new InMemoryDocument("<Policy/>".getBytes(StandardCharsets.UTF_8));
+        String first = cache.computeIfAbsent(policy, d -> new String("parsed-" + counter.incrementAndGet()));
+        assertEquals("parsed-1", first);
+
+        // same content, different document instance
+        DSSDocument samePolicy = new InMemoryDocument("<Policy/>".getBytes(StandardCharsets.UTF_8));
+        String second = cache.computeIfAbsent(samePolicy, d -> new String("parsed-" + counter.incrementAndGet()));
+        assertSame(first, second);
+        assertSame(first, cache.get(samePolicy));
+        assertEquals(1, counter.get());
+        assertEquals(1, cache.size());
+
+        DSSDocument otherPolicy = new InMemoryDocument("<OtherPolicy/>".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.get(otherPolicy));
+        String third = cache.computeIfAbsent(otherPolicy, d -> new String("parsed-" + counter.incrementAndGet()));
+        assertEquals("parsed-2", third);
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(policy));
+    }
+
+    @Test
+    void evictionTest() {
+        PolicyDocumentCache<String> cache = new PolicyDocumentCache<>(2);
+
+        DSSDocument policyOne = new InMemoryDocument("1".getBytes(StandardCharsets.UTF_8));
+        DSSDocument policyTwo = new InMemoryDocument("2".getBytes(StandardCharsets.UTF_8));
+        DSSDocument policyThree = new InMemoryDocument("3".getBytes(StandardCharsets.UTF_8));
+
+        cache.computeIfAbsent(policyOne, d -> "one");
+        cache.computeIfAbsent(policyTwo, d -> "two");
+        // access the first entry, the second one becomes the least recently used
+        assertEquals("one", cache.get(policyOne));
+
+        cache.computeIfAbsent(policyThree, d -> "three");
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(policyOne));
+        assertNull(cache.get(policyTwo));
+        assertEquals("three", cache.get(policyThree));
+    }
+
+    @Test
+    void disabledTest() {
+        PolicyDocumentCache<String> cache = new PolicyDocumentCache<>(0);
+        DSSDocument policy = new InMemoryDocument("<Policy/>".getBytes(StandardCharsets.UTF_8));
+
+        String first = cache.computeIfAbsent(policy, d -> new String("parsed"));
+        String second = cache.computeIfAbsent(policy, d -> new String("parsed"));
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(0, cache.size());
+        assertNull(cache.get(policy));
+
+        cache.setMaxSize(1);
+        String third = cache.computeIfAbsent(policy, d -> new String("parsed"));
+        assertSame(third, cache.get(policy));
+
+        cache.setMaxSize(0);
+        assertEquals(0, cache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaxSize(-1));
+    }
+
+    @Test
+    void copierTest() {
+        PolicyDocumentCache<StringBuilder> cache = new PolicyDocumentCache<>(1, StringBuilder::new);
+        DSSDocument policy = new InMemoryDocument("<Policy/>".getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder first = cache.computeIfAbsent(policy, d -> new StringBuilder("parsed"));
+        first.append("-modified");
+        assertTrue(cache.contains(policy));
+
+        StringBuilder second = cache.computeIfAbsent(policy, d -> new StringBuilder("reloaded"));
+        assertNotSame(first, second);
+        assertEquals("parsed", second.toString());
+        assertEquals("parsed", cache.get(policy).toString());
+        assertNotSame(second, cache.get(policy));
+
+        DSSDocument otherPolicy = new InMemoryDocument("<OtherPolicy/>".getBytes(StandardCharsets.UTF_8));
+        assertFalse(cache.contains(otherPolicy));
+    }
+
+    @Test
+    void copyOutsideLockTest() {
+        final AtomicReference<PolicyDocumentCache<StringBuilder>> cacheReference = new AtomicReference<>();
+        // the copier accesses the cache from another thread, which would block if the lock was held
+        PolicyDocumentCache<StringBuilder> cache = new PolicyDocumentCache<>(1, sb -> {
+            try {
+                int size = CompletableFuture.supplyAsync(() -> cacheReference.get().size()).get(5, TimeUnit.SECONDS);
+                return new StringBuilder(sb).append('-').append(size);
+            } catch (Exception e) {
+                throw new IllegalStateException("The cache is locked during the copy!", e);
+            }
+        });
+        cacheReference.set(cache);
+        DSSDocument policy = new InMemoryDocument("<Policy/>".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("parsed-1", cache.computeIfAbsent(policy, d -> new StringBuilder("parsed")).toString());
+        assertEquals("parsed-1", cache.computeIfAbsent(policy, d -> new StringBuilder("reloaded")).toString());
+    }
+
+    @Test
+    void nullTest() {
+        PolicyDocumentCache<String> cache = new PolicyDocumentCache<>();
+        assertThrows(NullPointerException.class, () -> cache.get(null));
+        assertThrows(NullPointerException.class, () -> cache.contains(null));
+        assertThrows(NullPointerException.class, () -> cache.computeIfAbsent(null, d -> "value"));
+        DSSDocument policy = new InMemoryDocument("<Policy/>".getBytes(StandardCharsets.UTF_8));
+        assertThrows(NullPointerException.class, () -> cache.computeIfAbsent(policy, null));
+        assertThrows(NullPointerException.class, () -> new PolicyDocumentCache<String>(1, null));
+    }
+
+}
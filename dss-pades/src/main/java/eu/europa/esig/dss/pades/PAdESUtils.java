@@ -120,9 +120,9 @@ public final class PAdESUtils {
 		Objects.requireNonNull(byteRange, "ByteRange cannot be null!");
 		assertPdfDocument(dssDocument);
 
-		int beginning = byteRange.getFirstPartStart();
-		int endSigValueContent = byteRange.getSecondPartStart();
-		int endValue = byteRange.getSecondPartEnd();
+		long beginning = byteRange.getFirstPartStart();
+		long endSigValueContent = byteRange.getSecondPartStart();
+		long endValue = byteRange.getSecondPartEnd();
 
 		ByteRange revisionByteRange = getTwoIntegersByteRange(beginning, endSigValueContent + endValue - beginning);
 		return new PdfByteRangeDocument(dssDocument, revisionByteRange);
@@ -141,7 +141,7 @@ public final class PAdESUtils {
 		Objects.requireNonNull(revisions, "Revisions cannot be null!");
 
 		PdfByteRangeDocument bestCandidate = null;
-		int firstPartLength = byteRange.getFirstPartStart() + byteRange.getFirstPartEnd();
+		long firstPartLength = byteRange.getFirstPartStart() + byteRange.getFirstPartEnd();
 		for (PdfByteRangeDocument byteRangeDocument : revisions) {
 			ByteRange currentByteRange = byteRangeDocument.getByteRange();
 			if (firstPartLength > currentByteRange.getLength() &&
@@ -166,8 +166,8 @@ public final class PAdESUtils {
 		Objects.requireNonNull(byteRange, "ByteRange cannot be null!");
 		assertPdfDocument(dssDocument);
 
-		int startSigValueContent = byteRange.getFirstPartStart() + byteRange.getFirstPartEnd() + 1;
-		int endSigValueContent = byteRange.getSecondPartStart() - 1;
+		long startSigValueContent = byteRange.getFirstPartStart() + byteRange.getFirstPartEnd() + 1;
+		long endSigValueContent = byteRange.getSecondPartStart() - 1;
 
 		final PdfByteRangeDocument sigValueDocument = new PdfByteRangeDocument(
 				dssDocument, getTwoIntegersByteRange(startSigValueContent, endSigValueContent));
@@ -332,8 +332,8 @@ public final class PAdESUtils {
 		}
 	}
 
-	private static ByteRange getTwoIntegersByteRange(int offset, int position) {
-		return new ByteRange(new int[] { offset, position - offset, position, 0 });
+	private static ByteRange getTwoIntegersByteRange(long offset, long position) {
+		return new ByteRange(new long[] { offset, position - offset, position, 0 });
 	}
 
 	/**
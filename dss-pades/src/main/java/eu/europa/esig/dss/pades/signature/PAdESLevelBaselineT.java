@@ -150,7 +150,9 @@ class PAdESLevelBaselineT implements SignatureExtension<PAdESSignatureParameters
 	 */
 	protected PDFDocumentAnalyzer getPDFDocumentValidator(DSSDocument document, PAdESSignatureParameters parameters) {
 		PDFDocumentAnalyzer pdfDocumentValidator = new PDFDocumentAnalyzer(document);
-		pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
+		// re-uses the validation data obtained within the signing operation
+		pdfDocumentValidator.setCertificateVerifier(parameters.getSharedCertificateVerifier() != null ?
+				parameters.getSharedCertificateVerifier() : certificateVerifier);
 		pdfDocumentValidator.setValidationContextExecutor(CompleteValidationContextExecutor.INSTANCE);
 		pdfDocumentValidator.setPasswordProtection(parameters.getPasswordProtection());
 		pdfDocumentValidator.setPdfObjFactory(pdfObjectFactory);
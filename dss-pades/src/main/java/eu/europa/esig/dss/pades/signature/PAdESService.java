@@ -41,6 +41,7 @@ import eu.europa.esig.dss.pdf.ServiceLoaderPdfObjFactory;
 import eu.europa.esig.dss.signature.AbstractSignatureService;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.enumerations.SigningOperation;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
@@ -202,19 +203,39 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 		Objects.requireNonNull(toSignDocument, "toSignDocument cannot be null!");
 		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
 
+		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
+		// the extension re-uses the signing certificate chain and its revocation data obtained on validation
+		final boolean validationDataShared = signatureLevel != SignatureLevel.PAdES_BASELINE_B
+				&& signatureLevel != SignatureLevel.PAdES_BASELINE_T && initSharedValidationData(parameters);
+		try {
+			return createSignedDocument(toSignDocument, parameters, signatureValue);
+		} finally {
+			if (validationDataShared) {
+				clearSharedValidationData(parameters);
+			}
+		}
+	}
+
+	private DSSDocument createSignedDocument(final DSSDocument toSignDocument, final PAdESSignatureParameters parameters,
+											 SignatureValue signatureValue) {
 		PAdESUtils.assertPdfDocument(toSignDocument);
 		assertSigningCertificateValid(parameters);
 		signatureValue = ensureSignatureValue(parameters.getSignatureAlgorithm(), signatureValue);
 
 		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
-		final byte[] cmsSignedData = generateCMSSignedData(toSignDocument, parameters, signatureValue);
+		DSSDocument signature;
+		try (DSSMetrics.Timer timer = startSigningPhaseTimer(signatureLevel, DSSMetrics.PHASE_CREATION)) {
+			final byte[] cmsSignedData = generateCMSSignedData(toSignDocument, parameters, signatureValue);
 
-		final PDFSignatureService pdfSignatureService = getPAdESSignatureService();
-		DSSDocument signature = pdfSignatureService.sign(toSignDocument, cmsSignedData, parameters);
+			final PDFSignatureService pdfSignatureService = getPAdESSignatureService();
+			signature = pdfSignatureService.sign(toSignDocument, cmsSignedData, parameters);
+		}
 
 		final SignatureExtension<PAdESSignatureParameters> extension = getExtensionProfile(signatureLevel);
 		if ((signatureLevel != SignatureLevel.PAdES_BASELINE_B) && (signatureLevel != SignatureLevel.PAdES_BASELINE_T) && (extension != null)) {
-			signature = extension.extendSignatures(signature, parameters);
+			try (DSSMetrics.Timer timer = startSigningPhaseTimer(signatureLevel, DSSMetrics.PHASE_EXTENSION)) {
+				signature = extension.extendSignatures(signature, parameters);
+			}
 		}
 
 		parameters.reinit();
@@ -21,10 +21,10 @@
 package eu.europa.esig.dss.pades.validation;
 
 import eu.europa.esig.dss.spi.exception.IllegalInputException;
-import eu.europa.esig.dss.spi.DSSUtils;
 
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,10 +34,10 @@ import java.util.List;
  */
 public class ByteRange implements Serializable {
 
-	private static final long serialVersionUID = 3577208788371349439L;
+	private static final long serialVersionUID = -6244871546722812287L;
 
-	/** Represents a PDF signature byteRange */
-	private final int[] byteRangeArray;
+	/** Represents a PDF signature byteRange (long values allow documents bigger than 2GB) */
+	private final long[] byteRangeArray;
 
 	/** Defined whether /ByteRange is valid (shall be defined by external process) */
 	private Boolean valid;
@@ -49,15 +49,36 @@ public class ByteRange implements Serializable {
 	 * 				byte range of a signature/timestamp
 	 */
 	public ByteRange(int[] byteRangeArray) {
+		this(toLongArray(byteRangeArray));
+	}
+
+	/**
+	 * This constructor represents a ByteRange extracted from a Signature Dictionary of a signed/timestamped revision
+	 *
+	 * @param byteRangeArray
+	 * 				byte range of a signature/timestamp
+	 */
+	public ByteRange(long[] byteRangeArray) {
 		this.byteRangeArray = byteRangeArray;
 	}
+
+	private static long[] toLongArray(int[] intArray) {
+		if (intArray == null) {
+			return null;
+		}
+		final long[] longArray = new long[intArray.length];
+		for (int i = 0; i < intArray.length; i++) {
+			longArray[i] = intArray[i];
+		}
+		return longArray;
+	}
 	
 	/**
 	 * Returns a total revision length
 	 * 
 	 * @return length
 	 */
-	public int getLength() {
+	public long getLength() {
 		// (before signature value) + (signature value) + (after signature value)
 		return (byteRangeArray[1] - byteRangeArray[0]) + (byteRangeArray[2] - byteRangeArray[1]) + byteRangeArray[3];
 	}
@@ -67,7 +88,7 @@ public class ByteRange implements Serializable {
 	 * 
 	 * @return first byte
 	 */
-	public int getFirstPartStart() {
+	public long getFirstPartStart() {
 		return byteRangeArray[0];
 	}
 	
@@ -76,7 +97,7 @@ public class ByteRange implements Serializable {
 	 * 
 	 * @return first part end byte
 	 */
-	public int getFirstPartEnd() {
+	public long getFirstPartEnd() {
 		return byteRangeArray[1];
 	}
 
@@ -85,7 +106,7 @@ public class ByteRange implements Serializable {
 	 * 
 	 * @return second part start byte
 	 */
-	public int getSecondPartStart() {
+	public long getSecondPartStart() {
 		return byteRangeArray[2];
 	}
 
@@ -94,7 +115,7 @@ public class ByteRange implements Serializable {
 	 * 
 	 * @return second part end byte
 	 */
-	public int getSecondPartEnd() {
+	public long getSecondPartEnd() {
 		return byteRangeArray[3];
 	}
 
@@ -103,7 +124,11 @@ public class ByteRange implements Serializable {
 	 * @return a list of {@link BigInteger}s
 	 */
 	public List<BigInteger> toBigIntegerList() {
-		return DSSUtils.toBigIntegerList(byteRangeArray);
+		final List<BigInteger> list = new ArrayList<>(byteRangeArray.length);
+		for (long l : byteRangeArray) {
+			list.add(BigInteger.valueOf(l));
+		}
+		return list;
 	}
 	
 	/**
@@ -142,10 +167,10 @@ public class ByteRange implements Serializable {
 			throw new IllegalInputException("Incorrect ByteRange size");
 		}
 
-		final int a = byteRangeArray[0];
-		final int b = byteRangeArray[1];
-		final int c = byteRangeArray[2];
-		final int d = byteRangeArray[3];
+		final long a = byteRangeArray[0];
+		final long b = byteRangeArray[1];
+		final long c = byteRangeArray[2];
+		final long d = byteRangeArray[3];
 
 		if (a != 0) {
 			throw new IllegalInputException("The ByteRange must cover start of file");
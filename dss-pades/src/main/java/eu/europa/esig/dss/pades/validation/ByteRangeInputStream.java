@@ -35,7 +35,7 @@ public class ByteRangeInputStream extends FilterInputStream {
     private final ByteRange byteRange;
 
     /** Internal variable identifying the current position of InputStream */
-    private int position = 0;
+    private long position = 0;
 
     /**
      * Default constructor
@@ -56,10 +56,10 @@ public class ByteRangeInputStream extends FilterInputStream {
 
         int b = -1;
         if (position == byteRange.getFirstPartEnd()) {
-            int offset =  byteRange.getSecondPartStart() - byteRange.getFirstPartEnd();
+            long offset =  byteRange.getSecondPartStart() - byteRange.getFirstPartEnd();
             skip(offset);
         } else if (position < byteRange.getFirstPartStart()) {
-            int offset = byteRange.getFirstPartStart() - position;
+            long offset = byteRange.getFirstPartStart() - position;
             skip(offset);
         }
         if (isPositionWithinRange(position + 1)) {
@@ -80,12 +80,12 @@ public class ByteRangeInputStream extends FilterInputStream {
         int totalRead = 0;
         while (totalRead < len) {
             int remaining = len - totalRead;
-            int toRead = remainingBytesInCurrentPart();
+            long toRead = remainingBytesInCurrentPart();
             if (toRead <= 0) {
                 break;
             }
 
-            int readBytes = super.read(b, off + totalRead, Math.min(remaining, toRead));
+            int readBytes = super.read(b, off + totalRead, (int) Math.min(remaining, toRead));
             if (readBytes < 1) {
                 break;
             }
@@ -119,23 +119,23 @@ public class ByteRangeInputStream extends FilterInputStream {
         if (skipped > offset) {
             skipped = offset;
         }
-        position += (int) skipped;
+        position += skipped;
         return skipped;
     }
 
-    private boolean isPositionWithinRange(int position) {
+    private boolean isPositionWithinRange(long position) {
         return isPositionWithinFirstPart(position) || isPositionWithinSecondPart(position);
     }
 
-    private boolean isPositionWithinFirstPart(int position) {
+    private boolean isPositionWithinFirstPart(long position) {
         return position >= byteRange.getFirstPartStart() && position <= byteRange.getFirstPartStart() + byteRange.getFirstPartEnd();
     }
 
-    private boolean isPositionWithinSecondPart(int position) {
+    private boolean isPositionWithinSecondPart(long position) {
         return position >= byteRange.getSecondPartStart() && position <= byteRange.getSecondPartStart() + byteRange.getSecondPartEnd();
     }
 
-    private int remainingBytesInCurrentPart() {
+    private long remainingBytesInCurrentPart() {
         if (isPositionWithinFirstPart(position)) {
             return byteRange.getFirstPartStart() + byteRange.getFirstPartEnd() - position;
         } else if (isPositionWithinSecondPart(position)) {
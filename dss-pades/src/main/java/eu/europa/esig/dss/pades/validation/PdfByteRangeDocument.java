@@ -22,6 +22,7 @@ package eu.europa.esig.dss.pades.validation;
 
 import eu.europa.esig.dss.model.CommonDocument;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SeekableDSSDocument;
 
 import java.io.InputStream;
 import java.util.Objects;
@@ -65,9 +66,22 @@ public class PdfByteRangeDocument extends CommonDocument {
 
     @Override
     public InputStream openStream() {
+        if (pdfDocument instanceof SeekableDSSDocument && isSequentialByteRange()) {
+            // reads only the content covered by the ByteRange, without going through the preceding bytes
+            final long start = byteRange.getFirstPartStart();
+            final long end = byteRange.getSecondPartStart() + byteRange.getSecondPartEnd();
+            final ByteRange relativeByteRange = new ByteRange(new long[] { 0, byteRange.getFirstPartEnd(),
+                    byteRange.getSecondPartStart() - start, byteRange.getSecondPartEnd() });
+            return new ByteRangeInputStream(((SeekableDSSDocument) pdfDocument).openStream(start, end - start), relativeByteRange);
+        }
         return new ByteRangeInputStream(pdfDocument.openStream(), byteRange);
     }
 
+    private boolean isSequentialByteRange() {
+        return byteRange.getFirstPartStart() >= 0 && byteRange.getFirstPartEnd() >= 0 && byteRange.getSecondPartEnd() >= 0
+                && byteRange.getSecondPartStart() >= byteRange.getFirstPartStart() + byteRange.getFirstPartEnd();
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
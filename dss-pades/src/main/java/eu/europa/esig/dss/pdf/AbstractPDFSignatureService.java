@@ -798,7 +798,7 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 	 * @return TRUE if the extracted signed content is complete and consistent to the ByteRange, FALSE otherwise
 	 */
 	private boolean isSignedContentComplete(ByteRange byteRange, DSSDocument signedContent) {
-		int expectedSignedContentLength = (byteRange.getFirstPartEnd() - byteRange.getFirstPartStart()) + byteRange.getSecondPartEnd();
+		long expectedSignedContentLength = (byteRange.getFirstPartEnd() - byteRange.getFirstPartStart()) + byteRange.getSecondPartEnd();
 		long signedContentLength = DSSUtils.getFileByteSize(signedContent);
 		if (expectedSignedContentLength != signedContentLength) {
 			LOG.warn("The length of the extracted signed content '{}' does not correspond to the content length " +
@@ -128,9 +128,9 @@ public class PdfSigDictWrapperFactory {
         }
 
         int arraySize = byteRangeArray.size();
-        int[] result = new int[arraySize];
+        long[] result = new long[arraySize];
         for (int i = 0; i < arraySize; i++) {
-            result[i] = byteRangeArray.getNumber(i).intValue();
+            result[i] = byteRangeArray.getNumber(i).longValue();
         }
         return new ByteRange(result);
     }
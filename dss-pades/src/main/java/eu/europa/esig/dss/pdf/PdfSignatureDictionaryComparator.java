@@ -54,15 +54,15 @@ public class PdfSignatureDictionaryComparator implements Comparator<PdfSignature
 		ByteRange byteRange1 = o1.getByteRange();
 		ByteRange byteRange2 = o2.getByteRange();
 		
-        int begin1 = byteRange1.getFirstPartStart();
-        int begin2 = byteRange2.getFirstPartStart();
+        long begin1 = byteRange1.getFirstPartStart();
+        long begin2 = byteRange2.getFirstPartStart();
 
 		// length = (before signature value) + (signature value) + (after signature value)
-		int length1 = byteRange1.getLength();
-		int length2 = byteRange2.getLength();
+		long length1 = byteRange1.getLength();
+		long length2 = byteRange2.getLength();
 
-		int end1 = byteRange1.getFirstPartEnd();
-		int end2 = byteRange2.getFirstPartEnd();
+		long end1 = byteRange1.getFirstPartEnd();
+		long end2 = byteRange2.getFirstPartEnd();
 
         if ((begin1 >= begin2) && (length1 < end2)) {
 			// 2nd byterange envelops the whole 1st byterange
@@ -24,6 +24,8 @@ import eu.europa.esig.dss.spi.exception.IllegalInputException;
 import eu.europa.esig.dss.pades.validation.ByteRange;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -35,6 +37,18 @@ class ByteRangeTest {
 		byteRangeOk.validate();
 	}
 
+	@Test
+	void largeByteRangeTest() {
+		// a document bigger than 2GB
+		ByteRange byteRange = new ByteRange(new long[] { 0, 3000000000L, 3000020000L, 480 });
+		byteRange.validate();
+		assertEquals(3000000000L, byteRange.getFirstPartEnd());
+		assertEquals(3000020000L, byteRange.getSecondPartStart());
+		assertEquals(3000020480L, byteRange.getLength());
+		assertEquals(BigInteger.valueOf(3000020000L), byteRange.toBigIntegerList().get(2));
+		assertEquals(new ByteRange(new int[] { 0, 1280, 2400, 480 }), new ByteRange(new long[] { 0, 1280, 2400, 480 }));
+	}
+
 	@Test
 	void startNotCover() {
 		ByteRange byteRange = new ByteRange(new int[] { 1, 1280, 2400, 480 });
@@ -21,10 +21,12 @@
 package eu.europa.esig.dss.pades.validation;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.CommonDocument;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.cms.CMSSignedData;
@@ -67,6 +69,27 @@ class PdfByteRangeDocumentTest {
         assertEquals("tlP+GBlImCLCAZGWWWTLmiHtZVVTqHeiRq+ddk5hV+M=", Utils.toBase64(pdfRevisionDocument.getDigestValue(DigestAlgorithm.SHA256)));
     }
 
+    @Test
+    void nonSeekableDocumentTest() {
+        DSSDocument nonSeekableDocument = new CommonDocument() {
+
+            private static final long serialVersionUID = -2407452162781624391L;
+
+            @Override
+            public InputStream openStream() {
+                return pdfDocument.openStream();
+            }
+
+        };
+        PdfByteRangeDocument pdfRevisionDocument = new PdfByteRangeDocument(nonSeekableDocument, byteRange);
+        assertEquals("tlP+GBlImCLCAZGWWWTLmiHtZVVTqHeiRq+ddk5hV+M=", Utils.toBase64(pdfRevisionDocument.getDigestValue(DigestAlgorithm.SHA256)));
+
+        PdfByteRangeDocument inMemoryRevisionDocument = new PdfByteRangeDocument(new InMemoryDocument(DSSUtils.toByteArray(pdfDocument)), byteRange);
+        assertEquals("tlP+GBlImCLCAZGWWWTLmiHtZVVTqHeiRq+ddk5hV+M=", Utils.toBase64(inMemoryRevisionDocument.getDigestValue(DigestAlgorithm.SHA256)));
+        assertArrayEquals(DSSUtils.toByteArray(new PdfByteRangeDocument(nonSeekableDocument, signatureValueByteRange)),
+                DSSUtils.toByteArray(new PdfByteRangeDocument(pdfDocument, signatureValueByteRange)));
+    }
+
     @Test
     void readByByteTest() throws IOException, NoSuchAlgorithmException {
         PdfByteRangeDocument pdfRevisionDocument = new PdfByteRangeDocument(pdfDocument, byteRange);
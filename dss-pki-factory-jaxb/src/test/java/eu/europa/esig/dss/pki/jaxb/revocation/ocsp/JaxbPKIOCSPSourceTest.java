@@ -40,6 +40,8 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -288,6 +290,28 @@ class JaxbPKIOCSPSourceTest extends AbstractTestJaxbPKI {
                 "Provide a valid issuer or use #setOcspResponder method to set a custom OCSP responder.", exception.getMessage());
     }
 
+    @Test
+    void testOCSPMultipleCertificates() {
+        PKIOCSPSource ocspSource = new PKIOCSPSource(repository);
+
+        Map<CertificateToken, CertificateToken> certificateIssuerMap = new LinkedHashMap<>();
+        certificateIssuerMap.put(goodUser, goodCa);
+        certificateIssuerMap.put(revokedUser, goodCa);
+        certificateIssuerMap.put(ed25519goodUser, ed25519goodCa);
+
+        Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificateIssuerMap);
+        assertEquals(3, ocspTokens.size());
+        assertEquals(CertificateStatus.GOOD, ocspTokens.get(goodUser).getStatus());
+        assertEquals(CertificateStatus.REVOKED, ocspTokens.get(revokedUser).getStatus());
+        assertEquals(CertificateStatus.GOOD, ocspTokens.get(ed25519goodUser).getStatus());
+        assertEquals(ed25519goodCa, ocspTokens.get(ed25519goodUser).getIssuerCertificateToken());
+
+        // a single response answering both requests is shared by the certificates issued by the same CA
+        assertEquals(ocspTokens.get(goodUser).getBasicOCSPResp(), ocspTokens.get(revokedUser).getBasicOCSPResp());
+        assertEquals(2, ocspTokens.get(goodUser).getBasicOCSPResp().getResponses().length);
+        assertEquals(1, ocspTokens.get(ed25519goodUser).getBasicOCSPResp().getResponses().length);
+    }
+
     @Test
     void setNullRepositoryTest() {
         Exception exception = assertThrows(NullPointerException.class, () -> new PKIOCSPSource(null));
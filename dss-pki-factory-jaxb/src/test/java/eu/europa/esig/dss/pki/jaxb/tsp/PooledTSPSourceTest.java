@@ -0,0 +1,112 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pki.jaxb.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.pki.jaxb.AbstractTestJaxbPKI;
+import eu.europa.esig.dss.pki.x509.tsp.PKITSPSource;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.tsp.PooledTSPSource;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledTSPSourceTest extends AbstractTestJaxbPKI {
+
+    private static final String TSA_POLICY = "1.2.3.4";
+
+    private CountingTSPSource countingTSPSource;
+
+    @BeforeEach
+    void init() {
+        PKITSPSource tspSource = new PKITSPSource(repository.getCertEntityBySubject("good-tsa"));
+        tspSource.setTsaPolicy(TSA_POLICY);
+        countingTSPSource = new CountingTSPSource(tspSource);
+    }
+
+    @Test
+    void pooledTest() throws Exception {
+        PooledTSPSource pooledTSPSource = new PooledTSPSource(countingTSPSource, 3);
+        List<byte[]> digests = getDigests(DigestAlgorithm.SHA512, 10);
+
+        List<TimestampBinary> timestampBinaries = pooledTSPSource.getTimeStampResponses(DigestAlgorithm.SHA512, digests);
+        assertEquals(10, timestampBinaries.size());
+        assertEquals(10, countingTSPSource.counter.get());
+        assertTrue(countingTSPSource.maxConcurrency.get() <= 3);
+
+        for (int i = 0; i < digests.size(); i++) {
+            TimestampToken timestampToken = new TimestampToken(timestampBinaries.get(i).getBytes(), TimestampType.SIGNATURE_TIMESTAMP);
+            assertTrue(timestampToken.matchData(digests.get(i)));
+        }
+
+        assertNotNull(pooledTSPSource.getTimeStampResponse(DigestAlgorithm.SHA512, digests.get(0)));
+    }
+
+    private List<byte[]> getDigests(DigestAlgorithm digestAlgorithm, int number) {
+        List<byte[]> digests = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            digests.add(DSSUtils.digest(digestAlgorithm, ("Document " + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return digests;
+    }
+
+    private static class CountingTSPSource implements TSPSource {
+
+        private static final long serialVersionUID = 2786452367126538120L;
+
+        private final TSPSource tspSource;
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private final AtomicInteger concurrency = new AtomicInteger();
+
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+        private CountingTSPSource(TSPSource tspSource) {
+            this.tspSource = tspSource;
+        }
+
+        @Override
+        public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) {
+            counter.incrementAndGet();
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            try {
+                return tspSource.getTimeStampResponse(digestAlgorithm, digest);
+            } finally {
+                concurrency.decrementAndGet();
+            }
+        }
+
+    }
+
+}
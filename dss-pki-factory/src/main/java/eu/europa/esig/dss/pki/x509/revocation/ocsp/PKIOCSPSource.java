@@ -32,7 +32,7 @@ import eu.europa.esig.dss.pki.model.CertEntityRepository;
 import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSRevocationUtils;
-import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSourceMultipleCertificatesSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
 import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.asn1.x500.X500Name;
@@ -60,15 +60,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.PrivateKey;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * The PkiOCSPSource class implements the OCSPSource interface for obtaining revocation tokens.
  * It retrieves OCSP responses for a given certificate by sending OCSP requests to a specified OCSP responder.
  */
-public class PKIOCSPSource implements OCSPSource {
+public class PKIOCSPSource implements OCSPSourceMultipleCertificatesSupport {
 
     private static final long serialVersionUID = 346675613204623498L;
 
@@ -304,6 +307,62 @@ public class PKIOCSPSource implements OCSPSource {
         }
     }
 
+    /**
+     * Retrieves OCSP tokens for several certificates at once.
+     * A single OCSP request and response, containing an entry for every certificate, is built per issuer
+     * (see {@code #buildOCSPResponse(List, CertificateToken, OCSPReq)}).
+     *
+     * @param certificateIssuerMap a map between the certificates to retrieve OCSP tokens for and their issuers
+     * @return a map between the certificates and the obtained {@link OCSPToken}s
+     */
+    @Override
+    public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificateIssuerMap) {
+        Objects.requireNonNull(certificateIssuerMap, "Map of certificates and issuers cannot be null!");
+
+        final Map<CertificateToken, List<CertificateToken>> certificatesByIssuer = new LinkedHashMap<>();
+        for (Map.Entry<CertificateToken, CertificateToken> entry : certificateIssuerMap.entrySet()) {
+            CertificateToken certificateToken = Objects.requireNonNull(entry.getKey(), "Certificate cannot be null!");
+            CertificateToken issuerCertificateToken = Objects.requireNonNull(entry.getValue(),
+                    "The issuer of the certificate to be verified cannot be null!");
+            LOG.trace("--> PKIOCSPSource queried for {}", certificateToken.getDSSIdAsString());
+            if (canGenerate(certificateToken, issuerCertificateToken)) {
+                certificatesByIssuer.computeIfAbsent(issuerCertificateToken, k -> new ArrayList<>()).add(certificateToken);
+            }
+        }
+
+        final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+        for (Map.Entry<CertificateToken, List<CertificateToken>> entry : certificatesByIssuer.entrySet()) {
+            CertificateToken issuerCertificateToken = entry.getKey();
+            List<CertificateToken> certificateTokens = entry.getValue();
+            if (certificateTokens.size() == 1) {
+                OCSPToken ocspToken = getRevocationToken(certificateTokens.get(0), issuerCertificateToken);
+                if (ocspToken != null) {
+                    result.put(certificateTokens.get(0), ocspToken);
+                }
+                continue;
+            }
+            try {
+                OCSPReq ocspReq = buildOCSPRequest(certificateTokens, issuerCertificateToken);
+                OCSPResp ocspRespBytes = buildOCSPResponse(certificateTokens, issuerCertificateToken, ocspReq);
+
+                BasicOCSPResp basicResponse = (BasicOCSPResp) ocspRespBytes.getResponseObject();
+                for (CertificateToken certificateToken : certificateTokens) {
+                    SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
+                    if (latestSingleResponse != null) {
+                        OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+                        ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+                        result.put(certificateToken, ocspToken);
+                    }
+                }
+
+            } catch (OCSPException e) {
+                throw new PKIException(String.format("Unable to build an OCSP response for certificates issued by '%s'. " +
+                        "Reason : %s", issuerCertificateToken.getDSSIdAsString(), e.getMessage()), e);
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns whether the current implementation is able to produce an OCSP response for the given {@code certificateToken}
      *
@@ -336,23 +395,64 @@ public class PKIOCSPSource implements OCSPSource {
             CertEntityRevocation certRevocation = getCertificateTokenRevocation(certificateToken, ocspReq);
             addRevocationStatusToOCSPResponse(builder, ocspReq, certRevocation);
 
-            SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm(ocspResponderEntity);
-            PrivateKey ocspPrivateKey = ocspResponderEntity.getPrivateKey();
-            ContentSigner signer = new JcaContentSignerBuilder(signatureAlgorithm.getJCEId()).build(ocspPrivateKey);
+            return buildOCSPResponse(builder, ocspResponderEntity);
 
-            X509CertificateHolder[] x509CertificateHolders = ocspResponderEntity.getCertificateChain().stream()
-                    .map(DSSASN1Utils::getX509CertificateHolder).toArray(X509CertificateHolder[]::new);
-            Date producedAtTime = getProducedAtTime();
-            BasicOCSPResp basicOCSPResp = builder.build(signer, x509CertificateHolders, producedAtTime);
+        } catch (OperatorCreationException | OCSPException e) {
+            throw new PKIException(String.format("Unable to generate the OCSP Response. Reason: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Builds an OCSP Response answering all the requests (CertIDs) of an OCSP request for several certificates
+     * issued by the same issuer. Requests for certificates not present in {@code certificateTokens} are ignored.
+     *
+     * @param certificateTokens a list of {@link CertificateToken}s to get OCSP response for
+     * @param issuerCertificateToken {@link CertificateToken} issuer of the {@code certificateTokens}
+     * @param ocspReq {@link OCSPReq} containing a request for every certificate
+     * @return {@link OCSPResp}
+     */
+    protected OCSPResp buildOCSPResponse(List<CertificateToken> certificateTokens, CertificateToken issuerCertificateToken, OCSPReq ocspReq) {
+        Objects.requireNonNull(ocspReq, "OCSPReq cannot be null!");
+        if (Utils.isCollectionEmpty(certificateTokens)) {
+            throw new IllegalArgumentException("List of certificates cannot be empty!");
+        }
+        try {
+            final CertEntity ocspResponderEntity = getOcspResponder(certificateTokens.get(0), issuerCertificateToken);
+            final BasicOCSPRespBuilder builder = initBuilder(ocspResponderEntity.getCertificateToken());
+
+            for (Req req : ocspReq.getRequestList()) {
+                CertificateID certID = req.getCertID();
+                for (CertificateToken certificateToken : certificateTokens) {
+                    if (certificateToken.getSerialNumber().equals(certID.getSerialNumber())) {
+                        CertEntityRevocation certRevocation = getCertificateTokenRevocation(certificateToken, ocspReq);
+                        addRevocationStatusToOCSPResponse(builder, certID, certRevocation);
+                        break;
+                    }
+                }
+            }
 
-            final OCSPRespBuilder respBuilder = new OCSPRespBuilder();
-            return respBuilder.build(OCSPRespBuilder.SUCCESSFUL, basicOCSPResp);
+            return buildOCSPResponse(builder, ocspResponderEntity);
 
         } catch (OperatorCreationException | OCSPException e) {
             throw new PKIException(String.format("Unable to generate the OCSP Response. Reason: %s", e.getMessage()), e);
         }
     }
 
+    private OCSPResp buildOCSPResponse(BasicOCSPRespBuilder builder, CertEntity ocspResponderEntity)
+            throws OperatorCreationException, OCSPException {
+        SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm(ocspResponderEntity);
+        PrivateKey ocspPrivateKey = ocspResponderEntity.getPrivateKey();
+        ContentSigner signer = new JcaContentSignerBuilder(signatureAlgorithm.getJCEId()).build(ocspPrivateKey);
+
+        X509CertificateHolder[] x509CertificateHolders = ocspResponderEntity.getCertificateChain().stream()
+                .map(DSSASN1Utils::getX509CertificateHolder).toArray(X509CertificateHolder[]::new);
+        Date producedAtTime = getProducedAtTime();
+        BasicOCSPResp basicOCSPResp = builder.build(signer, x509CertificateHolders, producedAtTime);
+
+        final OCSPRespBuilder respBuilder = new OCSPRespBuilder();
+        return respBuilder.build(OCSPRespBuilder.SUCCESSFUL, basicOCSPResp);
+    }
+
     /**
      * Returns a revocation status for the given {@code CertificateToken} or a certificate within {@code OCSPReq}
      *
@@ -385,11 +485,23 @@ public class PKIOCSPSource implements OCSPSource {
         }
 
         Req r = ocspReq.getRequestList()[0];
+        addRevocationStatusToOCSPResponse(builder, r.getCertID(), certEntityRevocation);
+    }
+
+    /**
+     * This method adds revocation information of a certificate identified by {@code certID} to {@code BasicOCSPRespBuilder}
+     *
+     * @param builder {@link BasicOCSPRespBuilder} to enrich with revocation status information
+     * @param certID {@link CertificateID} identifying the certificate within the OCSP request
+     * @param certEntityRevocation {@link CertEntityRevocation} containing revocation status information about the certificate
+     */
+    protected void addRevocationStatusToOCSPResponse(BasicOCSPRespBuilder builder, CertificateID certID,
+                                                     CertEntityRevocation certEntityRevocation) {
         if (certEntityRevocation == null || certEntityRevocation.getRevocationDate() == null) {
-            builder.addResponse(r.getCertID(), CertificateStatus.GOOD, getThisUpdate(), getNextUpdate());
+            builder.addResponse(certID, CertificateStatus.GOOD, getThisUpdate(), getNextUpdate());
         } else {
             RevokedStatus status = new RevokedStatus(certEntityRevocation.getRevocationDate(), certEntityRevocation.getRevocationReason().getValue());
-            builder.addResponse(r.getCertID(), status, getThisUpdate(), getNextUpdate());
+            builder.addResponse(certID, status, getThisUpdate(), getNextUpdate());
         }
     }
 
@@ -469,4 +581,26 @@ public class PKIOCSPSource implements OCSPSource {
         }
     }
 
+    /**
+     * Builds an OCSP request containing a request (CertID) for every certificate of {@code certificateTokens}
+     *
+     * @param certificateTokens a list of {@link CertificateToken}s to build the OCSP request for
+     * @param issuerCertificateToken {@link CertificateToken} issuer of the {@code certificateTokens}
+     * @return {@link OCSPReq}
+     */
+    protected OCSPReq buildOCSPRequest(List<CertificateToken> certificateTokens, CertificateToken issuerCertificateToken) {
+        try {
+            final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
+            for (CertificateToken certificateToken : certificateTokens) {
+                final CertificateID certId = DSSRevocationUtils
+                        .getOCSPCertificateID(certificateToken, issuerCertificateToken, digestAlgorithm);
+                ocspReqBuilder.addRequest(certId);
+            }
+            return ocspReqBuilder.build();
+
+        } catch (OCSPException e) {
+            throw new PKIException("Cannot build OCSP Request", e);
+        }
+    }
+
 }
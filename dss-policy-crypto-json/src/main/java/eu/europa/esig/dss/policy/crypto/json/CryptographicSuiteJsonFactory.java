@@ -21,11 +21,14 @@
 package eu.europa.esig.dss.policy.crypto.json;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.policy.PolicyDocumentCache;
 import eu.europa.esig.dss.model.policy.crypto.CryptographicSuiteCatalogue;
 import eu.europa.esig.dss.model.policy.crypto.CryptographicSuiteFactory;
 import eu.europa.esig.json.JSONParser;
 import eu.europa.esig.json.JsonObjectWrapper;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
@@ -38,6 +41,9 @@ public class CryptographicSuiteJsonFactory implements CryptographicSuiteFactory
     /** Location of the default cryptographic suite */
     private static final String DEFAULT_CRYPTOGRAPHIC_SUITES_LOCATION = "/suite/dss-crypto-suite.json";
 
+    /** Cache of parsed and validated cryptographic suites, shared between the factory instances */
+    private static final PolicyDocumentCache<JsonObjectWrapper> CACHE = new PolicyDocumentCache<>();
+
     /**
      * Default constructor
      */
@@ -45,8 +51,21 @@ public class CryptographicSuiteJsonFactory implements CryptographicSuiteFactory
         // empty
     }
 
+    /**
+     * Gets the cache of parsed cryptographic suite documents, identified by their digest.
+     * The cache can be used to configure its maximum size (0 disables the caching) or to clear it.
+     *
+     * @return {@link PolicyDocumentCache}
+     */
+    public static PolicyDocumentCache<JsonObjectWrapper> getCache() {
+        return CACHE;
+    }
+
     @Override
     public boolean isSupported(DSSDocument cryptographicSuiteDocument) {
+        if (CACHE.contains(cryptographicSuiteDocument)) {
+            return true;
+        }
         try (InputStream is = cryptographicSuiteDocument.openStream()) {
             List<String> errors = CryptographicSuiteJsonUtils.getInstance().validateAgainstSchema(is);
             return errors == null || errors.isEmpty();
@@ -57,32 +76,50 @@ public class CryptographicSuiteJsonFactory implements CryptographicSuiteFactory
 
     @Override
     public CryptographicSuiteCatalogue loadDefaultCryptographicSuite() {
-        return loadCryptographicSuite(CryptographicSuiteJsonFactory.class.getResourceAsStream(DEFAULT_CRYPTOGRAPHIC_SUITES_LOCATION));
+        try (InputStream is = CryptographicSuiteJsonFactory.class.getResourceAsStream(DEFAULT_CRYPTOGRAPHIC_SUITES_LOCATION)) {
+            return loadCryptographicSuite(new InMemoryDocument(is));
+        } catch (IOException e) {
+            throw new UnsupportedOperationException(
+                    String.format("Unable to load the default policy document. Reason : %s", e.getMessage()), e);
+        }
     }
 
     @Override
     public CryptographicSuiteCatalogue loadCryptographicSuite(DSSDocument cryptographicSuiteDocument) {
-        return loadCryptographicSuite(cryptographicSuiteDocument.openStream());
+        return new CryptographicSuiteJsonCatalogue(CACHE.computeIfAbsent(cryptographicSuiteDocument, this::parse));
     }
 
     @Override
     public CryptographicSuiteCatalogue loadCryptographicSuite(InputStream cryptographicSuiteInputStream) {
         try (InputStream is = cryptographicSuiteInputStream) {
-            JsonObjectWrapper jsonObject = new JSONParser().parse(is);
-            if (jsonObject == null) {
-                throw new IllegalStateException("Parsed JSON cannot be null!");
-            }
-            JsonObjectWrapper securitySuitabilityPolicyType = jsonObject.getAsObject(
-                    CryptographicSuiteJsonConstraints.SECURITY_SUITABILITY_POLICY);
-            if (securitySuitabilityPolicyType == null) {
-                throw new IllegalArgumentException(String.format("The root element of JSON shall be a JSON object of '%s' type!",
-                        CryptographicSuiteJsonConstraints.SECURITY_SUITABILITY_POLICY));
-            }
-            return new CryptographicSuiteJsonCatalogue(securitySuitabilityPolicyType);
+            return new CryptographicSuiteJsonCatalogue(parse(is));
         } catch (Exception e) {
             throw new UnsupportedOperationException(
                     String.format("Unable to load the default policy document. Reason : %s", e.getMessage()), e);
         }
     }
 
+    private JsonObjectWrapper parse(DSSDocument cryptographicSuiteDocument) {
+        try (InputStream is = cryptographicSuiteDocument.openStream()) {
+            return parse(is);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format("Unable to load the cryptographic suite document. Reason : %s", e.getMessage()), e);
+        }
+    }
+
+    private JsonObjectWrapper parse(InputStream is) {
+        JsonObjectWrapper jsonObject = new JSONParser().parse(is);
+        if (jsonObject == null) {
+            throw new IllegalStateException("Parsed JSON cannot be null!");
+        }
+        JsonObjectWrapper securitySuitabilityPolicyType = jsonObject.getAsObject(
+                CryptographicSuiteJsonConstraints.SECURITY_SUITABILITY_POLICY);
+        if (securitySuitabilityPolicyType == null) {
+            throw new IllegalArgumentException(String.format("The root element of JSON shall be a JSON object of '%s' type!",
+                    CryptographicSuiteJsonConstraints.SECURITY_SUITABILITY_POLICY));
+        }
+        return securitySuitabilityPolicyType;
+    }
+
 }
@@ -28,7 +28,10 @@ import org.junit.jupiter.api.Test;
 import java.util.Iterator;
 import java.util.ServiceLoader;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CryptographicSuiteJsonFactoryTest {
 
@@ -62,4 +65,27 @@ class CryptographicSuiteJsonFactoryTest {
         assertNotNull(cryptographicSuiteCatalogue);
     }
 
+    @Test
+    void cacheTest() {
+        CryptographicSuiteJsonFactory.getCache().clear();
+
+        CryptographicSuiteJsonFactory factory = new CryptographicSuiteJsonFactory();
+        CryptographicSuiteCatalogue firstCatalogue = factory.loadCryptographicSuite(
+                new FileDocument("src/test/resources/19312MachineReadable-fix.json"));
+        assertNotNull(firstCatalogue);
+        assertEquals(1, CryptographicSuiteJsonFactory.getCache().size());
+
+        FileDocument sameCryptoSuite = new FileDocument("src/test/resources/19312MachineReadable-fix.json");
+        assertTrue(factory.isSupported(sameCryptoSuite));
+        CryptographicSuiteCatalogue secondCatalogue = factory.loadCryptographicSuite(sameCryptoSuite);
+        assertNotNull(secondCatalogue);
+        assertEquals(1, CryptographicSuiteJsonFactory.getCache().size());
+
+        // a new catalogue is created for each call, in order to keep the returned suites independent
+        assertNotSame(firstCatalogue, secondCatalogue);
+        assertNotSame(firstCatalogue.getCryptographicSuite(), secondCatalogue.getCryptographicSuite());
+
+        CryptographicSuiteJsonFactory.getCache().clear();
+    }
+
 }
@@ -21,6 +21,8 @@
 package eu.europa.esig.dss.policy.crypto.xml;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.policy.PolicyDocumentCache;
 import eu.europa.esig.dss.model.policy.crypto.CryptographicSuiteCatalogue;
 import eu.europa.esig.dss.model.policy.crypto.CryptographicSuiteFactory;
 import eu.europa.esig.dss.policy.crypto.xml.jaxb.SecuritySuitabilityPolicyType;
@@ -40,6 +42,9 @@ public class CryptographicSuiteXmlFactory implements CryptographicSuiteFactory {
     /** Location of the default cryptographic suite */
     private static final String DEFAULT_CRYPTOGRAPHIC_SUITES_LOCATION = "/suite/dss-crypto-suite.xml";
 
+    /** Cache of parsed cryptographic suites, shared between the factory instances */
+    private static final PolicyDocumentCache<SecuritySuitabilityPolicyType> CACHE = new PolicyDocumentCache<>();
+
     /**
      * Default constructor
      */
@@ -47,8 +52,21 @@ public class CryptographicSuiteXmlFactory implements CryptographicSuiteFactory {
         // empty
     }
 
+    /**
+     * Gets the cache of parsed cryptographic suite documents, identified by their digest.
+     * The cache can be used to configure its maximum size (0 disables the caching) or to clear it.
+     *
+     * @return {@link PolicyDocumentCache}
+     */
+    public static PolicyDocumentCache<SecuritySuitabilityPolicyType> getCache() {
+        return CACHE;
+    }
+
     @Override
     public boolean isSupported(DSSDocument cryptographicSuiteDocument) {
+        if (CACHE.contains(cryptographicSuiteDocument)) {
+            return true;
+        }
         try (InputStream is = cryptographicSuiteDocument.openStream()) {
             SecuritySuitabilityPolicyType suitabilityPolicyType = CryptographicSuiteXmlFacade.newFacade().unmarshall(is, false);
             return suitabilityPolicyType != null;
@@ -59,12 +77,17 @@ public class CryptographicSuiteXmlFactory implements CryptographicSuiteFactory {
 
     @Override
     public CryptographicSuiteCatalogue loadDefaultCryptographicSuite() {
-        return loadCryptographicSuite(CryptographicSuiteXmlFactory.class.getResourceAsStream(DEFAULT_CRYPTOGRAPHIC_SUITES_LOCATION));
+        try (InputStream is = CryptographicSuiteXmlFactory.class.getResourceAsStream(DEFAULT_CRYPTOGRAPHIC_SUITES_LOCATION)) {
+            return loadCryptographicSuite(new InMemoryDocument(is));
+        } catch (IOException e) {
+            throw new UnsupportedOperationException(
+                    String.format("Unable to load the default policy document. Reason : %s", e.getMessage()), e);
+        }
     }
 
     @Override
     public CryptographicSuiteCatalogue loadCryptographicSuite(DSSDocument cryptographicSuiteDocument) {
-        return loadCryptographicSuite(cryptographicSuiteDocument.openStream());
+        return new CryptographicSuiteXmlCatalogue(CACHE.computeIfAbsent(cryptographicSuiteDocument, this::unmarshall));
     }
 
     @Override
@@ -77,4 +100,13 @@ public class CryptographicSuiteXmlFactory implements CryptographicSuiteFactory {
         }
     }
 
+    private SecuritySuitabilityPolicyType unmarshall(DSSDocument cryptographicSuiteDocument) {
+        try (InputStream is = cryptographicSuiteDocument.openStream()) {
+            return CryptographicSuiteXmlFacade.newFacade().unmarshall(is);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format("Unable to load the cryptographic suite document. Reason : %s", e.getMessage()), e);
+        }
+    }
+
 }
@@ -21,6 +21,8 @@
 package eu.europa.esig.dss.policy;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.policy.PolicyDocumentCache;
 import eu.europa.esig.dss.model.policy.ValidationPolicy;
 import eu.europa.esig.dss.model.policy.ValidationPolicyFactory;
 import eu.europa.esig.dss.policy.jaxb.ConstraintsParameters;
@@ -28,8 +30,12 @@ import jakarta.xml.bind.JAXBException;
 import org.xml.sax.SAXException;
 
 import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
 /**
  * Loads a DSS XML Validation Policy based on the ETSI TS 102 853 standard.
@@ -40,6 +46,13 @@ public class EtsiValidationPolicyFactory implements ValidationPolicyFactory {
     /** The default validation policy path */
     private static final String DEFAULT_VALIDATION_POLICY_LOCATION = "/policy/constraint.xml";
 
+    /**
+     * Cache of parsed validation policies, shared between the factory instances.
+     * As {@code EtsiValidationPolicy} may modify the underlying model, each load obtains its own copy.
+     */
+    private static final PolicyDocumentCache<ConstraintsParameters> CACHE =
+            new PolicyDocumentCache<>(PolicyDocumentCache.DEFAULT_MAX_SIZE, EtsiValidationPolicyFactory::copy);
+
     /**
      * Default constructor
      */
@@ -47,8 +60,21 @@ public class EtsiValidationPolicyFactory implements ValidationPolicyFactory {
         // empty
     }
 
+    /**
+     * Gets the cache of parsed validation policy documents, identified by their digest.
+     * The cache can be used to configure its maximum size (0 disables the caching) or to clear it.
+     *
+     * @return {@link PolicyDocumentCache}
+     */
+    public static PolicyDocumentCache<ConstraintsParameters> getCache() {
+        return CACHE;
+    }
+
     @Override
     public boolean isSupported(DSSDocument validationPolicyDocument) {
+        if (CACHE.contains(validationPolicyDocument)) {
+            return true;
+        }
         try (InputStream is = validationPolicyDocument.openStream()) {
             ConstraintsParameters constraintsParameters = ValidationPolicyFacade.newFacade().unmarshall(is, false);
             return constraintsParameters != null;
@@ -59,8 +85,8 @@ public class EtsiValidationPolicyFactory implements ValidationPolicyFactory {
 
     @Override
     public ValidationPolicy loadDefaultValidationPolicy() {
-        try {
-            return loadValidationPolicy(EtsiValidationPolicyFactory.class.getResourceAsStream(DEFAULT_VALIDATION_POLICY_LOCATION));
+        try (InputStream is = EtsiValidationPolicyFactory.class.getResourceAsStream(DEFAULT_VALIDATION_POLICY_LOCATION)) {
+            return loadValidationPolicy(new InMemoryDocument(is));
         } catch (Exception e) {
             throw new UnsupportedOperationException(
                     String.format("Unable to load the default policy document. Reason : %s", e.getMessage()), e);
@@ -69,7 +95,7 @@ public class EtsiValidationPolicyFactory implements ValidationPolicyFactory {
 
     @Override
     public ValidationPolicy loadValidationPolicy(DSSDocument validationPolicyDocument) {
-        return loadValidationPolicy(validationPolicyDocument.openStream());
+        return new EtsiValidationPolicy(CACHE.computeIfAbsent(validationPolicyDocument, this::unmarshall));
     }
 
     @Override
@@ -82,4 +108,34 @@ public class EtsiValidationPolicyFactory implements ValidationPolicyFactory {
         }
     }
 
+    private ConstraintsParameters unmarshall(DSSDocument validationPolicyDocument) {
+        try (InputStream is = validationPolicyDocument.openStream()) {
+            return ValidationPolicyFacade.newFacade().unmarshall(is);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(
+                    String.format("Unable to load the validation policy document. Reason : %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Creates a deep copy of the given {@code constraintsParameters}.
+     * The serialization is used, being much faster than a new unmarshalling with the schema validation.
+     *
+     * @param constraintsParameters {@link ConstraintsParameters} to copy
+     * @return {@link ConstraintsParameters} copy
+     */
+    private static ConstraintsParameters copy(ConstraintsParameters constraintsParameters) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(constraintsParameters);
+            }
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+                return (ConstraintsParameters) ois.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new UnsupportedOperationException(
+                    String.format("Unable to copy the validation policy. Reason : %s", e.getMessage()), e);
+        }
+    }
+
 }
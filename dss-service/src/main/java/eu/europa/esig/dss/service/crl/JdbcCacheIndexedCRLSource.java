@@ -0,0 +1,859 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.enumerations.RevocationReason;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlQuery;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlSelectQuery;
+import eu.europa.esig.dss.spi.client.jdbc.record.SqlRecord;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
+import org.bouncycastle.cert.X509CRLEntryHolder;
+import org.bouncycastle.cert.X509CRLHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CRLSource that retrieves information from a JDBC datasource using a normalized schema.
+ * <p>
+ * The CRL metadata (issuer, thisUpdate, nextUpdate, CRL number, signature validity, etc.) is stored once per CRL
+ * within the {@code CACHED_CRL_INFO} table, while the revoked serial numbers are stored within the indexed
+ * {@code CACHED_CRL_REVOKED} table, together with their revocation date and reason. The revocation status of
+ * a certificate is obtained with an indexed point query, without loading nor parsing the CRL binaries.
+ * <p>
+ * The {@code CRLToken} is built from the stored metadata and is identified by the stored digest of the CRL.
+ * The CRL binaries are loaded from the database only when requested (e.g. when the CRL is incorporated within
+ * a signature). The CRLs are shared between the tokens built for the different certificates using a bounded
+ * in-memory cache (see {@link #setMaxCachedCRLs(int)}), keyed by the digest of the CRL.
+ * <p>
+ * NOTE: indirect CRLs (see RFC 5280, 5.2.5), containing entries of certificates issued by another authority,
+ * are not supported and are not cached.
+ * <p>
+ * The data stored within the {@code CACHED_CRL} table by {@code JdbcCacheCRLSource} may be imported using
+ * {@link #migrateFromCachedCRLTable()}.
+ */
+public class JdbcCacheIndexedCRLSource extends JdbcCacheCRLSource {
+
+    private static final long serialVersionUID = -2459683542780436478L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheIndexedCRLSource.class);
+
+    /**
+     * The default number of CRLs kept in memory
+     */
+    private static final int DEFAULT_MAX_CACHED_CRLS = 16;
+
+    /**
+     * Used in the init method to check if the table exists
+     */
+    private static final SqlQuery SQL_INIT_CHECK_EXISTENCE = SqlQuery.createQuery("SELECT COUNT(*) FROM CACHED_CRL_INFO");
+
+    /**
+     * The maximum length of the stored signature invalidity reason
+     */
+    private static final int MAX_SIGNATURE_INVALIDITY_REASON_LENGTH = 1000;
+
+    /**
+     * The value used to mark the presence of an unknown critical extension within a CRL built from the stored metadata
+     */
+    private static final String UNKNOWN_CRITICAL_EXTENSION = "unknown";
+
+    /**
+     * Used in the init method to create the CRL metadata table, if not existing:
+     * ID (char40 = SHA1 length), DIGEST (char64 = SHA256 hex), ISSUER, THIS_UPDATE, NEXT_UPDATE
+     * (milliseconds since the epoch, UTC), CRL_NUMBER (decimal), EXPIRED_CERTS_ON_CRL (milliseconds since the epoch,
+     * UTC), SIGNATURE_ALGORITHM (enumeration name), SIGNATURE_INTACT, SIGNATURE_INVALIDITY_REASON,
+     * ISSUER_PRINCIPAL_MATCHES, CRL_SIGN_KEY_USAGE, UNKNOWN_CRITICAL_EXTENSION and DATA (blob)
+     */
+    private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_CRL_INFO " +
+            "(ID CHAR(40) PRIMARY KEY, DIGEST CHAR(64), ISSUER LONGVARBINARY, THIS_UPDATE BIGINT, NEXT_UPDATE BIGINT, " +
+            "CRL_NUMBER VARCHAR(64), EXPIRED_CERTS_ON_CRL BIGINT, SIGNATURE_ALGORITHM VARCHAR(64), SIGNATURE_INTACT BOOLEAN, " +
+            "SIGNATURE_INVALIDITY_REASON VARCHAR(" + MAX_SIGNATURE_INVALIDITY_REASON_LENGTH + "), " +
+            "ISSUER_PRINCIPAL_MATCHES BOOLEAN, CRL_SIGN_KEY_USAGE BOOLEAN, UNKNOWN_CRITICAL_EXTENSION BOOLEAN, DATA BLOB)");
+
+    /**
+     * Used in the init method to create the revoked serial numbers table, if not existing:
+     * CRL_ID (char40 = SHA1 length), SERIAL_NUMBER (hex), REVOCATION_DATE (milliseconds since the epoch, UTC)
+     * and REASON (RFC 5280 code)
+     */
+    private static final SqlQuery SQL_INIT_CREATE_REVOKED_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_CRL_REVOKED " +
+            "(CRL_ID CHAR(40), SERIAL_NUMBER VARCHAR(64), REVOCATION_DATE BIGINT, REASON INTEGER)");
+
+    /**
+     * Used in the init method to create the index on the revoked serial numbers table
+     */
+    private static final SqlQuery SQL_INIT_CREATE_REVOKED_INDEX = SqlQuery.createQuery(
+            "CREATE INDEX CACHED_CRL_REVOKED_IDX ON CACHED_CRL_REVOKED (CRL_ID, SERIAL_NUMBER)");
+
+    /**
+     * Used to drop the CRL metadata table
+     */
+    private static final SqlQuery SQL_DROP_TABLE = SqlQuery.createQuery("DROP TABLE CACHED_CRL_INFO");
+
+    /**
+     * Used to drop the revoked serial numbers table
+     */
+    private static final SqlQuery SQL_DROP_REVOKED_TABLE = SqlQuery.createQuery("DROP TABLE CACHED_CRL_REVOKED");
+
+    /**
+     * Used via the find method to insert a new CRL metadata record
+     */
+    private static final SqlQuery SQL_FIND_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_CRL_INFO " +
+            "(ID, DIGEST, ISSUER, THIS_UPDATE, NEXT_UPDATE, CRL_NUMBER, EXPIRED_CERTS_ON_CRL, SIGNATURE_ALGORITHM, " +
+            "SIGNATURE_INTACT, SIGNATURE_INVALIDITY_REASON, ISSUER_PRINCIPAL_MATCHES, CRL_SIGN_KEY_USAGE, " +
+            "UNKNOWN_CRITICAL_EXTENSION, DATA) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+    /**
+     * Used via the find method to update an existing CRL metadata record via the id
+     */
+    private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_CRL_INFO " +
+            "SET DIGEST = ?, ISSUER = ?, THIS_UPDATE = ?, NEXT_UPDATE = ?, CRL_NUMBER = ?, EXPIRED_CERTS_ON_CRL = ?, " +
+            "SIGNATURE_ALGORITHM = ?, SIGNATURE_INTACT = ?, SIGNATURE_INVALIDITY_REASON = ?, ISSUER_PRINCIPAL_MATCHES = ?, " +
+            "CRL_SIGN_KEY_USAGE = ?, UNKNOWN_CRITICAL_EXTENSION = ?, DATA = ? WHERE ID = ?");
+
+    /**
+     * Used via the find method to remove an existing CRL metadata record by the id
+     */
+    private static final SqlQuery SQL_FIND_REMOVE = SqlQuery.createQuery("DELETE FROM CACHED_CRL_INFO WHERE ID = ?");
+
+    /**
+     * Used to insert a revoked serial number of a CRL
+     */
+    private static final SqlQuery SQL_REVOKED_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_CRL_REVOKED " +
+            "(CRL_ID, SERIAL_NUMBER, REVOCATION_DATE, REASON) VALUES (?, ?, ?, ?)");
+
+    /**
+     * Used to remove the revoked serial numbers of a CRL
+     */
+    private static final SqlQuery SQL_REVOKED_REMOVE = SqlQuery.createQuery("DELETE FROM CACHED_CRL_REVOKED WHERE CRL_ID = ?");
+
+    /**
+     * Point query extracting the CRL metadata and the revocation entry of the given serial number, if any
+     */
+    private static final SqlSelectQuery SQL_FIND_QUERY = new SqlSelectQuery("SELECT I.ID, I.DIGEST, I.ISSUER, " +
+            "I.THIS_UPDATE, I.NEXT_UPDATE, I.CRL_NUMBER, I.EXPIRED_CERTS_ON_CRL, I.SIGNATURE_ALGORITHM, I.SIGNATURE_INTACT, " +
+            "I.SIGNATURE_INVALIDITY_REASON, I.ISSUER_PRINCIPAL_MATCHES, I.CRL_SIGN_KEY_USAGE, I.UNKNOWN_CRITICAL_EXTENSION, " +
+            "R.REVOCATION_DATE, R.REASON FROM CACHED_CRL_INFO I LEFT JOIN CACHED_CRL_REVOKED R " +
+            "ON R.CRL_ID = I.ID AND R.SERIAL_NUMBER = ? WHERE I.ID = ?") {
+        @Override
+        public SqlIndexedCRLRecord getRecord(ResultSet rs) throws SQLException {
+            SqlIndexedCRLRecord response = new SqlIndexedCRLRecord();
+            response.id = rs.getString("ID");
+            response.digest = rs.getString("DIGEST");
+            response.certificateIssuerBinary = rs.getBytes("ISSUER");
+            response.thisUpdate = getDate(rs, "THIS_UPDATE");
+            response.nextUpdate = getDate(rs, "NEXT_UPDATE");
+            response.crlNumber = rs.getString("CRL_NUMBER");
+            response.expiredCertsOnCRL = getDate(rs, "EXPIRED_CERTS_ON_CRL");
+            response.signatureAlgorithm = rs.getString("SIGNATURE_ALGORITHM");
+            response.signatureIntact = rs.getBoolean("SIGNATURE_INTACT");
+            response.signatureInvalidityReason = rs.getString("SIGNATURE_INVALIDITY_REASON");
+            response.issuerPrincipalMatches = rs.getBoolean("ISSUER_PRINCIPAL_MATCHES");
+            response.crlSignKeyUsage = rs.getBoolean("CRL_SIGN_KEY_USAGE");
+            response.unknownCriticalExtension = rs.getBoolean("UNKNOWN_CRITICAL_EXTENSION");
+            response.revocationDate = getDate(rs, "REVOCATION_DATE");
+            int reason = rs.getInt("REASON");
+            if (!rs.wasNull()) {
+                response.revocationReason = reason;
+            }
+            return response;
+        }
+    };
+
+    /**
+     * Extracts the CRL binaries with the given digest
+     */
+    private static final SqlSelectQuery SQL_FIND_DATA_QUERY = new SqlSelectQuery(
+            "SELECT ID, DATA FROM CACHED_CRL_INFO WHERE ID = ? AND DIGEST = ?") {
+        @Override
+        public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
+            SqlCRLRecord response = new SqlCRLRecord();
+            response.id = rs.getString("ID");
+            response.crlBinary = rs.getBytes("DATA");
+            return response;
+        }
+    };
+
+    /**
+     * Extracts the identifiers of the records stored within the legacy {@code CACHED_CRL} table
+     */
+    private static final SqlSelectQuery SQL_LEGACY_IDS_QUERY = new SqlSelectQuery("SELECT DISTINCT ID FROM CACHED_CRL") {
+        @Override
+        public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
+            SqlCRLRecord response = new SqlCRLRecord();
+            response.id = rs.getString("ID");
+            return response;
+        }
+    };
+
+    /**
+     * Extracts a record from the legacy {@code CACHED_CRL} table
+     */
+    private static final SqlSelectQuery SQL_LEGACY_FIND_QUERY = new SqlSelectQuery("SELECT * FROM CACHED_CRL WHERE ID = ?") {
+        @Override
+        public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
+            SqlCRLRecord response = new SqlCRLRecord();
+            response.id = rs.getString("ID");
+            response.crlBinary = rs.getBytes("DATA");
+            response.certificateIssuerBinary = rs.getBytes("ISSUER");
+            return response;
+        }
+    };
+
+    /**
+     * The maximum number of CRLs kept in memory
+     */
+    private int maxCachedCRLs = DEFAULT_MAX_CACHED_CRLS;
+
+    /**
+     * Map between CRL digests and the CRLs, in access order
+     */
+    private transient Map<String, CRLValidity> crlValidityCache;
+
+    /**
+     * Default constructor
+     */
+    public JdbcCacheIndexedCRLSource() {
+        // empty
+    }
+
+    /**
+     * Sets the maximum number of CRLs to be kept in memory, allowing to share the CRL metadata and the CRL binaries,
+     * once loaded, between the built CRL tokens. Use 0 to disable the in-memory cache.
+     * <p>
+     * Default : 16
+     *
+     * @param maxCachedCRLs the maximum number of CRLs kept in memory
+     */
+    public void setMaxCachedCRLs(int maxCachedCRLs) {
+        if (maxCachedCRLs < 0) {
+            throw new IllegalArgumentException("The maximum number of cached CRLs cannot be negative!");
+        }
+        this.maxCachedCRLs = maxCachedCRLs;
+        synchronized (this) {
+            crlValidityCache = null;
+        }
+    }
+
+    @Override
+    protected SqlQuery getCreateTableQuery() {
+        return SQL_INIT_CREATE_TABLE;
+    }
+
+    @Override
+    protected SqlQuery getTableExistenceQuery() {
+        return SQL_INIT_CHECK_EXISTENCE;
+    }
+
+    @Override
+    protected SqlQuery getInsertRevocationTokenEntryQuery() {
+        return SQL_FIND_INSERT;
+    }
+
+    @Override
+    protected SqlQuery getUpdateRevocationTokenEntryQuery() {
+        return SQL_FIND_UPDATE;
+    }
+
+    @Override
+    protected SqlQuery getRemoveRevocationTokenEntryQuery() {
+        return SQL_FIND_REMOVE;
+    }
+
+    @Override
+    protected SqlQuery getDeleteTableQuery() {
+        return SQL_DROP_TABLE;
+    }
+
+    @Override
+    protected SqlSelectQuery getRevocationDataExtractQuery() {
+        return SQL_FIND_QUERY;
+    }
+
+    /**
+     * Returns CREATE_TABLE sql query for the revoked serial numbers table
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getCreateRevokedTableQuery() {
+        return SQL_INIT_CREATE_REVOKED_TABLE;
+    }
+
+    /**
+     * Returns CREATE_INDEX sql query for the revoked serial numbers table
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getCreateRevokedIndexQuery() {
+        return SQL_INIT_CREATE_REVOKED_INDEX;
+    }
+
+    /**
+     * Returns an sql query to remove the revoked serial numbers table from DB
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getDeleteRevokedTableQuery() {
+        return SQL_DROP_REVOKED_TABLE;
+    }
+
+    /**
+     * Returns an SQL query to insert a revoked serial number
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getInsertRevokedEntryQuery() {
+        return SQL_REVOKED_INSERT;
+    }
+
+    /**
+     * Returns an SQL query to remove the revoked serial numbers of a CRL
+     *
+     * @return {@link SqlQuery}
+     */
+    protected SqlQuery getRemoveRevokedEntriesQuery() {
+        return SQL_REVOKED_REMOVE;
+    }
+
+    /**
+     * Returns an SQL query to extract the CRL binaries by the identifier and the digest of the CRL
+     *
+     * @return {@link SqlSelectQuery}
+     */
+    protected SqlSelectQuery getCRLBinaryExtractQuery() {
+        return SQL_FIND_DATA_QUERY;
+    }
+
+    @Override
+    public void initTable() throws SQLException {
+        /* Create the tables if they don't exist. */
+        if (!isTableExists()) {
+            LOG.debug("Tables do not exist. Creating new tables...");
+            final JdbcCacheConnector jdbcCacheConnector = getJdbcCacheConnector();
+            jdbcCacheConnector.executeThrowable(getCreateTableQuery());
+            jdbcCacheConnector.executeThrowable(getCreateRevokedTableQuery());
+            jdbcCacheConnector.executeThrowable(getCreateRevokedIndexQuery());
+            LOG.info("Tables were created.");
+        } else {
+            LOG.debug("Tables already exist.");
+        }
+    }
+
+    @Override
+    public void destroyTable() throws SQLException {
+        /* Drop the tables if they exist. */
+        if (isTableExists()) {
+            LOG.debug("Tables exist. Removing the tables...");
+            final JdbcCacheConnector jdbcCacheConnector = getJdbcCacheConnector();
+            jdbcCacheConnector.executeThrowable(getDeleteRevokedTableQuery());
+            jdbcCacheConnector.executeThrowable(getDeleteTableQuery());
+            LOG.info("Tables were destroyed.");
+        } else {
+            LOG.warn("Cannot drop the tables. Tables do not exist.");
+        }
+        synchronized (this) {
+            crlValidityCache = null;
+        }
+    }
+
+    @Override
+    protected List<RevocationToken<CRL>> findRevocations(final String key, final CertificateToken certificateToken,
+                                                         final CertificateToken issuerCertificateToken) {
+        Collection<SqlRecord> records = getJdbcCacheConnector().select(getRevocationDataExtractQuery(),
+                getSerialNumberKey(certificateToken.getSerialNumber()), key);
+        LOG.debug("Record obtained : {}", records.size());
+        if (Utils.isCollectionNotEmpty(records)) {
+            List<RevocationToken<CRL>> revocationTokens = new ArrayList<>();
+            for (SqlRecord sqlRecord : records) {
+                RevocationToken<CRL> revocationToken = buildRevocationTokenFromResult(sqlRecord, certificateToken, issuerCertificateToken);
+                if (revocationToken != null) {
+                    revocationTokens.add(revocationToken);
+                }
+            }
+            return revocationTokens;
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected RevocationToken<CRL> buildRevocationTokenFromResult(SqlRecord response, CertificateToken certificateToken,
+                                                                  CertificateToken issuerCertificateToken) throws DSSExternalResourceException {
+        try {
+            final SqlIndexedCRLRecord crlResponse = (SqlIndexedCRLRecord) response;
+
+            CRLValidity crlValidity = getCachedCRLValidity(crlResponse.digest);
+            if (crlValidity == null) {
+                crlValidity = buildCRLValidity(crlResponse);
+                putCachedCRLValidity(crlValidity);
+            }
+
+            RevocationReason revocationReason = crlResponse.revocationReason != null ?
+                    RevocationReason.fromInt(crlResponse.revocationReason) : null;
+            final CRLToken crlToken = new CRLToken(certificateToken, crlValidity, crlResponse.revocationDate, revocationReason);
+            crlToken.setExternalOrigin(RevocationOrigin.CACHED);
+            return crlToken;
+
+        } catch (Exception e) {
+            throw new DSSExternalResourceException(String.format(
+                    "An error occurred during an attempt to get a revocation token. Reason : %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Builds the {@code CRLValidity} from the stored metadata, the CRL binaries being loaded on demand
+     *
+     * @param crlRecord {@link SqlIndexedCRLRecord}
+     * @return {@link CRLValidity}
+     */
+    private CRLValidity buildCRLValidity(SqlIndexedCRLRecord crlRecord) {
+        final CRLValidity crlValidity = new CRLValidity(new CachedCRLBinary(this, crlRecord.id, crlRecord.digest));
+        crlValidity.setIssuerToken(DSSUtils.loadCertificate(crlRecord.certificateIssuerBinary));
+        crlValidity.setThisUpdate(crlRecord.thisUpdate);
+        crlValidity.setNextUpdate(crlRecord.nextUpdate);
+        if (crlRecord.crlNumber != null) {
+            crlValidity.setCRLNumber(new BigInteger(crlRecord.crlNumber));
+        }
+        crlValidity.setExpiredCertsOnCRL(crlRecord.expiredCertsOnCRL);
+        if (crlRecord.signatureAlgorithm != null) {
+            crlValidity.setSignatureAlgorithm(SignatureAlgorithm.valueOf(crlRecord.signatureAlgorithm));
+        }
+        crlValidity.setSignatureIntact(crlRecord.signatureIntact);
+        crlValidity.setSignatureInvalidityReason(crlRecord.signatureInvalidityReason);
+        crlValidity.setIssuerX509PrincipalMatches(crlRecord.issuerPrincipalMatches);
+        crlValidity.setCrlSignKeyUsage(crlRecord.crlSignKeyUsage);
+        if (crlRecord.unknownCriticalExtension) {
+            // only the presence of an unknown critical extension is relevant for the CRL validity
+            crlValidity.setCriticalExtensionsOid(Collections.singletonList(UNKNOWN_CRITICAL_EXTENSION));
+        }
+        return crlValidity;
+    }
+
+    /**
+     * Loads the binaries of the CRL with the given identifier and digest
+     *
+     * @param revocationKey {@link String} the CRL identifier
+     * @param digest {@link String} the SHA-256 digest of the CRL binaries, in hexadecimal
+     * @return CRL binaries
+     */
+    private byte[] loadCRLBinaries(String revocationKey, String digest) {
+        Collection<SqlRecord> records = getJdbcCacheConnector().select(getCRLBinaryExtractQuery(), revocationKey, digest);
+        if (Utils.isCollectionEmpty(records)) {
+            throw new DSSExternalResourceException(String.format(
+                    "The CRL with Id '%s' has been removed or updated within the cache!", revocationKey));
+        }
+        return ((SqlCRLRecord) records.iterator().next()).crlBinary;
+    }
+
+    @Override
+    protected void insertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
+        insertCRL(revocationKey, ((CRLToken) token).getCrlValidity());
+    }
+
+    private boolean insertCRL(final String revocationKey, final CRLValidity crlValidity) {
+        final List<Object[]> revokedEntries = getRevokedEntries(revocationKey, crlValidity);
+        if (revokedEntries == null) {
+            return false;
+        }
+
+        final JdbcCacheConnector jdbcCacheConnector = getJdbcCacheConnector();
+        final Object[] crlInfo = getCRLInfo(crlValidity);
+        final Object[] arguments = new Object[crlInfo.length + 1];
+        arguments[0] = revocationKey;
+        System.arraycopy(crlInfo, 0, arguments, 1, crlInfo.length);
+
+        final boolean success = jdbcCacheConnector.executeInTransaction(() -> {
+            jdbcCacheConnector.execute(getInsertRevocationTokenEntryQuery(), arguments);
+            jdbcCacheConnector.executeBatch(getInsertRevokedEntryQuery(), revokedEntries);
+        });
+        putCachedCRLValidity(crlValidity);
+        return success;
+    }
+
+    @Override
+    protected void updateRevocation(final String revocationKey, final RevocationToken<CRL> token) {
+        final CRLValidity crlValidity = ((CRLToken) token).getCrlValidity();
+        final List<Object[]> revokedEntries = getRevokedEntries(revocationKey, crlValidity);
+        if (revokedEntries == null) {
+            return;
+        }
+
+        final JdbcCacheConnector jdbcCacheConnector = getJdbcCacheConnector();
+        final Object[] crlInfo = getCRLInfo(crlValidity);
+        final Object[] arguments = Arrays.copyOf(crlInfo, crlInfo.length + 1);
+        arguments[crlInfo.length] = revocationKey;
+
+        jdbcCacheConnector.executeInTransaction(() -> {
+            jdbcCacheConnector.execute(getUpdateRevocationTokenEntryQuery(), arguments);
+            jdbcCacheConnector.execute(getRemoveRevokedEntriesQuery(), revocationKey);
+            jdbcCacheConnector.executeBatch(getInsertRevokedEntryQuery(), revokedEntries);
+        });
+        putCachedCRLValidity(crlValidity);
+    }
+
+    @Override
+    protected void removeRevocation(final String revocationTokenKey) {
+        final JdbcCacheConnector jdbcCacheConnector = getJdbcCacheConnector();
+        jdbcCacheConnector.executeInTransaction(() -> {
+            jdbcCacheConnector.execute(getRemoveRevokedEntriesQuery(), revocationTokenKey);
+            jdbcCacheConnector.execute(getRemoveRevocationTokenEntryQuery(), revocationTokenKey);
+        });
+    }
+
+    /**
+     * Imports the CRLs stored within the {@code CACHED_CRL} table used by {@code JdbcCacheCRLSource} into
+     * the normalized tables. The CRLs are migrated one by one, replacing the records with the same identifier, if any.
+     * The {@code CACHED_CRL} table is not modified and may be removed by the caller once the migration is completed.
+     * <p>
+     * NOTE: the tables shall be initialized before (see {@link #initTable()}).
+     *
+     * @return number of migrated CRLs
+     */
+    public int migrateFromCachedCRLTable() {
+        final JdbcCacheConnector jdbcCacheConnector = getJdbcCacheConnector();
+
+        int migrated = 0;
+        for (SqlRecord idRecord : jdbcCacheConnector.select(SQL_LEGACY_IDS_QUERY)) {
+            final String revocationKey = ((SqlCRLRecord) idRecord).id;
+            for (SqlRecord legacyRecord : jdbcCacheConnector.select(SQL_LEGACY_FIND_QUERY, revocationKey)) {
+                try {
+                    final SqlCRLRecord crlRecord = (SqlCRLRecord) legacyRecord;
+                    CRLBinary crlBinary = CRLUtils.buildCRLBinary(crlRecord.crlBinary);
+                    CertificateToken issuerCertificate = DSSUtils.loadCertificate(crlRecord.certificateIssuerBinary);
+                    final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerCertificate);
+                    crlValidity.setIssuerToken(issuerCertificate);
+
+                    final boolean[] inserted = new boolean[1];
+                    final boolean success = jdbcCacheConnector.executeInTransaction(() -> {
+                        removeRevocation(revocationKey);
+                        inserted[0] = insertCRL(revocationKey, crlValidity);
+                    });
+                    if (success && inserted[0]) {
+                        ++migrated;
+                    }
+
+                } catch (Exception e) {
+                    LOG.warn("Unable to migrate the CRL with Id '{}'. Reason : {}", revocationKey, e.getMessage(), e);
+                }
+            }
+        }
+        LOG.info("{} CRLs have been migrated from the CACHED_CRL table.", migrated);
+        return migrated;
+    }
+
+    /**
+     * Returns the CRL metadata arguments of the insert and update queries, from DIGEST to DATA
+     *
+     * @param crlValidity {@link CRLValidity} the CRL
+     * @return query arguments
+     */
+    private Object[] getCRLInfo(final CRLValidity crlValidity) {
+        final BigInteger crlNumber = crlValidity.getCRLNumber();
+        final SignatureAlgorithm signatureAlgorithm = crlValidity.getSignatureAlgorithm();
+        String signatureInvalidityReason = crlValidity.getSignatureInvalidityReason();
+        if (signatureInvalidityReason != null && signatureInvalidityReason.length() > MAX_SIGNATURE_INVALIDITY_REASON_LENGTH) {
+            signatureInvalidityReason = signatureInvalidityReason.substring(0, MAX_SIGNATURE_INVALIDITY_REASON_LENGTH);
+        }
+        return new Object[] { getDigest(crlValidity), crlValidity.getIssuerToken().getEncoded(),
+                toEpochMillis(crlValidity.getThisUpdate()), toEpochMillis(crlValidity.getNextUpdate()),
+                crlNumber != null ? crlNumber.toString() : null, toEpochMillis(crlValidity.getExpiredCertsOnCRL()),
+                signatureAlgorithm != null ? signatureAlgorithm.name() : null, crlValidity.isSignatureIntact(),
+                signatureInvalidityReason, crlValidity.isIssuerX509PrincipalMatches(), crlValidity.isCrlSignKeyUsage(),
+                crlValidity.isUnknownCriticalExtension(), crlValidity.getDerEncoded() };
+    }
+
+    /**
+     * Returns the arguments of the insert queries for the revoked serial numbers of the CRL
+     *
+     * @param revocationKey {@link String} the CRL identifier
+     * @param crlValidity {@link CRLValidity} the CRL
+     * @return a list of query arguments, or null if the CRL entries cannot be read or the CRL is indirect
+     */
+    private List<Object[]> getRevokedEntries(final String revocationKey, final CRLValidity crlValidity) {
+        try {
+            final X509CRLHolder crlHolder = new X509CRLHolder(crlValidity.getDerEncoded());
+            if (isIndirectCRL(crlHolder)) {
+                LOG.warn("The CRL with Id '{}' is an indirect CRL, which is not supported. The CRL is not cached.", revocationKey);
+                return null;
+            }
+
+            final List<Object[]> revokedEntries = new ArrayList<>();
+            for (Object entry : crlHolder.getRevokedCertificates()) {
+                final X509CRLEntryHolder crlEntry = (X509CRLEntryHolder) entry;
+                if (crlEntry.getExtension(Extension.certificateIssuer) != null) {
+                    // the entry (and the following ones) relates to certificates issued by another CA
+                    LOG.warn("The CRL with Id '{}' contains a certificate issuer entry extension, which is not supported. " +
+                            "The CRL is not cached.", revocationKey);
+                    return null;
+                }
+                Integer reason = null;
+                Extension reasonExtension = crlEntry.getExtension(Extension.reasonCode);
+                if (reasonExtension != null) {
+                    reason = CRLReason.getInstance(reasonExtension.getParsedValue()).getValue().intValue();
+                }
+                revokedEntries.add(new Object[] { revocationKey, getSerialNumberKey(crlEntry.getSerialNumber()),
+                        toEpochMillis(crlEntry.getRevocationDate()), reason });
+            }
+            return revokedEntries;
+
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to read the entries of the CRL with Id '{}'. The CRL is not cached. Reason : {}",
+                    revocationKey, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private boolean isIndirectCRL(final X509CRLHolder crlHolder) {
+        final Extension issuingDistributionPoint = crlHolder.getExtension(Extension.issuingDistributionPoint);
+        return issuingDistributionPoint != null &&
+                IssuingDistributionPoint.getInstance(issuingDistributionPoint.getParsedValue()).isIndirectCRL();
+    }
+
+    private String getSerialNumberKey(BigInteger serialNumber) {
+        return serialNumber.toString(16);
+    }
+
+    private String getDigest(CRLValidity crlValidity) {
+        return Utils.toHex(crlValidity.getCrlBinary().getDigestValue(DigestAlgorithm.SHA256));
+    }
+
+    private synchronized CRLValidity getCachedCRLValidity(String digest) {
+        if (digest == null || crlValidityCache == null) {
+            return null;
+        }
+        return crlValidityCache.get(digest);
+    }
+
+    private synchronized void putCachedCRLValidity(CRLValidity crlValidity) {
+        if (maxCachedCRLs == 0) {
+            return;
+        }
+        if (crlValidityCache == null) {
+            final int maxSize = maxCachedCRLs;
+            crlValidityCache = new LinkedHashMap<String, CRLValidity>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 6235872587358937625L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CRLValidity> eldest) {
+                    return size() > maxSize;
+                }
+
+            };
+        }
+        crlValidityCache.put(getDigest(crlValidity), crlValidity);
+    }
+
+    /**
+     * The dates are stored as epoch milliseconds, in order to not depend on the time zone
+     * of the JVM or the database session
+     */
+    private static Long toEpochMillis(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+
+    private static Date getDate(ResultSet rs, String columnName) throws SQLException {
+        final long epochMillis = rs.getLong(columnName);
+        return rs.wasNull() ? null : new Date(epochMillis);
+    }
+
+    /**
+     * Represents a CRL metadata record, with the revocation entry of the requested certificate, if any
+     */
+    protected static class SqlIndexedCRLRecord implements SqlRecord {
+
+        /**
+         * ID of the record
+         */
+        protected String id;
+
+        /**
+         * SHA-256 digest of the CRL binaries, in hexadecimal
+         */
+        protected String digest;
+
+        /**
+         * Binary of the CRL issuer certificate
+         */
+        protected byte[] certificateIssuerBinary;
+
+        /**
+         * The CRL thisUpdate
+         */
+        protected Date thisUpdate;
+
+        /**
+         * The CRL nextUpdate
+         */
+        protected Date nextUpdate;
+
+        /**
+         * The CRL number, in decimal
+         */
+        protected String crlNumber;
+
+        /**
+         * The CRL expiredCertsOnCRL
+         */
+        protected Date expiredCertsOnCRL;
+
+        /**
+         * The name of the CRL signature algorithm
+         */
+        protected String signatureAlgorithm;
+
+        /**
+         * Whether the CRL signature is intact
+         */
+        protected boolean signatureIntact;
+
+        /**
+         * The reason of the CRL signature invalidity, when applicable
+         */
+        protected String signatureInvalidityReason;
+
+        /**
+         * Whether the CRL issuer matches the issuer certificate subject
+         */
+        protected boolean issuerPrincipalMatches;
+
+        /**
+         * Whether the issuer certificate has the cRLSign key usage
+         */
+        protected boolean crlSignKeyUsage;
+
+        /**
+         * Whether the CRL contains an unknown critical extension
+         */
+        protected boolean unknownCriticalExtension;
+
+        /**
+         * Revocation date of the requested certificate, null if the certificate is not revoked
+         */
+        protected Date revocationDate;
+
+        /**
+         * Revocation reason code of the requested certificate, when present
+         */
+        protected Integer revocationReason;
+
+        /**
+         * Default constructor
+         */
+        protected SqlIndexedCRLRecord() {
+            // empty
+        }
+
+    }
+
+    /**
+     * Identifies the CRL binaries stored within the cache by their digest, the binaries being loaded on the first
+     * access only. The binaries are loaded before the serialization of the object.
+     */
+    private static final class CachedCRLBinary extends CRLBinary {
+
+        private static final long serialVersionUID = 3574625984265329748L;
+
+        /**
+         * The source used to load the CRL binaries
+         */
+        private final transient JdbcCacheIndexedCRLSource crlSource;
+
+        /**
+         * The CRL identifier
+         */
+        private final String revocationKey;
+
+        /**
+         * The SHA-256 digest of the CRL binaries, in hexadecimal
+         */
+        private final String digest;
+
+        /**
+         * The loaded CRL binaries
+         */
+        private volatile byte[] binaries;
+
+        /**
+         * Default constructor
+         *
+         * @param crlSource {@link JdbcCacheIndexedCRLSource} to load the CRL binaries from
+         * @param revocationKey {@link String} the CRL identifier
+         * @param digest {@link String} the SHA-256 digest of the CRL binaries, in hexadecimal
+         */
+        private CachedCRLBinary(JdbcCacheIndexedCRLSource crlSource, String revocationKey, String digest) {
+            super(DigestAlgorithm.SHA256, Utils.fromHex(digest));
+            this.crlSource = crlSource;
+            this.revocationKey = revocationKey;
+            this.digest = digest;
+        }
+
+        @Override
+        public byte[] getBinaries() {
+            byte[] result = binaries;
+            if (result == null) {
+                synchronized (this) {
+                    if (binaries == null) {
+                        binaries = crlSource.loadCRLBinaries(revocationKey, digest);
+                    }
+                    result = binaries;
+                }
+            }
+            return result;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            // the binaries cannot be loaded after a deserialization
+            getBinaries();
+            out.defaultWriteObject();
+        }
+
+    }
+
+}
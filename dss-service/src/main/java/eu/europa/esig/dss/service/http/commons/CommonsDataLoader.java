@@ -30,6 +30,7 @@ import eu.europa.esig.dss.spi.client.http.AdvancedDataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import org.apache.hc.client5.http.HttpRequestRetryStrategy;
 import org.apache.hc.client5.http.auth.AuthScope;
@@ -1056,7 +1057,15 @@ public class CommonsDataLoader implements DataLoader, AdvancedDataLoader {
 
 		final ResponseEnvelope responseEnvelope = new ResponseEnvelope();
 
-		byte[] bytes = client.execute(targetHost, httpRequest, localContext, responseHandler);
+		final byte[] bytes;
+		try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.DATA_LOADER_REQUEST,
+				DSSMetrics.TAG_HOST, targetHost.getHostName(), DSSMetrics.TAG_METHOD, httpRequest.getMethod())) {
+			bytes = client.execute(targetHost, httpRequest, localContext, responseHandler);
+		} catch (IOException | RuntimeException e) {
+			DSSMetrics.increment(DSSMetrics.DATA_LOADER_ERROR,
+					DSSMetrics.TAG_HOST, targetHost.getHostName(), DSSMetrics.TAG_METHOD, httpRequest.getMethod());
+			throw e;
+		}
 		responseEnvelope.setResponseBody(bytes);
 
 		if (includeResponseDetails) {
@@ -39,7 +39,7 @@ import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPRespStatus;
-import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSourceMultipleCertificatesSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
 import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.asn1.ASN1OctetString;
@@ -64,7 +64,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -72,7 +74,7 @@ import java.util.Objects;
  * to retrieve the OCSP response.
  */
 @SuppressWarnings("serial")
-public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUrlsSupport<OCSP> {
+public class OnlineOCSPSource implements OCSPSourceMultipleCertificatesSupport, RevocationSourceAlternateUrlsSupport<OCSP> {
 
 	private static final Logger LOG = LoggerFactory.getLogger(OnlineOCSPSource.class);
 
@@ -116,6 +118,12 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 */
 	private long nextUpdateTolerancePeriod = 0;
 
+	/**
+	 * The maximum number of CertIDs to be included within a single OCSP request
+	 * on {@code #getRevocationTokens} call
+	 */
+	private int maxCertIDsPerRequest = 20;
+
 	/**
 	 * Create an OCSP source The default constructor for OnlineOCSPSource. The
 	 * default {@code OCSPDataLoader} is set. It is possible to change it with
@@ -214,6 +222,20 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		this.nextUpdateTolerancePeriod = nextUpdateTolerancePeriod;
 	}
 
+	/**
+	 * Sets the maximum number of CertIDs (i.e. certificates) to be included within a single OCSP request,
+	 * when requesting OCSP tokens for several certificates with {@code #getRevocationTokens} method.
+	 * Default : 20
+	 *
+	 * @param maxCertIDsPerRequest the maximum number of CertIDs per request
+	 */
+	public void setMaxCertIDsPerRequest(int maxCertIDsPerRequest) {
+		if (maxCertIDsPerRequest < 1) {
+			throw new IllegalArgumentException("The maximum number of CertIDs per request shall be positive!");
+		}
+		this.maxCertIDsPerRequest = maxCertIDsPerRequest;
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
@@ -252,18 +274,7 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 
 			try {
 				BasicOCSPResp basicResponse = executeOCSPRequest(ocspAccessLocation, content);
-				SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
-				assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
-
-				OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
-				ocspToken.setSourceURL(ocspAccessLocation);
-				ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
-
-				if (LOG.isDebugEnabled()) {
-					LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
-							ocspToken.getDSSIdAsString(), ocspAccessLocation);
-				}
-				return ocspToken;
+				return buildOCSPToken(basicResponse, certificateToken, issuerCertificateToken, nonce, ocspAccessLocation);
 
 			} catch (Exception e) {
 				if (nbTries == 0) {
@@ -280,6 +291,137 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 				"for a certificate call with id '%s'", certificateToken.getDSSIdAsString()));
 	}
 
+	private OCSPToken buildOCSPToken(BasicOCSPResp basicResponse, CertificateToken certificateToken,
+									 CertificateToken issuerCertificateToken, byte[] nonce, String ocspAccessLocation) {
+		SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
+		assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
+
+		OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+		ocspToken.setSourceURL(ocspAccessLocation);
+		ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
+					ocspToken.getDSSIdAsString(), ocspAccessLocation);
+		}
+		return ocspToken;
+	}
+
+	/**
+	 * Retrieves OCSP tokens for several certificates at once.
+	 * The certificates are grouped by their OCSP access URL, and a single OCSP request containing
+	 * several CertIDs (see RFC 6960) is sent for every group. Each CertID refers to the issuer of its certificate,
+	 * thus certificates issued by different CAs sharing the same responder are requested together.
+	 * The obtained response is split into individual {@code OCSPToken}s. When a responder rejects the request
+	 * or does not provide a response for a certificate, the certificate is requested individually
+	 * (see {@code #getRevocationToken}).
+	 *
+	 * @param certificateIssuerMap a map between the certificates to retrieve OCSP tokens for and their issuers
+	 * @return a map between the certificates and the obtained {@link OCSPToken}s
+	 *         (certificates for which no OCSP token has been obtained are not present)
+	 */
+	@Override
+	public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificateIssuerMap) {
+		Objects.requireNonNull(certificateIssuerMap, "Map of certificates and issuers cannot be null!");
+		Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+
+		final Map<String, List<CertificateToken>> groups = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, CertificateToken> entry : certificateIssuerMap.entrySet()) {
+			CertificateToken certificateToken = Objects.requireNonNull(entry.getKey(), "CertificateToken cannot be null!");
+			Objects.requireNonNull(entry.getValue(), "Issuer CertificateToken cannot be null!");
+			List<String> ocspUrls = getOCSPAccessURLs(certificateToken, Collections.emptyList());
+			if (Utils.isCollectionEmpty(ocspUrls)) {
+				LOG.debug("No OCSP location found for certificate with Id '{}'", certificateToken.getDSSIdAsString());
+				continue;
+			}
+			groups.computeIfAbsent(ocspUrls.get(0), k -> new ArrayList<>()).add(certificateToken);
+		}
+
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (Map.Entry<String, List<CertificateToken>> group : groups.entrySet()) {
+			final String ocspAccessLocation = group.getKey();
+			final List<CertificateToken> groupCertificates = group.getValue();
+			for (int i = 0; i < groupCertificates.size(); i += maxCertIDsPerRequest) {
+				List<CertificateToken> certificateTokens = groupCertificates.subList(i, Math.min(i + maxCertIDsPerRequest, groupCertificates.size()));
+				List<CertificateToken> remaining = certificateTokens;
+				if (certificateTokens.size() > 1) {
+					remaining = getRevocationTokens(certificateTokens, certificateIssuerMap, ocspAccessLocation, result);
+				}
+				for (CertificateToken certificateToken : remaining) {
+					try {
+						OCSPToken ocspToken = getRevocationToken(certificateToken, certificateIssuerMap.get(certificateToken));
+						if (ocspToken != null) {
+							result.put(certificateToken, ocspToken);
+						}
+					} catch (Exception e) {
+						LOG.warn("Unable to retrieve OCSP response for certificate with Id '{}' : {}",
+								certificateToken.getDSSIdAsString(), e.getMessage());
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Executes a single OCSP request for all {@code certificateTokens} and adds the obtained tokens to {@code result}
+	 *
+	 * @return a list of certificates for which no valid OCSP token has been obtained
+	 */
+	private List<CertificateToken> getRevocationTokens(List<CertificateToken> certificateTokens,
+													   Map<CertificateToken, CertificateToken> certificateIssuerMap,
+													   String ocspAccessLocation, Map<CertificateToken, OCSPToken> result) {
+		byte[] nonce = null;
+		if (nonceSource != null) {
+			nonce = nonceSource.getNonceValue();
+		}
+
+		final BasicOCSPResp basicResponse;
+		try {
+			final Map<CertificateToken, CertificateToken> requestedCertificates = new LinkedHashMap<>();
+			for (CertificateToken certificateToken : certificateTokens) {
+				requestedCertificates.put(certificateToken, certificateIssuerMap.get(certificateToken));
+			}
+			final byte[] content = buildOCSPRequest(requestedCertificates, nonce);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Trying to retrieve an OCSP response for {} certificates from URL '{}'...",
+						certificateTokens.size(), ocspAccessLocation);
+			}
+			basicResponse = executeOCSPRequest(ocspAccessLocation, content);
+
+		} catch (Exception e) {
+			LOG.warn("Unable to retrieve OCSP response for {} certificates with URL '{}' : {}. " +
+					"Fallback to single requests.", certificateTokens.size(), ocspAccessLocation, e.getMessage());
+			return certificateTokens;
+		}
+
+		final List<CertificateToken> remaining = new ArrayList<>();
+		for (CertificateToken certificateToken : certificateTokens) {
+			final CertificateToken issuerCertificateToken = certificateIssuerMap.get(certificateToken);
+			try {
+				SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
+				if (latestSingleResponse == null) {
+					LOG.debug("No single response found for certificate with Id '{}' within the OCSP response from URL '{}'.",
+							certificateToken.getDSSIdAsString(), ocspAccessLocation);
+					remaining.add(certificateToken);
+					continue;
+				}
+				assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
+
+				OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+				ocspToken.setSourceURL(ocspAccessLocation);
+				ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+				result.put(certificateToken, ocspToken);
+
+			} catch (Exception e) {
+				LOG.warn("Invalid OCSP response for certificate with Id '{}' from URL '{}' : {}",
+						certificateToken.getDSSIdAsString(), ocspAccessLocation, e.getMessage());
+				remaining.add(certificateToken);
+			}
+		}
+		return remaining;
+	}
+
 	/**
 	 * Extracts a list of OCSP access URLs to be used in the provided order to retrieve an OCSP response
 	 *
@@ -309,11 +451,26 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 * @return byte array representing an OCSP request
 	 */
 	protected byte[] buildOCSPRequest(CertificateToken certificateToken, CertificateToken issuerToken, byte[] nonce) {
+		return buildOCSPRequest(Collections.singletonMap(certificateToken, issuerToken), nonce);
+	}
+
+	/**
+	 * Builds a single OCSP request for all certificates of {@code certificateIssuerMap}
+	 * (one CertID per certificate, computed with the issuer of the certificate)
+	 *
+	 * @param certificateIssuerMap a map between {@link CertificateToken}s to retrieve an OCSP token for
+	 *                             and their issuer certificates
+	 * @param nonce byte array containing a unique nonce
+	 * @return byte array representing an OCSP request
+	 */
+	protected byte[] buildOCSPRequest(Map<CertificateToken, CertificateToken> certificateIssuerMap, byte[] nonce) {
 		try {
 			final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
 
-			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm);
-			ocspReqBuilder.addRequest(certId);
+			for (Map.Entry<CertificateToken, CertificateToken> entry : certificateIssuerMap.entrySet()) {
+				final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(entry.getKey(), entry.getValue(), certIDDigestAlgorithm);
+				ocspReqBuilder.addRequest(certId);
+			}
 			/*
 			 * The nonce extension is used to bind a request to a response to
 			 * prevent replay attacks. RFC 6960 (OCSP) section 4.1.2 such
@@ -34,9 +34,11 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -219,6 +221,26 @@ public class JdbcCacheAIASource extends RepositoryAIASource {
         }
     }
 
+    @Override
+    protected void replaceCertificates(final List<String> aiaKeysToRemove,
+                                       final Map<CertificateToken, String> certificatesToInsert) {
+        final List<Object[]> insertArguments = new ArrayList<>();
+        for (Map.Entry<CertificateToken, String> entry : certificatesToInsert.entrySet()) {
+            final CertificateToken certificateToken = entry.getKey();
+            final String aiaKey = entry.getValue();
+            insertArguments.add(new Object[] { getUniqueCertificateAiaId(certificateToken, aiaKey), aiaKey, certificateToken.getEncoded() });
+        }
+        final boolean committed = jdbcCacheConnector.executeInTransaction(() -> {
+            for (String aiaKey : aiaKeysToRemove) {
+                removeCertificates(aiaKey);
+            }
+            jdbcCacheConnector.executeBatch(getInsertCertificateTokenEntryQuery(), insertArguments);
+        });
+        if (committed) {
+            LOG.debug("{} AIA keys removed and {} certificates inserted in DB", aiaKeysToRemove.size(), insertArguments.size());
+        }
+    }
+
     @Override
     protected void removeCertificates(String aiaKey) {
         jdbcCacheConnector.execute(getRemoveCertificateTokenEntryQuery(), aiaKey);
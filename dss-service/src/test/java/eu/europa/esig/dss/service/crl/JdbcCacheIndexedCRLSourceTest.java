@@ -0,0 +1,416 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.enumerations.RevocationReason;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlQuery;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlSelectQuery;
+import eu.europa.esig.dss.spi.client.jdbc.record.SqlRecord;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.h2.util.DateTimeUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcCacheIndexedCRLSourceTest {
+
+	private static final String CRL_URL = "http://crl.dss.test/ca.crl";
+
+	private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+	private static KeyPair caKeyPair;
+
+	private static CertificateToken caToken;
+
+	private static CertificateToken revokedToken;
+
+	private static CertificateToken goodToken;
+
+	private static byte[] crlBinaries;
+
+	private static byte[] indirectCRLBinaries;
+
+	private final AtomicInteger crlBinaryLoadCounter = new AtomicInteger();
+
+	private JdbcDataSource dataSource = new JdbcDataSource();
+
+	private JdbcCacheConnector jdbcCacheConnector;
+
+	private JdbcCacheIndexedCRLSource crlSource = new JdbcCacheIndexedCRLSource();
+
+	@BeforeAll
+	static void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		caKeyPair = keyPairGenerator.generateKeyPair();
+		KeyPair userKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name caName = new X500Name("CN=Indexed CRL CA,O=DSS,C=LU");
+		Date now = new Date();
+
+		X509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				new Date(now.getTime() - ONE_DAY), new Date(now.getTime() + 365 * ONE_DAY), caName, caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		caToken = DSSUtils.loadCertificate(caBuilder.build(getSigner()).getEncoded());
+
+		revokedToken = createUserCertificate(caName, BigInteger.valueOf(2), userKeyPair.getPublic());
+		goodToken = createUserCertificate(caName, BigInteger.valueOf(5), userKeyPair.getPublic());
+
+		X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(caName, new Date(now.getTime() - 60000));
+		crlBuilder.setNextUpdate(new Date(now.getTime() + ONE_DAY));
+		crlBuilder.addCRLEntry(BigInteger.valueOf(2), new Date(now.getTime() - 120000), CRLReason.keyCompromise);
+		crlBuilder.addCRLEntry(BigInteger.valueOf(3), new Date(now.getTime() - 120000), CRLReason.superseded);
+		for (int i = 100; i < 1100; i++) {
+			crlBuilder.addCRLEntry(BigInteger.valueOf(i), new Date(now.getTime() - 180000), CRLReason.cessationOfOperation);
+		}
+		crlBinaries = crlBuilder.build(getSigner()).getEncoded();
+
+		X509v2CRLBuilder indirectCRLBuilder = new X509v2CRLBuilder(caName, new Date(now.getTime() - 60000));
+		indirectCRLBuilder.setNextUpdate(new Date(now.getTime() + ONE_DAY));
+		indirectCRLBuilder.addExtension(Extension.issuingDistributionPoint, true,
+				new IssuingDistributionPoint(null, false, false, null, true, false));
+		indirectCRLBuilder.addCRLEntry(BigInteger.valueOf(3), new Date(now.getTime() - 120000), CRLReason.superseded);
+		ExtensionsGenerator entryExtensions = new ExtensionsGenerator();
+		entryExtensions.addExtension(Extension.certificateIssuer, true,
+				new GeneralNames(new GeneralName(new X500Name("CN=Other CA,O=DSS,C=LU"))));
+		indirectCRLBuilder.addCRLEntry(BigInteger.valueOf(2), new Date(now.getTime() - 120000), entryExtensions.generate());
+		indirectCRLBinaries = indirectCRLBuilder.build(getSigner()).getEncoded();
+	}
+
+	private static CertificateToken createUserCertificate(X500Name caName, BigInteger serialNumber,
+														  PublicKey publicKey) throws Exception {
+		Date now = new Date();
+		X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, serialNumber,
+				new Date(now.getTime() - ONE_DAY), new Date(now.getTime() + 365 * ONE_DAY),
+				new X500Name("CN=User " + serialNumber + ",O=DSS,C=LU"), publicKey);
+		DistributionPointName distributionPointName = new DistributionPointName(
+				new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL)));
+		builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(
+				new DistributionPoint[] { new DistributionPoint(distributionPointName, null, null) }));
+		return DSSUtils.loadCertificate(builder.build(getSigner()).getEncoded());
+	}
+
+	private static ContentSigner getSigner() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		dataSource.setUrl("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1");
+		jdbcCacheConnector = new JdbcCacheConnector(dataSource) {
+
+			@Override
+			public Collection<SqlRecord> select(SqlSelectQuery selectQuery, Object... arguments) {
+				if (selectQuery == crlSource.getCRLBinaryExtractQuery()) {
+					crlBinaryLoadCounter.incrementAndGet();
+				}
+				return super.select(selectQuery, arguments);
+			}
+
+		};
+		crlSource.setJdbcCacheConnector(jdbcCacheConnector);
+		assertFalse(crlSource.isTableExists());
+		crlSource.initTable();
+		assertTrue(crlSource.isTableExists());
+	}
+
+	@Test
+	void test() {
+		assertNull(crlSource.getRevocationToken(revokedToken, caToken));
+
+		MockCRLSource proxiedSource = new MockCRLSource();
+		crlSource.setProxySource(proxiedSource);
+
+		CRLToken revocationToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(CertificateStatus.REVOKED, revocationToken.getStatus());
+		assertEquals(1, proxiedSource.counter.get());
+
+		CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertNotNull(cachedToken);
+		assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+		compareTokens(revocationToken, cachedToken);
+		assertEquals(RevocationReason.KEY_COMPROMISE, cachedToken.getReason());
+
+		CRLToken goodCachedToken = crlSource.getRevocationToken(goodToken, caToken);
+		assertNotNull(goodCachedToken);
+		assertEquals(RevocationOrigin.CACHED, goodCachedToken.getExternalOrigin());
+		assertEquals(CertificateStatus.GOOD, goodCachedToken.getStatus());
+		assertNull(goodCachedToken.getRevocationDate());
+		assertEquals(1, proxiedSource.counter.get());
+
+		CRLToken forceRefresh = crlSource.getRevocationToken(revokedToken, caToken, true);
+		assertEquals(RevocationOrigin.EXTERNAL, forceRefresh.getExternalOrigin());
+		assertEquals(2, proxiedSource.counter.get());
+
+		cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+		compareTokens(forceRefresh, cachedToken);
+	}
+
+	@Test
+	void withoutInMemoryCacheTest() {
+		crlSource.setMaxCachedCRLs(0);
+		crlSource.setProxySource(new MockCRLSource());
+
+		CRLToken revocationToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		// the CRL is loaded from the database
+		CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+		compareTokens(revocationToken, cachedToken);
+
+		CRLToken goodCachedToken = crlSource.getRevocationToken(goodToken, caToken);
+		assertEquals(RevocationOrigin.CACHED, goodCachedToken.getExternalOrigin());
+		assertEquals(CertificateStatus.GOOD, goodCachedToken.getStatus());
+	}
+
+	@Test
+	void crlBinariesLoadedOnDemandTest() {
+		crlSource.setMaxCachedCRLs(0);
+		crlSource.setProxySource(new MockCRLSource());
+
+		CRLToken revocationToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		// the tokens are built from the stored metadata and the revoked serial numbers
+		CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+		compareTokens(revocationToken, cachedToken);
+		CRLToken goodCachedToken = crlSource.getRevocationToken(goodToken, caToken);
+		assertEquals(CertificateStatus.GOOD, goodCachedToken.getStatus());
+		assertEquals(0, crlBinaryLoadCounter.get());
+
+		assertArrayEquals(crlBinaries, cachedToken.getEncoded());
+		assertArrayEquals(crlBinaries, cachedToken.getEncoded());
+		assertEquals(1, crlBinaryLoadCounter.get());
+	}
+
+	@Test
+	void crlBinariesSharedTest() {
+		crlSource.setProxySource(new MockCRLSource());
+
+		CRLToken revocationToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		// clears the in-memory cache
+		crlSource.setMaxCachedCRLs(16);
+
+		CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+		CRLToken goodCachedToken = crlSource.getRevocationToken(goodToken, caToken);
+		assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+		assertEquals(RevocationOrigin.CACHED, goodCachedToken.getExternalOrigin());
+		assertEquals(cachedToken.getDSSId(), goodCachedToken.getDSSId());
+		assertEquals(0, crlBinaryLoadCounter.get());
+
+		assertArrayEquals(crlBinaries, cachedToken.getEncoded());
+		assertArrayEquals(crlBinaries, goodCachedToken.getEncoded());
+		assertEquals(1, crlBinaryLoadCounter.get());
+	}
+
+	@Test
+	void crlBinariesRemovedTest() {
+		crlSource.setMaxCachedCRLs(0);
+		crlSource.setProxySource(new MockCRLSource());
+
+		CRLToken revocationToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+		assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+
+		jdbcCacheConnector.execute(SqlQuery.createQuery("DELETE FROM CACHED_CRL_INFO"));
+		assertThrows(DSSExternalResourceException.class, cachedToken::getEncoded);
+	}
+
+	@Test
+	void indirectCRLTest() {
+		MockCRLSource proxiedSource = new MockCRLSource(indirectCRLBinaries);
+		crlSource.setProxySource(proxiedSource);
+
+		CRLToken revocationToken = crlSource.getRevocationToken(goodToken, caToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(1, proxiedSource.counter.get());
+
+		// the indirect CRL is not cached
+		revocationToken = crlSource.getRevocationToken(goodToken, caToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(2, proxiedSource.counter.get());
+	}
+
+	@Test
+	void defaultTimeZoneChangeTest() {
+		crlSource.setMaxCachedCRLs(0);
+		crlSource.setProxySource(new MockCRLSource());
+
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			setDefaultTimeZone(TimeZone.getTimeZone("UTC"));
+			CRLToken revocationToken = crlSource.getRevocationToken(revokedToken, caToken);
+			assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+			// the stored dates shall not be shifted by a different time zone
+			setDefaultTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+			CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+			assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+			compareTokens(revocationToken, cachedToken);
+
+		} finally {
+			setDefaultTimeZone(defaultTimeZone);
+		}
+	}
+
+	private static void setDefaultTimeZone(TimeZone timeZone) {
+		TimeZone.setDefault(timeZone);
+		// H2 caches the default time zone used for the java.sql.Timestamp conversions
+		DateTimeUtils.resetCalendar();
+	}
+
+	@Test
+	void migrationTest() throws Exception {
+		JdbcCacheCRLSource legacySource = new JdbcCacheCRLSource();
+		legacySource.setJdbcCacheConnector(jdbcCacheConnector);
+		legacySource.initTable();
+		legacySource.setProxySource(new MockCRLSource());
+		try {
+			CRLToken legacyToken = legacySource.getRevocationToken(revokedToken, caToken);
+			assertEquals(RevocationOrigin.EXTERNAL, legacyToken.getExternalOrigin());
+
+			assertEquals(1, crlSource.migrateFromCachedCRLTable());
+			// the migration can be replayed
+			assertEquals(1, crlSource.migrateFromCachedCRLTable());
+
+			// no proxied source, the data is obtained from the migrated tables
+			crlSource.setMaxCachedCRLs(0);
+			CRLToken cachedToken = crlSource.getRevocationToken(revokedToken, caToken);
+			assertNotNull(cachedToken);
+			assertEquals(RevocationOrigin.CACHED, cachedToken.getExternalOrigin());
+			compareTokens(legacyToken, cachedToken);
+
+			CRLToken goodCachedToken = crlSource.getRevocationToken(goodToken, caToken);
+			assertEquals(CertificateStatus.GOOD, goodCachedToken.getStatus());
+
+		} finally {
+			legacySource.destroyTable();
+		}
+	}
+
+	private void compareTokens(CRLToken originalCRL, CRLToken cachedCRL) {
+		assertEquals(originalCRL.getDSSId(), cachedCRL.getDSSId());
+		assertEquals(originalCRL.getSignatureAlgorithm(), cachedCRL.getSignatureAlgorithm());
+		assertEquals(originalCRL.getThisUpdate(), cachedCRL.getThisUpdate());
+		assertEquals(originalCRL.getNextUpdate(), cachedCRL.getNextUpdate());
+		assertEquals(originalCRL.getIssuerCertificateToken(), cachedCRL.getIssuerCertificateToken());
+		assertEquals(originalCRL.isSignatureIntact(), cachedCRL.isSignatureIntact());
+		assertEquals(originalCRL.isValid(), cachedCRL.isValid());
+		assertEquals(originalCRL.getStatus(), cachedCRL.getStatus());
+		assertEquals(originalCRL.getRevocationDate(), cachedCRL.getRevocationDate());
+		assertEquals(originalCRL.getReason(), cachedCRL.getReason());
+	}
+
+	@AfterEach
+	void cleanUp() throws SQLException {
+		crlSource.destroyTable();
+		assertFalse(crlSource.isTableExists());
+	}
+
+	private static class MockCRLSource implements CRLSource {
+
+		private static final long serialVersionUID = -8043617862738356407L;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		private final byte[] binaries;
+
+		private MockCRLSource() {
+			this(crlBinaries);
+		}
+
+		private MockCRLSource(byte[] binaries) {
+			this.binaries = binaries;
+		}
+
+		@Override
+		public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			try {
+				counter.incrementAndGet();
+				CRLValidity crlValidity = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(binaries), issuerCertificateToken);
+				CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+				crlToken.setSourceURL(CRL_URL);
+				crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+				return crlToken;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,292 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.jdbc;
+
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlQuery;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlSelectQuery;
+import eu.europa.esig.dss.spi.client.jdbc.record.SqlRecord;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcCacheConnectorTest {
+
+    private static final SqlQuery CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHE_ENTRIES (ID VARCHAR(40) PRIMARY KEY, DATA VARCHAR(100))");
+
+    private static final SqlQuery DROP_TABLE = SqlQuery.createQuery("DROP TABLE CACHE_ENTRIES");
+
+    private static final SqlQuery INSERT = SqlQuery.createQuery("INSERT INTO CACHE_ENTRIES (ID, DATA) VALUES (?, ?)");
+
+    private static final SqlQuery UPDATE = SqlQuery.createQuery("UPDATE CACHE_ENTRIES SET DATA = ? WHERE ID = ?");
+
+    private static final SqlQuery REMOVE = SqlQuery.createQuery("DELETE FROM CACHE_ENTRIES WHERE ID = ?");
+
+    private static final SqlSelectQuery SELECT = new SqlSelectQuery("SELECT * FROM CACHE_ENTRIES WHERE ID = ?") {
+        @Override
+        public SqlRecord getRecord(ResultSet rs) throws SQLException {
+            CacheEntry entry = new CacheEntry();
+            entry.id = rs.getString("ID");
+            entry.data = rs.getString("DATA");
+            return entry;
+        }
+    };
+
+    private static final SqlSelectQuery SELECT_ALL = new SqlSelectQuery("SELECT * FROM CACHE_ENTRIES") {
+        @Override
+        public SqlRecord getRecord(ResultSet rs) throws SQLException {
+            CacheEntry entry = new CacheEntry();
+            entry.id = rs.getString("ID");
+            entry.data = rs.getString("DATA");
+            return entry;
+        }
+    };
+
+    private JdbcCacheConnector connector;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setUrl("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1");
+        connector = new JdbcCacheConnector(dataSource);
+        connector.executeThrowable(CREATE_TABLE);
+    }
+
+    @Test
+    void executeBatchTest() {
+        List<Object[]> arguments = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            arguments.add(new Object[] { "id-" + i, "data-" + i });
+        }
+        assertEquals(100, connector.executeBatch(INSERT, arguments));
+        assertEquals(100, connector.select(SELECT_ALL).size());
+        assertEquals("data-42", getData("id-42"));
+
+        assertEquals(0, connector.executeBatch(INSERT, new ArrayList<>()));
+    }
+
+    @Test
+    void executeBatchFailureTest() {
+        connector.execute(INSERT, "id-1", "data");
+
+        List<Object[]> arguments = new ArrayList<>();
+        arguments.add(new Object[] { "id-0", "data" });
+        arguments.add(new Object[] { "id-1", "duplicate" });
+        assertEquals(0, connector.executeBatch(INSERT, arguments));
+
+        // the whole batch is rolled back
+        assertEquals(1, connector.select(SELECT_ALL).size());
+        assertEquals("data", getData("id-1"));
+    }
+
+    @Test
+    void executeInTransactionTest() {
+        assertTrue(connector.executeInTransaction(() -> {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(1, connector.execute(INSERT, "id-" + i, "data-" + i));
+            }
+            assertEquals(1, connector.execute(UPDATE, "updated", "id-3"));
+            assertEquals(1, connector.execute(REMOVE, "id-5"));
+
+            // uncommitted changes are visible within the transaction
+            assertEquals("updated", getData("id-3"));
+            assertEquals(9, connector.select(SELECT_ALL).size());
+        }));
+
+        assertEquals(9, connector.select(SELECT_ALL).size());
+        assertEquals("updated", getData("id-3"));
+    }
+
+    @Test
+    void executeInTransactionRollbackTest() {
+        connector.execute(INSERT, "id-1", "data");
+
+        assertFalse(connector.executeInTransaction(() -> {
+            assertEquals(1, connector.execute(INSERT, "id-0", "data"));
+            assertEquals(1, connector.execute(UPDATE, "updated", "id-1"));
+            // duplicate key
+            assertEquals(0, connector.execute(INSERT, "id-1", "duplicate"));
+        }));
+
+        assertEquals(1, connector.select(SELECT_ALL).size());
+        assertEquals("data", getData("id-1"));
+    }
+
+    @Test
+    void executeInTransactionExceptionTest() {
+        assertThrows(IllegalStateException.class, () -> connector.executeInTransaction(() -> {
+            connector.execute(INSERT, "id-0", "data");
+            throw new IllegalStateException("Failure");
+        }));
+        assertEquals(0, connector.select(SELECT_ALL).size());
+
+        // the connector is usable after the failure
+        assertEquals(1, connector.execute(INSERT, "id-0", "data"));
+    }
+
+    @Test
+    void nestedTransactionTest() {
+        assertTrue(connector.executeInTransaction(() -> {
+            connector.execute(INSERT, "id-0", "data");
+            assertTrue(connector.executeInTransaction(() -> connector.execute(INSERT, "id-1", "data")));
+        }));
+        assertEquals(2, connector.select(SELECT_ALL).size());
+    }
+
+    @Test
+    void writeBehindTest() throws Exception {
+        executorService = Executors.newSingleThreadExecutor();
+        connector.setWriteBehindExecutor(executorService);
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(0, connector.execute(INSERT, "id-" + i, "data-" + i));
+        }
+        connector.execute(UPDATE, "updated", "id-7");
+        connector.execute(REMOVE, "id-8");
+        connector.execute(INSERT, "id-8", "re-inserted");
+
+        connector.flush();
+        assertEquals(0, connector.getPendingWritesCount());
+
+        // the order of the operations is preserved
+        assertEquals(500, connector.select(SELECT_ALL).size());
+        assertEquals("updated", getData("id-7"));
+        assertEquals("re-inserted", getData("id-8"));
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void writeBehindFailureTest() throws Exception {
+        executorService = Executors.newSingleThreadExecutor();
+        // blocks the write-behind task, so the pending writes are persisted by flush() only
+        CountDownLatch latch = new CountDownLatch(1);
+        executorService.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        connector.setWriteBehindExecutor(executorService);
+        connector.setMaxWriteAttempts(2);
+
+        connector.execute(INSERT, "id-0", "data");
+        connector.execute(INSERT, "id-0", "duplicate");
+        connector.execute(INSERT, "id-1", "data");
+        assertEquals(3, connector.getPendingWritesCount());
+
+        // the failing write is isolated and kept for a retry
+        assertFalse(connector.flush());
+        assertEquals(1, connector.getPendingWritesCount());
+        assertEquals(0, connector.getDroppedWritesCount());
+        assertEquals(2, connector.select(SELECT_ALL).size());
+
+        // the failed write is dropped after the maximum number of attempts
+        assertFalse(connector.flush());
+        assertEquals(0, connector.getPendingWritesCount());
+        assertEquals(1, connector.getDroppedWritesCount());
+
+        assertTrue(connector.flush());
+        assertEquals(2, connector.select(SELECT_ALL).size());
+        assertEquals("data", getData("id-0"));
+
+        latch.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void writeBehindRetryTest() throws Exception {
+        executorService = Executors.newSingleThreadExecutor();
+        connector.setWriteBehindExecutor(executorService);
+        connector.setMaxWriteAttempts(3);
+
+        connector.execute(INSERT, "id-0", "data");
+        connector.execute(INSERT, "id-0", "duplicate");
+
+        // the failed write is retried by the executor, without a new write or a flush
+        long timeout = System.currentTimeMillis() + 10000;
+        while (connector.getDroppedWritesCount() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, connector.getDroppedWritesCount());
+        assertEquals(0, connector.getPendingWritesCount());
+        assertEquals("data", getData("id-0"));
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void writeBehindWithinTransactionTest() {
+        executorService = Executors.newSingleThreadExecutor();
+        connector.setWriteBehindExecutor(executorService);
+
+        // queries within a transaction are executed synchronously
+        assertTrue(connector.executeInTransaction(() -> assertEquals(1, connector.execute(INSERT, "id-0", "data"))));
+        assertEquals(0, connector.getPendingWritesCount());
+        assertEquals("data", getData("id-0"));
+    }
+
+    private String getData(String id) {
+        Collection<SqlRecord> records = connector.select(SELECT, id);
+        assertEquals(1, records.size());
+        return ((CacheEntry) records.iterator().next()).data;
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+        connector.setWriteBehindExecutor(null);
+        connector.executeThrowable(DROP_TABLE);
+    }
+
+    private static class CacheEntry implements SqlRecord {
+
+        private String id;
+
+        private String data;
+
+    }
+
+}
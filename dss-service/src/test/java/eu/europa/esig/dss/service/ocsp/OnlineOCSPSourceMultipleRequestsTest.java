@@ -0,0 +1,284 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.ocsp;
+
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.pki.jaxb.JAXBPKILoader;
+import eu.europa.esig.dss.pki.jaxb.PKIJaxbFacade;
+import eu.europa.esig.dss.pki.jaxb.model.JAXBCertEntityRepository;
+import eu.europa.esig.dss.pki.model.CertEntity;
+import eu.europa.esig.dss.pki.model.CertEntityRepository;
+import eu.europa.esig.dss.pki.x509.revocation.ocsp.PKIOCSPSource;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.validation.SignatureValidationContext;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.Req;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OnlineOCSPSourceMultipleRequestsTest {
+
+	private static final String GOOD_USER = "good-user";
+
+	private static JAXBCertEntityRepository certEntityRepository;
+
+	private Map<CertificateToken, CertificateToken> certificates;
+
+	@BeforeAll
+	static void initPKI() throws Exception {
+		certEntityRepository = new JAXBCertEntityRepository();
+		new JAXBPKILoader().persistPKI(certEntityRepository, PKIJaxbFacade.newFacade().unmarshall(
+				OnlineOCSPSourceMultipleRequestsTest.class.getResourceAsStream("/pki/good-pki.xml")));
+	}
+
+	@BeforeEach
+	void init() {
+		CertificateToken goodCa = getCertificate("good-ca");
+		certificates = new LinkedHashMap<>();
+		certificates.put(getCertificate(GOOD_USER), goodCa);
+		certificates.put(getCertificate("revoked-user"), goodCa);
+		certificates.put(getCertificate("good-ecdsa-user"), goodCa);
+		certificates.put(getCertificate("good-user-crl-ocsp"), goodCa);
+		certificates.put(getCertificate("good-user-expired-ca"), getCertificate("expired-ca"));
+		// no OCSP access point
+		certificates.put(getCertificate("good-user-no-revocation"), goodCa);
+	}
+
+	@Test
+	void multipleCertIDsTest() {
+		PKIResponderDataLoader dataLoader = new PKIResponderDataLoader(false);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(dataLoader);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificates);
+		assertEquals(5, ocspTokens.size());
+		// one request for the four certificates issued by good-ca, one for good-user-expired-ca
+		assertEquals(2, dataLoader.requestSizes.size());
+		assertEquals(4, dataLoader.requestSizes.get(0));
+		assertEquals(1, dataLoader.requestSizes.get(1));
+		checkTokens(ocspTokens);
+	}
+
+	@Test
+	void maxCertIDsPerRequestTest() {
+		PKIResponderDataLoader dataLoader = new PKIResponderDataLoader(false);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(dataLoader);
+		ocspSource.setMaxCertIDsPerRequest(3);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificates);
+		assertEquals(5, ocspTokens.size());
+		assertEquals(3, dataLoader.requestSizes.size());
+		assertEquals(3, dataLoader.requestSizes.get(0));
+		assertEquals(1, dataLoader.requestSizes.get(1));
+		assertEquals(1, dataLoader.requestSizes.get(2));
+		checkTokens(ocspTokens);
+	}
+
+	@Test
+	void fallbackToSingleRequestsTest() {
+		PKIResponderDataLoader dataLoader = new PKIResponderDataLoader(true);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(dataLoader);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificates);
+		assertEquals(5, ocspTokens.size());
+		// rejected multiple request, then one request per certificate
+		assertEquals(6, dataLoader.requestSizes.size());
+		assertEquals(4, dataLoader.requestSizes.get(0));
+		for (int i = 1; i < dataLoader.requestSizes.size(); i++) {
+			assertEquals(1, dataLoader.requestSizes.get(i));
+		}
+		checkTokens(ocspTokens);
+	}
+
+	@Test
+	void sameResponderForSeveralIssuersTest() {
+		PKIResponderDataLoader dataLoader = new PKIResponderDataLoader(false);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(dataLoader) {
+
+			private static final long serialVersionUID = -6392744012870337424L;
+
+			@Override
+			protected List<String> getOCSPAccessURLs(CertificateToken certificateToken, List<String> alternativeUrls) {
+				List<String> ocspAccessURLs = super.getOCSPAccessURLs(certificateToken, alternativeUrls);
+				return ocspAccessURLs.isEmpty() ? ocspAccessURLs : Collections.singletonList("http://ocsp.dss.test");
+			}
+
+		};
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificates);
+		assertEquals(5, ocspTokens.size());
+		// one request for the certificates issued by good-ca and expired-ca
+		assertEquals(1, dataLoader.requestSizes.size());
+		assertEquals(5, dataLoader.requestSizes.get(0));
+		assertEquals(CertificateStatus.GOOD, ocspTokens.get(getCertificate("good-user-expired-ca")).getStatus());
+		assertEquals(CertificateStatus.REVOKED, ocspTokens.get(getCertificate("revoked-user")).getStatus());
+	}
+
+	@Test
+	void validationContextTest() {
+		PKIResponderDataLoader dataLoader = new PKIResponderDataLoader(false);
+
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setOcspSource(new OnlineOCSPSource(dataLoader));
+		certificateVerifier.setCrlSource(null);
+		certificateVerifier.setAIASource(null);
+
+		CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+		trustedCertificateSource.addCertificate(getCertificate("good-ca"));
+		certificateVerifier.setTrustedCertSources(trustedCertificateSource);
+
+		SignatureValidationContext validationContext = new SignatureValidationContext();
+		validationContext.initialize(certificateVerifier);
+
+		// three chains sharing the same responder
+		List<CertificateToken> certificateTokens = Arrays.asList(getCertificate(GOOD_USER),
+				getCertificate("revoked-user"), getCertificate("good-ecdsa-user"));
+		for (CertificateToken certificateToken : certificateTokens) {
+			validationContext.addCertificateTokenForVerification(certificateToken);
+		}
+		validationContext.validate();
+
+		assertEquals(1, dataLoader.requestSizes.size());
+		assertEquals(3, dataLoader.requestSizes.get(0));
+		for (CertificateToken certificateToken : certificateTokens) {
+			assertEquals(1, validationContext.getRevocationData(certificateToken).size());
+		}
+		assertTrue(validationContext.checkCertificateNotRevoked(getCertificate(GOOD_USER)));
+		assertFalse(validationContext.checkCertificateNotRevoked(getCertificate("revoked-user")));
+	}
+
+	private void checkTokens(Map<CertificateToken, OCSPToken> ocspTokens) {
+		for (Map.Entry<CertificateToken, OCSPToken> entry : ocspTokens.entrySet()) {
+			OCSPToken ocspToken = entry.getValue();
+			assertNotNull(ocspToken.getSourceURL());
+			assertTrue(ocspToken.isSignedBy(certificates.get(entry.getKey())));
+			if (entry.getKey().equals(getCertificate("revoked-user"))) {
+				assertEquals(CertificateStatus.REVOKED, ocspToken.getStatus());
+			} else {
+				assertEquals(CertificateStatus.GOOD, ocspToken.getStatus());
+			}
+		}
+	}
+
+	private CertificateToken getCertificate(String alias) {
+		return certEntityRepository.getCertEntityBySubject(alias).getCertificateToken();
+	}
+
+	/**
+	 * Answers OCSP requests using a {@code PKIOCSPSource}
+	 */
+	private class PKIResponderDataLoader implements DataLoader {
+
+		private static final long serialVersionUID = 4153046389120386428L;
+
+		private final PKIOCSPResponder responder = new PKIOCSPResponder(certEntityRepository);
+
+		private final boolean rejectMultipleRequests;
+
+		private final List<Integer> requestSizes = new ArrayList<>();
+
+		private PKIResponderDataLoader(boolean rejectMultipleRequests) {
+			this.rejectMultipleRequests = rejectMultipleRequests;
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			try {
+				OCSPReq ocspReq = new OCSPReq(content);
+				Req[] requestList = ocspReq.getRequestList();
+				requestSizes.add(requestList.length);
+				if (rejectMultipleRequests && requestList.length > 1) {
+					return new OCSPRespBuilder().build(OCSPRespBuilder.MALFORMED_REQUEST, null).getEncoded();
+				}
+
+				List<CertificateToken> requestedCertificates = new ArrayList<>();
+				CertificateToken issuer = null;
+				for (Req req : requestList) {
+					for (Map.Entry<CertificateToken, CertificateToken> entry : certificates.entrySet()) {
+						if (DSSRevocationUtils.getOCSPCertificateID(entry.getKey(), entry.getValue(), DigestAlgorithm.SHA1)
+								.equals(req.getCertID())) {
+							requestedCertificates.add(entry.getKey());
+							issuer = entry.getValue();
+						}
+					}
+				}
+				return responder.buildOCSPResponse(requestedCertificates, issuer, ocspReq).getEncoded();
+
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public byte[] get(String url) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			// not used
+		}
+
+	}
+
+	private static class PKIOCSPResponder extends PKIOCSPSource {
+
+		private static final long serialVersionUID = -1209877146032146271L;
+
+		private PKIOCSPResponder(CertEntityRepository<? extends CertEntity> certEntityRepository) {
+			super(certEntityRepository);
+		}
+
+		@Override
+		protected OCSPResp buildOCSPResponse(List<CertificateToken> certificateTokens,
+				CertificateToken issuerCertificateToken, OCSPReq ocspReq) {
+			return super.buildOCSPResponse(certificateTokens, issuerCertificateToken, ocspReq);
+		}
+
+	}
+
+}
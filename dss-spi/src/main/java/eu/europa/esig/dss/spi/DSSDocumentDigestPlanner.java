@@ -0,0 +1,228 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class is used to plan the digest computation of {@code DSSDocument}s.
+ * <p>
+ * The components register the digest algorithms they will require for each document before processing,
+ * and {@link #execute()} computes all the registered digests of a document within a single read of its content,
+ * filling the digest cache of the document (see {@link CommonDocument#computeDigestValues(Collection)}).
+ * The digest values may then be obtained with {@link DSSDocument#getDigestValue(DigestAlgorithm)}
+ * without reading the document again.
+ * <p>
+ * NOTE: documents not extending {@code CommonDocument} are ignored, and their digests are computed on demand.
+ *
+ */
+public class DSSDocumentDigestPlanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DSSDocumentDigestPlanner.class);
+
+    /**
+     * Map between registered documents and the digest algorithms to be computed
+     */
+    private final Map<DSSDocument, Set<DigestAlgorithm>> plannedDigests = new IdentityHashMap<>();
+
+    /**
+     * Keeps the order of document registration
+     */
+    private final List<DSSDocument> documents = new ArrayList<>();
+
+    /**
+     * Default constructor
+     */
+    public DSSDocumentDigestPlanner() {
+        // empty
+    }
+
+    /**
+     * Registers a {@code digestAlgorithm} to be computed for the given {@code document}
+     *
+     * @param document {@link DSSDocument} to compute digest for
+     * @param digestAlgorithm {@link DigestAlgorithm} to be used
+     * @return this {@link DSSDocumentDigestPlanner}
+     */
+    public DSSDocumentDigestPlanner register(DSSDocument document, DigestAlgorithm digestAlgorithm) {
+        return register(document, Collections.singleton(digestAlgorithm));
+    }
+
+    /**
+     * Registers {@code digestAlgorithms} to be computed for the given {@code document}
+     *
+     * @param document {@link DSSDocument} to compute digest for
+     * @param digestAlgorithms a collection of {@link DigestAlgorithm}s to be used
+     * @return this {@link DSSDocumentDigestPlanner}
+     */
+    public DSSDocumentDigestPlanner register(DSSDocument document, Collection<DigestAlgorithm> digestAlgorithms) {
+        Objects.requireNonNull(document, "Document cannot be null!");
+        Objects.requireNonNull(digestAlgorithms, "DigestAlgorithms cannot be null!");
+        if (Utils.isCollectionEmpty(digestAlgorithms)) {
+            return this;
+        }
+        Set<DigestAlgorithm> documentDigestAlgorithms = plannedDigests.get(document);
+        if (documentDigestAlgorithms == null) {
+            documentDigestAlgorithms = EnumSet.noneOf(DigestAlgorithm.class);
+            plannedDigests.put(document, documentDigestAlgorithms);
+            documents.add(document);
+        }
+        for (DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+            Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+            documentDigestAlgorithms.add(digestAlgorithm);
+        }
+        return this;
+    }
+
+    /**
+     * Registers {@code digestAlgorithms} to be computed for each of the given {@code documents}
+     *
+     * @param documents a collection of {@link DSSDocument}s to compute digest for
+     * @param digestAlgorithms a collection of {@link DigestAlgorithm}s to be used
+     * @return this {@link DSSDocumentDigestPlanner}
+     */
+    public DSSDocumentDigestPlanner register(Collection<DSSDocument> documents, Collection<DigestAlgorithm> digestAlgorithms) {
+        if (Utils.isCollectionNotEmpty(documents)) {
+            for (DSSDocument document : documents) {
+                register(document, digestAlgorithms);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns a list of registered documents, in order of their registration
+     *
+     * @return a list of {@link DSSDocument}s
+     */
+    public List<DSSDocument> getDocuments() {
+        return Collections.unmodifiableList(documents);
+    }
+
+    /**
+     * Returns a set of digest algorithms registered for the given {@code document}
+     *
+     * @param document {@link DSSDocument}
+     * @return a set of {@link DigestAlgorithm}s
+     */
+    public Set<DigestAlgorithm> getDigestAlgorithms(DSSDocument document) {
+        Set<DigestAlgorithm> digestAlgorithms = plannedDigests.get(document);
+        return digestAlgorithms != null ? Collections.unmodifiableSet(digestAlgorithms) : Collections.emptySet();
+    }
+
+    /**
+     * Gets whether no digest computation has been registered
+     *
+     * @return TRUE if no digest computation is registered, FALSE otherwise
+     */
+    public boolean isEmpty() {
+        return documents.isEmpty();
+    }
+
+    /**
+     * Computes the registered digests, reading each document only once, and clears the registered plan.
+     * An error occurred on a document is logged and the corresponding digests are left to be computed on demand.
+     */
+    public void execute() {
+        execute(null);
+    }
+
+    /**
+     * Computes the registered digests, reading each document only once, and clears the registered plan.
+     * When an {@code executorService} is provided, the documents are processed concurrently
+     * (each document within a single task, as its digest cache is not thread-safe),
+     * and the method returns once all the documents have been processed.
+     * An error occurred on a document is logged and the corresponding digests are left to be computed on demand.
+     *
+     * @param executorService {@link ExecutorService} to process the documents with (optional)
+     */
+    public void execute(ExecutorService executorService) {
+        try {
+            if (executorService == null || documents.size() < 2) {
+                for (DSSDocument document : documents) {
+                    computeDigests(document, plannedDigests.get(document));
+                }
+            } else {
+                executeConcurrently(executorService);
+            }
+        } finally {
+            plannedDigests.clear();
+            documents.clear();
+        }
+    }
+
+    private void executeConcurrently(ExecutorService executorService) {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (DSSDocument document : documents) {
+            final Set<DigestAlgorithm> digestAlgorithms = plannedDigests.get(document);
+            futures.add(executorService.submit(() -> computeDigests(document, digestAlgorithms)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while computing digests of the documents. The digests will be computed on demand.");
+                for (Future<?> futureToCancel : futures) {
+                    futureToCancel.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // errors are handled within the task
+                LOG.debug("Unable to compute digests of a document : {}", e.getMessage());
+            }
+        }
+    }
+
+    private void computeDigests(DSSDocument document, Set<DigestAlgorithm> digestAlgorithms) {
+        if (document instanceof CommonDocument) {
+            try {
+                ((CommonDocument) document).computeDigestValues(digestAlgorithms);
+            } catch (Exception e) {
+                String errorMessage = "Unable to compute digests for a document with name '{}' : {}";
+                if (LOG.isDebugEnabled()) {
+                    LOG.warn(errorMessage, document.getName(), e.getMessage(), e);
+                } else {
+                    LOG.warn(errorMessage, document.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SeekableDSSDocument;
 import eu.europa.esig.dss.model.SignatureValue;
 import eu.europa.esig.dss.model.UserNotice;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
@@ -690,6 +691,9 @@ public final class DSSUtils {
 	 * @return long size of the given document
 	 */
 	public static long getFileByteSize(DSSDocument dssDocument) {
+		if (dssDocument instanceof SeekableDSSDocument) {
+			return ((SeekableDSSDocument) dssDocument).getLength();
+		}
 		try (InputStream is = dssDocument.openStream()) {
 			return Utils.getInputStreamSize(is);
 		} catch (IOException e) {
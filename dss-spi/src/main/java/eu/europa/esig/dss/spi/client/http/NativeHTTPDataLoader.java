@@ -21,7 +21,9 @@
 package eu.europa.esig.dss.spi.client.http;
 
 import eu.europa.esig.dss.model.http.ResponseEnvelope;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -172,13 +174,18 @@ public class NativeHTTPDataLoader implements DataLoader, AdvancedDataLoader {
 	 */
 	protected ResponseEnvelope request(String url, HttpMethod method, byte[] content, boolean refresh,
 									   boolean includeResponseDetails, boolean includeResponseBody) {
-		try {
+		final String host = DSSUtils.getHost(url);
+		final String httpMethod = String.valueOf(method);
+		try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.DATA_LOADER_REQUEST,
+				DSSMetrics.TAG_HOST, host, DSSMetrics.TAG_METHOD, httpMethod)) {
 			Callable<ResponseEnvelope> task = createNativeHTTPDataLoaderCall(
 					url, method, content, refresh, includeResponseDetails, includeResponseBody);
 			return task.call();
-		} catch (DSSExternalResourceException e) {
-			throw e;
 		} catch (Exception e) {
+			DSSMetrics.increment(DSSMetrics.DATA_LOADER_ERROR, DSSMetrics.TAG_HOST, host, DSSMetrics.TAG_METHOD, httpMethod);
+			if (e instanceof DSSExternalResourceException) {
+				throw (DSSExternalResourceException) e;
+			}
 			throw new DSSExternalResourceException(e);
 		}
 	}
@@ -32,12 +32,36 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class executes calls to a {@code javax.sql.DataSource}
+ * <p>
+ * By default, each call obtains its own connection and is committed in its own transaction.
+ * Several cache operations may be grouped within a single transaction using
+ * {@link #executeInTransaction(Runnable)}, in which case the connection and the prepared statements are
+ * reused by all the operations executed by the current thread. Several rows may be written within
+ * a single round-trip using {@link #executeBatch(SqlQuery, List)}.
+ * <p>
+ * When a write-behind {@code ExecutorService} is defined, the calls to {@link #execute(SqlQuery, Object...)}
+ * performed outside a transaction are queued and persisted asynchronously in batches, so the caller does not
+ * wait for the cache persistence. Note that a write-behind cache is eventually consistent: a record may not be
+ * returned by {@link #select(SqlSelectQuery, Object...)} until the pending writes are flushed.
+ * Use {@link #flush()} to persist the pending writes synchronously.
+ * When a batch fails, its writes are executed one by one, so only the failing writes are kept in the queue.
+ * These are retried by a new task submitted to the write-behind executor, up to {@code maxWriteAttempts} times,
+ * before being dropped (see {@link #getDroppedWritesCount()}).
  *
  */
 public class JdbcCacheConnector {
@@ -49,6 +73,42 @@ public class JdbcCacheConnector {
      */
     private final DataSource dataSource;
 
+    /**
+     * Contains the transaction opened by the current thread, if any
+     */
+    private final ThreadLocal<JdbcTransaction> currentTransaction = new ThreadLocal<>();
+
+    /**
+     * Contains the write queries awaiting to be persisted in the write-behind mode
+     */
+    private final Deque<PendingWrite> pendingWrites = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Counts the write queries dropped after exceeding the maximum number of attempts in the write-behind mode
+     */
+    private final AtomicLong droppedWritesCount = new AtomicLong();
+
+    /**
+     * Defines whether a write-behind task has been submitted and not yet completed
+     */
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+
+    /**
+     * Lock used to persist the pending writes sequentially
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * The executor used to persist the write queries asynchronously.
+     * When not defined, write queries are executed synchronously.
+     */
+    private ExecutorService writeBehindExecutor;
+
+    /**
+     * The maximum number of attempts to persist a write query in the write-behind mode
+     */
+    private int maxWriteAttempts = 3;
+
     /**
      * Default constructor
      *
@@ -64,11 +124,23 @@ public class JdbcCacheConnector {
      *
      * @param query {@link SqlQuery} the query
      * @param arguments an array of {@link Object}s, representing the query arguments
-     * @return number of rows concerned by the query
+     * @return number of rows concerned by the query.
+     *         NOTE: always returns 0 in the write-behind mode (outside a transaction),
+     *         as the query is only queued for an asynchronous execution
      */
     public int execute(final SqlQuery query, Object... arguments) {
         Objects.requireNonNull(query, "Query cannot be null!");
 
+        final JdbcTransaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            return executeWithinTransaction(transaction, query, arguments);
+        }
+        if (writeBehindExecutor != null) {
+            pendingWrites.add(new PendingWrite(query, arguments));
+            scheduleWrite();
+            return 0;
+        }
+
         Connection c = null;
         PreparedStatement s = null;
         try {
@@ -76,9 +148,7 @@ public class JdbcCacheConnector {
             c.setAutoCommit(false);
 
             s = c.prepareStatement(query.getQueryString());
-            for (int ii = 0; ii < arguments.length; ii++) {
-                s.setObject(ii + 1, arguments[ii]);
-            }
+            setArguments(s, arguments);
             int ii = s.executeUpdate();
             c.commit();
             LOG.debug("The query [{}] has been executed successfully", query);
@@ -94,6 +164,347 @@ public class JdbcCacheConnector {
         }
     }
 
+    private int executeWithinTransaction(final JdbcTransaction transaction, final SqlQuery query, Object... arguments) {
+        try {
+            PreparedStatement s = transaction.prepareStatement(query);
+            setArguments(s, arguments);
+            int ii = s.executeUpdate();
+            LOG.debug("The query [{}] has been executed successfully within the transaction", query);
+            return ii;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute the query [{}]. Reason : '{}'", query, e.getMessage(), e);
+            transaction.setRollbackOnly();
+            return 0;
+        }
+    }
+
+    /**
+     * This method executes the same INSERT, UPDATE or DELETE query for each of the given sets of arguments,
+     * within a single batch and transaction. The whole batch is rolled back in case of an error.
+     *
+     * @param query {@link SqlQuery} the query
+     * @param argumentsList a list of {@link Object} arrays, each representing the arguments of one query execution
+     * @return number of rows concerned by the batch, when reported by the driver
+     */
+    public int executeBatch(final SqlQuery query, final List<Object[]> argumentsList) {
+        Objects.requireNonNull(query, "Query cannot be null!");
+        if (argumentsList == null || argumentsList.isEmpty()) {
+            return 0;
+        }
+
+        final JdbcTransaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            try {
+                return executeBatch(transaction.prepareStatement(query), argumentsList);
+            } catch (final SQLException e) {
+                LOG.error("Unable to execute the batch query [{}]. Reason : '{}'", query, e.getMessage(), e);
+                transaction.setRollbackOnly();
+                return 0;
+            }
+        }
+
+        Connection c = null;
+        PreparedStatement s = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+
+            s = c.prepareStatement(query.getQueryString());
+            int result = executeBatch(s, argumentsList);
+            c.commit();
+            LOG.debug("The batch query [{}] has been executed successfully for {} entries", query, argumentsList.size());
+            return result;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute the batch query [{}]. Reason : '{}'", query, e.getMessage(), e);
+            rollback(c);
+            return 0;
+
+        } finally {
+            closeQuietly(c, s, null);
+        }
+    }
+
+    private int executeBatch(final PreparedStatement s, final List<Object[]> argumentsList) throws SQLException {
+        for (Object[] arguments : argumentsList) {
+            setArguments(s, arguments);
+            s.addBatch();
+        }
+        int result = 0;
+        for (int count : s.executeBatch()) {
+            if (count > 0) {
+                result += count;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method executes the given {@code operations} within a single transaction.
+     * All the queries performed by the current thread through this {@code JdbcCacheConnector} during
+     * the execution share the same connection and reuse the prepared statements. The transaction is committed
+     * when all the queries succeed, and rolled back otherwise.
+     * <p>
+     * When called within an existing transaction, the operations join the current transaction.
+     *
+     * @param operations {@link Runnable} the cache operations to be executed
+     * @return TRUE if the transaction has been committed, FALSE otherwise
+     */
+    public boolean executeInTransaction(final Runnable operations) {
+        Objects.requireNonNull(operations, "Operations cannot be null!");
+
+        final JdbcTransaction existingTransaction = currentTransaction.get();
+        if (existingTransaction != null) {
+            operations.run();
+            return !existingTransaction.isRollbackOnly();
+        }
+
+        Connection c = null;
+        JdbcTransaction transaction = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+
+            transaction = new JdbcTransaction(c);
+            currentTransaction.set(transaction);
+            try {
+                operations.run();
+            } finally {
+                currentTransaction.remove();
+            }
+
+            if (transaction.isRollbackOnly()) {
+                LOG.warn("One of the queries within the transaction failed.");
+                rollback(c);
+                return false;
+            }
+            c.commit();
+            LOG.debug("The transaction has been committed successfully");
+            return true;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute the transaction. Reason : '{}'", e.getMessage(), e);
+            rollback(c);
+            return false;
+
+        } catch (final RuntimeException e) {
+            rollback(c);
+            throw e;
+
+        } finally {
+            if (transaction != null) {
+                transaction.closeStatements();
+            }
+            closeQuietly(c, null, null);
+        }
+    }
+
+    /**
+     * Sets the executor used to persist the results of {@link #execute(SqlQuery, Object...)} asynchronously
+     * (write-behind mode). When defined, write queries executed outside a transaction are queued and written
+     * in batches within a single transaction, while the method returns immediately.
+     * <p>
+     * The executor is not shut down by this class.
+     * Default : null (the queries are executed synchronously)
+     *
+     * @param writeBehindExecutor {@link ExecutorService}
+     */
+    public void setWriteBehindExecutor(ExecutorService writeBehindExecutor) {
+        this.writeBehindExecutor = writeBehindExecutor;
+    }
+
+    /**
+     * Sets the maximum number of attempts to persist a write query queued in the write-behind mode.
+     * The failing writes are kept at the head of the queue and retried by a new task submitted
+     * to the write-behind executor. A write failing {@code maxWriteAttempts} times is dropped.
+     * <p>
+     * Default : 3
+     *
+     * @param maxWriteAttempts the maximum number of attempts, shall be positive
+     */
+    public void setMaxWriteAttempts(int maxWriteAttempts) {
+        if (maxWriteAttempts < 1) {
+            throw new IllegalArgumentException("The maximum number of write attempts shall be positive!");
+        }
+        this.maxWriteAttempts = maxWriteAttempts;
+    }
+
+    /**
+     * Persists synchronously the write queries queued in the write-behind mode, if any.
+     * The method returns when all the writes queued before the call are processed.
+     *
+     * @return TRUE if the pending writes have been persisted successfully, FALSE otherwise
+     *         (the failed writes are kept in the queue, unless the maximum number of attempts is reached)
+     */
+    public boolean flush() {
+        return writePending();
+    }
+
+    /**
+     * Returns number of the write queries queued in the write-behind mode and not yet persisted
+     *
+     * @return number of pending writes
+     */
+    public int getPendingWritesCount() {
+        return pendingWrites.size();
+    }
+
+    /**
+     * Returns number of the write queries queued in the write-behind mode and dropped, as they could not be persisted
+     * within the maximum number of attempts
+     *
+     * @return number of dropped writes
+     */
+    public long getDroppedWritesCount() {
+        return droppedWritesCount.get();
+    }
+
+    private void scheduleWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            writeBehindExecutor.execute(() -> {
+                try {
+                    writePending();
+                } finally {
+                    writeScheduled.set(false);
+                    // new or failed writes, the number of attempts of a failed write is limited by maxWriteAttempts
+                    if (!pendingWrites.isEmpty() && writeBehindExecutor != null) {
+                        scheduleWrite();
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean writePending() {
+        synchronized (writeLock) {
+            final List<PendingWrite> writes = new ArrayList<>();
+            PendingWrite pendingWrite;
+            while ((pendingWrite = pendingWrites.poll()) != null) {
+                writes.add(pendingWrite);
+            }
+            if (writes.isEmpty() || writeBatch(writes)) {
+                return true;
+            }
+            final List<PendingWrite> failedWrites = writeOneByOne(writes);
+            if (failedWrites.isEmpty()) {
+                return true;
+            }
+            requeue(failedWrites);
+            return false;
+        }
+    }
+
+    /**
+     * Executes the writes of a failed batch one by one, each within its own transaction,
+     * in order to isolate the failing writes
+     *
+     * @param writes a list of {@link PendingWrite}s
+     * @return a list of {@link PendingWrite}s which failed
+     */
+    private List<PendingWrite> writeOneByOne(final List<PendingWrite> writes) {
+        final List<PendingWrite> failedWrites = new ArrayList<>();
+        Connection c = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+
+            for (PendingWrite write : writes) {
+                try (PreparedStatement s = c.prepareStatement(write.query.getQueryString())) {
+                    setArguments(s, write.arguments);
+                    s.executeUpdate();
+                    c.commit();
+                } catch (final SQLException e) {
+                    LOG.warn("Unable to persist the pending write query [{}]. Reason : '{}'", write.query, e.getMessage());
+                    rollback(c);
+                    failedWrites.add(write);
+                }
+            }
+            LOG.debug("{} of {} pending write queries have been persisted one by one",
+                    writes.size() - failedWrites.size(), writes.size());
+            return failedWrites;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to persist {} pending write queries. Reason : '{}'", writes.size(), e.getMessage(), e);
+            return writes;
+
+        } finally {
+            closeQuietly(c, null, null);
+        }
+    }
+
+    /**
+     * Puts the failed writes back to the head of the queue, in their original order,
+     * or drops them when the maximum number of attempts is reached
+     *
+     * @param writes a list of failed {@link PendingWrite}s
+     */
+    private void requeue(final List<PendingWrite> writes) {
+        int dropped = 0;
+        for (int i = writes.size() - 1; i >= 0; i--) {
+            final PendingWrite write = writes.get(i);
+            if (++write.attempts < maxWriteAttempts) {
+                pendingWrites.addFirst(write);
+            } else {
+                ++dropped;
+            }
+        }
+        if (dropped > 0) {
+            droppedWritesCount.addAndGet(dropped);
+            LOG.error("{} pending write queries have been dropped after {} failed attempts.", dropped, maxWriteAttempts);
+        }
+    }
+
+    /**
+     * Writes the queued queries within a single transaction, by grouping successive executions of the same query
+     * in a batch, so that the order of the operations is preserved
+     *
+     * @param writes a list of {@link PendingWrite}s
+     * @return TRUE if the writes have been persisted successfully, FALSE otherwise
+     */
+    private boolean writeBatch(final List<PendingWrite> writes) {
+        Connection c = null;
+        JdbcTransaction transaction = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+            transaction = new JdbcTransaction(c);
+
+            int ii = 0;
+            while (ii < writes.size()) {
+                final SqlQuery query = writes.get(ii).query;
+                final List<Object[]> argumentsList = new ArrayList<>();
+                while (ii < writes.size() && query.getQueryString().equals(writes.get(ii).query.getQueryString())) {
+                    argumentsList.add(writes.get(ii).arguments);
+                    ii++;
+                }
+                executeBatch(transaction.prepareStatement(query), argumentsList);
+            }
+            c.commit();
+            LOG.debug("{} pending write queries have been persisted successfully", writes.size());
+            return true;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to persist {} pending write queries. Reason : '{}'", writes.size(), e.getMessage(), e);
+            rollback(c);
+            return false;
+
+        } finally {
+            if (transaction != null) {
+                transaction.closeStatements();
+            }
+            closeQuietly(c, null, null);
+        }
+    }
+
+    private void setArguments(final PreparedStatement s, final Object[] arguments) throws SQLException {
+        if (arguments != null) {
+            for (int ii = 0; ii < arguments.length; ii++) {
+                s.setObject(ii + 1, arguments[ii]);
+            }
+        }
+    }
+
     /**
      * This method executes the query and returns a collection of selected objects
      *
@@ -102,6 +513,11 @@ public class JdbcCacheConnector {
      * @return a collection of {@link SqlRecord}s
      */
     public Collection<SqlRecord> select(final SqlSelectQuery selectQuery, Object... arguments) {
+        final JdbcTransaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            return selectInTransaction(transaction, selectQuery, arguments);
+        }
+
         Connection c = null;
         PreparedStatement s = null;
         ResultSet rs = null;
@@ -110,9 +526,7 @@ public class JdbcCacheConnector {
             c.setAutoCommit(false);
 
             s = c.prepareStatement(selectQuery.getQueryString());
-            for (int ii = 0; ii < arguments.length; ii++) {
-                s.setObject(ii + 1, arguments[ii]);
-            }
+            setArguments(s, arguments);
             rs = s.executeQuery();
 
             final Collection<SqlRecord> records = selectQuery.getRecords(rs);
@@ -131,6 +545,27 @@ public class JdbcCacheConnector {
         }
     }
 
+    private Collection<SqlRecord> selectInTransaction(final JdbcTransaction transaction,
+                                                      final SqlSelectQuery selectQuery, Object... arguments) {
+        ResultSet rs = null;
+        try {
+            PreparedStatement s = transaction.prepareStatement(selectQuery);
+            setArguments(s, arguments);
+            rs = s.executeQuery();
+            final Collection<SqlRecord> records = selectQuery.getRecords(rs);
+            LOG.debug("The SELECT query [{}] has been executed successfully within the transaction.", selectQuery);
+            return records;
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute query [{}]. Reason : {}", selectQuery, e.getMessage(), e);
+            transaction.setRollbackOnly();
+            return Collections.emptySet();
+
+        } finally {
+            closeQuietly(rs);
+        }
+    }
+
     /**
      * This method allows table creation, removal and existence check
      *
@@ -265,4 +700,106 @@ public class JdbcCacheConnector {
         }
     }
 
+    /**
+     * Represents a transaction opened by a thread, reusing the prepared statements for the same query
+     */
+    private static class JdbcTransaction {
+
+        /**
+         * The connection of the transaction
+         */
+        private final Connection connection;
+
+        /**
+         * Map between query strings and the corresponding prepared statements
+         */
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        /**
+         * Defines whether one of the queries failed and the transaction shall be rolled back
+         */
+        private boolean rollbackOnly;
+
+        /**
+         * Default constructor
+         *
+         * @param connection {@link Connection}
+         */
+        private JdbcTransaction(final Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Returns a prepared statement for the given query, reusing the statement prepared previously
+         * within the transaction, when available
+         *
+         * @param query {@link SqlQuery}
+         * @return {@link PreparedStatement}
+         * @throws SQLException if an error occurs
+         */
+        private PreparedStatement prepareStatement(final SqlQuery query) throws SQLException {
+            PreparedStatement s = statements.get(query.getQueryString());
+            if (s == null) {
+                s = connection.prepareStatement(query.getQueryString());
+                statements.put(query.getQueryString(), s);
+            } else {
+                s.clearParameters();
+            }
+            return s;
+        }
+
+        private void setRollbackOnly() {
+            this.rollbackOnly = true;
+        }
+
+        private boolean isRollbackOnly() {
+            return rollbackOnly;
+        }
+
+        private void closeStatements() {
+            for (PreparedStatement s : statements.values()) {
+                try {
+                    s.close();
+                } catch (final SQLException e) {
+                    // purposely empty
+                }
+            }
+            statements.clear();
+        }
+
+    }
+
+    /**
+     * Represents a write query queued in the write-behind mode
+     */
+    private static class PendingWrite {
+
+        /**
+         * The query to be executed
+         */
+        private final SqlQuery query;
+
+        /**
+         * The arguments of the query
+         */
+        private final Object[] arguments;
+
+        /**
+         * The number of failed attempts to persist the query
+         */
+        private int attempts;
+
+        /**
+         * Default constructor
+         *
+         * @param query {@link SqlQuery}
+         * @param arguments an array of {@link Object}s
+         */
+        private PendingWrite(final SqlQuery query, final Object[] arguments) {
+            this.query = query;
+            this.arguments = arguments;
+        }
+
+    }
+
 }
@@ -0,0 +1,304 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.metrics;
+
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Entry point used by DSS to emit counters and timers to the registered {@code MetricsCollector}s.
+ * <p>
+ * The collectors are loaded with {@code java.util.ServiceLoader} on the class initialization and
+ * can be added/removed at runtime. When no collector is registered, all the methods are no-op
+ * and the durations are not even measured.
+ * <p>
+ * Tags are provided as key/value pairs, e.g. {@code DSSMetrics.increment(name, DSSMetrics.TAG_HOST, "ocsp.example.com")}.
+ *
+ */
+public final class DSSMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DSSMetrics.class);
+
+    /** Timer of the requests performed by the online data loaders. Tags : {@code host}, {@code method} */
+    public static final String DATA_LOADER_REQUEST = "dss.dataloader.request";
+
+    /** Counter of the failed requests performed by the online data loaders. Tags : {@code host}, {@code method} */
+    public static final String DATA_LOADER_ERROR = "dss.dataloader.error";
+
+    /** Counter of the revocation data found in a repository (cache). Tags : {@code source} */
+    public static final String REVOCATION_REPOSITORY_HIT = "dss.revocation.repository.hit";
+
+    /** Counter of the revocation data not found (or expired) in a repository (cache). Tags : {@code source} */
+    public static final String REVOCATION_REPOSITORY_MISS = "dss.revocation.repository.miss";
+
+    /** Counter of the revocation data inserted into a repository (cache). Tags : {@code source} */
+    public static final String REVOCATION_REPOSITORY_INSERT = "dss.revocation.repository.insert";
+
+    /** Counter of the revocation data updated within a repository (cache). Tags : {@code source} */
+    public static final String REVOCATION_REPOSITORY_UPDATE = "dss.revocation.repository.update";
+
+    /** Counter of the state transitions of the trusted lists cache entries. Tags : {@code cache}, {@code state} */
+    public static final String TL_CACHE_STATE = "dss.tl.cache.state";
+
+    /** Timer of the document validation phases. Tags : {@code phase} (see PHASE_* constants) */
+    public static final String VALIDATION_PHASE = "dss.validation.phase";
+
+    /** Timer of the signature creation phases. Tags : {@code format}, {@code phase} (see PHASE_* constants) */
+    public static final String SIGNATURE_PHASE = "dss.signature.phase";
+
+    /** Tag containing the host name of a remote resource */
+    public static final String TAG_HOST = "host";
+
+    /** Tag containing the method of a request (e.g. GET, POST) */
+    public static final String TAG_METHOD = "method";
+
+    /** Tag containing the name of the source emitting the event */
+    public static final String TAG_SOURCE = "source";
+
+    /** Tag containing the name of a cache */
+    public static final String TAG_CACHE = "cache";
+
+    /** Tag containing a state */
+    public static final String TAG_STATE = "state";
+
+    /** Tag containing the name of a processing phase */
+    public static final String TAG_PHASE = "phase";
+
+    /** Tag containing the signature format */
+    public static final String TAG_FORMAT = "format";
+
+    /** Phase : the complete document validation */
+    public static final String PHASE_TOTAL = "total";
+
+    /** Phase : the validation of the tokens, including the retrieval of the revocation data */
+    public static final String PHASE_VALIDATION_CONTEXT = "validation-context";
+
+    /** Phase : the building of the diagnostic data */
+    public static final String PHASE_DIAGNOSTIC_DATA = "diagnostic-data";
+
+    /** Phase : the execution of the validation process and the reports building */
+    public static final String PHASE_PROCESS_EXECUTION = "process-execution";
+
+    /** Phase : the creation of a B-level signature */
+    public static final String PHASE_CREATION = "creation";
+
+    /** Phase : the extension of a signature to the target level */
+    public static final String PHASE_EXTENSION = "extension";
+
+    /** The value used when a tag value cannot be determined */
+    private static final String UNKNOWN = "unknown";
+
+    /** The registered collectors */
+    private static final List<MetricsCollector> COLLECTORS = new CopyOnWriteArrayList<>();
+
+    /** The timer instance used when no collector is registered */
+    private static final Timer NO_OP_TIMER = new Timer(null, null, 0);
+
+    static {
+        try {
+            Iterator<MetricsCollector> iterator = ServiceLoader.load(MetricsCollector.class).iterator();
+            while (iterator.hasNext()) {
+                MetricsCollector collector = iterator.next();
+                LOG.debug("MetricsCollector '{}' is loaded.", collector.getClass().getName());
+                COLLECTORS.add(collector);
+            }
+        } catch (ServiceConfigurationError e) {
+            LOG.warn("Unable to load a MetricsCollector : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Utils class
+     */
+    private DSSMetrics() {
+        // empty
+    }
+
+    /**
+     * Registers a new collector
+     *
+     * @param collector {@link MetricsCollector} to add
+     */
+    public static void register(MetricsCollector collector) {
+        Objects.requireNonNull(collector, "MetricsCollector cannot be null!");
+        COLLECTORS.add(collector);
+    }
+
+    /**
+     * Removes a registered collector
+     *
+     * @param collector {@link MetricsCollector} to remove
+     * @return TRUE if the collector has been removed, FALSE if it was not registered
+     */
+    public static boolean unregister(MetricsCollector collector) {
+        return COLLECTORS.remove(collector);
+    }
+
+    /**
+     * Gets the registered collectors
+     *
+     * @return an unmodifiable list of {@link MetricsCollector}s
+     */
+    public static List<MetricsCollector> getCollectors() {
+        return Collections.unmodifiableList(COLLECTORS);
+    }
+
+    /**
+     * Returns whether at least one collector is registered
+     *
+     * @return TRUE if the metrics are collected, FALSE otherwise
+     */
+    public static boolean isEnabled() {
+        return !COLLECTORS.isEmpty();
+    }
+
+    /**
+     * Increments the counter with the given {@code name}
+     *
+     * @param name {@link String} name of the counter
+     * @param tags key/value pairs of tags
+     */
+    public static void increment(String name, String... tags) {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<String, String> tagsMap = toMap(tags);
+        for (MetricsCollector collector : COLLECTORS) {
+            try {
+                collector.incrementCounter(name, tagsMap);
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to increment the counter '{}' with the collector '{}' : {}",
+                        name, collector.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records a duration for the timer with the given {@code name}
+     *
+     * @param name {@link String} name of the timer
+     * @param durationNanos the duration in nanoseconds
+     * @param tags key/value pairs of tags
+     */
+    public static void recordTime(String name, long durationNanos, String... tags) {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<String, String> tagsMap = toMap(tags);
+        for (MetricsCollector collector : COLLECTORS) {
+            try {
+                collector.recordTime(name, durationNanos, tagsMap);
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to record the time '{}' with the collector '{}' : {}",
+                        name, collector.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts a timer, which records the elapsed time on {@code stop()} or {@code close()}.
+     * Intended to be used within a try-with-resources block.
+     *
+     * @param name {@link String} name of the timer
+     * @param tags key/value pairs of tags
+     * @return {@link Timer}
+     */
+    public static Timer startTimer(String name, String... tags) {
+        if (!isEnabled()) {
+            return NO_OP_TIMER;
+        }
+        return new Timer(name, tags, System.nanoTime());
+    }
+
+    private static Map<String, String> toMap(String... tags) {
+        if (tags == null || tags.length == 0) {
+            return Collections.emptyMap();
+        }
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags shall be provided as key/value pairs!");
+        }
+        Map<String, String> tagsMap = new LinkedHashMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            tagsMap.put(tags[i], Utils.isStringNotEmpty(tags[i + 1]) ? tags[i + 1] : UNKNOWN);
+        }
+        return Collections.unmodifiableMap(tagsMap);
+    }
+
+    /**
+     * Measures the time elapsed since its creation
+     */
+    public static final class Timer implements AutoCloseable {
+
+        /** Name of the timer */
+        private final String name;
+
+        /** Tags of the timer */
+        private final String[] tags;
+
+        /** The start time in nanoseconds */
+        private final long startTime;
+
+        /** Whether the time has been recorded */
+        private boolean stopped;
+
+        /**
+         * Default constructor
+         *
+         * @param name {@link String} name of the timer, NULL for a no-op timer
+         * @param tags key/value pairs of tags
+         * @param startTime the start time in nanoseconds
+         */
+        private Timer(String name, String[] tags, long startTime) {
+            this.name = name;
+            this.tags = tags;
+            this.startTime = startTime;
+        }
+
+        /**
+         * Records the elapsed time. The subsequent calls have no effect.
+         */
+        public void stop() {
+            if (name == null || stopped) {
+                return;
+            }
+            stopped = true;
+            recordTime(name, System.nanoTime() - startTime, tags);
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.metrics;
+
+import java.util.Map;
+
+/**
+ * The instrumentation SPI, receiving the counters and timers emitted by DSS
+ * (e.g. data loader calls, revocation repository hits/misses, validation and signing phases).
+ * <p>
+ * The implementations are discovered with {@code java.util.ServiceLoader}
+ * (declared in META-INF/services/eu.europa.esig.dss.spi.metrics.MetricsCollector)
+ * or registered programmatically with {@code DSSMetrics.register(collector)}.
+ * This allows to bridge the DSS events to any metrics library, without adding a dependency to DSS.
+ * <p>
+ * NOTE: the methods are called from the processing threads, therefore the implementations
+ * shall be thread-safe and shall return quickly.
+ *
+ * @see DSSMetrics for the names of the emitted metrics and their tags
+ */
+public interface MetricsCollector {
+
+    /**
+     * Increments the counter with the given {@code name}
+     *
+     * @param name {@link String} name of the counter
+     * @param tags a map of tag keys and values qualifying the event (e.g. host, state), can be empty
+     */
+    void incrementCounter(String name, Map<String, String> tags);
+
+    /**
+     * Records a duration for the timer with the given {@code name}
+     *
+     * @param name {@link String} name of the timer
+     * @param durationNanos the measured duration in nanoseconds
+     * @param tags a map of tag keys and values qualifying the event (e.g. host, phase), can be empty
+     */
+    void recordTime(String name, long durationNanos, Map<String, String> tags);
+
+}
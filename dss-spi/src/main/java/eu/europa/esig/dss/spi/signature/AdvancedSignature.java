@@ -54,8 +54,10 @@ import eu.europa.esig.dss.spi.x509.tsp.TimestampSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Provides an abstraction for an Advanced Electronic Signature. This ease the validation process. Every signature
@@ -84,6 +86,18 @@ public interface AdvancedSignature extends IdentifierBasedObject, Serializable {
 	 */
 	List<DSSDocument> getDetachedContents();
 
+	/**
+	 * Returns a set of digest algorithms used by the signature to digest its detached contents.
+	 * The digests for the returned algorithms may be computed within a single read of each document
+	 * before the validation (see {@code eu.europa.esig.dss.spi.DSSDocumentDigestPlanner}).
+	 *
+	 * @return a set of {@link DigestAlgorithm}s, empty when the digests are computed on demand
+	 */
+	default Set<DigestAlgorithm> getDetachedContentsDigestAlgorithms() {
+		// computed on demand by default
+		return Collections.emptySet();
+	}
+
 	/**
 	 * This method allows to set the signed contents in the case of the detached signature.
 	 *
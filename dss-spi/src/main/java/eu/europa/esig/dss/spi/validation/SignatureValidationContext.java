@@ -53,6 +53,7 @@ import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSourceMultipleCertificatesSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampTokenComparator;
@@ -68,6 +69,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -158,6 +160,15 @@ public class SignatureValidationContext implements ValidationContext {
 	/** External CRL source */
 	private RevocationSource<CRL> remoteCRLSource;
 
+	/**
+	 * OCSP tokens retrieved together for several certificates of a chain, when supported by {@code remoteOCSPSource}
+	 * (a null value is stored when no token has been obtained for the certificate)
+	 */
+	private final Map<CertificateToken, OCSPToken> prefetchedOCSPTokens = new HashMap<>();
+
+	/** Certificates for which an OCSP token has been already requested from {@code remoteOCSPSource} */
+	private final Set<CertificateToken> ocspRequestedCertificates = new HashSet<>();
+
 	/** Used to build a strategy deciding how to retrieve a revocation data (e.g. CRL or OCSP) */
 	private RevocationDataLoadingStrategyFactory revocationDataLoadingStrategyFactory;
 
@@ -973,6 +984,8 @@ public class SignatureValidationContext implements ValidationContext {
 
 	@Override
 	public void validate() {
+		prefetchOCSPTokens(getNotYetVerifiedCertChains());
+
 		TimestampToken timestampToken = getNotYetVerifiedTimestamp();
 		while (timestampToken != null) {
 			validateTimestamp(timestampToken);
@@ -999,6 +1012,7 @@ public class SignatureValidationContext implements ValidationContext {
 	private void validateToken(Token token) {
 		// extract the certificate chain and add missing tokens for verification
 		List<Token> certChain = getCertChain(token);
+		prefetchOCSPTokens(Collections.singletonList(certChain));
 		if (Utils.collectionSize(certChain) > 1) { // ensure certificate chain is processed
 			Token certChainToken = getNotYetVerifiedTokenFromChain(certChain);
 			if (certChainToken != null) {
@@ -1068,6 +1082,7 @@ public class SignatureValidationContext implements ValidationContext {
 			if (checkRevocationForUntrustedChains || containsTrustAnchor(certChain)) {
 				LOG.trace("Revocation update is in progress for certificate : {}", certToken.getDSSIdAsString());
 				CertificateToken trustAnchor = (CertificateToken) getFirstTrustAnchor(certChain);
+				ocspRequestedCertificates.add(certToken);
 
 				// Fetch OCSP or CRL from online sources
 				final RevocationToken<?> onlineRevocationToken = getRevocationToken(certToken, issuerToken, trustAnchor);
@@ -1148,6 +1163,101 @@ public class SignatureValidationContext implements ValidationContext {
 		}
 	}
 
+	/**
+	 * Returns certificate chains of all tokens added for verification and not yet verified
+	 *
+	 * @return a list of certificate chains
+	 */
+	private List<List<Token>> getNotYetVerifiedCertChains() {
+		final List<Token> tokens = new ArrayList<>();
+		synchronized (tokensToProcess) {
+			for (final Entry<Token, Boolean> entry : tokensToProcess.entrySet()) {
+				if (!Boolean.TRUE.equals(entry.getValue())) {
+					tokens.add(entry.getKey());
+				}
+			}
+		}
+		final List<List<Token>> certChains = new ArrayList<>();
+		for (Token token : tokens) {
+			certChains.add(getCertChain(token));
+		}
+		return certChains;
+	}
+
+	/**
+	 * Retrieves OCSP tokens with a single call for all certificates of the given chains requiring an online
+	 * revocation check, when {@code remoteOCSPSource} supports it and OCSP is requested first.
+	 * The chains of all signatures and timestamps of the context are processed together on validation,
+	 * so the source is able to group the certificates of different chains sharing the same OCSP responder.
+	 * The obtained tokens are used instead of individual OCSP requests on revocation data retrieving.
+	 *
+	 * @param certChains a list of complete certificate chains
+	 */
+	private void prefetchOCSPTokens(List<List<Token>> certChains) {
+		if (!(remoteOCSPSource instanceof OCSPSourceMultipleCertificatesSupport) ||
+				!(revocationDataLoadingStrategyFactory instanceof OCSPFirstRevocationDataLoadingStrategyFactory)) {
+			return;
+		}
+
+		final Map<CertificateToken, CertificateToken> certificateIssuerMap = new LinkedHashMap<>();
+		for (List<Token> certChain : certChains) {
+			if (!checkRevocationForUntrustedChains && !containsTrustAnchor(certChain)) {
+				continue;
+			}
+			CertificateToken trustAnchor = (CertificateToken) getFirstTrustAnchor(certChain);
+			if (trustAnchor != null && !trustedCertSources.isEmpty() && Utils.isCollectionNotEmpty(getAlternativeOCSPUrls(trustAnchor))) {
+				// alternative access points are requested individually
+				continue;
+			}
+			for (Token token : certChain) {
+				if (token instanceof CertificateToken && !ocspRequestedCertificates.contains(token)
+						&& !certificateIssuerMap.containsKey(token)) {
+					CertificateToken certificateToken = (CertificateToken) token;
+					CertificateToken issuerToken = getIssuer(certificateToken);
+					if (issuerToken != null && isOnlineRevocationDataRequired(certificateToken, issuerToken)) {
+						certificateIssuerMap.put(certificateToken, issuerToken);
+					}
+				}
+			}
+		}
+		if (certificateIssuerMap.size() < 2) {
+			return;
+		}
+
+		final Map<CertificateToken, OCSPToken> ocspTokens;
+		try {
+			ocspTokens = ((OCSPSourceMultipleCertificatesSupport) remoteOCSPSource).getRevocationTokens(certificateIssuerMap);
+		} catch (Exception e) {
+			LOG.warn("Unable to retrieve OCSP tokens for {} certificates at once : {}. " +
+					"The certificates will be requested individually.", certificateIssuerMap.size(), e.getMessage());
+			return;
+		}
+		for (CertificateToken certificateToken : certificateIssuerMap.keySet()) {
+			ocspRequestedCertificates.add(certificateToken);
+			prefetchedOCSPTokens.put(certificateToken, ocspTokens.get(certificateToken));
+		}
+	}
+
+	/**
+	 * Checks whether the certificate has neither embedded nor already processed revocation data,
+	 * and that the revocation data is required
+	 */
+	private boolean isOnlineRevocationDataRequired(CertificateToken certToken, CertificateToken issuerToken) {
+		if (isRevocationDataNotRequired(certToken, getLowestPOETime(certToken))) {
+			return false;
+		}
+		if (Utils.isCollectionNotEmpty(documentCRLSource.getRevocationTokens(certToken, issuerToken)) ||
+				Utils.isCollectionNotEmpty(documentOCSPSource.getRevocationTokens(certToken, issuerToken))) {
+			return false;
+		}
+		for (RevocationToken<?> revocationToken : processedRevocations) {
+			if (Utils.areStringsEqual(certToken.getDSSIdAsString(), revocationToken.getRelatedCertificateId())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private RevocationToken<?> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificate,
 												  CertificateToken trustAnchor) {
 		// configure the CompositeRevocationSource
@@ -1163,6 +1273,10 @@ public class SignatureValidationContext implements ValidationContext {
 			currentCRLSource = remoteCRLSource;
 		}
 
+		if (currentOCSPSource == remoteOCSPSource && prefetchedOCSPTokens.containsKey(certificateToken)) {
+			currentOCSPSource = new PrefetchedOCSPSource(certificateToken, prefetchedOCSPTokens.remove(certificateToken), currentOCSPSource);
+		}
+
 		// fetch the data
 		final RevocationDataLoadingStrategy revocationDataLoadingStrategy = revocationDataLoadingStrategyFactory.create();
 		revocationDataLoadingStrategy.setCrlSource(currentCRLSource);
@@ -1952,4 +2066,43 @@ public class SignatureValidationContext implements ValidationContext {
 
 	}
 
+	/**
+	 * Returns the OCSP token obtained in advance for the given certificate, and delegates other calls
+	 */
+	private static class PrefetchedOCSPSource implements RevocationSource<OCSP> {
+
+		private static final long serialVersionUID = 4318741985137683436L;
+
+		/** The certificate the OCSP token has been obtained for */
+		private final CertificateToken certificateToken;
+
+		/** The obtained OCSP token (null if no token has been obtained) */
+		private final OCSPToken ocspToken;
+
+		/** The OCSP source to be used for other certificates */
+		private final RevocationSource<OCSP> ocspSource;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param certificateToken {@link CertificateToken}
+		 * @param ocspToken {@link OCSPToken} obtained for {@code certificateToken}, can be null
+		 * @param ocspSource {@link RevocationSource} to be used for other certificates
+		 */
+		private PrefetchedOCSPSource(CertificateToken certificateToken, OCSPToken ocspToken, RevocationSource<OCSP> ocspSource) {
+			this.certificateToken = certificateToken;
+			this.ocspToken = ocspToken;
+			this.ocspSource = ocspSource;
+		}
+
+		@Override
+		public RevocationToken<OCSP> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			if (this.certificateToken.equals(certificateToken)) {
+				return ocspToken;
+			}
+			return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		}
+
+	}
+
 }
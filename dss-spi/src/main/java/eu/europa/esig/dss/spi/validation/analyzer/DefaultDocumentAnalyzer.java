@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.spi.validation.analyzer;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.TimestampedObjectType;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
@@ -30,6 +31,7 @@ import eu.europa.esig.dss.model.identifier.TokenIdentifierProvider;
 import eu.europa.esig.dss.model.scope.SignatureScope;
 import eu.europa.esig.dss.model.signature.SignaturePolicy;
 import eu.europa.esig.dss.model.signature.SignaturePolicyValidationResult;
+import eu.europa.esig.dss.spi.DSSDocumentDigestPlanner;
 import eu.europa.esig.dss.spi.DSSSecurityProvider;
 import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.spi.policy.DefaultSignaturePolicyValidatorLoader;
@@ -65,6 +67,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class contains a common code for processing of signed documents
@@ -143,6 +146,12 @@ public abstract class DefaultDocumentAnalyzer implements DocumentAnalyzer {
      */
     private SignaturePolicyValidatorLoader signaturePolicyValidatorLoader;
 
+    /**
+     * Digest algorithms to be computed on the signed documents in addition to the ones used by the signatures
+     * (e.g. the digest algorithm used within the diagnostic data)
+     */
+    private Collection<DigestAlgorithm> documentDigestAlgorithms = Collections.emptyList();
+
     /**
      * Cached list of signatures extracted from the document
      */
@@ -254,6 +263,18 @@ public abstract class DefaultDocumentAnalyzer implements DocumentAnalyzer {
         this.manifestFile = manifestFile;
     }
 
+    /**
+     * Sets the digest algorithms to be computed on the signed documents, in addition to the ones used
+     * by the signatures (e.g. the digest algorithm used within the diagnostic data).
+     * The digests are computed within the same read of the document as the digests required by the signatures.
+     *
+     * @param documentDigestAlgorithms a collection of {@link DigestAlgorithm}s
+     */
+    public void setDocumentDigestAlgorithms(Collection<DigestAlgorithm> documentDigestAlgorithms) {
+        Objects.requireNonNull(documentDigestAlgorithms, "DigestAlgorithms cannot be null!");
+        this.documentDigestAlgorithms = documentDigestAlgorithms;
+    }
+
     /**
      * Returns validation time In case if the validation time is not provided,
      * initialize the current time value from the system
@@ -319,6 +340,8 @@ public abstract class DefaultDocumentAnalyzer implements DocumentAnalyzer {
         List<TimestampToken> allDetachedTimestamps = getDetachedTimestamps();
         List<EvidenceRecord> allDetachedEvidenceRecords = getDetachedEvidenceRecords();
 
+        computeDocumentDigests(allSignatures, allDetachedEvidenceRecords);
+
         final CertificateVerifier certificateVerifierForValidation =
                 new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopyForValidation();
         final ValidationContext validationContext = prepareValidationContext(
@@ -327,6 +350,71 @@ public abstract class DefaultDocumentAnalyzer implements DocumentAnalyzer {
         return validationContext;
     }
 
+    /**
+     * Computes the digests of the signed documents required by the signatures and evidence records,
+     * using a single read of each document
+     *
+     * @param signatures a list of {@link AdvancedSignature}s
+     * @param detachedEvidenceRecords a list of detached {@link EvidenceRecord}s
+     */
+    protected void computeDocumentDigests(final List<AdvancedSignature> signatures,
+                                          final List<EvidenceRecord> detachedEvidenceRecords) {
+        final DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+        for (AdvancedSignature signature : signatures) {
+            digestPlanner.register(signature.getDetachedContents(), signature.getDetachedContentsDigestAlgorithms());
+        }
+        for (EvidenceRecord evidenceRecord : detachedEvidenceRecords) {
+            registerEvidenceRecordDigests(digestPlanner, evidenceRecord);
+        }
+        executeDigestPlan(digestPlanner);
+    }
+
+    /**
+     * Computes the digests of the documents covered by the evidence record, using a single read of each document.
+     * This method is called before the validation of the evidence record's references.
+     *
+     * @param evidenceRecord {@link EvidenceRecord}
+     */
+    protected void computeEvidenceRecordDigests(final EvidenceRecord evidenceRecord) {
+        final DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+        registerEvidenceRecordDigests(digestPlanner, evidenceRecord);
+        executeDigestPlan(digestPlanner);
+    }
+
+    private void registerEvidenceRecordDigests(DSSDocumentDigestPlanner digestPlanner, EvidenceRecord evidenceRecord) {
+        if (evidenceRecord.getOriginalDigestAlgorithm() != null) {
+            digestPlanner.register(evidenceRecord.getDetachedContents(),
+                    Collections.singleton(evidenceRecord.getOriginalDigestAlgorithm()));
+        }
+    }
+
+    /**
+     * Executes the given {@code digestPlanner}, computing the additional {@code documentDigestAlgorithms}
+     * for the documents to be read
+     *
+     * @param digestPlanner {@link DSSDocumentDigestPlanner}
+     */
+    protected void executeDigestPlan(final DSSDocumentDigestPlanner digestPlanner) {
+        if (digestPlanner.isEmpty()) {
+            return;
+        }
+        // the additional digests are computed only for the documents to be read anyway
+        for (DSSDocument document : digestPlanner.getDocuments()) {
+            digestPlanner.register(document, documentDigestAlgorithms);
+        }
+        digestPlanner.execute(getDocumentDigestExecutorService());
+    }
+
+    /**
+     * Returns an {@code ExecutorService} to be used to compute the digests of the signed documents concurrently.
+     * Returns NULL by default, meaning the digests are computed sequentially within the current thread.
+     *
+     * @return {@link ExecutorService}
+     */
+    protected ExecutorService getDocumentDigestExecutorService() {
+        return null;
+    }
+
     /**
      * Initializes and fills {@code ValidationContext} with necessary data sources
      *
@@ -728,6 +816,8 @@ public abstract class DefaultDocumentAnalyzer implements DocumentAnalyzer {
     protected EvidenceRecord getEvidenceRecord(EvidenceRecordAnalyzer evidenceRecordAnalyzer) {
         EvidenceRecord evidenceRecord = evidenceRecordAnalyzer.getEvidenceRecord();
         if (evidenceRecord != null) {
+            // the references of the evidence record are validated on the scopes computation
+            computeEvidenceRecordDigests(evidenceRecord);
             List<SignatureScope> evidenceRecordScopes = getEvidenceRecordScopes(evidenceRecord);
             evidenceRecord.setEvidenceRecordScopes(evidenceRecordScopes);
             evidenceRecord.setTimestampedReferences(getTimestampedReferences(evidenceRecordScopes));
@@ -0,0 +1,225 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performs the initialization of DSS ahead of the first request : creation of the JAXB contexts,
+ * compilation of the XSD schemas, initialization of Apache Santuario, registration of the security providers, etc.
+ * <p>
+ * The tasks are provided by the {@code WarmUpTaskProvider}s of the modules present on the classpath
+ * and are executed concurrently. A failed task is logged and reported with {@link #getFailures()},
+ * the corresponding component is then initialized on its first use.
+ * <p>
+ * Usage example (e.g. on an application startup, the readiness probe returning {@link #isReady()}) :
+ * <pre>
+ * DSSWarmUp warmUp = new DSSWarmUp();
+ * warmUp.start();
+ * </pre>
+ *
+ */
+public class DSSWarmUp {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DSSWarmUp.class);
+
+    /** The tasks to be executed */
+    private final List<WarmUpTask> tasks;
+
+    /** The failed tasks, with the corresponding error */
+    private final Map<String, Throwable> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /** The completion of the warm-up, NULL if not started */
+    private volatile CompletableFuture<Void> completion;
+
+    /**
+     * Default constructor, loading the tasks of all the {@code WarmUpTaskProvider}s present on the classpath
+     */
+    public DSSWarmUp() {
+        this(loadTasks());
+    }
+
+    /**
+     * Constructor with the tasks to be executed
+     *
+     * @param tasks a list of {@link WarmUpTask}s
+     */
+    public DSSWarmUp(final List<WarmUpTask> tasks) {
+        Objects.requireNonNull(tasks, "Tasks cannot be null!");
+        this.tasks = new ArrayList<>(tasks);
+    }
+
+    private static List<WarmUpTask> loadTasks() {
+        final List<WarmUpTask> result = new ArrayList<>();
+        try {
+            Iterator<WarmUpTaskProvider> iterator = ServiceLoader.load(WarmUpTaskProvider.class).iterator();
+            while (iterator.hasNext()) {
+                WarmUpTaskProvider provider = iterator.next();
+                LOG.debug("WarmUpTaskProvider '{}' is loaded.", provider.getClass().getName());
+                result.addAll(provider.getWarmUpTasks());
+            }
+        } catch (ServiceConfigurationError e) {
+            LOG.warn("Unable to load a WarmUpTaskProvider : {}", e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tasks to be executed
+     *
+     * @return an unmodifiable list of {@link WarmUpTask}s
+     */
+    public List<WarmUpTask> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Starts the warm-up within a dedicated pool of daemon threads (one per available processor),
+     * released once all the tasks are completed.
+     * The method returns immediately, subsequent calls return the completion of the running warm-up.
+     *
+     * @return {@link CompletableFuture} completed when all the tasks are executed
+     */
+    public CompletableFuture<Void> start() {
+        if (completion != null) {
+            return completion;
+        }
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final int nbThreads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        final ExecutorService executorService = Executors.newFixedThreadPool(nbThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dss-warm-up-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletableFuture<Void> result = start(executorService);
+        result.whenComplete((r, e) -> executorService.shutdown());
+        return result;
+    }
+
+    /**
+     * Starts the warm-up within the given {@code executor}.
+     * The method returns immediately, subsequent calls return the completion of the running warm-up.
+     *
+     * @param executor {@link Executor} to execute the tasks
+     * @return {@link CompletableFuture} completed when all the tasks are executed
+     */
+    public synchronized CompletableFuture<Void> start(final Executor executor) {
+        Objects.requireNonNull(executor, "Executor cannot be null!");
+        if (completion == null) {
+            LOG.info("DSS warm-up is running ({} tasks)...", tasks.size());
+            final long start = System.nanoTime();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.size()];
+            for (int i = 0; i < tasks.size(); i++) {
+                final WarmUpTask task = tasks.get(i);
+                futures[i] = CompletableFuture.runAsync(() -> execute(task), executor);
+            }
+            completion = CompletableFuture.allOf(futures).whenComplete((r, e) ->
+                    LOG.info("DSS warm-up is DONE in {} ms ({} failed task(s)).",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failures.size()));
+        }
+        return completion;
+    }
+
+    /**
+     * Executes the warm-up within the current thread (the tasks are executed concurrently)
+     * and waits for its completion
+     */
+    public void run() {
+        start().join();
+    }
+
+    private void execute(WarmUpTask task) {
+        final long start = System.nanoTime();
+        try {
+            task.execute();
+            LOG.debug("Warm-up task '{}' is executed in {} ms.", task.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception | LinkageError e) {
+            LOG.warn("Unable to execute the warm-up task '{}' : {}", task.getName(), e.getMessage(), e);
+            failures.put(task.getName(), e);
+        }
+    }
+
+    /**
+     * Gets whether the warm-up has been started and all the tasks are executed
+     *
+     * @return TRUE if the warm-up is completed, FALSE otherwise
+     */
+    public boolean isReady() {
+        final CompletableFuture<Void> currentCompletion = completion;
+        return currentCompletion != null && currentCompletion.isDone();
+    }
+
+    /**
+     * Waits for the completion of the started warm-up
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the {@code timeout} argument
+     * @return TRUE if the warm-up is completed, FALSE if the timeout has been reached
+     * @throws InterruptedException if the current thread has been interrupted while waiting
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        final CompletableFuture<Void> currentCompletion = completion;
+        if (currentCompletion == null) {
+            throw new IllegalStateException("The warm-up has not been started!");
+        }
+        try {
+            currentCompletion.get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            // not expected, the failures of the tasks are collected
+            return true;
+        }
+    }
+
+    /**
+     * Returns the failed tasks (by name), with the corresponding error
+     *
+     * @return a map between failed task names and errors
+     */
+    public Map<String, Throwable> getFailures() {
+        synchronized (failures) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.warmup;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSSecurityProvider;
+import eu.europa.esig.dss.spi.DSSUtils;
+
+import java.security.cert.CertificateFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Initializes the security provider used by DSS (BouncyCastle by default)
+ * and the {@code MessageDigest} engines of the commonly used digest algorithms
+ *
+ */
+public class SecurityWarmUpTaskProvider implements WarmUpTaskProvider {
+
+    /** Digest algorithms commonly used within the signatures, certificates and revocation data */
+    private static final DigestAlgorithm[] DIGEST_ALGORITHMS = { DigestAlgorithm.SHA1, DigestAlgorithm.SHA256,
+            DigestAlgorithm.SHA384, DigestAlgorithm.SHA512 };
+
+    /**
+     * Default constructor
+     */
+    public SecurityWarmUpTaskProvider() {
+        // empty
+    }
+
+    @Override
+    public List<WarmUpTask> getWarmUpTasks() {
+        return Arrays.asList(
+                new WarmUpTask("Security provider", () ->
+                        CertificateFactory.getInstance("X.509", DSSSecurityProvider.getSecurityProvider())),
+                new WarmUpTask("Message digests", () -> {
+                    for (DigestAlgorithm digestAlgorithm : DIGEST_ALGORITHMS) {
+                        DSSUtils.getMessageDigest(digestAlgorithm);
+                    }
+                    return null;
+                })
+        );
+    }
+
+}
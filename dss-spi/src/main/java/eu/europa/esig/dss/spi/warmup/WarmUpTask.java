@@ -0,0 +1,76 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.warmup;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Defines a named initialization step, executed by {@code DSSWarmUp} before the first use of DSS
+ * (e.g. creation of a {@code JAXBContext}, compilation of an XSD schema, registration of a security provider).
+ * The action shall be idempotent, as it only triggers the lazy initialization performed on the first use.
+ *
+ */
+public final class WarmUpTask {
+
+    /** Name of the task, used for logging and failure reporting */
+    private final String name;
+
+    /** The initialization to be performed */
+    private final Callable<?> action;
+
+    /**
+     * Default constructor
+     *
+     * @param name {@link String} name of the task
+     * @param action {@link Callable} performing the initialization
+     */
+    public WarmUpTask(final String name, final Callable<?> action) {
+        Objects.requireNonNull(name, "Name cannot be null!");
+        Objects.requireNonNull(action, "Action cannot be null!");
+        this.name = name;
+        this.action = action;
+    }
+
+    /**
+     * Gets name of the task
+     *
+     * @return {@link String}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Executes the initialization
+     *
+     * @throws Exception if an error occurs during the initialization
+     */
+    public void execute() throws Exception {
+        action.call();
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpTask [name=" + name + "]";
+    }
+
+}
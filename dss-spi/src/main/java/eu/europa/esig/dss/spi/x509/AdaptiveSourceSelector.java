@@ -0,0 +1,254 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class keeps track of the latency and the failures of the sources used by a composite
+ * (e.g. {@code CompositeTSPSource} or {@code CompositeRevocationSource}), and provides the order in which
+ * the sources should be requested.
+ * The sources are ordered by their smoothed latency (in milliseconds), increased by a penalty
+ * proportional to their smoothed failure rate.
+ * Sources which have not been used yet are requested first, so that every source gets evaluated.
+ * A source failing {@code failureThreshold} times in a row is "circuit-broken" for {@code circuitBreakerDuration}
+ * milliseconds : during this period it is requested only when all other sources have failed.
+ * <p>
+ * The class is thread-safe. A separate instance should be used for every composite,
+ * as the statistics are identified by the source keys.
+ *
+ */
+public class AdaptiveSourceSelector implements Serializable {
+
+    private static final long serialVersionUID = -2287396417702893410L;
+
+    /** Penalty in milliseconds added to the score of a source for a failure rate of 1 */
+    private static final double FAILURE_PENALTY = 10000;
+
+    /** The statistics of the used sources */
+    private final Map<String, SourceStatistics> statistics = new ConcurrentHashMap<>();
+
+    /** Weight of the last observation in the smoothed values (default: 0.3) */
+    private double smoothingFactor = 0.3;
+
+    /** Number of consecutive failures after which a source is circuit-broken (default: 3) */
+    private int failureThreshold = 3;
+
+    /** Duration in milliseconds of the circuit breaking (default: 30 seconds) */
+    private long circuitBreakerDuration = 30000;
+
+    /**
+     * Default constructor
+     */
+    public AdaptiveSourceSelector() {
+        // empty
+    }
+
+    /**
+     * Sets the weight of the last observation in the smoothed latency and failure rate.
+     * Higher values make the selection react faster to changes.
+     * Default : 0.3
+     *
+     * @param smoothingFactor value between 0 (exclusive) and 1 (inclusive)
+     */
+    public void setSmoothingFactor(double smoothingFactor) {
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            throw new IllegalArgumentException("The smoothing factor shall be in the range (0, 1]!");
+        }
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    /**
+     * Sets the number of consecutive failures after which a source is circuit-broken.
+     * Default : 3
+     *
+     * @param failureThreshold positive number of consecutive failures
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("The failure threshold shall be positive!");
+        }
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Sets the duration of the circuit breaking in milliseconds.
+     * When set to 0, the circuit breaking is disabled.
+     * Default : 30000 (30 seconds)
+     *
+     * @param circuitBreakerDuration duration in milliseconds
+     */
+    public void setCircuitBreakerDuration(long circuitBreakerDuration) {
+        if (circuitBreakerDuration < 0) {
+            throw new IllegalArgumentException("The circuit breaker duration cannot be negative!");
+        }
+        this.circuitBreakerDuration = circuitBreakerDuration;
+    }
+
+    /**
+     * Returns the given source keys in the order in which the sources should be requested.
+     * Circuit-broken sources are returned at the end of the list.
+     * Sources with equal scores keep their original order.
+     *
+     * @param sourceKeys a collection of source keys, in the configured order
+     * @return a list of source keys
+     */
+    public List<String> getOrderedSourceKeys(Collection<String> sourceKeys) {
+        final long now = System.nanoTime();
+        final List<String> available = new ArrayList<>();
+        final List<String> circuitBroken = new ArrayList<>();
+        // the statistics may be updated concurrently, a snapshot of the scores is used to ensure a consistent sort
+        final Map<String, Double> scores = new HashMap<>();
+        for (String sourceKey : sourceKeys) {
+            if (isAvailable(sourceKey, now)) {
+                available.add(sourceKey);
+                scores.put(sourceKey, getScore(sourceKey));
+            } else {
+                circuitBroken.add(sourceKey);
+            }
+        }
+        available.sort(Comparator.comparingDouble(scores::get));
+        available.addAll(circuitBroken);
+        return available;
+    }
+
+    /**
+     * Checks whether the source is not circuit-broken
+     *
+     * @param sourceKey {@link String} the source key
+     * @return TRUE if the source is available, FALSE if it is circuit-broken
+     */
+    public boolean isAvailable(String sourceKey) {
+        return isAvailable(sourceKey, System.nanoTime());
+    }
+
+    private boolean isAvailable(String sourceKey, long now) {
+        SourceStatistics sourceStatistics = statistics.get(sourceKey);
+        return sourceStatistics == null || sourceStatistics.isAvailable(now);
+    }
+
+    /**
+     * Returns the score of the source (lower is better). The score of a source not used yet is 0.
+     *
+     * @param sourceKey {@link String} the source key
+     * @return the score
+     */
+    public double getScore(String sourceKey) {
+        SourceStatistics sourceStatistics = statistics.get(sourceKey);
+        return sourceStatistics != null ? sourceStatistics.getScore() : 0;
+    }
+
+    /**
+     * Records a successful request to the source
+     *
+     * @param sourceKey {@link String} the source key
+     * @param durationInNanos the duration of the request in nanoseconds
+     */
+    public void recordSuccess(String sourceKey, long durationInNanos) {
+        getStatistics(sourceKey).record(durationInNanos, true);
+    }
+
+    /**
+     * Records a failed (or empty) request to the source
+     *
+     * @param sourceKey {@link String} the source key
+     * @param durationInNanos the duration of the request in nanoseconds
+     */
+    public void recordFailure(String sourceKey, long durationInNanos) {
+        getStatistics(sourceKey).record(durationInNanos, false);
+    }
+
+    /**
+     * Removes all the collected statistics
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    private SourceStatistics getStatistics(String sourceKey) {
+        return statistics.computeIfAbsent(sourceKey, k -> new SourceStatistics());
+    }
+
+    /**
+     * Statistics of a single source
+     */
+    private class SourceStatistics implements Serializable {
+
+        private static final long serialVersionUID = 6409867311532018702L;
+
+        /** Smoothed latency in milliseconds */
+        private double latency;
+
+        /** Smoothed failure rate */
+        private double failureRate;
+
+        /** Number of consecutive failures */
+        private int consecutiveFailures;
+
+        /** The time (System.nanoTime) until which the source is circuit-broken */
+        private long circuitBrokenUntil;
+
+        /** Whether the circuit is open */
+        private boolean circuitBroken;
+
+        /** Whether the statistics contain at least one observation */
+        private boolean initialized;
+
+        private synchronized void record(long durationInNanos, boolean success) {
+            final double millis = (double) durationInNanos / TimeUnit.MILLISECONDS.toNanos(1);
+            final double failure = success ? 0 : 1;
+            if (initialized) {
+                latency += smoothingFactor * (millis - latency);
+                failureRate += smoothingFactor * (failure - failureRate);
+            } else {
+                latency = millis;
+                failureRate = failure;
+                initialized = true;
+            }
+
+            if (success) {
+                consecutiveFailures = 0;
+                circuitBroken = false;
+            } else if (++consecutiveFailures >= failureThreshold && circuitBreakerDuration > 0) {
+                circuitBroken = true;
+                circuitBrokenUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(circuitBreakerDuration);
+            }
+        }
+
+        private synchronized boolean isAvailable(long now) {
+            return !circuitBroken || now - circuitBrokenUntil >= 0;
+        }
+
+        private synchronized double getScore() {
+            return latency + FAILURE_PENALTY * failureRate;
+        }
+
+    }
+
+}
@@ -22,21 +22,30 @@ package eu.europa.esig.dss.spi.x509;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class allows to retrieve a RevocationToken with different sources. The composite will try all sources until to get a
  * non-empty response.
+ * When an {@code AdaptiveSourceSelector} is defined, the sources are requested in the order provided by the selector
+ * (by latency and failure rate, failing sources being circuit-broken) instead of the order of the map.
+ * When a hedging delay is defined, the next source is requested in parallel if the current one did not respond
+ * within the delay, and the first obtained revocation token is returned. The thread pool created for the hedged
+ * requests is released with {@link #close()}.
  *
  * @param <T> {@code Revocation}
  */
-public class CompositeRevocationSource<T extends Revocation> implements RevocationSource<T> {
+public class CompositeRevocationSource<T extends Revocation> implements RevocationSource<T>, AutoCloseable {
 
     private static final long serialVersionUID = 948088043702414489L;
 
@@ -47,6 +56,21 @@ public class CompositeRevocationSource<T extends Revocation> implements Revocati
      */
     private Map<String, RevocationSource<T>> compositeRevocationSources;
 
+    /**
+     * Defines the order of the sources based on their statistics (optional)
+     */
+    private AdaptiveSourceSelector sourceSelector;
+
+    /**
+     * The delay in milliseconds before requesting the next source in parallel (negative value disables hedging)
+     */
+    private long hedgingDelay = -1;
+
+    /**
+     * Executes the hedged requests
+     */
+    private final HedgedRequestExecutor hedgedRequestExecutor = new HedgedRequestExecutor("dss-composite-revocation");
+
     /**
      * Default constructor instantiating object with null values
      */
@@ -63,24 +87,117 @@ public class CompositeRevocationSource<T extends Revocation> implements Revocati
         this.compositeRevocationSources = compositeRevocationSources;
     }
 
+    /**
+     * Sets the selector used to order the sources based on their latency and failures.
+     * When not defined (default), the sources are requested in the order of the map.
+     *
+     * @param sourceSelector {@link AdaptiveSourceSelector}
+     */
+    public void setSourceSelector(AdaptiveSourceSelector sourceSelector) {
+        this.sourceSelector = sourceSelector;
+    }
+
+    /**
+     * Sets the delay in milliseconds after which the next source is requested in parallel,
+     * when the previous one(s) did not respond yet. A failed or empty response triggers the next source immediately.
+     * 0 requests all sources at once. A negative value (default) disables hedging : the sources are requested
+     * one after another.
+     *
+     * @param hedgingDelay delay in milliseconds
+     */
+    public void setHedgingDelay(long hedgingDelay) {
+        this.hedgingDelay = hedgingDelay;
+    }
+
+    /**
+     * Sets the executor service used to execute the hedged requests.
+     * If not defined, a cached thread pool of daemon threads is used, which is shut down on {@link #close()}.
+     * The provided executor service is not shut down by this class.
+     *
+     * @param executorService {@link ExecutorService}
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        hedgedRequestExecutor.setExecutorService(executorService);
+    }
+
     @Override
     public RevocationToken<T> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
-        for (Entry<String, RevocationSource<T>> entry : compositeRevocationSources.entrySet()) {
-            String sourceKey = entry.getKey();
-            RevocationSource<T> source = entry.getValue();
-            LOG.debug("Trying to get revocation token with Source '{}'", sourceKey);
-            try {
-                RevocationToken<T> ocspToken = source.getRevocationToken(certificateToken, issuerCertificateToken);
-                if (ocspToken != null) {
-                    LOG.debug("Successfully retrieved revocation token with Source '{}'", sourceKey);
-                    return ocspToken;
+        List<String> sourceKeys = getOrderedSourceKeys();
+        if (hedgingDelay >= 0 && sourceKeys.size() > 1) {
+            return getHedgedRevocationToken(sourceKeys, certificateToken, issuerCertificateToken);
+        }
+        for (String sourceKey : sourceKeys) {
+            RevocationToken<T> revocationToken = getRevocationToken(sourceKey, certificateToken, issuerCertificateToken, null);
+            if (revocationToken != null) {
+                return revocationToken;
+            }
+        }
+        LOG.debug("Unable to retrieve the revocation token ({} tries)", compositeRevocationSources.size());
+        return null;
+    }
+
+    private RevocationToken<T> getHedgedRevocationToken(List<String> sourceKeys, CertificateToken certificateToken,
+                                                        CertificateToken issuerCertificateToken) {
+        try {
+            RevocationToken<T> revocationToken = hedgedRequestExecutor.execute(sourceKeys, hedgingDelay,
+                    (sourceKey, completed) -> getRevocationToken(sourceKey, certificateToken, issuerCertificateToken, completed));
+            if (revocationToken == null) {
+                LOG.debug("Unable to retrieve the revocation token ({} tries)", sourceKeys.size());
+            }
+            return revocationToken;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSExternalResourceException("Interrupted while waiting for the revocation token!");
+        }
+    }
+
+    /**
+     * Requests the revocation token from the given source and records the outcome, when a selector is defined.
+     * The failure of a request cancelled because another source already responded is not recorded.
+     */
+    private RevocationToken<T> getRevocationToken(String sourceKey, CertificateToken certificateToken,
+                                                  CertificateToken issuerCertificateToken, AtomicBoolean completed) {
+        RevocationSource<T> source = compositeRevocationSources.get(sourceKey);
+        LOG.debug("Trying to get revocation token with Source '{}'", sourceKey);
+        final long startTime = System.nanoTime();
+        try {
+            RevocationToken<T> revocationToken = source.getRevocationToken(certificateToken, issuerCertificateToken);
+            if (revocationToken != null) {
+                LOG.debug("Successfully retrieved revocation token with Source '{}'", sourceKey);
+                if (sourceSelector != null) {
+                    sourceSelector.recordSuccess(sourceKey, System.nanoTime() - startTime);
                 }
-            } catch (Exception e) {
-                LOG.debug("Unable to retrieve the revocation token with Source '{}' : {}", sourceKey, e.getMessage());
+                return revocationToken;
+            }
+        } catch (Exception e) {
+            if (completed != null && completed.get()) {
+                LOG.debug("Request to Source '{}' aborted : {}", sourceKey, e.getMessage());
+                return null;
+            }
+            LOG.debug("Unable to retrieve the revocation token with Source '{}' : {}", sourceKey, e.getMessage());
+            // only errors are recorded, an empty response being expected when no access point is defined
+            if (sourceSelector != null) {
+                sourceSelector.recordFailure(sourceKey, System.nanoTime() - startTime);
             }
         }
-        LOG.debug("Unable to retrieve the ocsp token ({} tries)", compositeRevocationSources.size());
         return null;
     }
 
+    private List<String> getOrderedSourceKeys() {
+        if (sourceSelector != null) {
+            return sourceSelector.getOrderedSourceKeys(compositeRevocationSources.keySet());
+        }
+        return new ArrayList<>(compositeRevocationSources.keySet());
+    }
+
+    /**
+     * Shuts down the thread pool created for the hedged requests, if any.
+     * An {@code ExecutorService} provided with {@link #setExecutorService(ExecutorService)} is not shut down.
+     */
+    @Override
+    public void close() {
+        hedgedRequestExecutor.close();
+    }
+
 }
@@ -0,0 +1,192 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class executes the requests to the sources of a composite (e.g. {@code CompositeTSPSource} or
+ * {@code CompositeRevocationSource}) as hedged requests : the next source is requested in parallel when the previous
+ * one(s) did not respond within the hedging delay, or immediately when a request failed.
+ * The first non-null response is returned and the remaining requests are cancelled.
+ * <p>
+ * When no {@code ExecutorService} is provided, a cached thread pool of daemon threads is created on the first use.
+ * This thread pool is shut down by {@link #close()}. A provided {@code ExecutorService} is not shut down,
+ * its lifecycle being managed by the caller.
+ *
+ */
+public class HedgedRequestExecutor implements AutoCloseable, Serializable {
+
+    private static final long serialVersionUID = -4381069427615304571L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+    /** The prefix of the names of the created threads */
+    private final String threadNamePrefix;
+
+    /** Executes the hedged requests */
+    private transient ExecutorService executorService;
+
+    /** Whether the {@code executorService} has been created by this instance */
+    private transient boolean ownExecutorService;
+
+    /**
+     * Default constructor
+     *
+     * @param threadNamePrefix {@link String} the prefix of the names of the threads created by the default thread pool
+     */
+    public HedgedRequestExecutor(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /**
+     * Sets the executor service used to execute the hedged requests.
+     * If not defined, a cached thread pool of daemon threads is used.
+     * <p>
+     * NOTE: the provided executor service is not shut down on {@link #close()}.
+     *
+     * @param executorService {@link ExecutorService}
+     */
+    public synchronized void setExecutorService(ExecutorService executorService) {
+        shutdownOwnExecutorService();
+        this.executorService = executorService;
+    }
+
+    /**
+     * Requests the given sources, in the given order, hedging the requests with the given delay
+     *
+     * @param sourceKeys a list of source keys, in the order of the requests
+     * @param hedgingDelay the delay in milliseconds before requesting the next source in parallel
+     * @param request {@link SourceRequest} executing the request to a source
+     * @param <R> the response type
+     * @return the first non-null response, null if none of the sources returned a response
+     * @throws InterruptedException if the current thread has been interrupted while waiting for the responses
+     */
+    public <R> R execute(List<String> sourceKeys, long hedgingDelay, SourceRequest<R> request) throws InterruptedException {
+        final CompletionService<R> completionService = new ExecutorCompletionService<>(getExecutorService());
+        final List<Future<R>> futures = new ArrayList<>(sourceKeys.size());
+        final AtomicBoolean completed = new AtomicBoolean();
+        int next = 0;
+        int running = 0;
+        try {
+            futures.add(submit(completionService, sourceKeys.get(next++), request, completed));
+            running++;
+            while (running > 0) {
+                Future<R> future = next < sourceKeys.size() ?
+                        completionService.poll(hedgingDelay, TimeUnit.MILLISECONDS) : completionService.take();
+                if (future == null) {
+                    LOG.debug("No response obtained within {} ms, requesting the next source", hedgingDelay);
+                } else {
+                    running--;
+                    R response = future.get();
+                    if (response != null) {
+                        return response;
+                    }
+                }
+                if (next < sourceKeys.size()) {
+                    futures.add(submit(completionService, sourceKeys.get(next++), request, completed));
+                    running++;
+                }
+            }
+            return null;
+
+        } catch (ExecutionException e) {
+            // not expected, errors are handled within the request
+            throw new DSSExternalResourceException(String.format(
+                    "Unable to execute the request : %s", e.getCause().getMessage()), e.getCause());
+
+        } finally {
+            completed.set(true);
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private <R> Future<R> submit(CompletionService<R> completionService, String sourceKey, SourceRequest<R> request,
+                                 AtomicBoolean completed) {
+        return completionService.submit(() -> request.execute(sourceKey, completed));
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            executorService = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ownExecutorService = true;
+        }
+        return executorService;
+    }
+
+    /**
+     * Shuts down the thread pool created by this instance, if any. A new thread pool is created
+     * if the instance is used again.
+     */
+    @Override
+    public synchronized void close() {
+        shutdownOwnExecutorService();
+    }
+
+    private void shutdownOwnExecutorService() {
+        if (ownExecutorService) {
+            executorService.shutdown();
+            executorService = null;
+            ownExecutorService = false;
+        }
+    }
+
+    /**
+     * Executes the request to a source
+     *
+     * @param <R> the response type
+     */
+    @FunctionalInterface
+    public interface SourceRequest<R> {
+
+        /**
+         * Requests the source with the given key
+         *
+         * @param sourceKey {@link String} the source key
+         * @param completed {@link AtomicBoolean} set to true when a response has been obtained from another source
+         *                  or the requests have been aborted, allowing to ignore the failures of the cancelled requests
+         * @return the response, or null if no response has been obtained
+         */
+        R execute(String sourceKey, AtomicBoolean completed);
+
+    }
+
+}
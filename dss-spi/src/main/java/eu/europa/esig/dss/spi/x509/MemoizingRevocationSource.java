@@ -0,0 +1,119 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps in memory the revocation tokens obtained from the wrapped source, for the lifetime of the instance.
+ * Every pair of a certificate and its issuer is requested only once, including when the requests are executed
+ * concurrently (the concurrent callers wait for the first request to complete).
+ * An absence of a token is kept as well, while a failed request is not.
+ * NOTE: the instance is intended to share the revocation data within a short-living process
+ * (e.g. the signatures of a batch, see {@code AbstractSignatureService#signDocuments}).
+ * No expiration is applied, use a {@code RepositoryRevocationSource} for a long-term cache.
+ *
+ * @param <R> {@code Revocation}
+ */
+public class MemoizingRevocationSource<R extends Revocation> implements RevocationSourceAlternateUrlsSupport<R> {
+
+    private static final long serialVersionUID = -2771935716096604823L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemoizingRevocationSource.class);
+
+    /** The source to extract revocation tokens */
+    private final RevocationSource<R> wrappedSource;
+
+    /** The obtained revocation tokens, by certificate and issuer identifiers */
+    private final Map<String, RevocationTokenHolder<R>> revocationTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor
+     *
+     * @param wrappedSource {@link RevocationSource} to request the revocation tokens from
+     */
+    public MemoizingRevocationSource(RevocationSource<R> wrappedSource) {
+        Objects.requireNonNull(wrappedSource, "The wrapped RevocationSource cannot be null!");
+        this.wrappedSource = wrappedSource;
+    }
+
+    @Override
+    public RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
+    }
+
+    @Override
+    public RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+                                                 List<String> alternativeUrls) {
+        Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+        Objects.requireNonNull(issuerCertificateToken, "Issuer CertificateToken cannot be null!");
+
+        final String key = certificateToken.getDSSIdAsString() + "|" + issuerCertificateToken.getDSSIdAsString();
+        return revocationTokens.computeIfAbsent(key, k -> {
+            LOG.trace("Requesting a revocation token for the certificate '{}'...", certificateToken.getDSSIdAsString());
+            return new RevocationTokenHolder<>(requestRevocationToken(certificateToken, issuerCertificateToken, alternativeUrls));
+        }).revocationToken;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RevocationToken<R> requestRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+                                                      List<String> alternativeUrls) {
+        if (!alternativeUrls.isEmpty() && wrappedSource instanceof RevocationSourceAlternateUrlsSupport) {
+            return ((RevocationSourceAlternateUrlsSupport<R>) wrappedSource).getRevocationToken(
+                    certificateToken, issuerCertificateToken, alternativeUrls);
+        }
+        return wrappedSource.getRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    /**
+     * Keeps an obtained revocation token (can be null)
+     *
+     * @param <R> {@code Revocation}
+     */
+    private static class RevocationTokenHolder<R extends Revocation> {
+
+        /** The obtained revocation token */
+        private final RevocationToken<R> revocationToken;
+
+        /**
+         * Default constructor
+         *
+         * @param revocationToken {@link RevocationToken}, can be null
+         */
+        private RevocationTokenHolder(RevocationToken<R> revocationToken) {
+            this.revocationToken = revocationToken;
+        }
+
+    }
+
+}
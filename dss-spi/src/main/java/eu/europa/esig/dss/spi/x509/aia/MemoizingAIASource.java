@@ -0,0 +1,72 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.aia;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps in memory the issuer candidates obtained from the wrapped source, for the lifetime of the instance.
+ * The AIA of every certificate is requested only once, including when the requests are executed concurrently.
+ * A failed request is not kept.
+ * NOTE: the instance is intended to share the obtained certificates within a short-living process
+ * (e.g. a signing operation, see {@code AbstractSignatureService}).
+ * No expiration is applied, use a {@code RepositoryAIASource} for a long-term cache.
+ *
+ */
+public class MemoizingAIASource implements AIASource {
+
+    private static final long serialVersionUID = 4393578315480726582L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemoizingAIASource.class);
+
+    /** The source to extract the issuer candidates */
+    private final AIASource wrappedSource;
+
+    /** The obtained issuer candidates, by certificate identifier */
+    private final Map<String, Set<CertificateToken>> certificatesByAIA = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor
+     *
+     * @param wrappedSource {@link AIASource} to request the issuer candidates from
+     */
+    public MemoizingAIASource(AIASource wrappedSource) {
+        Objects.requireNonNull(wrappedSource, "The wrapped AIASource cannot be null!");
+        this.wrappedSource = wrappedSource;
+    }
+
+    @Override
+    public Set<CertificateToken> getCertificatesByAIA(final CertificateToken certificateToken) {
+        Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+        return certificatesByAIA.computeIfAbsent(certificateToken.getDSSIdAsString(), k -> {
+            LOG.trace("Requesting the certificates by AIA for the certificate '{}'...", k);
+            return wrappedSource.getCertificatesByAIA(certificateToken);
+        });
+    }
+
+}
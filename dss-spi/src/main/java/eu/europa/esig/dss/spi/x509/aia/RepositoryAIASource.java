@@ -30,8 +30,10 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -117,15 +119,16 @@ public abstract class RepositoryAIASource implements AIASource {
             return Collections.emptySet();
         }
 
-        List<String> existingAIAKeys = getExistingAIAKeys();
+        final List<String> existingAIAKeys = getExistingAIAKeys();
+        final List<String> aiaKeysToRemove = new ArrayList<>();
         for (String aiaKey : aiaKeys) {
             if (existingAIAKeys.contains(aiaKey)) {
-                LOG.info("AIA Certificates with key '{}' have been removed from DB", aiaKey);
-                removeCertificates(aiaKey);
+                aiaKeysToRemove.add(aiaKey);
             }
         }
 
         final Set<CertificateToken> result = new HashSet<>();
+        final Map<CertificateToken, String> certificatesToInsert = new LinkedHashMap<>();
 
         Set<CertificateToken> certificatesTokenByAIA = proxiedSource.getCertificatesByAIA(certificateToken);
         if (Utils.isCollectionNotEmpty(certificatesTokenByAIA)) {
@@ -133,18 +136,41 @@ public abstract class RepositoryAIASource implements AIASource {
                 String sourceUrl = getCertificateTokenAIAUrl(certificate);
                 if (sourceUrl == null) {
                     LOG.warn("Not able to find AIA CA issuers URL for certificate '{}'. CA issuers will not be added to the cache.", certificateToken.getDSSIdAsString());
+                    replaceCertificates(aiaKeysToRemove, certificatesToInsert);
                     return certificatesTokenByAIA;
                 }
-                String aiaKey = getAIAKey(sourceUrl);
-                insertCertificate(aiaKey, certificate);
+                certificatesToInsert.put(certificate, getAIAKey(sourceUrl));
                 result.add(certificate);
             }
-            LOG.info("CA issuers for a certificate with Id '{}' are added into the cache", certificateToken.getDSSIdAsString());
         }
 
+        replaceCertificates(aiaKeysToRemove, certificatesToInsert);
+        if (Utils.isMapNotEmpty(certificatesToInsert)) {
+            LOG.info("CA issuers for a certificate with Id '{}' are added into the cache", certificateToken.getDSSIdAsString());
+        }
         return result;
     }
 
+    /**
+     * This method removes the certificates with the given {@code aiaKeysToRemove} from DB
+     * and inserts the {@code certificatesToInsert}.
+     * The default implementation calls {@code #removeCertificates} and {@code #insertCertificate} for each entry.
+     * The method may be overridden in order to perform the changes within a single transaction.
+     *
+     * @param aiaKeysToRemove a list of {@link String} AIA keys to be removed
+     * @param certificatesToInsert a map between {@link CertificateToken}s to be inserted and their AIA keys
+     */
+    protected void replaceCertificates(final List<String> aiaKeysToRemove,
+                                       final Map<CertificateToken, String> certificatesToInsert) {
+        for (String aiaKey : aiaKeysToRemove) {
+            removeCertificates(aiaKey);
+            LOG.info("AIA Certificates with key '{}' have been removed from DB", aiaKey);
+        }
+        for (Map.Entry<CertificateToken, String> entry : certificatesToInsert.entrySet()) {
+            insertCertificate(entry.getValue(), entry.getKey());
+        }
+    }
+
     /**
      * Returns a caIssuers access URL
      *
@@ -171,6 +171,16 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 		getJdbcCacheConnector().execute(getRemoveRevocationTokenEntryQuery(), revocationTokenKey);
 	}
 
+	/**
+	 * Removes the revocation tokens within a single transaction, reusing the prepared statements
+	 *
+	 * @param revocationKeys a collection of {@link String} keys
+	 */
+	@Override
+	protected void removeRevocations(final Collection<String> revocationKeys) {
+		getJdbcCacheConnector().executeInTransaction(() -> super.removeRevocations(revocationKeys));
+	}
+
 	/**
 	 * Initialize the revocation token table by creating the table if it does not exist.
 	 *
@@ -22,10 +22,12 @@ package eu.europa.esig.dss.spi.x509.revocation;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -116,6 +118,18 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
      */
     protected abstract void removeRevocation(final String revocationKey);
 
+    /**
+     * Removes the RevocationTokens from cache with the given keys.
+     * The default implementation calls {@code #removeRevocation} for each key.
+     *
+     * @param revocationKeys a collection of {@link String} keys
+     */
+    protected void removeRevocations(final Collection<String> revocationKeys) {
+        for (String revocationKey : revocationKeys) {
+            removeRevocation(revocationKey);
+        }
+    }
+
     /**
      * Sets the default next update delay for the cached files in seconds. If
      * more time has passed from the revocation token's thisUpdate and next update
@@ -227,9 +241,11 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
                     extractRevocationFromCacheSource(certificateToken, issuerCertificateToken, keys);
             keys = cachedRevocationTokensMap.keySet(); // override with returned keys
             if (Utils.isMapNotEmpty(cachedRevocationTokensMap)) {
+                DSSMetrics.increment(DSSMetrics.REVOCATION_REPOSITORY_HIT, DSSMetrics.TAG_SOURCE, getClass().getSimpleName());
                 // add all extracted revocation values to a single List
                 return cachedRevocationTokensMap.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
             }
+            DSSMetrics.increment(DSSMetrics.REVOCATION_REPOSITORY_MISS, DSSMetrics.TAG_SOURCE, getClass().getSimpleName());
         }
 
         final RevocationToken<R> revocationToken = extractAndInsertRevocationTokenFromProxiedSource(
@@ -253,6 +269,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
     private Map<String, List<RevocationToken<R>>> extractRevocationFromCacheSource(
             final CertificateToken certificateToken, final CertificateToken issuerCertificateToken, Collection<String> keys) {
         final Map<String, List<RevocationToken<R>>> result = new HashMap<>();
+        final List<String> expiredKeys = new ArrayList<>();
         for (String key : keys) {
             final List<RevocationToken<R>> revocationTokens = findRevocations(key, certificateToken, issuerCertificateToken);
             if (Utils.isCollectionNotEmpty(revocationTokens)) {
@@ -264,11 +281,14 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
                     LOG.debug("Revocation token is expired in the cache for certificate with Id '{}'",
                             certificateToken.getDSSIdAsString());
                     if (removeExpired) {
-                        removeRevocation(key);
+                        expiredKeys.add(key);
                     }
                 }
             }
         }
+        if (Utils.isCollectionNotEmpty(expiredKeys)) {
+            removeRevocations(expiredKeys);
+        }
         if (Utils.isMapNotEmpty(result)) {
             LOG.info("Revocation token for certificate with Id '{}' has been loaded from the cache",
                     certificateToken.getDSSIdAsString());
@@ -319,9 +339,11 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
                 String revocationTokenKey = getRevocationTokenKey(certificateToken, sourceUrl);
                 if (!keys.contains(revocationTokenKey)) {
                     insertRevocation(revocationTokenKey, revocationToken);
+                    DSSMetrics.increment(DSSMetrics.REVOCATION_REPOSITORY_INSERT, DSSMetrics.TAG_SOURCE, getClass().getSimpleName());
                     LOG.info("Revocation token for certificate '{}' is added into the cache", certificateToken.getDSSIdAsString());
                 } else {
                     updateRevocation(revocationTokenKey, revocationToken);
+                    DSSMetrics.increment(DSSMetrics.REVOCATION_REPOSITORY_UPDATE, DSSMetrics.TAG_SOURCE, getClass().getSimpleName());
                     LOG.info("Revocation token for certificate '{}' is updated in the cache", certificateToken.getDSSIdAsString());
                 }
             } else {
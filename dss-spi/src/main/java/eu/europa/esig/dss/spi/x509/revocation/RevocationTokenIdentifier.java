@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.spi.x509.revocation;
 
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.identifier.EncapsulatedRevocationTokenIdentifier;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 
 /**
@@ -30,6 +32,9 @@ public class RevocationTokenIdentifier extends TokenIdentifier {
 
 	private static final long serialVersionUID = -6238848475533856942L;
 
+	/** The identifier of the revocation data binaries, when the identifier is built from it */
+	private final EncapsulatedRevocationTokenIdentifier<?> revocationBinary;
+
 	/**
 	 * Default constructor
 	 *
@@ -47,6 +52,23 @@ public class RevocationTokenIdentifier extends TokenIdentifier {
 	 */
 	RevocationTokenIdentifier(String prefix, RevocationToken<?> revocationToken) {
 		super(prefix, revocationToken);
+		this.revocationBinary = null;
+	}
+
+	/**
+	 * Constructor re-using the digest of the revocation data binaries computed within the {@code revocationBinary},
+	 * without reading the binaries again
+	 *
+	 * @param revocationBinary {@link EncapsulatedRevocationTokenIdentifier} of the revocation token binaries
+	 */
+	public RevocationTokenIdentifier(EncapsulatedRevocationTokenIdentifier<?> revocationBinary) {
+		super("R-", new Digest(DIGEST_ALGO, revocationBinary.getDigestValue(DIGEST_ALGO)));
+		this.revocationBinary = revocationBinary;
+	}
+
+	@Override
+	public byte[] getBinaries() {
+		return revocationBinary != null ? revocationBinary.getBinaries() : super.getBinaries();
 	}
 
 }
@@ -27,12 +27,14 @@ import eu.europa.esig.dss.enumerations.RevocationReason;
 import eu.europa.esig.dss.enumerations.RevocationType;
 import eu.europa.esig.dss.enumerations.SignatureValidity;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationCertificateSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationTokenIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +45,7 @@ import java.security.PublicKey;
 import java.security.cert.CRLReason;
 import java.security.cert.X509CRLEntry;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
@@ -81,6 +84,39 @@ public class CRLToken extends RevocationToken<CRL> {
 		}
 	}
 
+	/**
+	 * The constructor to be used when the revocation status of the certificate within the CRL is already known
+	 * (e.g. when extracted from an indexed cache), avoiding the search of the certificate within the CRL entries.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} which is managed by this CRL.
+	 * @param crlValidity
+	 *            {@code CRLValidity} containing the information about the
+	 *            validity of the CRL
+	 * @param revocationDate
+	 *            {@code Date} the revocation time of the certificate, or null if the certificate is not revoked
+	 * @param revocationReason
+	 *            {@code RevocationReason} the revocation reason, when present
+	 */
+	public CRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity,
+					final Date revocationDate, final RevocationReason revocationReason) {
+		Objects.requireNonNull(crlValidity, "CRL Validity cannot be null");
+		this.crlValidity = crlValidity;
+		this.relatedCertificate = certificateToken;
+		initInfo();
+		assertSameIssuer(certificateToken);
+		if (revocationDate != null) {
+			this.status = CertificateStatus.REVOKED;
+			this.revocationDate = revocationDate;
+			this.reason = revocationReason;
+		} else {
+			this.status = CertificateStatus.GOOD;
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("A CRLToken created with Id : [{}]", getDSSIdAsString());
+		}
+	}
+
 	private void initInfo() {
 		this.signatureAlgorithm = crlValidity.getSignatureAlgorithm();
 		this.thisUpdate = crlValidity.getThisUpdate();
@@ -106,19 +142,7 @@ public class CRLToken extends RevocationToken<CRL> {
 	 *            the {@code CertificateToken} which is managed by this CRL.
 	 */
 	private void setRevocationStatus(final CertificateToken certificateToken) {
-		final X500Principal issuerToken = certificateToken.getIssuerX500Principal();
-		CertificateToken crlSigner = crlValidity.getIssuerToken();
-		X500Principal crlSignerSubject = null;
-		if (crlSigner != null) {
-			crlSignerSubject = crlSigner.getSubject().getPrincipal();
-		}
-
-		if (!DSSASN1Utils.x500PrincipalAreEquals(issuerToken, crlSignerSubject)) {
-			if (!crlValidity.isSignatureIntact()) {
-				throw new DSSException(crlValidity.getSignatureInvalidityReason());
-			}
-			throw new DSSException("The CRLToken is not signed by the same issuer as the CertificateToken to be verified!");
-		}
+		assertSameIssuer(certificateToken);
 
 		final BigInteger serialNumber = certificateToken.getSerialNumber();
 		X509CRLEntry crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
@@ -135,11 +159,39 @@ public class CRLToken extends RevocationToken<CRL> {
 		}
 	}
 
+	/**
+	 * Verifies whether the CRL is issued by the issuer of the {@code certificateToken}
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} which is managed by this CRL.
+	 */
+	private void assertSameIssuer(final CertificateToken certificateToken) {
+		final X500Principal issuerToken = certificateToken.getIssuerX500Principal();
+		CertificateToken crlSigner = crlValidity.getIssuerToken();
+		X500Principal crlSignerSubject = null;
+		if (crlSigner != null) {
+			crlSignerSubject = crlSigner.getSubject().getPrincipal();
+		}
+
+		if (!DSSASN1Utils.x500PrincipalAreEquals(issuerToken, crlSignerSubject)) {
+			if (!crlValidity.isSignatureIntact()) {
+				throw new DSSException(crlValidity.getSignatureInvalidityReason());
+			}
+			throw new DSSException("The CRLToken is not signed by the same issuer as the CertificateToken to be verified!");
+		}
+	}
+
 	@Override
 	protected SignatureValidity checkIsSignedBy(final PublicKey publicKey) {
 		throw new UnsupportedOperationException(this.getClass().getName());
 	}
 
+	@Override
+	protected TokenIdentifier buildTokenIdentifier() {
+		// the digest of the CRL binaries is computed once, within the CRLBinary
+		return new RevocationTokenIdentifier(crlValidity.getCrlBinary());
+	}
+
 	@Override
 	public RevocationCertificateSource getCertificateSource() {
 		// not supported
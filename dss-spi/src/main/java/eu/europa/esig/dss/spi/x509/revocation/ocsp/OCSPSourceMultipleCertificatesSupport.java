@@ -0,0 +1,46 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation.ocsp;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.util.Map;
+
+/**
+ * This interface provides a method to retrieve OCSP tokens for several certificates at once
+ * (e.g. within a single OCSP request containing several CertIDs, see RFC 6960).
+ * When the online OCSP source of a validation implements this interface, the certificates of a chain
+ * requiring an online revocation check are requested together.
+ *
+ */
+public interface OCSPSourceMultipleCertificatesSupport extends OCSPSource {
+
+	/**
+	 * Retrieves {@code OCSPToken}s for the given certificate / issuer's certificate couples.
+	 * The coherence between the responses and the requests is checked.
+	 *
+	 * @param certificateIssuerMap a map between the certificates to retrieve OCSP tokens for and their issuers
+	 * @return a map between the certificates and the obtained {@link OCSPToken}s
+	 *         (certificates for which no OCSP token has been obtained are not present)
+	 */
+	Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificateIssuerMap);
+
+}
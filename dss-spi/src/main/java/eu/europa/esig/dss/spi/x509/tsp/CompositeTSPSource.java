@@ -24,11 +24,16 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.TimestampBinary;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.AdaptiveSourceSelector;
+import eu.europa.esig.dss.spi.x509.HedgedRequestExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class allows to retrieve a timestamp with different sources. The composite will try all sources until to get a
@@ -36,8 +41,14 @@ import java.util.Map.Entry;
  * 
  * Be careful, all given tspSources MUST accept the same digest algorithm.
  * 
+ * When an {@code AdaptiveSourceSelector} is defined, the sources are requested in the order provided by the selector
+ * (by latency and failure rate, failing sources being circuit-broken) instead of the order of the map.
+ * When a hedging delay is defined, the next source is requested in parallel if the current one did not respond
+ * within the delay, and the first obtained timestamp is returned. The thread pool created for the hedged requests
+ * is released with {@link #close()}.
+ * 
  */
-public class CompositeTSPSource implements TSPSource {
+public class CompositeTSPSource implements TSPSource, AutoCloseable {
 
 	private static final long serialVersionUID = 948088043702414489L;
 
@@ -46,6 +57,15 @@ public class CompositeTSPSource implements TSPSource {
 	/** A map of source keys and corresponding TSP Sources */
 	private Map<String, TSPSource> tspSources;
 
+	/** Defines the order of the sources based on their statistics (optional) */
+	private AdaptiveSourceSelector sourceSelector;
+
+	/** The delay in milliseconds before requesting the next source in parallel (negative value disables hedging) */
+	private long hedgingDelay = -1;
+
+	/** Executes the hedged requests */
+	private final HedgedRequestExecutor hedgedRequestExecutor = new HedgedRequestExecutor("dss-composite-tsp");
+
 	/**
 	 * Default constructor instantiating object with null values
 	 */
@@ -64,23 +84,117 @@ public class CompositeTSPSource implements TSPSource {
 		this.tspSources = tspSources;
 	}
 
+	/**
+	 * Sets the selector used to order the sources based on their latency and failures.
+	 * When not defined (default), the sources are requested in the order of the map.
+	 * 
+	 * @param sourceSelector
+	 *            {@link AdaptiveSourceSelector}
+	 */
+	public void setSourceSelector(AdaptiveSourceSelector sourceSelector) {
+		this.sourceSelector = sourceSelector;
+	}
+
+	/**
+	 * Sets the delay in milliseconds after which the next source is requested in parallel,
+	 * when the previous one(s) did not respond yet. A failed request triggers the next source immediately.
+	 * 0 requests all sources at once. A negative value (default) disables hedging : the sources are requested
+	 * one after another.
+	 * 
+	 * @param hedgingDelay
+	 *            delay in milliseconds
+	 */
+	public void setHedgingDelay(long hedgingDelay) {
+		this.hedgingDelay = hedgingDelay;
+	}
+
+	/**
+	 * Sets the executor service used to execute the hedged requests.
+	 * If not defined, a cached thread pool of daemon threads is used, which is shut down on {@link #close()}.
+	 * The provided executor service is not shut down by this class.
+	 * 
+	 * @param executorService
+	 *            {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		hedgedRequestExecutor.setExecutorService(executorService);
+	}
+
 	@Override
 	public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digestValue) throws DSSException {
-		for (Entry<String, TSPSource> entry : tspSources.entrySet()) {
-			String sourceKey = entry.getKey();
-			TSPSource source = entry.getValue();
-			LOG.debug("Trying to get timestamp with TSPSource '{}'", sourceKey);
-			try {
-				TimestampBinary timestampBinary = source.getTimeStampResponse(digestAlgorithm, digestValue);
-				if (timestampBinary != null) {
-					LOG.debug("Successfully retrieved timestamp with TSPSource '{}'", sourceKey);
-					return timestampBinary;
-				}
-			} catch (Exception e) {
-				LOG.warn("Unable to retrieve the timestamp with TSPSource '{}' : {}", sourceKey, e.getMessage());
+		List<String> sourceKeys = getOrderedSourceKeys();
+		if (hedgingDelay >= 0 && sourceKeys.size() > 1) {
+			return getHedgedTimeStampResponse(sourceKeys, digestAlgorithm, digestValue);
+		}
+		for (String sourceKey : sourceKeys) {
+			TimestampBinary timestampBinary = getTimeStampResponse(sourceKey, digestAlgorithm, digestValue, null);
+			if (timestampBinary != null) {
+				return timestampBinary;
 			}
 		}
 		throw new DSSExternalResourceException("Unable to retrieve the timestamp (" + tspSources.size() + " tries)");
 	}
 
+	private List<String> getOrderedSourceKeys() {
+		if (sourceSelector != null) {
+			return sourceSelector.getOrderedSourceKeys(tspSources.keySet());
+		}
+		return new ArrayList<>(tspSources.keySet());
+	}
+
+	private TimestampBinary getHedgedTimeStampResponse(List<String> sourceKeys, DigestAlgorithm digestAlgorithm,
+			byte[] digestValue) {
+		try {
+			TimestampBinary timestampBinary = hedgedRequestExecutor.execute(sourceKeys, hedgingDelay,
+					(sourceKey, completed) -> getTimeStampResponse(sourceKey, digestAlgorithm, digestValue, completed));
+			if (timestampBinary != null) {
+				return timestampBinary;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSExternalResourceException("Interrupted while waiting for the timestamp!");
+		}
+		throw new DSSExternalResourceException("Unable to retrieve the timestamp (" + sourceKeys.size() + " tries)");
+	}
+
+	/**
+	 * Requests the timestamp from the given source and records the outcome, when a selector is defined.
+	 * The failure of a request cancelled because another source already responded is not recorded.
+	 */
+	private TimestampBinary getTimeStampResponse(String sourceKey, DigestAlgorithm digestAlgorithm, byte[] digestValue,
+			AtomicBoolean completed) {
+		TSPSource source = tspSources.get(sourceKey);
+		LOG.debug("Trying to get timestamp with TSPSource '{}'", sourceKey);
+		final long startTime = System.nanoTime();
+		try {
+			TimestampBinary timestampBinary = source.getTimeStampResponse(digestAlgorithm, digestValue);
+			if (timestampBinary != null) {
+				LOG.debug("Successfully retrieved timestamp with TSPSource '{}'", sourceKey);
+				if (sourceSelector != null) {
+					sourceSelector.recordSuccess(sourceKey, System.nanoTime() - startTime);
+				}
+				return timestampBinary;
+			}
+		} catch (Exception e) {
+			if (completed != null && completed.get()) {
+				LOG.debug("Request to TSPSource '{}' aborted : {}", sourceKey, e.getMessage());
+				return null;
+			}
+			LOG.warn("Unable to retrieve the timestamp with TSPSource '{}' : {}", sourceKey, e.getMessage());
+		}
+		if (sourceSelector != null && (completed == null || !completed.get())) {
+			sourceSelector.recordFailure(sourceKey, System.nanoTime() - startTime);
+		}
+		return null;
+	}
+
+	/**
+	 * Shuts down the thread pool created for the hedged requests, if any.
+	 * An {@code ExecutorService} provided with {@link #setExecutorService(ExecutorService)} is not shut down.
+	 */
+	@Override
+	public void close() {
+		hedgedRequestExecutor.close();
+	}
+
 }
@@ -0,0 +1,166 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class allows to time-stamp several digests in parallel using the provided {@code TSPSource},
+ * while limiting the number of concurrent requests sent to the TSA.
+ * Contrary to {@code HashTreeTimestampAggregator}, every digest is time-stamped with its own time-stamp,
+ * thus the obtained time-stamps can be used for any purpose (e.g. a signature time-stamp).
+ *
+ */
+public class PooledTSPSource implements TSPSource {
+
+    private static final long serialVersionUID = -4311262913787025541L;
+
+    /** The default maximum number of concurrent requests */
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
+    /** The TSPSource to be used */
+    private final TSPSource tspSource;
+
+    /** The maximum number of concurrent requests */
+    private final int maxConcurrentRequests;
+
+    /** Limits the number of concurrent requests */
+    private final Semaphore permits;
+
+    /** Executes the requests of a batch (lazily instantiated, when not provided) */
+    private transient ExecutorService executorService;
+
+    /**
+     * Constructor with a default limit of 4 concurrent requests
+     *
+     * @param tspSource {@link TSPSource} to be used
+     */
+    public PooledTSPSource(final TSPSource tspSource) {
+        this(tspSource, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Default constructor
+     *
+     * @param tspSource {@link TSPSource} to be used
+     * @param maxConcurrentRequests the maximum number of concurrent requests sent to the TSA
+     */
+    public PooledTSPSource(final TSPSource tspSource, final int maxConcurrentRequests) {
+        Objects.requireNonNull(tspSource, "TSPSource cannot be null!");
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent requests shall be positive!");
+        }
+        this.tspSource = tspSource;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    /**
+     * Sets the executor service used to execute the requests of {@code #getTimeStampResponses}.
+     * If not defined, a fixed thread pool of {@code maxConcurrentRequests} daemon threads is used.
+     *
+     * @param executorService {@link ExecutorService}
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @Override
+    public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSExternalResourceException("Interrupted while waiting for a time-stamp request slot!");
+        }
+        try {
+            return tspSource.getTimeStampResponse(digestAlgorithm, digest);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Time-stamps the given digests in parallel
+     *
+     * @param digestAlgorithm {@link DigestAlgorithm} used to compute the digests
+     * @param digests a list of digests to be time-stamped
+     * @return a list of {@link TimestampBinary}s, in the same order as the provided digests
+     * @throws DSSException if a time-stamp cannot be obtained for one of the digests
+     */
+    public List<TimestampBinary> getTimeStampResponses(DigestAlgorithm digestAlgorithm, List<byte[]> digests) throws DSSException {
+        if (Utils.isCollectionEmpty(digests)) {
+            return Collections.emptyList();
+        }
+        final ExecutorService executor = getExecutorService();
+        final List<Future<TimestampBinary>> futures = new ArrayList<>(digests.size());
+        for (byte[] digest : digests) {
+            futures.add(executor.submit(() -> getTimeStampResponse(digestAlgorithm, digest)));
+        }
+
+        final List<TimestampBinary> result = new ArrayList<>(digests.size());
+        try {
+            for (Future<TimestampBinary> future : futures) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new DSSExternalResourceException("Interrupted while waiting for the time-stamps!");
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof DSSException) {
+                throw (DSSException) e.getCause();
+            }
+            throw new DSSExternalResourceException(String.format(
+                    "Unable to obtain a time-stamp : %s", e.getCause().getMessage()), e.getCause());
+        }
+        return result;
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            executorService = Executors.newFixedThreadPool(maxConcurrentRequests, runnable -> {
+                Thread thread = new Thread(runnable, "dss-pooled-tsp-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executorService;
+    }
+
+}
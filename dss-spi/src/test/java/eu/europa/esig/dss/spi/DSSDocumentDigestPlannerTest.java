@@ -0,0 +1,212 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DSSDocumentDigestPlannerTest {
+
+    private static final byte[] CONTENT = "Hello World!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void singleReadTest() throws Exception {
+        CountingDocument firstDocument = new CountingDocument(CONTENT);
+        CountingDocument secondDocument = new CountingDocument(CONTENT);
+
+        DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+        assertTrue(digestPlanner.isEmpty());
+
+        digestPlanner.register(Arrays.<DSSDocument>asList(firstDocument, secondDocument), Arrays.asList(DigestAlgorithm.SHA256, DigestAlgorithm.SHA1));
+        digestPlanner.register(firstDocument, DigestAlgorithm.SHA512);
+        digestPlanner.register(firstDocument, DigestAlgorithm.SHA256);
+        assertFalse(digestPlanner.isEmpty());
+        assertEquals(Arrays.asList(firstDocument, secondDocument), digestPlanner.getDocuments());
+        assertEquals(3, digestPlanner.getDigestAlgorithms(firstDocument).size());
+        assertEquals(2, digestPlanner.getDigestAlgorithms(secondDocument).size());
+
+        digestPlanner.execute();
+        assertTrue(digestPlanner.isEmpty());
+        assertEquals(1, firstDocument.openedStreams);
+        assertEquals(1, secondDocument.openedStreams);
+
+        for (DigestAlgorithm digestAlgorithm : Arrays.asList(DigestAlgorithm.SHA1, DigestAlgorithm.SHA256, DigestAlgorithm.SHA512)) {
+            assertArrayEquals(DSSUtils.digest(digestAlgorithm, CONTENT), firstDocument.getDigestValue(digestAlgorithm));
+        }
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, CONTENT), secondDocument.getDigestValue(DigestAlgorithm.SHA256));
+        assertEquals(1, firstDocument.openedStreams);
+        assertEquals(1, secondDocument.openedStreams);
+
+        // already computed digests are not read again
+        digestPlanner.register(firstDocument, DigestAlgorithm.SHA256).execute();
+        assertEquals(1, firstDocument.openedStreams);
+
+        // not planned digest is computed on demand
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA384, CONTENT), secondDocument.getDigestValue(DigestAlgorithm.SHA384));
+        assertEquals(2, secondDocument.openedStreams);
+    }
+
+    @Test
+    void executorServiceTest() {
+        List<CountingDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            documents.add(new CountingDocument(CONTENT));
+        }
+
+        DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+        digestPlanner.register(new ArrayList<DSSDocument>(documents), Arrays.asList(DigestAlgorithm.SHA256, DigestAlgorithm.SHA512));
+
+        Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger submittedTasks = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(() -> {
+                threads.add(Thread.currentThread());
+                r.run();
+            });
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            digestPlanner.execute(new CountingExecutorService(executorService, submittedTasks));
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(digestPlanner.isEmpty());
+        assertEquals(5, submittedTasks.get());
+        assertFalse(threads.isEmpty());
+        assertFalse(threads.contains(Thread.currentThread()));
+
+        for (CountingDocument document : documents) {
+            assertEquals(1, document.openedStreams);
+            assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, CONTENT), document.getDigestValue(DigestAlgorithm.SHA256));
+            assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA512, CONTENT), document.getDigestValue(DigestAlgorithm.SHA512));
+            assertEquals(1, document.openedStreams);
+        }
+    }
+
+    @Test
+    void digestDocumentTest() {
+        DigestDocument digestDocument = new DigestDocument(DigestAlgorithm.SHA256, DSSUtils.digest(DigestAlgorithm.SHA256, CONTENT));
+
+        DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+        digestPlanner.register(digestDocument, Arrays.asList(DigestAlgorithm.SHA256, DigestAlgorithm.SHA512));
+        digestPlanner.execute();
+
+        assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, CONTENT), digestDocument.getDigestValue(DigestAlgorithm.SHA256));
+    }
+
+    @Test
+    void emptyTest() {
+        CountingDocument document = new CountingDocument(CONTENT);
+
+        DSSDocumentDigestPlanner digestPlanner = new DSSDocumentDigestPlanner();
+        digestPlanner.register(document, Collections.emptyList());
+        assertTrue(digestPlanner.isEmpty());
+
+        digestPlanner.execute();
+        assertEquals(0, document.openedStreams);
+    }
+
+    private static class CountingDocument extends InMemoryDocument {
+
+        private static final long serialVersionUID = -3318466862463342346L;
+
+        private int openedStreams;
+
+        CountingDocument(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized InputStream openStream() {
+            openedStreams++;
+            return super.openStream();
+        }
+
+    }
+
+    private static class CountingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService executorService;
+
+        private final AtomicInteger submittedTasks;
+
+        CountingExecutorService(ExecutorService executorService, AtomicInteger submittedTasks) {
+            this.executorService = executorService;
+            this.submittedTasks = submittedTasks;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            submittedTasks.incrementAndGet();
+            executorService.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            executorService.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executorService.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executorService.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executorService.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executorService.awaitTermination(timeout, unit);
+        }
+
+    }
+
+}
@@ -45,6 +45,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -70,6 +71,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -165,6 +167,41 @@ class DSSUtilsTest {
 				Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHAKE256_512, data)));
 	}
 
+	@Test
+	void digestEngineIsolationTest() {
+		byte[] data = "Hello world!".getBytes(StandardCharsets.UTF_8);
+		String expected = "c0535e4be2b79ffd93291305436bf889314e4a3faec05ecffcbb7df31ad9e51a";
+
+		// nested computation within the same thread does not share the engine
+		InputStream nestedDigestStream = new ByteArrayInputStream(data) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				assertEquals(expected, Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, data)));
+				return super.read(b, off, len);
+			}
+		};
+		assertEquals(expected, Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, nestedDigestStream)));
+
+		// a failed computation does not affect the next ones
+		InputStream failingStream = new ByteArrayInputStream(data) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				if (pos > 0) {
+					throw new IllegalStateException("Interrupted read");
+				}
+				return super.read(b, off, 5);
+			}
+		};
+		assertThrows(IllegalStateException.class, () -> DSSUtils.digest(DigestAlgorithm.SHA256, failingStream));
+		assertEquals(expected, Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, data)));
+		assertEquals(expected, Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, "Hello ".getBytes(StandardCharsets.UTF_8),
+				"world!".getBytes(StandardCharsets.UTF_8))));
+		assertEquals(expected, Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, new ByteArrayInputStream(data))));
+
+		// every call obtains a new engine cloned from the cached prototype
+		assertNotSame(DSSUtils.getMessageDigest(DigestAlgorithm.SHA256), DSSUtils.getMessageDigest(DigestAlgorithm.SHA256));
+	}
+
 	@Test
 	void testDontSkipCertificatesWhenMultipleAreFoundInP7c() throws IOException {
 		try (FileInputStream fis = new FileInputStream("src/test/resources/certchain.p7c")) {
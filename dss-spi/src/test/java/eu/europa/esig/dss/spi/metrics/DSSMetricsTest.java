@@ -0,0 +1,159 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DSSMetricsTest {
+
+    private MockMetricsCollector collector;
+
+    @BeforeEach
+    void init() {
+        collector = new MockMetricsCollector();
+        DSSMetrics.register(collector);
+    }
+
+    @AfterEach
+    void clean() {
+        DSSMetrics.unregister(collector);
+    }
+
+    @Test
+    void counterTest() {
+        assertTrue(DSSMetrics.isEnabled());
+        assertTrue(DSSMetrics.getCollectors().contains(collector));
+
+        DSSMetrics.increment(DSSMetrics.REVOCATION_REPOSITORY_HIT, DSSMetrics.TAG_SOURCE, "JdbcCacheCRLSource");
+        assertEquals(1, collector.counters.size());
+        assertEquals(DSSMetrics.REVOCATION_REPOSITORY_HIT, collector.counters.get(0));
+        assertEquals("JdbcCacheCRLSource", collector.lastTags.get(DSSMetrics.TAG_SOURCE));
+
+        DSSMetrics.increment(DSSMetrics.TL_CACHE_STATE);
+        assertEquals(2, collector.counters.size());
+        assertTrue(collector.lastTags.isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> DSSMetrics.increment(DSSMetrics.TL_CACHE_STATE, DSSMetrics.TAG_CACHE));
+    }
+
+    @Test
+    void timerTest() {
+        try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.VALIDATION_PHASE,
+                DSSMetrics.TAG_PHASE, DSSMetrics.PHASE_PROCESS_EXECUTION)) {
+            assertTrue(collector.timers.isEmpty());
+        }
+        assertEquals(1, collector.timers.size());
+        assertEquals(DSSMetrics.VALIDATION_PHASE, collector.timers.get(0));
+        assertEquals(DSSMetrics.PHASE_PROCESS_EXECUTION, collector.lastTags.get(DSSMetrics.TAG_PHASE));
+        assertTrue(collector.lastDuration >= 0);
+
+        DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.SIGNATURE_PHASE);
+        timer.stop();
+        timer.close();
+        assertEquals(2, collector.timers.size());
+    }
+
+    @Test
+    void disabledTest() {
+        DSSMetrics.unregister(collector);
+        assertFalse(DSSMetrics.getCollectors().contains(collector));
+
+        DSSMetrics.increment(DSSMetrics.DATA_LOADER_ERROR, DSSMetrics.TAG_HOST, "dss.example.com");
+        try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.DATA_LOADER_REQUEST)) {
+            // nothing
+        }
+        assertTrue(collector.counters.isEmpty());
+        assertTrue(collector.timers.isEmpty());
+    }
+
+    @Test
+    void failingCollectorTest() {
+        MetricsCollector failingCollector = new MetricsCollector() {
+
+            @Override
+            public void incrementCounter(String name, Map<String, String> tags) {
+                throw new IllegalStateException("Failure");
+            }
+
+            @Override
+            public void recordTime(String name, long durationNanos, Map<String, String> tags) {
+                throw new IllegalStateException("Failure");
+            }
+
+        };
+        DSSMetrics.register(failingCollector);
+        try {
+            DSSMetrics.increment(DSSMetrics.DATA_LOADER_ERROR);
+            DSSMetrics.recordTime(DSSMetrics.DATA_LOADER_REQUEST, 10);
+            // the other collectors are still called
+            assertEquals(1, collector.counters.size());
+            assertEquals(1, collector.timers.size());
+        } finally {
+            DSSMetrics.unregister(failingCollector);
+        }
+    }
+
+    @Test
+    void emptyTagValueTest() {
+        DSSMetrics.increment(DSSMetrics.DATA_LOADER_ERROR, DSSMetrics.TAG_HOST, "");
+        assertEquals("unknown", collector.lastTags.get(DSSMetrics.TAG_HOST));
+
+        DSSMetrics.increment(DSSMetrics.DATA_LOADER_ERROR, DSSMetrics.TAG_HOST, null);
+        assertEquals("unknown", collector.lastTags.get(DSSMetrics.TAG_HOST));
+    }
+
+    private static class MockMetricsCollector implements MetricsCollector {
+
+        private final List<String> counters = new ArrayList<>();
+
+        private final List<String> timers = new ArrayList<>();
+
+        private Map<String, String> lastTags;
+
+        private long lastDuration;
+
+        @Override
+        public void incrementCounter(String name, Map<String, String> tags) {
+            counters.add(name);
+            lastTags = tags;
+        }
+
+        @Override
+        public void recordTime(String name, long durationNanos, Map<String, String> tags) {
+            timers.add(name);
+            lastTags = tags;
+            lastDuration = durationNanos;
+        }
+
+    }
+
+}
@@ -38,6 +38,8 @@ import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.ExternalResourcesCRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.OfflineCRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.ExternalResourcesOCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSourceMultipleCertificatesSupport;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OfflineOCSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 import eu.europa.esig.dss.utils.Utils;
@@ -45,10 +47,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -207,6 +212,56 @@ class SignatureValidationContextTest {
 		assertNotNull(getRootCertificate(certificateToken, processedCertificates));
 	}
 
+	@Test
+	void testMultipleCertificatesOCSPRequest() {
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setCheckRevocationForUntrustedChains(true);
+		certificateVerifier.setCrlSource(null);
+
+		MockMultipleCertificatesOCSPSource ocspSource = new MockMultipleCertificatesOCSPSource();
+		certificateVerifier.setOcspSource(ocspSource);
+
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put("http://dss.nowina.lu/pki-factory/crt/Test-Qualified-CA1-from-ZZ.crt", DSSUtils.toByteArray(new FileDocument("src/test/resources/zz-certChain.p7c")));
+		certificateVerifier.setAIASource(new DefaultAIASource(new MemoryDataLoader(dataMap)));
+
+		ValidationContext vc = new SignatureValidationContext();
+		vc.initialize(certificateVerifier);
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/zz-cert.cer"));
+		vc.addCertificateTokenForVerification(certificateToken);
+
+		vc.validate();
+
+		// all certificates of the chain, except the self-signed root, are requested at once
+		assertEquals(1, ocspSource.multipleRequests.size());
+		assertEquals(3, ocspSource.multipleRequests.get(0).size());
+		assertTrue(ocspSource.multipleRequests.get(0).containsKey(certificateToken));
+		// no individual request is executed for the already requested certificates
+		assertEquals(0, ocspSource.singleRequests.size());
+	}
+
+	private static class MockMultipleCertificatesOCSPSource implements OCSPSourceMultipleCertificatesSupport {
+
+		private static final long serialVersionUID = -7306279420446374829L;
+
+		private final List<Map<CertificateToken, CertificateToken>> multipleRequests = new ArrayList<>();
+
+		private final List<CertificateToken> singleRequests = new ArrayList<>();
+
+		@Override
+		public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificateIssuerMap) {
+			multipleRequests.add(new HashMap<>(certificateIssuerMap));
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			singleRequests.add(certificateToken);
+			return null;
+		}
+
+	}
+
 	private CertificateToken getRootCertificate(CertificateToken token, Set<CertificateToken> allCerts) {
 		Set<CertificateToken> processed = new HashSet<>();
 		while (token.getPublicKeyOfTheSigner() != null) {
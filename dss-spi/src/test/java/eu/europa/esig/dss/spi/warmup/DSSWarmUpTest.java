@@ -0,0 +1,96 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.warmup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DSSWarmUpTest {
+
+    @Test
+    void defaultTasksTest() {
+        DSSWarmUp warmUp = new DSSWarmUp();
+        assertTrue(warmUp.getTasks().stream().anyMatch(t -> "Security provider".equals(t.getName())));
+        assertTrue(warmUp.getTasks().stream().anyMatch(t -> "Message digests".equals(t.getName())));
+
+        warmUp.run();
+        assertTrue(warmUp.isReady());
+        assertTrue(warmUp.getFailures().isEmpty());
+    }
+
+    @Test
+    void executeOnceTest() {
+        AtomicInteger counter = new AtomicInteger();
+        DSSWarmUp warmUp = new DSSWarmUp(Arrays.asList(
+                new WarmUpTask("first", counter::incrementAndGet),
+                new WarmUpTask("second", counter::incrementAndGet)));
+
+        CompletableFuture<Void> completion = warmUp.start();
+        assertSame(completion, warmUp.start());
+        completion.join();
+        warmUp.run();
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    void failuresTest() {
+        DSSWarmUp warmUp = new DSSWarmUp(Arrays.asList(
+                new WarmUpTask("valid", () -> null),
+                new WarmUpTask("invalid", () -> {
+                    throw new IllegalStateException("Failure");
+                })));
+        warmUp.run();
+
+        assertTrue(warmUp.isReady());
+        assertEquals(1, warmUp.getFailures().size());
+        assertEquals("Failure", warmUp.getFailures().get("invalid").getMessage());
+    }
+
+    @Test
+    void readinessTest() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        DSSWarmUp warmUp = new DSSWarmUp(Collections.singletonList(new WarmUpTask("blocking", () -> latch.await(10, TimeUnit.SECONDS))));
+        assertFalse(warmUp.isReady());
+        assertThrows(IllegalStateException.class, () -> warmUp.awaitReady(1, TimeUnit.SECONDS));
+
+        warmUp.start();
+        assertFalse(warmUp.isReady());
+        assertFalse(warmUp.awaitReady(50, TimeUnit.MILLISECONDS));
+
+        latch.countDown();
+        assertTrue(warmUp.awaitReady(10, TimeUnit.SECONDS));
+        assertTrue(warmUp.isReady());
+        assertTrue(warmUp.getFailures().isEmpty());
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSourceSelectorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void orderTest() {
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        List<String> keys = Arrays.asList("a", "b", "c");
+        assertEquals(keys, selector.getOrderedSourceKeys(keys));
+
+        selector.recordSuccess("a", 300 * MS);
+        selector.recordSuccess("b", 100 * MS);
+        selector.recordSuccess("c", 200 * MS);
+        assertEquals(Arrays.asList("b", "c", "a"), selector.getOrderedSourceKeys(keys));
+
+        // a fast failure is worse than a slow success
+        selector.recordFailure("b", 5 * MS);
+        assertEquals(Arrays.asList("c", "a", "b"), selector.getOrderedSourceKeys(keys));
+
+        selector.reset();
+        assertEquals(keys, selector.getOrderedSourceKeys(keys));
+    }
+
+    @Test
+    void circuitBreakerTest() throws Exception {
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        selector.setFailureThreshold(2);
+        selector.setCircuitBreakerDuration(100);
+        List<String> keys = Arrays.asList("a", "b");
+
+        selector.recordSuccess("b", 10 * MS);
+        selector.recordFailure("a", MS);
+        assertTrue(selector.isAvailable("a"));
+        selector.recordFailure("a", MS);
+        assertFalse(selector.isAvailable("a"));
+        assertEquals(Arrays.asList("b", "a"), selector.getOrderedSourceKeys(keys));
+
+        Thread.sleep(150);
+        assertTrue(selector.isAvailable("a"));
+
+        // half-open : a new failure breaks the circuit again
+        selector.recordFailure("a", MS);
+        assertFalse(selector.isAvailable("a"));
+
+        Thread.sleep(150);
+        selector.recordSuccess("a", MS);
+        assertTrue(selector.isAvailable("a"));
+        selector.recordFailure("a", MS);
+        assertTrue(selector.isAvailable("a"));
+    }
+
+    @Test
+    void concurrentUpdatesTest() throws Exception {
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            keys.add("source-" + i);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread updater = new Thread(() -> {
+            Random random = new Random();
+            while (running.get()) {
+                String key = keys.get(random.nextInt(keys.size()));
+                selector.recordSuccess(key, random.nextInt(1000) * MS);
+            }
+        });
+        updater.start();
+        try {
+            // the sort shall not fail while the scores are updated
+            for (int i = 0; i < 500; i++) {
+                assertEquals(keys.size(), selector.getOrderedSourceKeys(keys).size());
+            }
+        } finally {
+            running.set(false);
+            updater.join();
+        }
+    }
+
+    @Test
+    void invalidConfigurationTest() {
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        assertThrows(IllegalArgumentException.class, () -> selector.setSmoothingFactor(0));
+        assertThrows(IllegalArgumentException.class, () -> selector.setSmoothingFactor(1.5));
+        assertThrows(IllegalArgumentException.class, () -> selector.setFailureThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> selector.setCircuitBreakerDuration(-1));
+    }
+
+}
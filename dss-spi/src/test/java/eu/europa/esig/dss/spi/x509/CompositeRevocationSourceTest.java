@@ -0,0 +1,153 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class CompositeRevocationSourceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void hedgingTest() {
+        RevocationToken<OCSP> slowToken = mock(RevocationToken.class);
+        RevocationToken<OCSP> fastToken = mock(RevocationToken.class);
+        MockRevocationSource slow = new MockRevocationSource(slowToken, 2000, false);
+        MockRevocationSource fast = new MockRevocationSource(fastToken, 0, false);
+
+        Map<String, RevocationSource<OCSP>> sources = new LinkedHashMap<>();
+        sources.put("slow", slow);
+        sources.put("fast", fast);
+
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        try (CompositeRevocationSource<OCSP> composite = new CompositeRevocationSource<>()) {
+            composite.setSources(sources);
+            composite.setSourceSelector(selector);
+            composite.setHedgingDelay(50);
+
+            long start = System.currentTimeMillis();
+            assertSame(fastToken, composite.getRevocationToken(mock(CertificateToken.class), mock(CertificateToken.class)));
+            assertTrue(System.currentTimeMillis() - start < 1500);
+            assertEquals(1, slow.counter.get());
+            assertEquals(1, fast.counter.get());
+
+            // the cancelled request is not recorded as a failure
+            assertEquals(0, selector.getScore("slow"));
+            assertTrue(selector.isAvailable("slow"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void hedgingEmptyResponseTest() {
+        RevocationToken<OCSP> token = mock(RevocationToken.class);
+        MockRevocationSource empty = new MockRevocationSource(null, 0, false);
+        MockRevocationSource failing = new MockRevocationSource(null, 0, true);
+        MockRevocationSource good = new MockRevocationSource(token, 0, false);
+
+        Map<String, RevocationSource<OCSP>> sources = new LinkedHashMap<>();
+        sources.put("empty", empty);
+        sources.put("failing", failing);
+        sources.put("good", good);
+
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            CompositeRevocationSource<OCSP> composite = new CompositeRevocationSource<>();
+            composite.setSources(sources);
+            composite.setHedgingDelay(5000);
+            composite.setExecutorService(executorService);
+
+            // an empty response or a failure triggers the next source without waiting for the delay
+            long start = System.currentTimeMillis();
+            assertSame(token, composite.getRevocationToken(mock(CertificateToken.class), mock(CertificateToken.class)));
+            assertTrue(System.currentTimeMillis() - start < 2500);
+
+            sources.remove("good");
+            assertNull(composite.getRevocationToken(mock(CertificateToken.class), mock(CertificateToken.class)));
+            assertEquals(2, empty.counter.get());
+            assertEquals(2, failing.counter.get());
+            assertEquals(1, good.counter.get());
+
+            // the provided executor service is managed by the caller
+            composite.close();
+            assertFalse(executorService.isShutdown());
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static class MockRevocationSource implements RevocationSource<OCSP> {
+
+        private static final long serialVersionUID = 4183573869128712404L;
+
+        private final RevocationToken<OCSP> revocationToken;
+
+        private final long delay;
+
+        private final boolean failure;
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private MockRevocationSource(RevocationToken<OCSP> revocationToken, long delay, boolean failure) {
+            this.revocationToken = revocationToken;
+            this.delay = delay;
+            this.failure = failure;
+        }
+
+        @Override
+        public RevocationToken<OCSP> getRevocationToken(CertificateToken certificateToken,
+                                                        CertificateToken issuerCertificateToken) {
+            counter.incrementAndGet();
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DSSExternalResourceException("Interrupted");
+                }
+            }
+            if (failure) {
+                throw new DSSExternalResourceException("OCSP responder is not available");
+            }
+            return revocationToken;
+        }
+
+    }
+
+}
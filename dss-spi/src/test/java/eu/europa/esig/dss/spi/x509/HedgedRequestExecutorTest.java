@@ -0,0 +1,99 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedRequestExecutorTest {
+
+    @Test
+    void firstResponseTest() throws Exception {
+        try (HedgedRequestExecutor executor = new HedgedRequestExecutor("hedged-first-response-test")) {
+            assertEquals("fast", executor.execute(Arrays.asList("slow", "fast"), 50, (sourceKey, completed) -> {
+                if ("slow".equals(sourceKey)) {
+                    sleep(2000);
+                }
+                return sourceKey;
+            }));
+            assertNull(executor.execute(Arrays.asList("a", "b"), 5000, (sourceKey, completed) -> null));
+        }
+    }
+
+    @Test
+    void closeTest() throws Exception {
+        final String threadNamePrefix = "hedged-close-test";
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(threadNamePrefix);
+        assertEquals("a", executor.execute(Arrays.asList("a", "b"), 5000, (sourceKey, completed) -> sourceKey));
+        assertTrue(isThreadAlive(threadNamePrefix));
+
+        executor.close();
+        long timeout = System.currentTimeMillis() + 5000;
+        while (isThreadAlive(threadNamePrefix) && System.currentTimeMillis() < timeout) {
+            sleep(50);
+        }
+        assertFalse(isThreadAlive(threadNamePrefix));
+
+        // a new thread pool is created on a new use
+        assertEquals("a", executor.execute(Arrays.asList("a", "b"), 5000, (sourceKey, completed) -> sourceKey));
+        executor.close();
+    }
+
+    @Test
+    void providedExecutorServiceTest() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            HedgedRequestExecutor executor = new HedgedRequestExecutor("hedged-provided-test");
+            executor.setExecutorService(executorService);
+            assertEquals("a", executor.execute(Arrays.asList("a", "b"), 5000, (sourceKey, completed) -> sourceKey));
+            executor.close();
+
+            // the provided executor service is managed by the caller
+            assertFalse(executorService.isShutdown());
+            assertFalse(isThreadAlive("hedged-provided-test"));
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static boolean isThreadAlive(String threadNamePrefix) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.isAlive() && thread.getName().startsWith(threadNamePrefix));
+    }
+
+    private static void sleep(long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.AdaptiveSourceSelector;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompositeTSPSourceTest {
+
+    private static final byte[] DIGEST = new byte[32];
+
+    @Test
+    void sequentialTest() {
+        MockTSPSource failing = new MockTSPSource(null, 0);
+        MockTSPSource good = new MockTSPSource(new TimestampBinary(new byte[] { 1 }), 0);
+
+        Map<String, TSPSource> sources = new LinkedHashMap<>();
+        sources.put("failing", failing);
+        sources.put("good", good);
+
+        CompositeTSPSource composite = new CompositeTSPSource();
+        composite.setTspSources(sources);
+        assertEquals(1, composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes()[0]);
+        assertEquals(1, composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes()[0]);
+        assertEquals(2, failing.counter.get());
+        assertEquals(2, good.counter.get());
+    }
+
+    @Test
+    void adaptiveTest() {
+        MockTSPSource failing = new MockTSPSource(null, 0);
+        MockTSPSource good = new MockTSPSource(new TimestampBinary(new byte[] { 1 }), 0);
+
+        Map<String, TSPSource> sources = new LinkedHashMap<>();
+        sources.put("failing", failing);
+        sources.put("good", good);
+
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        CompositeTSPSource composite = new CompositeTSPSource();
+        composite.setTspSources(sources);
+        composite.setSourceSelector(selector);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes()[0]);
+        }
+        // the failing source is requested only once, then ranked after the good one
+        assertEquals(1, failing.counter.get());
+        assertEquals(5, good.counter.get());
+    }
+
+    @Test
+    void hedgingTest() {
+        MockTSPSource slow = new MockTSPSource(new TimestampBinary(new byte[] { 1 }), 2000);
+        MockTSPSource fast = new MockTSPSource(new TimestampBinary(new byte[] { 2 }), 0);
+
+        Map<String, TSPSource> sources = new LinkedHashMap<>();
+        sources.put("slow", slow);
+        sources.put("fast", fast);
+
+        AdaptiveSourceSelector selector = new AdaptiveSourceSelector();
+        try (CompositeTSPSource composite = new CompositeTSPSource()) {
+            composite.setTspSources(sources);
+            composite.setSourceSelector(selector);
+            composite.setHedgingDelay(50);
+
+            long start = System.currentTimeMillis();
+            assertEquals(2, composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes()[0]);
+            assertTrue(System.currentTimeMillis() - start < 1500);
+            assertEquals(1, slow.counter.get());
+            assertEquals(1, fast.counter.get());
+
+            // the cancelled request is not recorded as a failure
+            assertEquals(0, selector.getScore("slow"));
+            assertTrue(selector.isAvailable("slow"));
+        }
+    }
+
+    @Test
+    void hedgingFailureTest() {
+        MockTSPSource failing = new MockTSPSource(null, 0);
+        MockTSPSource good = new MockTSPSource(new TimestampBinary(new byte[] { 1 }), 0);
+
+        Map<String, TSPSource> sources = new LinkedHashMap<>();
+        sources.put("failing", failing);
+        sources.put("good", good);
+
+        try (CompositeTSPSource composite = new CompositeTSPSource()) {
+            composite.setTspSources(sources);
+            composite.setHedgingDelay(5000);
+
+            // a failure triggers the next source without waiting for the delay
+            long start = System.currentTimeMillis();
+            assertEquals(1, composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes()[0]);
+            assertTrue(System.currentTimeMillis() - start < 2500);
+
+            sources.remove("good");
+            sources.put("failing2", new MockTSPSource(null, 0));
+            Exception exception = assertThrows(DSSExternalResourceException.class,
+                    () -> composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST));
+            assertEquals("Unable to retrieve the timestamp (2 tries)", exception.getMessage());
+        }
+    }
+
+    @Test
+    void providedExecutorServiceTest() {
+        Map<String, TSPSource> sources = new LinkedHashMap<>();
+        sources.put("failing", new MockTSPSource(null, 0));
+        sources.put("good", new MockTSPSource(new TimestampBinary(new byte[] { 1 }), 0));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            CompositeTSPSource composite = new CompositeTSPSource();
+            composite.setTspSources(sources);
+            composite.setHedgingDelay(0);
+            composite.setExecutorService(executorService);
+            assertEquals(1, composite.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes()[0]);
+
+            // the provided executor service is managed by the caller
+            composite.close();
+            assertFalse(executorService.isShutdown());
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static class MockTSPSource implements TSPSource {
+
+        private static final long serialVersionUID = -6219537614125838429L;
+
+        private final TimestampBinary timestampBinary;
+
+        private final long delay;
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private MockTSPSource(TimestampBinary timestampBinary, long delay) {
+            this.timestampBinary = timestampBinary;
+            this.delay = delay;
+        }
+
+        @Override
+        public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) {
+            counter.incrementAndGet();
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DSSExternalResourceException("Interrupted");
+                }
+            }
+            if (timestampBinary == null) {
+                throw new DSSExternalResourceException("TSA is not available");
+            }
+            return timestampBinary;
+        }
+
+    }
+
+}
@@ -25,8 +25,7 @@ import eu.europa.esig.dss.pki.model.CertEntityRevocation;
 import eu.europa.esig.dss.pki.model.CertEntityRepository;
 import eu.europa.esig.dss.pki.x509.revocation.ocsp.PKIOCSPSource;
 import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
-import org.bouncycastle.cert.ocsp.OCSPReq;
-import org.bouncycastle.cert.ocsp.Req;
+import org.bouncycastle.cert.ocsp.CertificateID;
 import org.bouncycastle.cert.ocsp.UnknownStatus;
 
 public class UnknownPkiOCSPSource extends PKIOCSPSource {
@@ -38,9 +37,8 @@ public class UnknownPkiOCSPSource extends PKIOCSPSource {
     }
 
     @Override
-    protected void addRevocationStatusToOCSPResponse(BasicOCSPRespBuilder builder, OCSPReq ocspReq, CertEntityRevocation certEntityRevocation) {
-        Req r = ocspReq.getRequestList()[0];
-        builder.addResponse(r.getCertID(), new UnknownStatus());
+    protected void addRevocationStatusToOCSPResponse(BasicOCSPRespBuilder builder, CertificateID certID, CertEntityRevocation certEntityRevocation) {
+        builder.addResponse(certID, new UnknownStatus());
     }
 
 }
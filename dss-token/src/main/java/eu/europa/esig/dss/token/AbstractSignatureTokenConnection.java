@@ -33,11 +33,14 @@ import org.slf4j.LoggerFactory;
 
 import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.spec.AlgorithmParameterSpec;
 import java.security.spec.MGF1ParameterSpec;
 import java.security.spec.PSSParameterSpec;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The abstract implementation of a remote token connection
@@ -46,6 +49,21 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractSignatureTokenConnection.class);
 
+	/**
+	 * The maximum number of kept {@code Signature} instances (the cache is cleared when reached)
+	 */
+	private static final int MAX_REUSABLE_SIGNATURE_INSTANCES = 64;
+
+	/**
+	 * Initialized {@code Signature} instances available for reuse, per private key and algorithm
+	 */
+	private final Map<SignatureInstanceKey, Signature> signatureInstances = new ConcurrentHashMap<>();
+
+	/**
+	 * Defines whether the initialized {@code Signature} instances should be reused between the signing operations
+	 */
+	private boolean reuseSignatureInstances = false;
+
 	/**
 	 * Default constructor
 	 */
@@ -53,6 +71,23 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 		// empty
 	}
 
+	/**
+	 * Sets whether the {@code java.security.Signature} instances, initialized for a private key and an algorithm,
+	 * should be kept and reused by the next signing operations with the same key and algorithm
+	 * (instead of calling {@code Signature.getInstance} and {@code initSign} on every signature).
+	 * An instance is used by one signing operation at a time. Instances requiring parameters (e.g. RSASSA-PSS)
+	 * are not reused.
+	 * Default : FALSE (a new instance is created for every signature)
+	 *
+	 * @param reuseSignatureInstances whether the initialized {@code Signature} instances should be reused
+	 */
+	public void setReuseSignatureInstances(boolean reuseSignatureInstances) {
+		this.reuseSignatureInstances = reuseSignatureInstances;
+		if (!reuseSignatureInstances) {
+			signatureInstances.clear();
+		}
+	}
+
 	@Override
 	public SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, DSSPrivateKeyEntry keyEntry) throws DSSException {
 		EncryptionAlgorithm encryptionAlgorithm = keyEntry.getEncryptionAlgorithm();
@@ -145,13 +180,32 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 			throw new IllegalArgumentException("Only DSSPrivateKeyAccessEntry are supported");
 		}
 		LOG.info("Signature algorithm : {}", javaSignatureAlgorithm);
-		final Signature signature = getSignatureInstance(javaSignatureAlgorithm);
-		if (param != null) {
-			signature.setParameter(param);
+		final PrivateKey privateKey = ((DSSPrivateKeyAccessEntry) keyEntry).getPrivateKey();
+
+		SignatureInstanceKey instanceKey = null;
+		Signature signature = null;
+		if (reuseSignatureInstances && param == null) {
+			instanceKey = new SignatureInstanceKey(privateKey, javaSignatureAlgorithm);
+			// the instance is removed while in use, thus a concurrent call creates its own one
+			signature = signatureInstances.remove(instanceKey);
+		}
+		if (signature == null) {
+			signature = getSignatureInstance(javaSignatureAlgorithm);
+			if (param != null) {
+				signature.setParameter(param);
+			}
+			signature.initSign(privateKey);
 		}
-		signature.initSign(((DSSPrivateKeyAccessEntry) keyEntry).getPrivateKey());
 		signature.update(bytes);
-		return signature.sign();
+		final byte[] signatureValue = signature.sign();
+		if (instanceKey != null) {
+			// the signature object is reset to the state after initSign
+			if (signatureInstances.size() >= MAX_REUSABLE_SIGNATURE_INSTANCES) {
+				signatureInstances.clear();
+			}
+			signatureInstances.put(instanceKey, signature);
+		}
+		return signatureValue;
 	}
 
 	/**
@@ -234,4 +288,45 @@ public abstract class AbstractSignatureTokenConnection implements SignatureToken
 		}
 	}
 
+	/**
+	 * Identifies a reusable {@code Signature} instance by the private key (by reference) and the algorithm
+	 */
+	private static final class SignatureInstanceKey {
+
+		/** The private key */
+		private final PrivateKey privateKey;
+
+		/** The Java signature algorithm name */
+		private final String javaSignatureAlgorithm;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param privateKey {@link PrivateKey}
+		 * @param javaSignatureAlgorithm {@link String}
+		 */
+		private SignatureInstanceKey(PrivateKey privateKey, String javaSignatureAlgorithm) {
+			this.privateKey = privateKey;
+			this.javaSignatureAlgorithm = javaSignatureAlgorithm;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof SignatureInstanceKey)) {
+				return false;
+			}
+			SignatureInstanceKey that = (SignatureInstanceKey) o;
+			return privateKey == that.privateKey && javaSignatureAlgorithm.equals(that.javaSignatureAlgorithm);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(privateKey) + javaSignatureAlgorithm.hashCode();
+		}
+
+	}
+
 }
@@ -0,0 +1,320 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.token;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * This class allows to sign concurrently using a pool of token connections (e.g. several PKCS#11 sessions,
+ * each {@code Pkcs11SignatureToken} using its own provider instance).
+ * Every signing operation borrows a connection from the pool, waiting up to {@code acquireTimeout} milliseconds
+ * when all connections are in use, and returns it after the operation.
+ * <p>
+ * The keys are loaded once and cached. The key entries provided to the signing methods are resolved
+ * (by their certificate) to the key entries of the borrowed connection.
+ * As a connection is used by a single operation at a time, the initialized {@code java.security.Signature}
+ * instances of {@code AbstractSignatureTokenConnection}s are reused between the operations.
+ * <p>
+ * When the pool is closed, the idle connections are closed immediately and the connections in use
+ * are closed when the running operation returns them.
+ *
+ */
+public class PooledSignatureTokenConnection implements SignatureTokenConnection {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PooledSignatureTokenConnection.class);
+
+	/** The default maximum time in milliseconds to wait for an available connection */
+	private static final long DEFAULT_ACQUIRE_TIMEOUT = 30000;
+
+	/** All the connections of the pool */
+	private final List<PooledConnection> connections;
+
+	/** The connections available for use */
+	private final BlockingQueue<PooledConnection> availableConnections;
+
+	/** The maximum time in milliseconds to wait for an available connection */
+	private long acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+
+	/** The cached keys */
+	private volatile List<DSSPrivateKeyEntry> keys;
+
+	/** Whether the pool has been closed */
+	private volatile boolean closed;
+
+	/**
+	 * Constructor with the connections to be pooled
+	 *
+	 * @param connections a list of {@link SignatureTokenConnection}s giving access to the same keys
+	 */
+	public PooledSignatureTokenConnection(List<? extends SignatureTokenConnection> connections) {
+		Objects.requireNonNull(connections, "List of connections cannot be null!");
+		if (connections.isEmpty()) {
+			throw new IllegalArgumentException("At least one connection shall be provided!");
+		}
+		this.connections = new ArrayList<>(connections.size());
+		this.availableConnections = new ArrayBlockingQueue<>(connections.size());
+		for (SignatureTokenConnection connection : connections) {
+			Objects.requireNonNull(connection, "Connection cannot be null!");
+			if (connection instanceof AbstractSignatureTokenConnection) {
+				((AbstractSignatureTokenConnection) connection).setReuseSignatureInstances(true);
+			}
+			PooledConnection pooledConnection = new PooledConnection(connection);
+			this.connections.add(pooledConnection);
+			this.availableConnections.add(pooledConnection);
+		}
+	}
+
+	/**
+	 * Constructor creating {@code poolSize} connections with the given factory
+	 *
+	 * @param connectionFactory {@link Supplier} creating a new {@link SignatureTokenConnection}
+	 * @param poolSize the number of connections
+	 */
+	public PooledSignatureTokenConnection(Supplier<? extends SignatureTokenConnection> connectionFactory, int poolSize) {
+		this(createConnections(connectionFactory, poolSize));
+	}
+
+	private static List<SignatureTokenConnection> createConnections(Supplier<? extends SignatureTokenConnection> connectionFactory,
+																	int poolSize) {
+		Objects.requireNonNull(connectionFactory, "Connection factory cannot be null!");
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("The pool size shall be positive!");
+		}
+		final List<SignatureTokenConnection> connections = new ArrayList<>(poolSize);
+		for (int i = 0; i < poolSize; i++) {
+			connections.add(connectionFactory.get());
+		}
+		return connections;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds to wait for an available connection,
+	 * when all the connections are in use. An exception is thrown when the time is elapsed.
+	 * Default : 30000 (30 seconds)
+	 *
+	 * @param acquireTimeout the maximum time to wait in milliseconds
+	 */
+	public void setAcquireTimeout(long acquireTimeout) {
+		if (acquireTimeout < 0) {
+			throw new IllegalArgumentException("The acquire timeout cannot be negative!");
+		}
+		this.acquireTimeout = acquireTimeout;
+	}
+
+	/**
+	 * Returns the number of connections of the pool
+	 *
+	 * @return the pool size
+	 */
+	public int getPoolSize() {
+		return connections.size();
+	}
+
+	/**
+	 * Returns the number of connections currently available (not in use)
+	 *
+	 * @return the number of available connections
+	 */
+	public int getAvailableConnections() {
+		return availableConnections.size();
+	}
+
+	@Override
+	public List<DSSPrivateKeyEntry> getKeys() throws DSSException {
+		List<DSSPrivateKeyEntry> currentKeys = keys;
+		if (currentKeys == null) {
+			synchronized (this) {
+				currentKeys = keys;
+				if (currentKeys == null) {
+					currentKeys = Collections.unmodifiableList(new ArrayList<>(execute(PooledConnection::getKeys)));
+					keys = currentKeys;
+				}
+			}
+		}
+		return currentKeys;
+	}
+
+	/**
+	 * Removes the cached keys, which will be reloaded from the token on the next use
+	 */
+	public synchronized void clearKeysCache() {
+		keys = null;
+		for (PooledConnection connection : connections) {
+			connection.clearKeysCache();
+		}
+	}
+
+	@Override
+	public SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, DSSPrivateKeyEntry keyEntry)
+			throws DSSException {
+		return execute(c -> c.connection.sign(toBeSigned, digestAlgorithm, c.getKey(keyEntry)));
+	}
+
+	@Override
+	public SignatureValue sign(ToBeSigned toBeSigned, SignatureAlgorithm signatureAlgorithm, DSSPrivateKeyEntry keyEntry)
+			throws DSSException {
+		return execute(c -> c.connection.sign(toBeSigned, signatureAlgorithm, c.getKey(keyEntry)));
+	}
+
+	@Override
+	public SignatureValue signDigest(Digest digest, DSSPrivateKeyEntry keyEntry) throws DSSException {
+		return execute(c -> c.connection.signDigest(digest, c.getKey(keyEntry)));
+	}
+
+	@Override
+	public SignatureValue signDigest(Digest digest, SignatureAlgorithm signatureAlgorithm, DSSPrivateKeyEntry keyEntry)
+			throws DSSException {
+		return execute(c -> c.connection.signDigest(digest, signatureAlgorithm, c.getKey(keyEntry)));
+	}
+
+	private <T> T execute(Function<PooledConnection, T> operation) {
+		final PooledConnection connection = acquire();
+		try {
+			return operation.apply(connection);
+		} finally {
+			release(connection);
+		}
+	}
+
+	private void release(PooledConnection connection) {
+		availableConnections.add(connection);
+		// the pool may have been closed during the operation
+		if (closed && availableConnections.remove(connection)) {
+			closeConnection(connection);
+		}
+	}
+
+	private PooledConnection acquire() {
+		assertNotClosed();
+		final PooledConnection connection;
+		try {
+			connection = availableConnections.poll(acquireTimeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while waiting for an available token connection!");
+		}
+		if (connection == null) {
+			throw new DSSException(String.format("No token connection available within %s ms (pool size : %s)!",
+					acquireTimeout, connections.size()));
+		}
+		return connection;
+	}
+
+	private void assertNotClosed() {
+		if (closed) {
+			throw new IllegalStateException("The token connection pool is closed!");
+		}
+	}
+
+	/**
+	 * Closes the pool. The idle connections are closed immediately, while the connections in use
+	 * are closed when their current operation completes.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		PooledConnection connection;
+		while ((connection = availableConnections.poll()) != null) {
+			closeConnection(connection);
+		}
+	}
+
+	private void closeConnection(PooledConnection connection) {
+		try {
+			connection.connection.close();
+		} catch (Exception e) {
+			LOG.warn("Unable to close the token connection : {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * A connection of the pool with its cached keys.
+	 * The instance is used by a single thread at a time.
+	 */
+	private static final class PooledConnection {
+
+		/** The token connection */
+		private final SignatureTokenConnection connection;
+
+		/** The keys of the connection (lazily loaded) */
+		private volatile List<DSSPrivateKeyEntry> keys;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param connection {@link SignatureTokenConnection}
+		 */
+		private PooledConnection(SignatureTokenConnection connection) {
+			this.connection = connection;
+		}
+
+		private List<DSSPrivateKeyEntry> getKeys() {
+			List<DSSPrivateKeyEntry> currentKeys = keys;
+			if (currentKeys == null) {
+				currentKeys = connection.getKeys();
+				keys = currentKeys;
+			}
+			return currentKeys;
+		}
+
+		/**
+		 * Returns the key entry of the current connection corresponding to the given {@code keyEntry}
+		 *
+		 * @param keyEntry {@link DSSPrivateKeyEntry} to be used for signing
+		 * @return {@link DSSPrivateKeyEntry} of the current connection with the same certificate
+		 * @throws DSSException if the connection does not contain a key with the same certificate
+		 */
+		private DSSPrivateKeyEntry getKey(DSSPrivateKeyEntry keyEntry) {
+			Objects.requireNonNull(keyEntry, "keyEntry shall be provided.");
+			if (keyEntry.getCertificate() != null) {
+				for (DSSPrivateKeyEntry key : getKeys()) {
+					if (keyEntry.getCertificate().equals(key.getCertificate())) {
+						return key;
+					}
+				}
+			}
+			throw new DSSException("The key entry does not belong to the pooled token connections!");
+		}
+
+		private void clearKeysCache() {
+			keys = null;
+		}
+
+	}
+
+}
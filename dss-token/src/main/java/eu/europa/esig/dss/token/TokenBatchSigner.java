@@ -0,0 +1,111 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.token;
+
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.signature.BatchSigner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class adapts a {@code SignatureTokenConnection} to a {@code BatchSigner},
+ * computing the signature values of a batch with the given key entry.
+ * <p>
+ * By default, the data is signed sequentially on the calling thread. When an executor service is defined,
+ * the data is signed concurrently (e.g. with a {@code PooledSignatureTokenConnection}).
+ *
+ */
+public class TokenBatchSigner implements BatchSigner {
+
+	/** The token connection used to compute the signature values */
+	private final SignatureTokenConnection token;
+
+	/** The key entry to sign with */
+	private final DSSPrivateKeyEntry keyEntry;
+
+	/** Executes the signing operations concurrently, when defined */
+	private ExecutorService executorService;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param token {@link SignatureTokenConnection} to sign with
+	 * @param keyEntry {@link DSSPrivateKeyEntry} to sign with
+	 */
+	public TokenBatchSigner(final SignatureTokenConnection token, final DSSPrivateKeyEntry keyEntry) {
+		Objects.requireNonNull(token, "SignatureTokenConnection cannot be null!");
+		Objects.requireNonNull(keyEntry, "DSSPrivateKeyEntry cannot be null!");
+		this.token = token;
+		this.keyEntry = keyEntry;
+	}
+
+	/**
+	 * Sets the executor service used to sign the data of a batch concurrently.
+	 * The token connection shall support concurrent signing operations (e.g. {@code PooledSignatureTokenConnection}).
+	 * NOTE: the executor service is not shut down by this class.
+	 *
+	 * @param executorService {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	@Override
+	public List<SignatureValue> sign(List<ToBeSigned> toBeSigned, SignatureAlgorithm signatureAlgorithm) {
+		final List<SignatureValue> signatureValues = new ArrayList<>(toBeSigned.size());
+		if (executorService == null) {
+			for (ToBeSigned tbs : toBeSigned) {
+				signatureValues.add(token.sign(tbs, signatureAlgorithm, keyEntry));
+			}
+			return signatureValues;
+		}
+
+		final List<Future<SignatureValue>> futures = new ArrayList<>(toBeSigned.size());
+		for (ToBeSigned tbs : toBeSigned) {
+			futures.add(executorService.submit(() -> token.sign(tbs, signatureAlgorithm, keyEntry)));
+		}
+		try {
+			for (Future<SignatureValue> future : futures) {
+				signatureValues.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while signing the batch!");
+		} catch (ExecutionException e) {
+			futures.forEach(f -> f.cancel(true));
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new DSSException(String.format("Unable to sign the batch : %s", e.getCause().getMessage()), e.getCause());
+		}
+		return signatureValues;
+	}
+
+}
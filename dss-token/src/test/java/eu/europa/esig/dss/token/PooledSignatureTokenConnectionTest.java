@@ -0,0 +1,265 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.token;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyStore.PasswordProtection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledSignatureTokenConnectionTest {
+
+	private static byte[] keystore;
+
+	@BeforeAll
+	static void init() throws IOException {
+		keystore = Files.readAllBytes(new File("src/test/resources/user_a_rsa.p12").toPath());
+	}
+
+	@Test
+	void concurrentSigningTest() throws Exception {
+		try (PooledSignatureTokenConnection pool = new PooledSignatureTokenConnection(
+				PooledSignatureTokenConnectionTest::createToken, 3)) {
+			assertEquals(3, pool.getPoolSize());
+
+			List<DSSPrivateKeyEntry> keys = pool.getKeys();
+			assertEquals(1, keys.size());
+			DSSPrivateKeyEntry key = keys.get(0);
+
+			ExecutorService executorService = Executors.newFixedThreadPool(8);
+			try {
+				List<Future<Boolean>> futures = new ArrayList<>();
+				for (int i = 0; i < 40; i++) {
+					byte[] data = ("Hello world " + i).getBytes(StandardCharsets.UTF_8);
+					boolean signDigest = i % 2 == 0;
+					futures.add(executorService.submit(() -> {
+						SignatureValue signatureValue;
+						if (signDigest) {
+							byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+							signatureValue = pool.signDigest(new Digest(DigestAlgorithm.SHA256, digest), key);
+						} else {
+							signatureValue = pool.sign(new ToBeSigned(data), DigestAlgorithm.SHA256, key);
+						}
+						Signature signature = Signature.getInstance(signatureValue.getAlgorithm().getJCEId());
+						signature.initVerify(key.getCertificate().getPublicKey());
+						signature.update(data);
+						return signature.verify(signatureValue.getValue());
+					}));
+				}
+				for (Future<Boolean> future : futures) {
+					assertTrue(future.get());
+				}
+			} finally {
+				executorService.shutdown();
+			}
+			assertEquals(3, pool.getAvailableConnections());
+		}
+	}
+
+	@Test
+	void backPressureTest() throws Exception {
+		CountDownLatch signing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Pkcs12SignatureToken blockingToken = new Pkcs12SignatureToken(keystore, getPassword()) {
+
+			@Override
+			protected Signature getSignatureInstance(String javaSignatureAlgorithm) throws NoSuchAlgorithmException {
+				signing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getSignatureInstance(javaSignatureAlgorithm);
+			}
+
+		};
+
+		List<SignatureTokenConnection> connections = new ArrayList<>();
+		connections.add(blockingToken);
+		try (PooledSignatureTokenConnection pool = new PooledSignatureTokenConnection(connections)) {
+			pool.setAcquireTimeout(100);
+			DSSPrivateKeyEntry key = pool.getKeys().get(0);
+			ToBeSigned toBeSigned = new ToBeSigned("Hello world".getBytes(StandardCharsets.UTF_8));
+
+			ExecutorService executorService = Executors.newSingleThreadExecutor();
+			try {
+				Future<SignatureValue> future = executorService.submit(() -> pool.sign(toBeSigned, DigestAlgorithm.SHA256, key));
+				signing.await();
+				assertEquals(0, pool.getAvailableConnections());
+
+				Exception exception = assertThrows(DSSException.class, () -> pool.sign(toBeSigned, DigestAlgorithm.SHA256, key));
+				assertEquals("No token connection available within 100 ms (pool size : 1)!", exception.getMessage());
+
+				release.countDown();
+				future.get();
+				assertEquals(1, pool.getAvailableConnections());
+			} finally {
+				executorService.shutdown();
+			}
+		}
+	}
+
+	@Test
+	void closedTest() {
+		PooledSignatureTokenConnection pool = new PooledSignatureTokenConnection(
+				PooledSignatureTokenConnectionTest::createToken, 1);
+		pool.close();
+		assertThrows(IllegalStateException.class, pool::getKeys);
+	}
+
+	@Test
+	void foreignKeyTest() throws IOException {
+		try (PooledSignatureTokenConnection pool = new PooledSignatureTokenConnection(
+				PooledSignatureTokenConnectionTest::createToken, 2);
+			 Pkcs12SignatureToken otherToken = new Pkcs12SignatureToken("src/test/resources/good-ecdsa-user.p12",
+					 new PasswordProtection("ks-password".toCharArray()))) {
+			DSSPrivateKeyEntry foreignKey = otherToken.getKeys().get(0);
+			ToBeSigned toBeSigned = new ToBeSigned("Hello world".getBytes(StandardCharsets.UTF_8));
+			Exception exception = assertThrows(DSSException.class, () -> pool.sign(toBeSigned, DigestAlgorithm.SHA256, foreignKey));
+			assertEquals("The key entry does not belong to the pooled token connections!", exception.getMessage());
+			assertEquals(2, pool.getAvailableConnections());
+		}
+	}
+
+	@Test
+	void closeWhileInUseTest() throws Exception {
+		AtomicInteger closedConnections = new AtomicInteger();
+		CountDownLatch signing = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+
+		PooledSignatureTokenConnection pool = new PooledSignatureTokenConnection(() -> new Pkcs12SignatureToken(keystore, getPassword()) {
+
+			@Override
+			public SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, DSSPrivateKeyEntry keyEntry) {
+				signing.countDown();
+				try {
+					proceed.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.sign(toBeSigned, digestAlgorithm, keyEntry);
+			}
+
+			@Override
+			public void close() {
+				closedConnections.incrementAndGet();
+				super.close();
+			}
+
+		}, 2);
+		DSSPrivateKeyEntry key = pool.getKeys().get(0);
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			byte[] data = "Hello world".getBytes(StandardCharsets.UTF_8);
+			Future<SignatureValue> future = executorService.submit(() -> pool.sign(new ToBeSigned(data), DigestAlgorithm.SHA256, key));
+			signing.await();
+
+			pool.close();
+			// only the idle connection is closed
+			assertEquals(1, closedConnections.get());
+			assertThrows(IllegalStateException.class, () -> pool.sign(new ToBeSigned(data), DigestAlgorithm.SHA256, key));
+
+			proceed.countDown();
+			SignatureValue signatureValue = future.get();
+
+			Signature signature = Signature.getInstance(signatureValue.getAlgorithm().getJCEId());
+			signature.initVerify(key.getCertificate().getPublicKey());
+			signature.update(data);
+			assertTrue(signature.verify(signatureValue.getValue()));
+
+			// the busy connection is closed when returned to the pool
+			assertEquals(2, closedConnections.get());
+			assertEquals(0, pool.getAvailableConnections());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void signatureInstanceReuseTest() throws Exception {
+		AtomicInteger instances = new AtomicInteger();
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(keystore, getPassword()) {
+
+			@Override
+			protected Signature getSignatureInstance(String javaSignatureAlgorithm) throws NoSuchAlgorithmException {
+				instances.incrementAndGet();
+				return super.getSignatureInstance(javaSignatureAlgorithm);
+			}
+
+		}) {
+			DSSPrivateKeyEntry key = token.getKeys().get(0);
+			token.setReuseSignatureInstances(true);
+			for (int i = 0; i < 5; i++) {
+				byte[] data = ("Hello world " + i).getBytes(StandardCharsets.UTF_8);
+				SignatureValue signatureValue = token.sign(new ToBeSigned(data), DigestAlgorithm.SHA256, key);
+
+				Signature signature = Signature.getInstance(signatureValue.getAlgorithm().getJCEId());
+				signature.initVerify(key.getCertificate().getPublicKey());
+				signature.update(data);
+				assertTrue(signature.verify(signatureValue.getValue()));
+			}
+			assertEquals(1, instances.get());
+
+			token.sign(new ToBeSigned(new byte[] { 1 }), DigestAlgorithm.SHA512, key);
+			assertEquals(2, instances.get());
+
+			token.setReuseSignatureInstances(false);
+			token.sign(new ToBeSigned(new byte[] { 1 }), DigestAlgorithm.SHA256, key);
+			token.sign(new ToBeSigned(new byte[] { 1 }), DigestAlgorithm.SHA256, key);
+			assertEquals(4, instances.get());
+		}
+	}
+
+	private static Pkcs12SignatureToken createToken() {
+		return new Pkcs12SignatureToken(keystore, getPassword());
+	}
+
+	private static PasswordProtection getPassword() {
+		// the password is destroyed when the token is closed
+		return new PasswordProtection("password".toCharArray());
+	}
+
+}
@@ -0,0 +1,94 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.token;
+
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyStore.PasswordProtection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TokenBatchSignerTest {
+
+	@Test
+	void test() throws IOException {
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(new File("src/test/resources/user_a_rsa.p12"),
+				new PasswordProtection("password".toCharArray()))) {
+			DSSPrivateKeyEntry key = token.getKeys().get(0);
+			List<ToBeSigned> toBeSigned = getToBeSigned();
+
+			List<SignatureValue> signatureValues = new TokenBatchSigner(token, key).sign(toBeSigned, SignatureAlgorithm.RSA_SHA256);
+			assertEquals(toBeSigned.size(), signatureValues.size());
+			for (int i = 0; i < toBeSigned.size(); i++) {
+				// RSA PKCS#1 v1.5 signatures are deterministic
+				assertArrayEquals(token.sign(toBeSigned.get(i), SignatureAlgorithm.RSA_SHA256, key).getValue(),
+						signatureValues.get(i).getValue());
+			}
+		}
+	}
+
+	@Test
+	void concurrentTest() throws IOException {
+		byte[] keystore = Files.readAllBytes(new File("src/test/resources/user_a_rsa.p12").toPath());
+		try (PooledSignatureTokenConnection pool = new PooledSignatureTokenConnection(() -> new Pkcs12SignatureToken(
+				keystore, new PasswordProtection("password".toCharArray())), 3)) {
+			DSSPrivateKeyEntry key = pool.getKeys().get(0);
+			List<ToBeSigned> toBeSigned = getToBeSigned();
+
+			ExecutorService executorService = Executors.newFixedThreadPool(4);
+			try {
+				TokenBatchSigner batchSigner = new TokenBatchSigner(pool, key);
+				batchSigner.setExecutorService(executorService);
+				List<SignatureValue> signatureValues = batchSigner.sign(toBeSigned, SignatureAlgorithm.RSA_SHA256);
+				assertEquals(toBeSigned.size(), signatureValues.size());
+				for (int i = 0; i < toBeSigned.size(); i++) {
+					assertArrayEquals(pool.sign(toBeSigned.get(i), SignatureAlgorithm.RSA_SHA256, key).getValue(),
+							signatureValues.get(i).getValue());
+				}
+				assertFalse(executorService.isShutdown());
+			} finally {
+				executorService.shutdown();
+			}
+		}
+	}
+
+	private List<ToBeSigned> getToBeSigned() {
+		List<ToBeSigned> toBeSigned = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			toBeSigned.add(new ToBeSigned(("Hello world " + i).getBytes(StandardCharsets.UTF_8)));
+		}
+		return toBeSigned;
+	}
+
+}
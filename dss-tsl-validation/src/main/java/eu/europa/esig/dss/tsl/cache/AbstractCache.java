@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.tsl.cache;
 
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.tsl.cache.state.CacheStateEnum;
 import eu.europa.esig.dss.tsl.cache.state.CachedEntry;
 import eu.europa.esig.dss.tsl.cache.state.CachedExceptionWrapper;
@@ -93,6 +94,7 @@ public abstract class AbstractCache<R extends CachedResult> {
 		LOG.trace("Update result for the key [{}]...", cacheKey);
 		CachedEntry<R> cachedEntry = get(cacheKey);
 		cachedEntry.update(result);
+		recordState(cachedEntry);
 	}
 	
 	/**
@@ -104,6 +106,7 @@ public abstract class AbstractCache<R extends CachedResult> {
 		LOG.trace("Update state to EXPIRED for an entry with the key [{}]...", cacheKey);
 		CachedEntry<R> cachedEntry = get(cacheKey);
 		cachedEntry.expire();
+		recordState(cachedEntry);
 	}
 	
 	/**
@@ -131,6 +134,7 @@ public abstract class AbstractCache<R extends CachedResult> {
 		LOG.trace("Update state to SYNCHRONIZED for an entry with the key [{}]...", cacheKey);
 		CachedEntry<R> cachedEntry = get(cacheKey);
 		cachedEntry.sync();
+		recordState(cachedEntry);
 	}
 
 	/**
@@ -188,6 +192,7 @@ public abstract class AbstractCache<R extends CachedResult> {
 		CachedEntry<R> cacheWrapper = get(cacheKey);
 		CachedExceptionWrapper wrappedException = new CachedExceptionWrapper(e);
 		cacheWrapper.error(wrappedException);
+		recordState(cacheWrapper);
 	}
 
 	/**
@@ -199,6 +204,7 @@ public abstract class AbstractCache<R extends CachedResult> {
 		LOG.trace("Update state to TO_BE_DELETED for an entry with the key [{}]...", cacheKey);
 		CachedEntry<R> cacheWrapper = get(cacheKey);
 		cacheWrapper.toBeDeleted();
+		recordState(cacheWrapper);
 	}
 	
 	/**
@@ -222,6 +228,18 @@ public abstract class AbstractCache<R extends CachedResult> {
 	 */
 	protected abstract CacheType getCacheType();
 
+	/**
+	 * Emits the new state of the given {@code cachedEntry} to the metrics collectors
+	 *
+	 * @param cachedEntry {@link CachedEntry} which state has been changed
+	 */
+	private void recordState(CachedEntry<R> cachedEntry) {
+		if (DSSMetrics.isEnabled()) {
+			DSSMetrics.increment(DSSMetrics.TL_CACHE_STATE, DSSMetrics.TAG_CACHE, String.valueOf(getCacheType()),
+					DSSMetrics.TAG_STATE, String.valueOf(cachedEntry.getCurrentState()));
+		}
+	}
+
 	/**
 	 * Produces a report of the current cache state
 	 *
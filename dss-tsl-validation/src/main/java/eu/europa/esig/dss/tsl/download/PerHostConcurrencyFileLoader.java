@@ -0,0 +1,128 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.download;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * This class wraps a {@code DSSFileLoader} and limits the number of concurrent downloads performed against
+ * the same host. Requests exceeding the limit wait until a previous download from the same host is finished.
+ * The wrapper is used by {@code TLValidationJob} in order to avoid flooding the same TL provider
+ * (e.g. the European Commission for pivot LOTLs) with parallel requests.
+ *
+ */
+public class PerHostConcurrencyFileLoader implements DSSFileLoader {
+
+    private static final long serialVersionUID = -3581938446510391234L;
+
+    /** The wrapped file loader */
+    private final DSSFileLoader dataLoader;
+
+    /** The maximum number of concurrent downloads per host */
+    private final int maxConcurrentDownloadsPerHost;
+
+    /** Contains the permits available per host */
+    private final ConcurrentMap<String, Semaphore> hostPermits;
+
+    /**
+     * Default constructor
+     *
+     * @param dataLoader {@link DSSFileLoader} to be used to download the documents
+     * @param maxConcurrentDownloadsPerHost the maximum number of concurrent downloads against the same host
+     */
+    public PerHostConcurrencyFileLoader(final DSSFileLoader dataLoader, final int maxConcurrentDownloadsPerHost) {
+        this(dataLoader, maxConcurrentDownloadsPerHost, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Internal constructor sharing the permits with another instance
+     *
+     * @param dataLoader {@link DSSFileLoader} to be used to download the documents
+     * @param maxConcurrentDownloadsPerHost the maximum number of concurrent downloads against the same host
+     * @param hostPermits {@link ConcurrentMap} containing the permits per host
+     */
+    private PerHostConcurrencyFileLoader(final DSSFileLoader dataLoader, final int maxConcurrentDownloadsPerHost,
+                                         final ConcurrentMap<String, Semaphore> hostPermits) {
+        Objects.requireNonNull(dataLoader, "DataLoader shall be defined!");
+        if (maxConcurrentDownloadsPerHost < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent downloads per host shall be positive!");
+        }
+        this.dataLoader = dataLoader;
+        this.maxConcurrentDownloadsPerHost = maxConcurrentDownloadsPerHost;
+        this.hostPermits = hostPermits;
+    }
+
+    /**
+     * Returns the wrapped file loader
+     *
+     * @return {@link DSSFileLoader}
+     */
+    public DSSFileLoader getDataLoader() {
+        return dataLoader;
+    }
+
+    /**
+     * Returns the maximum number of concurrent downloads per host
+     *
+     * @return int
+     */
+    public int getMaxConcurrentDownloadsPerHost() {
+        return maxConcurrentDownloadsPerHost;
+    }
+
+    /**
+     * Creates a new instance wrapping the given {@code dataLoader}, while sharing the per host limits
+     * with the current instance
+     *
+     * @param dataLoader {@link DSSFileLoader} to be wrapped
+     * @return {@link PerHostConcurrencyFileLoader}
+     */
+    public PerHostConcurrencyFileLoader withDataLoader(final DSSFileLoader dataLoader) {
+        return new PerHostConcurrencyFileLoader(dataLoader, maxConcurrentDownloadsPerHost, hostPermits);
+    }
+
+    @Override
+    public DSSDocument getDocument(final String url) {
+        final String host = DSSUtils.getHost(url);
+        final Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConcurrentDownloadsPerHost, true));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSExternalResourceException(String.format(
+                    "Interrupted while waiting for a download slot for the host '%s'", host));
+        }
+        try {
+            return dataLoader.getDocument(url);
+        } finally {
+            permits.release();
+        }
+    }
+
+}
@@ -33,7 +33,9 @@ import eu.europa.esig.dss.tsl.cache.CacheKey;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
 import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
+import eu.europa.esig.dss.tsl.download.PerHostConcurrencyFileLoader;
 import eu.europa.esig.dss.tsl.dto.ParsingCacheDTO;
+import eu.europa.esig.dss.tsl.runnable.AbstractRunnableAnalysis;
 import eu.europa.esig.dss.tsl.runnable.LOTLAnalysis;
 import eu.europa.esig.dss.tsl.runnable.LOTLWithPivotsAnalysis;
 import eu.europa.esig.dss.tsl.runnable.TLAnalysis;
@@ -54,9 +56,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -67,6 +83,21 @@ public class TLValidationJob {
 
 	private static final Logger LOG = LoggerFactory.getLogger(TLValidationJob.class);
 
+	/**
+	 * The number of available processors
+	 */
+	private static final int NB_PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The default number of threads of the executor service (downloads are mostly I/O bound)
+	 */
+	private static final int DEFAULT_THREAD_POOL_SIZE = Math.max(4, 2 * NB_PROCESSORS);
+
+	/**
+	 * The default maximum number of concurrent downloads against the same host
+	 */
+	private static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS_PER_HOST = 4;
+
 	/**
 	 * Contains all caches for the current validation job
 	 */
@@ -75,7 +106,30 @@ public class TLValidationJob {
 	/**
 	 * Provides methods to manage the asynchronous behaviour
 	 */
-	private ExecutorService executorService = Executors.newCachedThreadPool();
+	private ExecutorService executorService = createDefaultExecutorService();
+
+	/**
+	 * The maximum number of concurrent downloads against the same host.
+	 * A non-positive value means no limit.
+	 */
+	private int maxConcurrentDownloadsPerHost = DEFAULT_MAX_CONCURRENT_DOWNLOADS_PER_HOST;
+
+	/**
+	 * The maximum number of TLs/LOTLs parsed and validated at the same time (CPU budget).
+	 * A non-positive value means no limit.
+	 */
+	private int maxConcurrentProcessing = NB_PROCESSORS;
+
+	/**
+	 * The maximum time in milliseconds to wait for the completion of each refresh phase (LOTLs, then TLs).
+	 * A non-positive value means no timeout.
+	 */
+	private long refreshTimeout = -1;
+
+	/**
+	 * The running refreshes, used for the cancellation
+	 */
+	private final Set<RefreshExecution> runningRefreshes = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Array of zero, one or more Trusted List (TL) sources.
@@ -158,7 +212,10 @@ public class TLValidationJob {
 	}
 
 	/**
-	 * Sets the execution service to manage the asynchronous behaviour
+	 * Sets the execution service to manage the asynchronous behaviour.
+	 *
+	 * Default : a bounded thread pool of max(4, 2 * nbProcessors) daemon threads.
+	 * NOTE: on Java 21+, {@code Executors.newVirtualThreadPerTaskExecutor()} may be used.
 	 *
 	 * @param executorService {@link ExecutorService}
 	 */
@@ -169,6 +226,58 @@ public class TLValidationJob {
 		this.executorService = executorService;
 	}
 	
+	/**
+	 * Sets the maximum number of concurrent downloads against the same host.
+	 * A non-positive value disables the limit.
+	 *
+	 * Default : 4
+	 *
+	 * @param maxConcurrentDownloadsPerHost the maximum number of concurrent downloads per host
+	 */
+	public void setMaxConcurrentDownloadsPerHost(int maxConcurrentDownloadsPerHost) {
+		this.maxConcurrentDownloadsPerHost = maxConcurrentDownloadsPerHost;
+	}
+
+	/**
+	 * Sets the maximum number of TLs/LOTLs parsed and validated at the same time.
+	 * Allows to limit the CPU consumption of the refresh, independently of the number of parallel downloads.
+	 * A non-positive value disables the limit.
+	 *
+	 * Default : the number of available processors
+	 *
+	 * @param maxConcurrentProcessing the maximum number of concurrent parsing/validation processes
+	 */
+	public void setMaxConcurrentProcessing(int maxConcurrentProcessing) {
+		this.maxConcurrentProcessing = maxConcurrentProcessing;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds to wait for the completion of each phase of a refresh
+	 * (the analysis of the LOTLs, then the analysis of the TLs). Each phase has its own budget,
+	 * so the TLs extracted from the LOTLs processed in time are still analyzed when the LOTL phase times out.
+	 * When the timeout is reached, the remaining tasks of the phase are cancelled and the refresh is finalized
+	 * with the results obtained so far (the entries of the cancelled tasks keep their previous state).
+	 * A non-positive value means no timeout.
+	 *
+	 * Default : -1 (no timeout)
+	 *
+	 * @param refreshTimeout the timeout in milliseconds
+	 */
+	public void setRefreshTimeout(long refreshTimeout) {
+		this.refreshTimeout = refreshTimeout;
+	}
+
+	/**
+	 * Cancels the running refreshes, if any.
+	 * The running download/parsing/validation tasks are interrupted and the refresh returns without
+	 * synchronization of the certificate source.
+	 */
+	public void cancelRefresh() {
+		for (RefreshExecution refreshExecution : runningRefreshes) {
+			refreshExecution.cancel();
+		}
+	}
+
 	/**
 	 * Sets the offline DSSFileLoader used for data loading from the local source
 	 * @param offlineLoader {@link DSSFileLoader}
@@ -258,10 +367,14 @@ public class TLValidationJob {
 	 * Used to execute the refresh in offline mode (no date from remote sources will be downloaded)
 	 * By default used on initialization
 	 */
-	public synchronized void offlineRefresh() {
+	public void offlineRefresh() {
+		offlineRefresh(new RefreshExecution());
+	}
+
+	private synchronized void offlineRefresh(RefreshExecution refreshExecution) {
 		Objects.requireNonNull(offlineLoader, "The offlineLoader must be defined!");
 		LOG.info("Offline refresh is running...");
-		refresh(offlineLoader);
+		refresh(offlineLoader, refreshExecution);
 		LOG.info("Offline refresh is DONE.");
 	}
 
@@ -269,14 +382,71 @@ public class TLValidationJob {
 	 * Used to execute the refresh in online mode (all data will be updated from remote sources)
 	 * Used as default database update.
 	 */
-	public synchronized void onlineRefresh() {
+	public void onlineRefresh() {
+		onlineRefresh(new RefreshExecution());
+	}
+
+	private synchronized void onlineRefresh(RefreshExecution refreshExecution) {
 		Objects.requireNonNull(onlineLoader, "The onlineLoader must be defined!");
 		LOG.info("Online refresh is running...");
-		refresh(onlineLoader);
+		refresh(onlineLoader, refreshExecution);
 		LOG.info("Online refresh is DONE.");
 	}
 
-	private void refresh(DSSFileLoader dssFileLoader) {
+	/**
+	 * Executes the refresh in offline mode asynchronously within the given {@code executor}
+	 * (see {@link #offlineRefresh()}).
+	 * The cancellation of the returned future cancels the refresh.
+	 *
+	 * @param executor {@link Executor} to run the refresh
+	 * @return {@link CompletableFuture} completed with the {@code TLValidationJobSummary} of the refresh
+	 */
+	public CompletableFuture<TLValidationJobSummary> offlineRefreshAsync(Executor executor) {
+		return refreshAsync(this::offlineRefresh, executor);
+	}
+
+	/**
+	 * Executes the refresh in online mode asynchronously within the given {@code executor}
+	 * (see {@link #onlineRefresh()}).
+	 * The cancellation of the returned future cancels the refresh.
+	 *
+	 * @param executor {@link Executor} to run the refresh
+	 * @return {@link CompletableFuture} completed with the {@code TLValidationJobSummary} of the refresh
+	 */
+	public CompletableFuture<TLValidationJobSummary> onlineRefreshAsync(Executor executor) {
+		return refreshAsync(this::onlineRefresh, executor);
+	}
+
+	private CompletableFuture<TLValidationJobSummary> refreshAsync(Consumer<RefreshExecution> refresh, Executor executor) {
+		Objects.requireNonNull(executor, "Executor cannot be null!");
+		final RefreshExecution refreshExecution = new RefreshExecution();
+		final CompletableFuture<TLValidationJobSummary> future = CompletableFuture.supplyAsync(() -> {
+			refresh.accept(refreshExecution);
+			return getSummary();
+		}, executor);
+		future.whenComplete((summary, e) -> {
+			if (future.isCancelled()) {
+				refreshExecution.cancel();
+			}
+		});
+		return future;
+	}
+
+	private void refresh(DSSFileLoader dssFileLoader, RefreshExecution refreshExecution) {
+		if (refreshExecution.isCancelled()) {
+			LOG.warn("The refresh has been cancelled");
+			return;
+		}
+		runningRefreshes.add(refreshExecution);
+		try {
+			executeRefresh(getFileLoader(dssFileLoader), refreshExecution);
+		} finally {
+			runningRefreshes.remove(refreshExecution);
+		}
+	}
+
+	private void executeRefresh(DSSFileLoader fileLoader, RefreshExecution refreshExecution) {
+		final Semaphore processingPermits = maxConcurrentProcessing > 0 ? new Semaphore(maxConcurrentProcessing) : null;
 
 		List<TLSource> currentTLSources = new ArrayList<>();
 		if (trustedListSources != null) {
@@ -287,7 +457,11 @@ public class TLValidationJob {
 		if (Utils.isArrayNotEmpty(listOfTrustedListSources)) {
 			final List<LOTLSource> lotlList = Arrays.asList(listOfTrustedListSources);
 
-			executeLOTLSourcesAnalysis(lotlList, dssFileLoader);
+			executeLOTLSourcesAnalysis(lotlList, fileLoader, processingPermits, refreshExecution);
+			if (refreshExecution.isCancelled()) {
+				LOG.warn("The refresh has been cancelled");
+				return;
+			}
 
 			// Check LOTLs consistency
 
@@ -296,7 +470,11 @@ public class TLValidationJob {
 		}
 
 		// And then, execute all TLs (manual configs + TLs from LOTLs)
-		executeTLSourcesAnalysis(currentTLSources, dssFileLoader);
+		executeTLSourcesAnalysis(currentTLSources, fileLoader, processingPermits, refreshExecution);
+		if (refreshExecution.isCancelled()) {
+			LOG.warn("The refresh has been cancelled");
+			return;
+		}
 
 		// alerts()
 		if (Utils.isCollectionNotEmpty(lotlAlerts) || Utils.isCollectionNotEmpty(tlAlerts)) {
@@ -321,7 +499,15 @@ public class TLValidationJob {
 		}
 	}
 
-	private void executeLOTLSourcesAnalysis(List<LOTLSource> lotlSources, DSSFileLoader dssFileLoader) {
+	private DSSFileLoader getFileLoader(DSSFileLoader dssFileLoader) {
+		if (maxConcurrentDownloadsPerHost > 0) {
+			return new PerHostConcurrencyFileLoader(dssFileLoader, maxConcurrentDownloadsPerHost);
+		}
+		return dssFileLoader;
+	}
+
+	private void executeLOTLSourcesAnalysis(List<LOTLSource> lotlSources, DSSFileLoader dssFileLoader,
+											Semaphore processingPermits, RefreshExecution refreshExecution) {
 		checkNoDuplicateUrls(lotlSources);
 
 		int nbLOTLSources = lotlSources.size();
@@ -330,22 +516,21 @@ public class TLValidationJob {
 
 		Map<CacheKey, ParsingCacheDTO> oldParsingValues = extractParsingCache(lotlSources);
 
+		final long deadline = getPhaseDeadline();
 		CountDownLatch latch = new CountDownLatch(nbLOTLSources);
 		for (LOTLSource lotlSource : lotlSources) {
 			final CacheAccessByKey cacheAccess = cacheAccessFactory.getCacheAccess(lotlSource.getCacheKey());
 			if (lotlSource.isPivotSupport()) {
-				executorService.submit(new LOTLWithPivotsAnalysis(lotlSource, cacheAccess, dssFileLoader, cacheAccessFactory, latch));
+				LOTLWithPivotsAnalysis analysis = new LOTLWithPivotsAnalysis(lotlSource, cacheAccess, dssFileLoader, cacheAccessFactory, latch);
+				analysis.setExecutor(executorService);
+				submit(analysis, processingPermits, refreshExecution);
 			} else {
-				executorService.submit(new LOTLAnalysis(lotlSource, cacheAccess, dssFileLoader, latch));
+				submit(new LOTLAnalysis(lotlSource, cacheAccess, dssFileLoader, latch), processingPermits, refreshExecution);
 			}
 		}
 
-		try {
-			latch.await();
+		if (awaitRunningTasks(refreshExecution, deadline, "LOTLSource")) {
 			LOG.info("Analysis is DONE for {} LOTLSource(s)", nbLOTLSources);
-		} catch (InterruptedException e) {
-			LOG.error("Interruption in the LOTLSource process", e);
-			Thread.currentThread().interrupt();
 		}
 
 		Map<CacheKey, ParsingCacheDTO> newParsingValues = extractParsingCache(lotlSources);
@@ -365,7 +550,8 @@ public class TLValidationJob {
         return lotlSources.stream().collect(Collectors.toMap(LOTLSource::getCacheKey, s -> readOnlyCacheAccess.getParsingCacheDTO(s.getCacheKey())));
     }
 
-	private void executeTLSourcesAnalysis(List<TLSource> tlSources, DSSFileLoader dssFileLoader) {
+	private void executeTLSourcesAnalysis(List<TLSource> tlSources, DSSFileLoader dssFileLoader,
+										  Semaphore processingPermits, RefreshExecution refreshExecution) {
 		int nbTLSources = tlSources.size();
 		if (nbTLSources == 0) {
 			LOG.info("No TL to be analyzed");
@@ -376,19 +562,85 @@ public class TLValidationJob {
 
 		LOG.info("Running analysis for {} TLSource(s)", nbTLSources);
 
+		final long deadline = getPhaseDeadline();
 		CountDownLatch latch = new CountDownLatch(nbTLSources);
 		for (TLSource tlSource : tlSources) {
 			final CacheAccessByKey cacheAccess = cacheAccessFactory.getCacheAccess(tlSource.getCacheKey());
-			executorService.submit(new TLAnalysis(tlSource, cacheAccess, dssFileLoader, latch));
+			submit(new TLAnalysis(tlSource, cacheAccess, dssFileLoader, latch), processingPermits, refreshExecution);
 		}
 
-		try {
-			latch.await();
+		if (awaitRunningTasks(refreshExecution, deadline, "TLSource")) {
 			LOG.info("Analysis is DONE for {} TLSource(s)", nbTLSources);
+		}
+	}
+
+	private void submit(AbstractRunnableAnalysis analysis, Semaphore processingPermits, RefreshExecution refreshExecution) {
+		analysis.setProcessingPermits(processingPermits);
+		refreshExecution.addTask(executorService.submit(analysis));
+	}
+
+	/**
+	 * Returns the deadline of a refresh phase starting now
+	 *
+	 * @return the deadline in nanoseconds (see {@code System.nanoTime()}), or a negative value for no timeout
+	 */
+	private long getPhaseDeadline() {
+		return refreshTimeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refreshTimeout) : -1;
+	}
+
+	/**
+	 * Waits for the completion of the running tasks until the {@code deadline} (if any) is reached
+	 *
+	 * @param refreshExecution {@link RefreshExecution} the current refresh
+	 * @param deadline the deadline in nanoseconds (see {@code System.nanoTime()}), or a negative value for no timeout
+	 * @param sourceType {@link String} the processed source type (used for logging)
+	 * @return TRUE if all the tasks have been completed, FALSE if they have been cancelled, interrupted or timed out
+	 */
+	private boolean awaitRunningTasks(RefreshExecution refreshExecution, long deadline, String sourceType) {
+		try {
+			for (Future<?> future : refreshExecution.getRunningTasks()) {
+				awaitTask(future, deadline);
+			}
+			return !refreshExecution.isCancelled();
+		} catch (TimeoutException e) {
+			LOG.warn("The analysis of {}(s) has not been completed within the refresh timeout of {} ms. "
+					+ "Remaining tasks are cancelled.", sourceType, refreshTimeout);
+			refreshExecution.cancelRunningTasks();
 		} catch (InterruptedException e) {
-			LOG.error("Interruption in the TLAnalysis process", e);
+			LOG.error("Interruption in the {} process", sourceType, e);
+			refreshExecution.cancelRunningTasks();
 			Thread.currentThread().interrupt();
+		} finally {
+			refreshExecution.clearRunningTasks();
 		}
+		return false;
+	}
+
+	private void awaitTask(Future<?> future, long deadline) throws InterruptedException, TimeoutException {
+		try {
+			if (deadline < 0) {
+				future.get();
+			} else {
+				future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			}
+		} catch (CancellationException e) {
+			LOG.debug("The task has been cancelled");
+		} catch (ExecutionException e) {
+			LOG.warn("Error performing analysis : {}", e.getMessage(), e);
+		}
+	}
+
+	private static ExecutorService createDefaultExecutorService() {
+		final AtomicInteger threadCounter = new AtomicInteger();
+		final ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "dss-tl-validation-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_THREAD_POOL_SIZE, DEFAULT_THREAD_POOL_SIZE,
+				60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	private void synchronizeTLCertificateSource() {
@@ -432,4 +684,72 @@ public class TLValidationJob {
 		}
 	}
 
+	/**
+	 * Keeps the state of a single refresh execution (running tasks and cancellation)
+	 */
+	private static class RefreshExecution {
+
+		/** The tasks of the current refresh phase */
+		private final List<Future<?>> runningTasks = new CopyOnWriteArrayList<>();
+
+		/** Defines whether the refresh has been cancelled */
+		private volatile boolean cancelled = false;
+
+		/**
+		 * Registers a submitted task
+		 *
+		 * @param future {@link Future} of the task
+		 */
+		void addTask(Future<?> future) {
+			runningTasks.add(future);
+			if (cancelled) {
+				// the refresh has been cancelled concurrently
+				future.cancel(true);
+			}
+		}
+
+		/**
+		 * Gets the tasks of the current refresh phase
+		 *
+		 * @return a list of {@link Future}s
+		 */
+		List<Future<?>> getRunningTasks() {
+			return runningTasks;
+		}
+
+		/**
+		 * Removes the tasks of the completed refresh phase
+		 */
+		void clearRunningTasks() {
+			runningTasks.clear();
+		}
+
+		/**
+		 * Interrupts the tasks of the current refresh phase
+		 */
+		void cancelRunningTasks() {
+			for (Future<?> future : runningTasks) {
+				future.cancel(true);
+			}
+		}
+
+		/**
+		 * Cancels the refresh
+		 */
+		void cancel() {
+			cancelled = true;
+			cancelRunningTasks();
+		}
+
+		/**
+		 * Gets whether the refresh has been cancelled
+		 *
+		 * @return TRUE if the refresh is cancelled, FALSE otherwise
+		 */
+		boolean isCancelled() {
+			return cancelled;
+		}
+
+	}
+
 }
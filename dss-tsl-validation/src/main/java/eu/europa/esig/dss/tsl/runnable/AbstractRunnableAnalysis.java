@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 
 /**
  * Runnable facade to Processes the LOTL/TL validation job (download - parse - validate)
@@ -43,6 +44,11 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 	/** The tasks counter */
 	private final CountDownLatch latch;
 
+	/**
+	 * Limits the number of concurrent parsing/validation processes (optional)
+	 */
+	private Semaphore processingPermits;
+
 	/**
 	 * Default constructor
 	 *
@@ -57,14 +63,61 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 		this.latch = latch;
 	}
 
+	/**
+	 * Sets the permits to be acquired before the parsing and validation of the downloaded document.
+	 * Allows to limit the CPU consumption by restricting the number of concurrent parsing/validation processes,
+	 * while downloads are still performed in parallel.
+	 * If not defined, the processing is not limited.
+	 *
+	 * @param processingPermits {@link Semaphore}
+	 */
+	public void setProcessingPermits(Semaphore processingPermits) {
+		this.processingPermits = processingPermits;
+	}
+
 	/**
 	 * Performs analysis
 	 */
 	protected void doAnalyze() {
 		DSSDocument document = download(getSource().getUrl());
 		if (document != null) {
-			parsing(document);
-			validation(document, getCurrentCertificateSource());
+			if (!runWithProcessingPermit(() -> parsing(document))) {
+				return;
+			}
+			// resolved without a processing permit, as it may download other documents (e.g. pivots)
+			final CertificateSource certificateSource = getCurrentCertificateSource();
+			runWithProcessingPermit(() -> validation(document, certificateSource));
+		}
+	}
+
+	private boolean runWithProcessingPermit(Runnable process) {
+		if (!acquireProcessingPermit()) {
+			LOG.warn("Interrupted while waiting for the processing of '{}'", getSource().getUrl());
+			return false;
+		}
+		try {
+			process.run();
+			return true;
+		} finally {
+			releaseProcessingPermit();
+		}
+	}
+
+	private boolean acquireProcessingPermit() {
+		if (processingPermits != null) {
+			try {
+				processingPermits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void releaseProcessingPermit() {
+		if (processingPermits != null) {
+			processingPermits.release();
 		}
 	}
 
@@ -31,6 +31,7 @@ import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
 import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
 import eu.europa.esig.dss.tsl.dto.ParsingCacheDTO;
 import eu.europa.esig.dss.tsl.dto.ValidationCacheDTO;
+import eu.europa.esig.dss.tsl.download.PerHostConcurrencyFileLoader;
 import eu.europa.esig.dss.tsl.sha2.Sha2FileCacheDataLoader;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.tsl.validation.TLValidatorTask;
@@ -39,16 +40,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Runs the job for a LOTL with pivots analysis
@@ -64,6 +67,9 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 	/** The file loader */
 	private final DSSFileLoader dssFileLoader;
 
+	/** The executor used to download and parse the pivots (optional) */
+	private Executor executor;
+
 	/**
 	 * Default constructor
 	 *
@@ -80,6 +86,18 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 		this.dssFileLoader = dssFileLoader;
 	}
 
+	/**
+	 * Sets the executor used to download and parse the pivots concurrently (e.g. the executor of the job).
+	 * A pivot which is not started by the executor when its result is required is processed within
+	 * the current thread, so the analysis does not depend on the availability of the executor threads.
+	 * If not defined, the pivots are processed sequentially within the current thread.
+	 *
+	 * @param executor {@link Executor}
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	@Override
 	protected CertificateSource getCurrentCertificateSource() {
 		final CertificateSource initialCertificateSource = super.getCurrentCertificateSource();
@@ -195,8 +213,7 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 				pivotSource.setPivotSupport(lotlSource.isPivotSupport());
 
 				// .sha2 is not supported by pivot
-				DSSFileLoader dataLoader = dssFileLoader instanceof Sha2FileCacheDataLoader ?
-						((Sha2FileCacheDataLoader) dssFileLoader).getDataLoader() : dssFileLoader;
+				DSSFileLoader dataLoader = getPivotDataLoader();
 				pivotProcessingMap.put(pivotUrl, new PivotProcessing(pivotSource, pivotCacheAccess, getCacheAccessByKey(),
 						new ArrayList<>(pivotCacheAccessByKeyList), dataLoader));
 
@@ -209,49 +226,60 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 		}
 
 		if (Utils.isMapNotEmpty(pivotProcessingMap)) {
-			ExecutorService executorService = Executors.newFixedThreadPool(pivotProcessingMap.size());
-			Map<String, Future<PivotProcessingResult>> futures = new HashMap<>();
+			Map<String, FutureTask<PivotProcessingResult>> tasks = new LinkedHashMap<>();
 			for (Map.Entry<String, PivotProcessing> processing : pivotProcessingMap.entrySet()) {
-				futures.put(processing.getKey(), executorService.submit(processing.getValue()));
+				FutureTask<PivotProcessingResult> task = new FutureTask<>(processing.getValue());
+				tasks.put(processing.getKey(), task);
+				submit(task);
 			}
 
-			for (Entry<String, Future<PivotProcessingResult>> entry : futures.entrySet()) {
+			for (Entry<String, FutureTask<PivotProcessingResult>> entry : tasks.entrySet()) {
+				FutureTask<PivotProcessingResult> task = entry.getValue();
+				// no-op if the task has already been started by the executor
+				task.run();
 				try {
-					processingResults.put(entry.getKey(), entry.getValue().get());
+					processingResults.put(entry.getKey(), task.get());
 				} catch (InterruptedException e) {
 					LOG.error(String.format("Unable to retrieve the PivotProcessingResult for url '%s'", entry.getKey()), e);
 					Thread.currentThread().interrupt();
-				} catch (ExecutionException e) {
+					cancel(tasks.values());
+					break;
+				} catch (ExecutionException | CancellationException e) {
 					LOG.error(String.format("Unable to retrieve the PivotProcessingResult for url '%s'", entry.getKey()), e);
 				}
 			}
-			shutdownAndAwaitTermination(executorService);
 		}
 
 		return processingResults;
 	}
 
-	private void shutdownAndAwaitTermination(ExecutorService executorService) {
-		executorService.shutdown();
-		try {
-			if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
-				shutdownNowAndAwaitTermination(executorService);
+	private DSSFileLoader getPivotDataLoader() {
+		if (dssFileLoader instanceof PerHostConcurrencyFileLoader) {
+			PerHostConcurrencyFileLoader perHostConcurrencyFileLoader = (PerHostConcurrencyFileLoader) dssFileLoader;
+			DSSFileLoader dataLoader = perHostConcurrencyFileLoader.getDataLoader();
+			if (dataLoader instanceof Sha2FileCacheDataLoader) {
+				// keep the per host limits shared with the LOTL/TL downloads
+				return perHostConcurrencyFileLoader.withDataLoader(((Sha2FileCacheDataLoader) dataLoader).getDataLoader());
 			}
-		} catch (InterruptedException e) {
-			shutdownNowAndAwaitTermination(executorService);
-			Thread.currentThread().interrupt();
+			return perHostConcurrencyFileLoader;
 		}
+		return dssFileLoader instanceof Sha2FileCacheDataLoader ?
+				((Sha2FileCacheDataLoader) dssFileLoader).getDataLoader() : dssFileLoader;
 	}
 
-	private void shutdownNowAndAwaitTermination(ExecutorService executorService) {
-		executorService.shutdownNow();
-		try {
-			if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
-				LOG.warn("More than 10s to terminate the service executor");
+	private void submit(FutureTask<PivotProcessingResult> task) {
+		if (executor != null) {
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				LOG.debug("The pivot processing is rejected by the executor and will be executed within the current thread");
 			}
-		} catch (InterruptedException e) {
-			LOG.warn("Unable to interrupt the service executor", e);
-			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void cancel(Collection<FutureTask<PivotProcessingResult>> tasks) {
+		for (FutureTask<PivotProcessingResult> task : tasks) {
+			task.cancel(true);
 		}
 	}
 
@@ -0,0 +1,55 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.warmup;
+
+import eu.europa.esig.dss.spi.warmup.WarmUpTask;
+import eu.europa.esig.dss.spi.warmup.WarmUpTaskProvider;
+import eu.europa.esig.trustedlist.TrustedListUtils;
+import eu.europa.esig.trustedlist.mra.MRAUtils;
+import eu.europa.esig.trustedlist211.TrustedList211Utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Initializes the JAXB contexts and XSD schemas used on parsing and structural validation of trusted lists
+ *
+ */
+public class TLWarmUpTaskProvider implements WarmUpTaskProvider {
+
+    /**
+     * Default constructor
+     */
+    public TLWarmUpTaskProvider() {
+        // empty
+    }
+
+    @Override
+    public List<WarmUpTask> getWarmUpTasks() {
+        return Arrays.asList(
+                new WarmUpTask("Trusted list JAXB context", () -> TrustedListUtils.getInstance().getJAXBContext()),
+                new WarmUpTask("Trusted list schema", () -> TrustedListUtils.getInstance().getSchema()),
+                new WarmUpTask("MRA JAXB context", () -> MRAUtils.getInstance().getJAXBContext()),
+                new WarmUpTask("Trusted list v2.1.1 schema", () -> TrustedList211Utils.getInstance().getSchema())
+        );
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.download;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerHostConcurrencyFileLoaderTest {
+
+    @Test
+    void test() throws Exception {
+        ConcurrencyCountingFileLoader countingFileLoader = new ConcurrencyCountingFileLoader();
+        PerHostConcurrencyFileLoader fileLoader = new PerHostConcurrencyFileLoader(countingFileLoader, 2);
+        assertSame(countingFileLoader, fileLoader.getDataLoader());
+        assertEquals(2, fileLoader.getMaxConcurrentDownloadsPerHost());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(12);
+        try {
+            List<Future<DSSDocument>> futures = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                String url = i % 2 == 0 ? "http://host-a.europa.eu/tl-" + i + ".xml" : "https://host-b.europa.eu:8443/tl-" + i + ".xml";
+                futures.add(executorService.submit(() -> fileLoader.getDocument(url)));
+            }
+            for (Future<DSSDocument> future : futures) {
+                assertNotNull(future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(2, countingFileLoader.maxConcurrency.size());
+        assertEquals(2, countingFileLoader.maxConcurrency.get("host-a.europa.eu").get());
+        assertEquals(2, countingFileLoader.maxConcurrency.get("host-b.europa.eu").get());
+    }
+
+    @Test
+    void sharedLimitsTest() throws Exception {
+        ConcurrencyCountingFileLoader countingFileLoader = new ConcurrencyCountingFileLoader();
+        PerHostConcurrencyFileLoader fileLoader = new PerHostConcurrencyFileLoader(countingFileLoader, 1);
+        PerHostConcurrencyFileLoader otherFileLoader = fileLoader.withDataLoader(countingFileLoader);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<DSSDocument>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                PerHostConcurrencyFileLoader currentLoader = i % 2 == 0 ? fileLoader : otherFileLoader;
+                String url = "http://host-a.europa.eu/tl-" + i + ".xml";
+                futures.add(executorService.submit(() -> currentLoader.getDocument(url)));
+            }
+            for (Future<DSSDocument> future : futures) {
+                assertNotNull(future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(1, countingFileLoader.maxConcurrency.get("host-a.europa.eu").get());
+    }
+
+    @Test
+    void invalidLimitTest() {
+        ConcurrencyCountingFileLoader countingFileLoader = new ConcurrencyCountingFileLoader();
+        assertThrows(IllegalArgumentException.class, () -> new PerHostConcurrencyFileLoader(countingFileLoader, 0));
+        assertThrows(NullPointerException.class, () -> new PerHostConcurrencyFileLoader(null, 1));
+    }
+
+    private static class ConcurrencyCountingFileLoader implements DSSFileLoader {
+
+        private static final long serialVersionUID = 6092740185231187532L;
+
+        private final Map<String, AtomicInteger> currentConcurrency = new ConcurrentHashMap<>();
+
+        private final Map<String, AtomicInteger> maxConcurrency = new ConcurrentHashMap<>();
+
+        @Override
+        public DSSDocument getDocument(String url) {
+            String host = DSSUtils.getHost(url);
+            AtomicInteger current = currentConcurrency.computeIfAbsent(host, h -> new AtomicInteger());
+            AtomicInteger max = maxConcurrency.computeIfAbsent(host, h -> new AtomicInteger());
+            int concurrency = current.incrementAndGet();
+            max.accumulateAndGet(concurrency, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                current.decrementAndGet();
+            }
+            assertTrue(concurrency > 0);
+            return new InMemoryDocument(url.getBytes());
+        }
+
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TLValidationJobTimeoutTest {
+
+	@Test
+	void refreshTimeoutTest() {
+		TLValidationJob job = new TLValidationJob();
+		job.setOnlineDataLoader(new BlockingFileLoader(null));
+		job.setTrustedListSources(getTLSource("http://host-a.europa.eu/tl.xml"), getTLSource("http://host-b.europa.eu/tl.xml"));
+		job.setRefreshTimeout(200);
+
+		long start = System.nanoTime();
+		job.onlineRefresh();
+		long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(durationMillis < 5000, "The refresh took " + durationMillis + " ms");
+
+		TLValidationJobSummary summary = job.getSummary();
+		assertEquals(2, summary.getNumberOfProcessedTLs());
+		for (TLInfo tlInfo : summary.getOtherTLInfos()) {
+			assertFalse(tlInfo.getDownloadCacheInfo().isResultExist());
+		}
+	}
+
+	@Test
+	void cancelRefreshTest() throws Exception {
+		CountDownLatch downloadStarted = new CountDownLatch(1);
+
+		TLValidationJob job = new TLValidationJob();
+		job.setOnlineDataLoader(new BlockingFileLoader(downloadStarted));
+		job.setTrustedListSources(getTLSource("http://host-a.europa.eu/tl.xml"));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> refresh = executorService.submit(job::onlineRefresh);
+			assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+
+			job.cancelRefresh();
+			refresh.get(5, TimeUnit.SECONDS);
+			assertTrue(refresh.isDone());
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		// a new refresh is not affected by the previous cancellation
+		job.setRefreshTimeout(100);
+		job.onlineRefresh();
+	}
+
+	@Test
+	void asyncRefreshTest() throws Exception {
+		TLValidationJob job = new TLValidationJob();
+		job.setOnlineDataLoader(new BlockingFileLoader(null));
+		job.setTrustedListSources(getTLSource("http://host-a.europa.eu/tl.xml"), getTLSource("http://host-b.europa.eu/tl.xml"));
+		job.setRefreshTimeout(200);
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			CompletableFuture<TLValidationJobSummary> refresh = job.onlineRefreshAsync(executorService);
+			TLValidationJobSummary summary = refresh.get(5, TimeUnit.SECONDS);
+			assertEquals(2, summary.getNumberOfProcessedTLs());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void cancelAsyncRefreshTest() throws Exception {
+		CountDownLatch downloadStarted = new CountDownLatch(1);
+
+		TLValidationJob job = new TLValidationJob();
+		job.setOnlineDataLoader(new BlockingFileLoader(downloadStarted));
+		job.setTrustedListSources(getTLSource("http://host-a.europa.eu/tl.xml"));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			CompletableFuture<TLValidationJobSummary> refresh = job.onlineRefreshAsync(executorService);
+			assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+			assertTrue(refresh.cancel(true));
+
+			// the next refresh waits for the end of the cancelled one
+			job.setRefreshTimeout(100);
+			long start = System.nanoTime();
+			job.onlineRefresh();
+			long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertTrue(durationMillis < 5000, "The refresh took " + durationMillis + " ms");
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void lotlPhaseTimeoutTest() {
+		AtomicBoolean tlDownloadCompleted = new AtomicBoolean();
+
+		TLValidationJob job = new TLValidationJob();
+		job.setOnlineDataLoader(url -> {
+			if (url.contains("lotl")) {
+				return new BlockingFileLoader(null).getDocument(url);
+			}
+			try {
+				Thread.sleep(50);
+				tlDownloadCompleted.set(true);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new DSSExternalResourceException(String.format("Unable to download '%s'", url));
+		});
+		LOTLSource lotlSource = new LOTLSource();
+		lotlSource.setUrl("http://host-a.europa.eu/lotl.xml");
+		job.setListOfTrustedListSources(lotlSource);
+		job.setTrustedListSources(getTLSource("http://host-b.europa.eu/tl.xml"));
+		job.setRefreshTimeout(200);
+
+		job.onlineRefresh();
+
+		// the TL phase has its own budget and is not cancelled after the timeout of the LOTL phase
+		assertTrue(tlDownloadCompleted.get());
+		TLValidationJobSummary summary = job.getSummary();
+		assertEquals(1, summary.getOtherTLInfos().size());
+		assertTrue(summary.getOtherTLInfos().get(0).getDownloadCacheInfo().isError());
+		assertFalse(summary.getLOTLInfos().get(0).getDownloadCacheInfo().isResultExist());
+	}
+
+	@Test
+	void independentRefreshesTest() throws Exception {
+		CountDownLatch downloadStarted = new CountDownLatch(1);
+
+		TLValidationJob job = new TLValidationJob();
+		job.setOnlineDataLoader(url -> {
+			downloadStarted.countDown();
+			try {
+				Thread.sleep(300);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new DSSExternalResourceException(String.format("Unable to download '%s'", url));
+		});
+		job.setTrustedListSources(getTLSource("http://host-a.europa.eu/tl.xml"));
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		job.setTrustedListCertificateSource(trustedListsCertificateSource);
+
+		ExecutorService firstExecutor = Executors.newSingleThreadExecutor();
+		ExecutorService secondExecutor = Executors.newSingleThreadExecutor();
+		try {
+			CompletableFuture<TLValidationJobSummary> firstRefresh = job.onlineRefreshAsync(firstExecutor);
+			assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+
+			// the cancellation of the second refresh does not impact the first one
+			CompletableFuture<TLValidationJobSummary> secondRefresh = job.onlineRefreshAsync(secondExecutor);
+			assertTrue(secondRefresh.cancel(true));
+
+			assertNotNull(firstRefresh.get(5, TimeUnit.SECONDS));
+			assertNotNull(trustedListsCertificateSource.getSummary());
+		} finally {
+			firstExecutor.shutdownNow();
+			secondExecutor.shutdownNow();
+		}
+	}
+
+	private TLSource getTLSource(String url) {
+		TLSource tlSource = new TLSource();
+		tlSource.setUrl(url);
+		return tlSource;
+	}
+
+	private static class BlockingFileLoader implements DSSFileLoader {
+
+		private static final long serialVersionUID = -1208563473215896401L;
+
+		private final transient CountDownLatch downloadStarted;
+
+		BlockingFileLoader(CountDownLatch downloadStarted) {
+			this.downloadStarted = downloadStarted;
+		}
+
+		@Override
+		public DSSDocument getDocument(String url) {
+			if (downloadStarted != null) {
+				downloadStarted.countDown();
+			}
+			try {
+				Thread.sleep(60000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new DSSExternalResourceException(String.format("Unable to download '%s'", url));
+		}
+
+	}
+
+}
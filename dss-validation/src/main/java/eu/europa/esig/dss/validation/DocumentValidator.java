@@ -46,6 +46,9 @@ import java.net.URL;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * This is the interface to be used when implementing different signature validators.
@@ -271,6 +274,37 @@ public interface DocumentValidator extends ProcessExecutorProvider<DocumentProce
 	 */
 	Reports validateDocument(ValidationPolicy validationPolicy);
 
+	/**
+	 * Validates the document and all its signatures asynchronously within the given {@code executor}.
+	 * The default constraint file is used.
+	 * NOTE: the validator shall not be modified or used for another validation until the returned future is completed.
+	 * NOTE: the method only offloads the blocking {@code #validateDocument} call to a thread of the {@code executor}.
+	 * The revocation data and certificate requests still block that thread.
+	 *
+	 * @param executor {@link Executor} to run the validation
+	 * @return {@link CompletableFuture} completed with the {@code Reports}, or exceptionally in case of a failure
+	 */
+	default CompletableFuture<Reports> validateDocumentAsync(final Executor executor) {
+		Objects.requireNonNull(executor, "Executor cannot be null!");
+		return CompletableFuture.supplyAsync(this::validateDocument, executor);
+	}
+
+	/**
+	 * Validates the document and all its signatures asynchronously within the given {@code executor},
+	 * using the provided {@code validationPolicy}.
+	 * NOTE: the validator shall not be modified or used for another validation until the returned future is completed.
+	 * NOTE: the method only offloads the blocking {@code #validateDocument} call to a thread of the {@code executor}.
+	 * The revocation data and certificate requests still block that thread.
+	 *
+	 * @param validationPolicy {@link ValidationPolicy} to use
+	 * @param executor {@link Executor} to run the validation
+	 * @return {@link CompletableFuture} completed with the {@code Reports}, or exceptionally in case of a failure
+	 */
+	default CompletableFuture<Reports> validateDocumentAsync(final ValidationPolicy validationPolicy, final Executor executor) {
+		Objects.requireNonNull(executor, "Executor cannot be null!");
+		return CompletableFuture.supplyAsync(() -> validateDocument(validationPolicy), executor);
+	}
+
 	/**
 	 * Validates the document and all its signatures, using the provided validation policy.
 	 * If cryptographic suite is set, the constraints from validation policy will be overwritten
@@ -32,6 +32,7 @@ import eu.europa.esig.dss.model.ManifestFile;
 import eu.europa.esig.dss.model.identifier.TokenIdentifierProvider;
 import eu.europa.esig.dss.model.policy.ValidationPolicy;
 import eu.europa.esig.dss.spi.exception.IllegalInputException;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyValidatorLoader;
 import eu.europa.esig.dss.spi.signature.AdvancedSignature;
@@ -59,6 +60,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -424,9 +426,11 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		LOG.info("Document validation...");
 		assertConfigurationValid();
 
-		final XmlDiagnosticData diagnosticData = getDiagnosticData();
+		try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.VALIDATION_PHASE, DSSMetrics.TAG_PHASE, DSSMetrics.PHASE_TOTAL)) {
+			final XmlDiagnosticData diagnosticData = getDiagnosticData();
 
-		return processValidationPolicy(diagnosticData, validationPolicy);
+			return processValidationPolicy(diagnosticData, validationPolicy);
+		}
 	}
 
 	/**
@@ -448,16 +452,25 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 	 * @return {@link XmlDiagnosticData}
 	 */
 	public final XmlDiagnosticData getDiagnosticData() {
-		ValidationContext validationContext = documentAnalyzer.validate();
-		SignedDocumentDiagnosticDataBuilder diagnosticDataBuilder = initializeDiagnosticDataBuilder();
-		return new XmlDiagnosticDataFactory(diagnosticDataBuilder)
-				.setDocument(documentAnalyzer.getDocument())
-				.setValidationTime(documentAnalyzer.getValidationTime())
-				.setTokenIdentifierProvider(documentAnalyzer.getTokenIdentifierProvider())
-				.setValidationContext(validationContext)
-				.setDefaultDigestAlgorithm(defaultDigestAlgorithm)
-				.setTokenExtractionStrategy(tokenExtractionStrategy)
-				.create();
+		final ValidationContext validationContext;
+		if (documentAnalyzer instanceof DefaultDocumentAnalyzer) {
+			// signer data digests are computed within the same read as the digests required by the signatures
+			((DefaultDocumentAnalyzer) documentAnalyzer).setDocumentDigestAlgorithms(Collections.singleton(defaultDigestAlgorithm));
+		}
+		try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.VALIDATION_PHASE, DSSMetrics.TAG_PHASE, DSSMetrics.PHASE_VALIDATION_CONTEXT)) {
+			validationContext = documentAnalyzer.validate();
+		}
+		try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.VALIDATION_PHASE, DSSMetrics.TAG_PHASE, DSSMetrics.PHASE_DIAGNOSTIC_DATA)) {
+			SignedDocumentDiagnosticDataBuilder diagnosticDataBuilder = initializeDiagnosticDataBuilder();
+			return new XmlDiagnosticDataFactory(diagnosticDataBuilder)
+					.setDocument(documentAnalyzer.getDocument())
+					.setValidationTime(documentAnalyzer.getValidationTime())
+					.setTokenIdentifierProvider(documentAnalyzer.getTokenIdentifierProvider())
+					.setValidationContext(validationContext)
+					.setDefaultDigestAlgorithm(defaultDigestAlgorithm)
+					.setTokenExtractionStrategy(tokenExtractionStrategy)
+					.create();
+		}
 	}
 
 	/**
@@ -487,7 +500,9 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		executor.setIncludeSemantics(includeSemantics);
 		executor.setEnableEtsiValidationReport(enableEtsiValidationReport);
 		executor.setLocale(locale);
-		return executor.execute();
+		try (DSSMetrics.Timer timer = DSSMetrics.startTimer(DSSMetrics.VALIDATION_PHASE, DSSMetrics.TAG_PHASE, DSSMetrics.PHASE_PROCESS_EXECUTION)) {
+			return executor.execute();
+		}
 	}
 
 	@Override
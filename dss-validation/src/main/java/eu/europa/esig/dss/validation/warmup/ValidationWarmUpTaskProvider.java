@@ -0,0 +1,70 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.warmup;
+
+import eu.europa.esig.dss.detailedreport.DetailedReportXmlDefiner;
+import eu.europa.esig.dss.diagnostic.DiagnosticDataXmlDefiner;
+import eu.europa.esig.dss.model.policy.ValidationPolicyFactory;
+import eu.europa.esig.dss.simplecertificatereport.SimpleCertificateReportXmlDefiner;
+import eu.europa.esig.dss.simplereport.SimpleReportXmlDefiner;
+import eu.europa.esig.dss.spi.warmup.WarmUpTask;
+import eu.europa.esig.dss.spi.warmup.WarmUpTaskProvider;
+import eu.europa.esig.dss.validation.policy.ValidationPolicyLoader;
+import eu.europa.esig.validationreport.ValidationReportUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Initializes the JAXB contexts and XSD schemas of the validation reports,
+ * as well as the default validation policy (when a {@code ValidationPolicyFactory} is present on the classpath)
+ *
+ */
+public class ValidationWarmUpTaskProvider implements WarmUpTaskProvider {
+
+    /**
+     * Default constructor
+     */
+    public ValidationWarmUpTaskProvider() {
+        // empty
+    }
+
+    @Override
+    public List<WarmUpTask> getWarmUpTasks() {
+        final List<WarmUpTask> tasks = new ArrayList<>();
+        tasks.add(new WarmUpTask("Diagnostic data JAXB context", DiagnosticDataXmlDefiner::getJAXBContext));
+        tasks.add(new WarmUpTask("Diagnostic data schema", DiagnosticDataXmlDefiner::getSchema));
+        tasks.add(new WarmUpTask("Detailed report JAXB context", DetailedReportXmlDefiner::getJAXBContext));
+        tasks.add(new WarmUpTask("Detailed report schema", DetailedReportXmlDefiner::getSchema));
+        tasks.add(new WarmUpTask("Simple report JAXB context", SimpleReportXmlDefiner::getJAXBContext));
+        tasks.add(new WarmUpTask("Simple report schema", SimpleReportXmlDefiner::getSchema));
+        tasks.add(new WarmUpTask("Simple certificate report JAXB context", SimpleCertificateReportXmlDefiner::getJAXBContext));
+        tasks.add(new WarmUpTask("Simple certificate report schema", SimpleCertificateReportXmlDefiner::getSchema));
+        tasks.add(new WarmUpTask("ETSI validation report JAXB context", () -> ValidationReportUtils.getInstance().getJAXBContext()));
+        tasks.add(new WarmUpTask("ETSI validation report schema", () -> ValidationReportUtils.getInstance().getSchema()));
+        if (ServiceLoader.load(ValidationPolicyFactory.class).iterator().hasNext()) {
+            tasks.add(new WarmUpTask("Default validation policy", () -> ValidationPolicyLoader.fromDefaultValidationPolicy().create()));
+        }
+        return tasks;
+    }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import eu.europa.esig.dss.spi.warmup.DSSWarmUp;
+import eu.europa.esig.dss.spi.warmup.WarmUpTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationWarmUpTest {
+
+    @Test
+    void test() {
+        DSSWarmUp warmUp = new DSSWarmUp();
+        List<String> taskNames = warmUp.getTasks().stream().map(WarmUpTask::getName).collect(Collectors.toList());
+        assertTrue(taskNames.contains("Security provider"));
+        assertTrue(taskNames.contains("Diagnostic data JAXB context"));
+        assertTrue(taskNames.contains("ETSI validation report schema"));
+        assertTrue(taskNames.contains("Default validation policy"));
+
+        warmUp.run();
+        assertTrue(warmUp.isReady());
+        assertTrue(warmUp.getFailures().isEmpty(), warmUp.getFailures().toString());
+    }
+
+}
@@ -488,9 +488,10 @@ public final class DSSXMLUtils {
 		for (int jj = 0; jj < attributes.getLength(); jj++) {
 
 			final Node item = attributes.item(jj);
-			final String localName = item.getLocalName();
 			final String nodeName = item.getNodeName();
-			if (localName != null && Utils.areStringsEqualIgnoreCase(XMLDSigAttribute.ID.getAttributeName(), localName)) {
+			// the local name is not defined for attributes created in a non namespace-aware way (e.g. on signature creation)
+			final String localName = item.getLocalName() != null ? item.getLocalName() : nodeName;
+			if (Utils.areStringsEqualIgnoreCase(XMLDSigAttribute.ID.getAttributeName(), localName)) {
 				childElement.setIdAttribute(nodeName, true);
 				break;
 			}
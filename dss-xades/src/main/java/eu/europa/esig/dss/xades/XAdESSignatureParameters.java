@@ -148,6 +148,12 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 	 */
 	private boolean prettyPrint = false;
 
+	/**
+	 * If true, the base64-encoded signed content of an enveloping signature is streamed directly
+	 * into the signature output, instead of being embedded into the DOM
+	 */
+	private boolean streamEnvelopingContent = false;
+
 	/**
 	 * XMLDSig definition
 	 */
@@ -531,6 +537,37 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 		this.prettyPrint = prettyPrint;
 	}
 
+	/**
+	 * Gets if the base64-encoded signed content of an enveloping signature shall be streamed into the output
+	 *
+	 * @return TRUE if the signed content shall be streamed, FALSE otherwise
+	 */
+	public boolean isStreamEnvelopingContent() {
+		return streamEnvelopingContent;
+	}
+
+	/**
+	 * Sets if the base64-encoded signed content of an enveloping signature shall be streamed directly into
+	 * the signature output. When enabled, the DOM contains only the signature skeleton and the ds:Object content
+	 * is written into the document created by the {@code DSSResourcesHandlerBuilder} defined within the service
+	 * (a temporary file by default),
+	 * which allows creation of enveloping signatures for very large documents within a bounded memory.
+	 * <p>
+	 * NOTE: applies only to ENVELOPING signatures with base64-encoded content
+	 * (not compatible with {@code embedXML} and {@code manifestSignature})
+	 * <p>
+	 * NOTE: only the creation of a BASELINE-B signature is performed within a bounded memory.
+	 * An extension to a -T or higher level (including on the signature creation) parses the whole signed document
+	 * into a DOM, as for a signature created without this option.
+	 * <p>
+	 * Default: false
+	 *
+	 * @param streamEnvelopingContent TRUE if the signed content shall be streamed, FALSE otherwise
+	 */
+	public void setStreamEnvelopingContent(boolean streamEnvelopingContent) {
+		this.streamEnvelopingContent = streamEnvelopingContent;
+	}
+
 	/**
 	 * This method returns the current used XMLDSig namespace
 	 * Never returns null
@@ -719,6 +756,7 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 				", xPathLocationString='" + xPathLocationString + '\'' +
 				", xPathElementPlacement=" + xPathElementPlacement +
 				", prettyPrint=" + prettyPrint +
+				", streamEnvelopingContent=" + streamEnvelopingContent +
 				", xmldsigNamespace=" + xmldsigNamespace +
 				", xadesNamespace=" + xadesNamespace +
 				", xades141Namespace=" + xades141Namespace +
@@ -741,6 +779,7 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 				&& manifestSignature == that.manifestSignature
 				&& signKeyInfo == that.signKeyInfo
 				&& prettyPrint == that.prettyPrint
+				&& streamEnvelopingContent == that.streamEnvelopingContent
 				&& Objects.equals(dssReferences, that.dssReferences)
 				&& Objects.equals(keyInfoCanonicalizationMethod, that.keyInfoCanonicalizationMethod)
 				&& Objects.equals(signedInfoCanonicalizationMethod, that.signedInfoCanonicalizationMethod)
@@ -776,6 +815,7 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 		result = 31 * result + Objects.hashCode(xPathLocationString);
 		result = 31 * result + Objects.hashCode(xPathElementPlacement);
 		result = 31 * result + Boolean.hashCode(prettyPrint);
+		result = 31 * result + Boolean.hashCode(streamEnvelopingContent);
 		result = 31 * result + Objects.hashCode(xmldsigNamespace);
 		result = 31 * result + Objects.hashCode(xadesNamespace);
 		result = 31 * result + Objects.hashCode(xades141Namespace);
@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.xades.reference;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -37,7 +38,14 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Contains methods for processing {@code eu.europa.esig.dss.xades.reference.DSSReference}
@@ -49,6 +57,9 @@ public class ReferenceProcessor {
     /** Signature parameters used on signature creation */
     private XAdESSignatureParameters signatureParameters;
 
+    /** Used to compute digests of independent references concurrently (optional) */
+    private ExecutorService executorService;
+
     /**
      * Empty constructor (to be used for non-signature references, e.g. for a Manifest)
      */
@@ -65,6 +76,18 @@ public class ReferenceProcessor {
         this.signatureParameters = signatureParameters;
     }
 
+    /**
+     * Sets an {@code ExecutorService} to be used to compute digests of the references concurrently.
+     * References sharing the same document are processed within the same task.
+     * The order of the incorporated references is preserved.
+     * When not defined, the references are processed sequentially (default behavior).
+     *
+     * @param executorService {@link ExecutorService}
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
     /**
      * Returns an output content after processing the given {@code DSSReference}
      *
@@ -76,12 +99,13 @@ public class ReferenceProcessor {
             return reference.getContents();
         }
 
-        Node nodeToTransform = dereferenceNode(reference);
-        if (nodeToTransform == null) {
-            return reference.getContents();
-        }
         List<DSSTransform> transforms = reference.getTransforms();
         if (isUniqueBase64Transform(transforms)) {
+            // the content is digested as is, no need to parse it
+            return reference.getContents();
+        }
+        Node nodeToTransform = dereferenceNode(reference);
+        if (nodeToTransform == null) {
             return reference.getContents();
         }
 
@@ -176,7 +200,9 @@ public class ReferenceProcessor {
     public void incorporateReferences(Element referenceContainer, List<DSSReference> references, DSSNamespace namespace) {
         if (Utils.isCollectionNotEmpty(references)) {
             Document documentDom = referenceContainer.getOwnerDocument();
-            for (DSSReference dssReference : references) {
+            List<String> base64EncodedDigests = getBase64EncodedDigests(references);
+            for (int i = 0; i < references.size(); i++) {
+                DSSReference dssReference = references.get(i);
                 final Element referenceDom = DomUtils.createElementNS(documentDom, namespace, XMLDSigElement.REFERENCE);
                 referenceContainer.appendChild(referenceDom);
 
@@ -198,11 +224,58 @@ public class ReferenceProcessor {
                 DSSXMLUtils.incorporateTransforms(referenceDom, dssReference.getTransforms(), namespace);
                 DSSXMLUtils.incorporateDigestMethod(referenceDom, dssReference.getDigestMethodAlgorithm(), namespace);
 
-                DSSDocument documentAfterTransforms = getReferenceOutput(dssReference);
-                byte[] digestBytes = documentAfterTransforms.getDigestValue(dssReference.getDigestMethodAlgorithm());
-                String base64EncodedDigestBytes = Utils.toBase64(digestBytes);
-                DSSXMLUtils.incorporateDigestValue(referenceDom, base64EncodedDigestBytes, namespace);
+                DSSXMLUtils.incorporateDigestValue(referenceDom, base64EncodedDigests.get(i), namespace);
+            }
+        }
+    }
+
+    private List<String> getBase64EncodedDigests(List<DSSReference> references) {
+        if (executorService == null || references.size() < 2) {
+            final List<String> result = new ArrayList<>();
+            for (DSSReference reference : references) {
+                result.add(getBase64EncodedDigest(reference));
+            }
+            return result;
+        }
+
+        // references sharing the same document are processed sequentially, as the document's digest cache is not thread-safe
+        final Map<DSSDocument, List<Integer>> referencesByDocument = new IdentityHashMap<>();
+        for (int i = 0; i < references.size(); i++) {
+            referencesByDocument.computeIfAbsent(references.get(i).getContents(), k -> new ArrayList<>()).add(i);
+        }
+
+        final String[] result = new String[references.size()];
+        final List<Future<?>> futures = new ArrayList<>();
+        for (List<Integer> referenceIndexes : referencesByDocument.values()) {
+            futures.add(executorService.submit(() -> {
+                for (Integer index : referenceIndexes) {
+                    result[index] = getBase64EncodedDigest(references.get(index));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            awaitTermination(future);
+        }
+        return Arrays.asList(result);
+    }
+
+    private String getBase64EncodedDigest(DSSReference reference) {
+        DSSDocument documentAfterTransforms = getReferenceOutput(reference);
+        byte[] digestBytes = documentAfterTransforms.getDigestValue(reference.getDigestMethodAlgorithm());
+        return Utils.toBase64(digestBytes);
+    }
+
+    private void awaitTermination(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DSSException("Interrupted while computing the reference digests", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new DSSException(String.format("Unable to compute the reference digest : %s", e.getMessage()), e);
         }
     }
 
@@ -23,9 +23,14 @@ package eu.europa.esig.dss.xades.signature;
 import eu.europa.esig.dss.xml.utils.DomUtils;
 import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigAttribute;
 import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigElement;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.signature.resources.TempFileResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandler;
+import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.xades.DSSObject;
@@ -36,7 +41,17 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * This class handles the specifics of the enveloping XML signature
@@ -44,6 +59,18 @@ import java.util.List;
  */
 class EnvelopingSignatureBuilder extends XAdESSignatureBuilder {
 
+	/** The size of a chunk to be base64-encoded at once (shall be a multiple of 3) */
+	private static final int BASE64_CHUNK_SIZE = 3 * 8192;
+
+	/** The prefix of a placeholder to be replaced by a streamed content within the signature output */
+	private static final String STREAMED_CONTENT_PLACEHOLDER_PREFIX = "dss-streamed-content-";
+
+	/** The length of the random UUID following the placeholder prefix */
+	private static final int PLACEHOLDER_UUID_LENGTH = 36;
+
+	/** The map between placeholders incorporated within the DOM and the documents to be streamed in their place */
+	private final Map<String, DSSDocument> streamedContents = new LinkedHashMap<>();
+
 	/**
 	 * The constructor for EnvelopingSignatureBuilder for a document signing.
 	 * The enveloped signature uses by default the inclusive method of canonicalization.
@@ -111,6 +138,11 @@ class EnvelopingSignatureBuilder extends XAdESSignatureBuilder {
 				DSSDocument content;
 				if (params.isEmbedXML()) {
 					content = reference.getContents();
+				} else if (params.isStreamEnvelopingContent()) {
+					// only a placeholder is kept within the DOM, the content is base64-encoded on the output creation
+					String placeholder = STREAMED_CONTENT_PLACEHOLDER_PREFIX + UUID.randomUUID();
+					streamedContents.put(placeholder, reference.getContents());
+					content = new InMemoryDocument(placeholder.getBytes(StandardCharsets.UTF_8));
 				} else {
 					String base64EncodedOriginalDocument = Utils.toBase64(DSSUtils.toByteArray(reference.getContents()));
 					content = new InMemoryDocument(base64EncodedOriginalDocument.getBytes());
@@ -123,4 +155,148 @@ class EnvelopingSignatureBuilder extends XAdESSignatureBuilder {
 		}
 	}
 
+	@Override
+	protected DSSDocument createXmlDocument() {
+		if (streamedContents.isEmpty()) {
+			return super.createXmlDocument();
+		}
+		return writeWithStreamedContents();
+	}
+
+	@Override
+	Document getSignedDocumentDom(DSSDocument document) {
+		if (!streamedContents.isEmpty()) {
+			// the DOM contains placeholders instead of the signed content
+			return null;
+		}
+		return super.getSignedDocumentDom(document);
+	}
+
+	private DSSDocument writeWithStreamedContents() {
+		final DSSResourcesHandlerBuilder handlerBuilder = resourcesHandlerBuilder != null ?
+				resourcesHandlerBuilder : new TempFileResourcesHandlerBuilder();
+		try (DSSResourcesHandler resourcesHandler = handlerBuilder.createResourcesHandler()) {
+			try (OutputStream os = resourcesHandler.createOutputStream();
+				 StreamedContentsOutputStream scos = new StreamedContentsOutputStream(os)) {
+				// the skeleton is serialized directly into the output, the placeholders are replaced on the fly
+				DomUtils.serializeNode(getDocumentDomToSerialize(), scos);
+				scos.flush();
+				scos.assertAllContentsWritten();
+			}
+
+			DSSDocument signedDocument = resourcesHandler.writeToDSSDocument();
+			signedDocument.setMimeType(MimeTypeEnum.XML);
+			return signedDocument;
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to create the signed document : %s", e.getMessage()), e);
+		}
+	}
+
+	private void writeBase64(DSSDocument document, OutputStream os) throws IOException {
+		try (InputStream is = document.openStream()) {
+			final byte[] buffer = new byte[BASE64_CHUNK_SIZE];
+			int length;
+			while ((length = readChunk(is, buffer)) > 0) {
+				final byte[] chunk = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+				os.write(Utils.toBase64(chunk).getBytes(StandardCharsets.US_ASCII));
+			}
+		}
+	}
+
+	private int readChunk(InputStream is, byte[] buffer) throws IOException {
+		// the buffer shall be filled completely in order to keep the base64 output continuous
+		int length = 0;
+		int read;
+		while (length < buffer.length && (read = is.read(buffer, length, buffer.length - length)) != -1) {
+			length += read;
+		}
+		return length;
+	}
+
+	/**
+	 * Writes the serialized signature skeleton, replacing every placeholder
+	 * by the base64-encoded content of the corresponding document
+	 */
+	private class StreamedContentsOutputStream extends FilterOutputStream {
+
+		/** The bytes of the placeholder prefix */
+		private final byte[] prefix = STREAMED_CONTENT_PLACEHOLDER_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+		/** The bytes matching a placeholder, not yet written */
+		private final byte[] pending = new byte[prefix.length + PLACEHOLDER_UUID_LENGTH];
+
+		/** The number of pending bytes */
+		private int pendingLength = 0;
+
+		/** The number of replaced placeholders */
+		private int replacedPlaceholders = 0;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param os {@link OutputStream} to write into
+		 */
+		private StreamedContentsOutputStream(OutputStream os) {
+			super(new BufferedOutputStream(os));
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (pendingLength < prefix.length && (byte) b != prefix[pendingLength]) {
+				writeMismatch((byte) b);
+				return;
+			}
+			pending[pendingLength++] = (byte) b;
+			if (pendingLength == pending.length) {
+				final DSSDocument document = streamedContents.get(new String(pending, StandardCharsets.US_ASCII));
+				if (document != null) {
+					out.flush();
+					writeBase64(document, out);
+					++replacedPlaceholders;
+					pendingLength = 0;
+				} else {
+					writeMismatch(null);
+				}
+			}
+		}
+
+		private void writeMismatch(Byte b) throws IOException {
+			if (pendingLength == 0) {
+				out.write(b);
+				return;
+			}
+			// the first pending byte cannot start a placeholder, the following bytes are processed again
+			final byte[] toProcess = Arrays.copyOfRange(pending, 1, pendingLength);
+			out.write(pending[0]);
+			pendingLength = 0;
+			for (byte pendingByte : toProcess) {
+				write(pendingByte);
+			}
+			if (b != null) {
+				write(b);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.write(pending, 0, pendingLength);
+			pendingLength = 0;
+			super.close();
+		}
+
+		private void assertAllContentsWritten() {
+			if (replacedPlaceholders != streamedContents.size()) {
+				throw new DSSException(String.format("Unable to find the placeholders for the streamed contents! " +
+						"Replaced : %s, expected : %s", replacedPlaceholders, streamedContents.size()));
+			}
+		}
+
+	}
+
 }
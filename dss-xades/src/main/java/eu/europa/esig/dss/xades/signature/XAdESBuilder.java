@@ -323,16 +323,22 @@ public abstract class XAdESBuilder {
 	 * @return {@link DSSDocument}
 	 */
 	protected DSSDocument createXmlDocument() {
-		byte[] bytes;
+		final InMemoryDocument inMemoryDocument = new InMemoryDocument(DomUtils.serializeNode(getDocumentDomToSerialize()));
+		inMemoryDocument.setMimeType(MimeTypeEnum.XML);
+		return inMemoryDocument;
+	}
+
+	/**
+	 * Returns the DOM to be serialized into the output document (indented, when pretty-print is enabled)
+	 *
+	 * @return {@link Document}
+	 */
+	protected Document getDocumentDomToSerialize() {
 		if (SigningOperation.SIGN.equals(params.getContext().getOperationKind()) && params.isPrettyPrint()) {
 			alignNodes();
-			bytes = DomUtils.serializeNode(DSSXMLUtils.getDocWithIndentedSignature(documentDom, params.getDeterministicId(), getNotIndentedObjectIds()));
-		} else {
-			bytes = DomUtils.serializeNode(documentDom);
+			return DSSXMLUtils.getDocWithIndentedSignature(documentDom, params.getDeterministicId(), getNotIndentedObjectIds());
 		}
-		final InMemoryDocument inMemoryDocument = new InMemoryDocument(bytes);
-		inMemoryDocument.setMimeType(MimeTypeEnum.XML);
-		return inMemoryDocument;
+		return documentDom;
 	}
 
 	/**
@@ -22,6 +22,7 @@ package eu.europa.esig.dss.xades.signature;
 
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.xades.SignatureBuilder;
 import eu.europa.esig.dss.xades.XAdESSignatureParameters;
@@ -30,6 +31,7 @@ import eu.europa.esig.dss.xml.utils.SantuarioInitializer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Contains B level baseline profile for XAdES signature.
@@ -48,6 +50,16 @@ public class XAdESLevelBaselineB implements XAdESSignatureProfile {
 	 */
 	private CertificateVerifier certificateVerifier;
 
+	/**
+	 * Used to create the signed document when the signed content is streamed into the output
+	 */
+	private DSSResourcesHandlerBuilder resourcesHandlerBuilder;
+
+	/**
+	 * Used to compute the reference digests concurrently (optional)
+	 */
+	private ExecutorService referenceDigestExecutorService;
+
 	/**
 	 * The default constructor for XAdESLevelBaselineB.
 	 *
@@ -58,6 +70,25 @@ public class XAdESLevelBaselineB implements XAdESSignatureProfile {
 		this.certificateVerifier = certificateVerifier;
 	}
 
+	/**
+	 * Sets a {@code DSSResourcesHandlerBuilder} to be used for the creation of the signed document,
+	 * when the signed content is streamed into the output (see {@code XAdESSignatureParameters#isStreamEnvelopingContent})
+	 *
+	 * @param resourcesHandlerBuilder {@link DSSResourcesHandlerBuilder}
+	 */
+	public void setResourcesHandlerBuilder(DSSResourcesHandlerBuilder resourcesHandlerBuilder) {
+		this.resourcesHandlerBuilder = resourcesHandlerBuilder;
+	}
+
+	/**
+	 * Sets an {@code ExecutorService} to be used to compute digests of independent references concurrently
+	 *
+	 * @param referenceDigestExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceDigestExecutorService(ExecutorService referenceDigestExecutorService) {
+		this.referenceDigestExecutorService = referenceDigestExecutorService;
+	}
+
 	/**
 	 * Returns the canonicalized ds:SignedInfo XML segment under the form of InputStream.
 	 * This method is used for signing a document.
@@ -88,6 +119,10 @@ public class XAdESLevelBaselineB implements XAdESSignatureProfile {
 	 */
 	public byte[] getDataToSign(final List<DSSDocument> documents, final XAdESSignatureParameters parameters) throws DSSException {
 		final XAdESSignatureBuilder signatureBuilder = XAdESSignatureBuilder.getSignatureBuilder(parameters, documents, certificateVerifier);
+		if (resourcesHandlerBuilder != null) {
+			signatureBuilder.setResourcesHandlerBuilder(resourcesHandlerBuilder);
+		}
+		signatureBuilder.setReferenceDigestExecutorService(referenceDigestExecutorService);
 		parameters.getContext().setBuilder(signatureBuilder);
 		return signatureBuilder.build();
 	}
@@ -118,6 +153,12 @@ public class XAdESLevelBaselineB implements XAdESSignatureProfile {
 		} else {
 			builder = XAdESSignatureBuilder.getSignatureBuilder(parameters, toSignDocuments, certificateVerifier);
 		}
+		if (resourcesHandlerBuilder != null && builder instanceof XAdESSignatureBuilder) {
+			((XAdESSignatureBuilder) builder).setResourcesHandlerBuilder(resourcesHandlerBuilder);
+		}
+		if (referenceDigestExecutorService != null && builder instanceof XAdESSignatureBuilder) {
+			((XAdESSignatureBuilder) builder).setReferenceDigestExecutorService(referenceDigestExecutorService);
+		}
 		final DSSDocument dssDocument = builder.signDocument(signatureValue);
 		parameters.getContext().setBuilder(builder);
 		return dssDocument;
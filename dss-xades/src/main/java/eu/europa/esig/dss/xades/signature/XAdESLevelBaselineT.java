@@ -63,6 +63,7 @@ import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigElement;
 import eu.europa.esig.dss.xml.utils.DomUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -117,8 +118,10 @@ public class XAdESLevelBaselineT extends ExtensionBuilder implements SignatureEx
 			LOG.info("====> Extending: {}", (dssDocument.getName() == null ? "IN MEMORY DOCUMENT" : dssDocument.getName()));
 		}
 
-		documentAnalyzer = new XMLDocumentAnalyzer(dssDocument);
-		documentAnalyzer.setCertificateVerifier(certificateVerifier);
+		documentAnalyzer = createDocumentAnalyzer(dssDocument, context);
+		// re-uses the validation data obtained within the signing operation
+		documentAnalyzer.setCertificateVerifier(params.getSharedCertificateVerifier() != null ?
+				params.getSharedCertificateVerifier() : certificateVerifier);
 		documentAnalyzer.setDetachedContents(params.getDetachedContents());
 		documentAnalyzer.setValidationContextExecutor(CompleteValidationContextExecutor.INSTANCE);
 
@@ -152,6 +155,26 @@ public class XAdESLevelBaselineT extends ExtensionBuilder implements SignatureEx
 		return createXmlDocument();
 	}
 
+	/**
+	 * Creates a document analyzer for the given {@code dssDocument}.
+	 * When the document has just been created within the signing process, the DOM produced by
+	 * the signature builder is re-used, in order to avoid serialization and re-parsing of the signed document.
+	 *
+	 * @param dssDocument {@link DSSDocument} to be extended
+	 * @param context {@link XAdESProfileParameters}
+	 * @return {@link XMLDocumentAnalyzer}
+	 */
+	private XMLDocumentAnalyzer createDocumentAnalyzer(DSSDocument dssDocument, XAdESProfileParameters context) {
+		if (SigningOperation.SIGN.equals(context.getOperationKind()) && context.getBuilder() instanceof XAdESSignatureBuilder) {
+			final Document signedDocumentDom = ((XAdESSignatureBuilder) context.getBuilder()).getSignedDocumentDom(dssDocument);
+			if (signedDocumentDom != null) {
+				LOG.debug("The DOM of the created signature is re-used for the extension.");
+				return new XMLDocumentAnalyzer(dssDocument, signedDocumentDom);
+			}
+		}
+		return new XMLDocumentAnalyzer(dssDocument);
+	}
+
 	/**
 	 * This method is used to exclude signatures embedded within other signatures for consecutive extension
 	 *
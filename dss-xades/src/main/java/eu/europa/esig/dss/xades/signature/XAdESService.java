@@ -31,6 +31,8 @@ import eu.europa.esig.dss.signature.AbstractSignatureService;
 import eu.europa.esig.dss.signature.CounterSignatureService;
 import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
 import eu.europa.esig.dss.signature.SignatureExtension;
+import eu.europa.esig.dss.spi.metrics.DSSMetrics;
+import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 import eu.europa.esig.dss.utils.Utils;
@@ -50,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * XAdES implementation of DocumentSignatureService
@@ -68,6 +71,18 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 
 	private static final Logger LOG = LoggerFactory.getLogger(XAdESService.class);
 
+	/**
+	 * This object is used to create the signed document, when the signed content is streamed into the output
+	 * (see {@code XAdESSignatureParameters#setStreamEnvelopingContent}).
+	 * When not defined, the signed document is written into a temporary file.
+	 */
+	protected DSSResourcesHandlerBuilder resourcesHandlerBuilder;
+
+	/**
+	 * Used to compute digests of independent references concurrently on signature creation (optional)
+	 */
+	private transient ExecutorService referenceDigestExecutorService;
+
 	/**
 	 * This is the constructor to create an instance of the {@code XAdESService}. A certificate verifier must be
 	 * provided.
@@ -81,6 +96,34 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		LOG.debug("+ XAdESService created");
 	}
 
+	/**
+	 * This method sets a {@code DSSResourcesHandlerBuilder} to be used for the creation of the signed document,
+	 * when the signed content of an enveloping signature is streamed into the output
+	 * (see {@code XAdESSignatureParameters#setStreamEnvelopingContent}).
+	 * Use a configured {@code TempFileResourcesHandlerBuilder} in order to define the location of the created files,
+	 * or {@code InMemoryResourcesHandlerBuilder} to keep the signed document in memory.
+	 * Default : a {@code TempFileResourcesHandlerBuilder} with the system temporary directory
+	 *
+	 * @param resourcesHandlerBuilder {@link DSSResourcesHandlerBuilder}
+	 */
+	public void setResourcesHandlerBuilder(DSSResourcesHandlerBuilder resourcesHandlerBuilder) {
+		Objects.requireNonNull(resourcesHandlerBuilder, "DSSResourcesHandlerBuilder cannot be null!");
+		this.resourcesHandlerBuilder = resourcesHandlerBuilder;
+	}
+
+	/**
+	 * Sets an {@code ExecutorService} to be used to compute digests of independent references concurrently
+	 * on signature creation (e.g. for detached signatures with a lot of documents).
+	 * The order of the references within the signature is preserved.
+	 * When not defined, the references are processed sequentially (default behavior).
+	 * NOTE: the lifecycle of the {@code ExecutorService} shall be managed by the caller.
+	 *
+	 * @param referenceDigestExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceDigestExecutorService(ExecutorService referenceDigestExecutorService) {
+		this.referenceDigestExecutorService = referenceDigestExecutorService;
+	}
+
 	@Override
 	public TimestampToken getContentTimestamp(DSSDocument toSignDocument, XAdESSignatureParameters parameters) {
 		return getContentTimestamp(Collections.singletonList(toSignDocument), parameters);
@@ -109,6 +152,8 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		assertDocumentsValid(toSignDocuments);
 
 		final XAdESLevelBaselineB levelBaselineB = new XAdESLevelBaselineB(certificateVerifier);
+		levelBaselineB.setResourcesHandlerBuilder(resourcesHandlerBuilder);
+		levelBaselineB.setReferenceDigestExecutorService(referenceDigestExecutorService);
 		final byte[] dataToSign = levelBaselineB.getDataToSign(toSignDocuments, parameters);
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("Data to sign: ");
@@ -131,7 +176,21 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
 		Objects.requireNonNull(parameters.getSignatureLevel(), "SignatureLevel must be defined!");
 		Objects.requireNonNull(signatureValue, "SignatureValue cannot be null!");
-		
+
+		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters);
+		// the extension re-uses the signing certificate chain and its revocation data obtained on validation
+		final boolean validationDataShared = extension != null && initSharedValidationData(parameters);
+		try {
+			return signDocument(toSignDocuments, parameters, signatureValue, extension);
+		} finally {
+			if (validationDataShared) {
+				clearSharedValidationData(parameters);
+			}
+		}
+	}
+
+	private DSSDocument signDocument(List<DSSDocument> toSignDocuments, XAdESSignatureParameters parameters,
+			SignatureValue signatureValue, SignatureExtension<XAdESSignatureParameters> extension) {
 		assertSigningCertificateValid(parameters);
 		assertMultiDocumentsAllowed(toSignDocuments, parameters);
 		assertDocumentsValid(toSignDocuments);
@@ -142,16 +201,27 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		if (context.getProfile() != null) {
 			profile = context.getProfile();
 		} else {
-			profile = new XAdESLevelBaselineB(certificateVerifier);
+			final XAdESLevelBaselineB levelBaselineB = new XAdESLevelBaselineB(certificateVerifier);
+			levelBaselineB.setResourcesHandlerBuilder(resourcesHandlerBuilder);
+			levelBaselineB.setReferenceDigestExecutorService(referenceDigestExecutorService);
+			profile = levelBaselineB;
 		}
 
-		DSSDocument result = profile.signDocument(toSignDocuments, parameters, signatureValue.getValue());
-		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters);
+		DSSDocument result;
+		try (DSSMetrics.Timer timer = startSigningPhaseTimer(parameters.getSignatureLevel(), DSSMetrics.PHASE_CREATION)) {
+			result = profile.signDocument(toSignDocuments, parameters, signatureValue.getValue());
+		}
 		if (extension != null) {
+			if (parameters.isStreamEnvelopingContent()) {
+				LOG.warn("The signed content has been streamed into the signature, but the extension to {} loads " +
+						"the whole signed document into memory!", parameters.getSignatureLevel());
+			}
 			if (SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging())) {
 				parameters.getContext().setDetachedContents(toSignDocuments);
 			}
-			result = extension.extendSignatures(result, parameters);
+			try (DSSMetrics.Timer timer = startSigningPhaseTimer(parameters.getSignatureLevel(), DSSMetrics.PHASE_EXTENSION)) {
+				result = extension.extendSignatures(result, parameters);
+			}
 		}
 
 		// The internal parameters (e.g. deterministic Id) are reset between two consecutive signing operations.
@@ -40,6 +40,7 @@ import eu.europa.esig.dss.model.UserNotice;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.x509.BaselineBCertificateSelector;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampInclude;
@@ -77,6 +78,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class implements all the necessary mechanisms to build each form of the XML signature.
@@ -124,6 +126,18 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 	/** Cached UnsignedSignatureProperties element */
 	protected Element unsignedSignaturePropertiesDom;
 
+	/** The signed document created by the builder, which content corresponds to the current {@code documentDom} */
+	private DSSDocument signedDocument;
+
+	/**
+	 * Used to create the output document when the signed content is streamed (see {@code streamEnvelopingContent}).
+	 * When not defined, the output is written into a temporary file.
+	 */
+	protected DSSResourcesHandlerBuilder resourcesHandlerBuilder;
+
+	/** Used to compute the reference digests concurrently (optional) */
+	protected ExecutorService referenceDigestExecutorService;
+
 	/** Id-prefix for Reference element */
 	protected static final String REFERENCE_PREFIX = "r-";
 
@@ -435,6 +449,7 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 	 */
 	private void incorporateReferences() {
 		ReferenceProcessor referenceProcessor = new ReferenceProcessor(params);
+		referenceProcessor.setExecutorService(referenceDigestExecutorService);
 		referenceProcessor.incorporateReferences(signedInfoDom, params.getReferences(), getXmldsigNamespace());
 	}
 
@@ -1557,7 +1572,46 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		final String signatureValueBase64Encoded = Utils.toBase64(signatureValueBytes);
 		final Text signatureValueNode = documentDom.createTextNode(signatureValueBase64Encoded);
 		signatureValueDom.appendChild(signatureValueNode);
-		return createXmlDocument();
+		signedDocument = createXmlDocument();
+		return signedDocument;
+	}
+
+	/**
+	 * Sets a {@code DSSResourcesHandlerBuilder} to be used for the creation of the signed document,
+	 * when the signed content is streamed into the output (see {@code XAdESSignatureParameters#isStreamEnvelopingContent})
+	 *
+	 * @param resourcesHandlerBuilder {@link DSSResourcesHandlerBuilder}
+	 */
+	public void setResourcesHandlerBuilder(DSSResourcesHandlerBuilder resourcesHandlerBuilder) {
+		Objects.requireNonNull(resourcesHandlerBuilder, "DSSResourcesHandlerBuilder cannot be null!");
+		this.resourcesHandlerBuilder = resourcesHandlerBuilder;
+	}
+
+	/**
+	 * Sets an {@code ExecutorService} to be used to compute digests of independent references concurrently.
+	 * When not defined, the references are processed sequentially.
+	 *
+	 * @param referenceDigestExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceDigestExecutorService(ExecutorService referenceDigestExecutorService) {
+		this.referenceDigestExecutorService = referenceDigestExecutorService;
+	}
+
+	/**
+	 * Returns the DOM of the signed document, when the given {@code document} has been created by the current builder
+	 * within the {@code signDocument(signatureValue)} method.
+	 * This method allows extension of the created signature without re-parsing of the signed document.
+	 * NOTE: the DOM is returned as is (neither normalized nor copied) and is modified by the extension,
+	 * while the already serialized {@code document} stays unchanged.
+	 *
+	 * @param document {@link DSSDocument} to get the DOM for
+	 * @return {@link Document} when the {@code document} has been created by the builder, NULL otherwise
+	 */
+	Document getSignedDocumentDom(final DSSDocument document) {
+		if (document != null && document == signedDocument) {
+			return documentDom;
+		}
+		return null;
 	}
 
 	/**
@@ -32,6 +32,7 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.DSSMessageDigest;
 import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.ReferenceValidation;
 import eu.europa.esig.dss.model.SignaturePolicyStore;
@@ -43,6 +44,7 @@ import eu.europa.esig.dss.model.signature.SignatureCryptographicVerification;
 import eu.europa.esig.dss.model.signature.SignatureDigestReference;
 import eu.europa.esig.dss.model.signature.SignatureProductionPlace;
 import eu.europa.esig.dss.model.signature.SignerRole;
+import eu.europa.esig.dss.spi.DSSDocumentDigestPlanner;
 import eu.europa.esig.dss.spi.DSSSecurityProvider;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.SignatureCertificateSource;
@@ -91,8 +93,13 @@ import javax.xml.crypto.dsig.CanonicalizationMethod;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Parse an XAdES signature structure. Note that for each signature to be validated a new instance of this object must
@@ -133,6 +140,9 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 
 	/** Cached Apache Santuario Signature */
 	private transient XMLSignature santuarioSignature;
+
+	/** Used to compute digests of the detached documents concurrently (optional) */
+	private transient ExecutorService referenceDigestExecutorService;
 	
 	/**
 	 * A signature identifier provided by a Driving Application.
@@ -225,6 +235,18 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		this.disableXSWProtection = disableXSWProtection;
 	}
 
+	/**
+	 * Sets an {@code ExecutorService} to be used to compute digests of the detached documents concurrently
+	 * before the validation of the references. The references themselves are verified sequentially
+	 * (the DOM is not accessed concurrently) and the order of the validation results is preserved.
+	 * When not defined, all the digests are computed sequentially (default behavior).
+	 *
+	 * @param referenceDigestExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceDigestExecutorService(ExecutorService referenceDigestExecutorService) {
+		this.referenceDigestExecutorService = referenceDigestExecutorService;
+	}
+
 	/**
 	 * This method is called when creating a new instance of the {@code XAdESSignature} with unknown schema.
 	 */
@@ -866,6 +888,8 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 
 			final XMLSignature currentSantuarioSignature = getSantuarioSignature();
 			boolean atLeastOneReferenceElementFound = false;
+
+			computeDetachedContentDigests();
 			
 			List<Reference> santuarioReferences = getReferences();
 			for (Reference reference : santuarioReferences) {
@@ -969,6 +993,45 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		return referenceValidations;
 	}
 
+	/**
+	 * Computes digests of the detached documents concurrently, when an {@code ExecutorService} is defined.
+	 * The computed digests are cached within the documents and re-used on the references validation.
+	 * Each document is processed within a single task, as its digest cache is not thread-safe.
+	 */
+	private void computeDetachedContentDigests() {
+		if (referenceDigestExecutorService == null || Utils.collectionSize(detachedContents) < 2) {
+			return;
+		}
+		final Element signedInfo = getSignedInfo();
+		if (signedInfo == null) {
+			return;
+		}
+		// extracted from the DOM within the current thread
+		final Set<DigestAlgorithm> digestAlgorithms = getDetachedReferenceDigestAlgorithms(signedInfo);
+
+		final List<Future<?>> futures = new ArrayList<>();
+		for (DSSDocument document : detachedContents) {
+			if (document instanceof DigestDocument) {
+				// digests are provided
+				continue;
+			}
+			futures.add(referenceDigestExecutorService.submit(() -> {
+				new DSSDocumentDigestPlanner().register(document, digestAlgorithms).execute();
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DSSException("Interrupted while computing digests of the detached documents", e);
+			} catch (ExecutionException e) {
+				// the error is handled on the reference validation
+				LOG.debug("Unable to compute digest of a detached document : {}", e.getMessage());
+			}
+		}
+	}
+
 	private ReferenceValidation getCounterSignatureReferenceValidation(Reference counterSignatureReference,
 																	   XAdESSignature masterSignature) {
 		ReferenceValidation referenceValidation = new ReferenceValidation();
@@ -1064,6 +1127,43 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 			return null;
 		}
 	}
+
+	@Override
+	public Set<DigestAlgorithm> getDetachedContentsDigestAlgorithms() {
+		final Element signedInfo = getSignedInfo();
+		if (signedInfo == null) {
+			return Collections.emptySet();
+		}
+		return getDetachedReferenceDigestAlgorithms(signedInfo);
+	}
+
+	/**
+	 * Returns digest algorithms of the references which digest is computed on the original content of
+	 * a detached document, i.e. references pointing outside the current document and without transforms.
+	 * Each detached document may be matched against any of these references.
+	 *
+	 * @param signedInfo {@link Element} ds:SignedInfo
+	 * @return a set of {@link DigestAlgorithm}s
+	 */
+	private Set<DigestAlgorithm> getDetachedReferenceDigestAlgorithms(Element signedInfo) {
+		final Set<DigestAlgorithm> digestAlgorithms = new HashSet<>();
+		final NodeList referenceNodeList = DomUtils.getNodeList(signedInfo, XMLDSigPath.REFERENCE_PATH);
+		for (int ii = 0; ii < referenceNodeList.getLength(); ii++) {
+			final Element referenceElement = (Element) referenceNodeList.item(ii);
+			final String uriAttribute = XMLDSigAttribute.URI.getAttributeName();
+			if (referenceElement.hasAttribute(uriAttribute) && DSSXMLUtils.isSameDocumentReference(referenceElement.getAttribute(uriAttribute))) {
+				continue;
+			}
+			if (DomUtils.getElement(referenceElement, XMLDSigPath.TRANSFORMS_PATH) != null) {
+				continue;
+			}
+			final Digest digest = DSSXMLUtils.getDigestAndValue(referenceElement);
+			if (digest != null) {
+				digestAlgorithms.add(digest.getAlgorithm());
+			}
+		}
+		return digestAlgorithms;
+	}
 	
 	/**
 	 * Returns a list of all references contained in the given manifest
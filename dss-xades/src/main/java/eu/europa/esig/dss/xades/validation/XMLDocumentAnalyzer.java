@@ -42,6 +42,7 @@ import org.w3c.dom.NodeList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Validator of XML Signed document
@@ -61,6 +62,9 @@ public class XMLDocumentAnalyzer extends DefaultDocumentAnalyzer {
 	/** Defines if the XSW protection shall be disabled (false by default) */
 	private boolean disableXSWProtection = false;
 
+	/** Used to compute digests of the detached documents concurrently (optional) */
+	private ExecutorService referenceDigestExecutorService;
+
 	static {
 		DSSXMLUtils.registerXAdESNamespaces();
 	}
@@ -84,11 +88,34 @@ public class XMLDocumentAnalyzer extends DefaultDocumentAnalyzer {
 
 		this.document = dssDocument;
 		this.rootElement = toDomDocument(dssDocument);
+		this.xadesPathsHolders = getDefaultXAdESPathsHolders();
+	}
+
+	/**
+	 * The constructor to be used when the DOM of the {@code dssDocument} is already available
+	 * (e.g. during a signature creation), which allows skipping of the document's parsing.
+	 * NOTE: the {@code rootElement} shall correspond to the content of the {@code dssDocument}!
+	 *
+	 * @param dssDocument
+	 *                    The instance of {@code DSSDocument} to validate
+	 * @param rootElement
+	 *                    {@link Document} the DOM representation of the {@code dssDocument}
+	 */
+	public XMLDocumentAnalyzer(final DSSDocument dssDocument, final Document rootElement) {
+		Objects.requireNonNull(dssDocument, "Document to be validated cannot be null!");
+		Objects.requireNonNull(rootElement, "Root element cannot be null!");
+
+		this.document = dssDocument;
+		this.rootElement = rootElement;
+		this.xadesPathsHolders = getDefaultXAdESPathsHolders();
+	}
 
-		xadesPathsHolders = new ArrayList<>();
-		xadesPathsHolders.add(new XAdES111Path());
-		xadesPathsHolders.add(new XAdES122Path());
-		xadesPathsHolders.add(new XAdES132Path());
+	private List<XAdESPath> getDefaultXAdESPathsHolders() {
+		final List<XAdESPath> result = new ArrayList<>();
+		result.add(new XAdES111Path());
+		result.add(new XAdES122Path());
+		result.add(new XAdES132Path());
+		return result;
 	}
 
 	private Document toDomDocument(DSSDocument document) {
@@ -116,6 +143,22 @@ public class XMLDocumentAnalyzer extends DefaultDocumentAnalyzer {
 		this.disableXSWProtection = disableXSWProtection;
 	}
 
+	/**
+	 * Sets an {@code ExecutorService} to be used to compute digests of the detached documents concurrently
+	 * (e.g. for detached signatures with a lot of documents).
+	 * NOTE: the lifecycle of the {@code ExecutorService} shall be managed by the caller.
+	 *
+	 * @param referenceDigestExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceDigestExecutorService(ExecutorService referenceDigestExecutorService) {
+		this.referenceDigestExecutorService = referenceDigestExecutorService;
+	}
+
+	@Override
+	protected ExecutorService getDocumentDigestExecutorService() {
+		return referenceDigestExecutorService;
+	}
+
 	@Override
 	protected List<AdvancedSignature> buildSignatures() {
 		List<AdvancedSignature> signatures = new ArrayList<>();
@@ -137,6 +180,7 @@ public class XMLDocumentAnalyzer extends DefaultDocumentAnalyzer {
 			xadesSignature.setContainerContents(containerContents);
 			xadesSignature.setSigningCertificateSource(signingCertificateSource);
 			xadesSignature.setDisableXSWProtection(disableXSWProtection);
+			xadesSignature.setReferenceDigestExecutorService(referenceDigestExecutorService);
 			xadesSignature.initBaselineRequirementsChecker(certificateVerifier);
 			validateSignaturePolicy(xadesSignature);
 			signatures.add(xadesSignature);
@@ -26,6 +26,7 @@ import eu.europa.esig.dss.xades.definition.XAdESPath;
 import org.w3c.dom.Document;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Validator of XML Signed document
@@ -71,6 +72,17 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
         getDocumentAnalyzer().setDisableXSWProtection(disableXSWProtection);
     }
 
+    /**
+     * Sets an {@code ExecutorService} to be used to compute digests of the detached documents concurrently
+     * (e.g. for detached signatures with a lot of documents).
+     * NOTE: the lifecycle of the {@code ExecutorService} shall be managed by the caller.
+     *
+     * @param referenceDigestExecutorService {@link ExecutorService}
+     */
+    public void setReferenceDigestExecutorService(ExecutorService referenceDigestExecutorService) {
+        getDocumentAnalyzer().setReferenceDigestExecutorService(referenceDigestExecutorService);
+    }
+
     /**
      * This getter returns the {@code XAdESPaths}
      *
@@ -0,0 +1,55 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.warmup;
+
+import eu.europa.esig.dss.spi.warmup.WarmUpTask;
+import eu.europa.esig.dss.spi.warmup.WarmUpTaskProvider;
+import eu.europa.esig.dss.xml.utils.SantuarioInitializer;
+import eu.europa.esig.xades.XAdES319132Utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Initializes the Apache Santuario library and the XAdES schema used on structural validation of XAdES signatures
+ *
+ */
+public class XAdESWarmUpTaskProvider implements WarmUpTaskProvider {
+
+    /**
+     * Default constructor
+     */
+    public XAdESWarmUpTaskProvider() {
+        // empty
+    }
+
+    @Override
+    public List<WarmUpTask> getWarmUpTasks() {
+        return Arrays.asList(
+                new WarmUpTask("Apache Santuario", () -> {
+                    SantuarioInitializer.init();
+                    return null;
+                }),
+                new WarmUpTask("XAdES schema", () -> XAdES319132Utils.getInstance().getSchema())
+        );
+    }
+
+}
@@ -39,6 +39,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DSSXMLUtilsTest {
@@ -101,6 +102,30 @@ class DSSXMLUtilsTest {
 		assertNotNull(dom.getElementById("signedData"));
 	}
 
+	@Test
+	void setIdentifierNonNamespaceAware() {
+		Document dom = DomUtils.buildDOM();
+		Element root = dom.createElementNS("http://dss.esig.europa.eu/test", "test:root");
+		dom.appendChild(root);
+
+		Element child = dom.createElementNS("http://dss.esig.europa.eu/test", "test:child");
+		child.setAttribute("Identifier", "not-an-id");
+		child.setAttribute("Id", "child-id"); // DOM Level 1 attribute without local name
+		root.appendChild(child);
+		assertNull(child.getAttributeNode("Id").getLocalName());
+
+		DSSXMLUtils.setIDIdentifier(child);
+		assertEquals(child, dom.getElementById("child-id"));
+		assertNull(dom.getElementById("not-an-id"));
+
+		Element prefixedChild = dom.createElementNS("http://dss.esig.europa.eu/test", "test:child");
+		prefixedChild.setAttribute("test:Id", "prefixed-id");
+		root.appendChild(prefixedChild);
+
+		DSSXMLUtils.setIDIdentifier(prefixedChild);
+		assertNull(dom.getElementById("prefixed-id"));
+	}
+
 	@Test
 	void isDuplicateIdsDetected() {
 		assertTrue(DSSXMLUtils.isDuplicateIdsDetected(new FileDocument("src/test/resources/sample-duplicate-ids.xml")));
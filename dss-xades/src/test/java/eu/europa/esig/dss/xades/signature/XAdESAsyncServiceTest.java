@@ -0,0 +1,119 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XAdESAsyncServiceTest extends PKIFactoryAccess {
+
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void init() {
+		executorService = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void test() throws Exception {
+		DSSDocument documentToSign = new FileDocument(new File("src/test/resources/sample.xml"));
+
+		XAdESService service = new XAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+
+		XAdESSignatureParameters signatureParameters = getParameters(SignatureLevel.XAdES_BASELINE_B);
+		ToBeSigned dataToSign = service.getDataToSign(documentToSign, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+
+		CompletableFuture<Reports> reportsFuture = service.signDocumentAsync(documentToSign, signatureParameters, signatureValue, executorService)
+				.thenCompose(signedDocument -> service.extendDocumentAsync(signedDocument, getParameters(SignatureLevel.XAdES_BASELINE_T), executorService))
+				.thenCompose(extendedDocument -> {
+					SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(extendedDocument);
+					validator.setCertificateVerifier(getOfflineCertificateVerifier());
+					return validator.validateDocumentAsync(executorService);
+				});
+
+		Reports reports = reportsFuture.get(1, TimeUnit.MINUTES);
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(1, simpleReport.getSignatureIdList().size());
+		assertEquals(SignatureLevel.XAdES_BASELINE_T, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+		assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+	}
+
+	@Test
+	void failureTest() {
+		DSSDocument documentToSign = new FileDocument(new File("src/test/resources/sample.xml"));
+
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		CompletableFuture<DSSDocument> extendFuture = service.extendDocumentAsync(documentToSign,
+				getParameters(SignatureLevel.XAdES_BASELINE_T), executorService);
+
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> extendFuture.get(1, TimeUnit.MINUTES));
+		assertTrue(extendFuture.isCompletedExceptionally());
+		assertNotNull(exception.getCause());
+	}
+
+	private XAdESSignatureParameters getParameters(SignatureLevel signatureLevel) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		return signatureParameters;
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -0,0 +1,238 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.token.TokenBatchSigner;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XAdESBatchSigningTest extends PKIFactoryAccess {
+
+	@Test
+	void test() {
+		List<DSSDocument> documents = new ArrayList<>();
+		documents.add(new FileDocument(new File("src/test/resources/sample.xml")));
+		for (int i = 0; i < 5; i++) {
+			documents.add(new InMemoryDocument(("Hello " + i).getBytes(StandardCharsets.UTF_8), "doc" + i + ".bin"));
+		}
+
+		XAdESService service = new XAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+
+		AtomicInteger batchCalls = new AtomicInteger();
+		Date signingDate = new Date();
+		List<DSSDocument> signedDocuments = service.signDocuments(documents, document -> getParameters(signingDate),
+				(toBeSigned, signatureAlgorithm) -> {
+					batchCalls.incrementAndGet();
+					return toBeSigned.stream().map(tbs -> getToken().sign(tbs, signatureAlgorithm, getPrivateKeyEntry()))
+							.collect(Collectors.toList());
+				});
+		assertEquals(1, batchCalls.get());
+		assertEquals(documents.size(), signedDocuments.size());
+
+		for (DSSDocument signedDocument : signedDocuments) {
+			SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+			validator.setCertificateVerifier(getOfflineCertificateVerifier());
+			Reports reports = validator.validateDocument();
+
+			SimpleReport simpleReport = reports.getSimpleReport();
+			assertEquals(1, simpleReport.getSignatureIdList().size());
+			assertEquals(SignatureLevel.XAdES_BASELINE_LT, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+			assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+		}
+	}
+
+	@Test
+	void sharedValidationDataTest() {
+		AtomicInteger ocspCalls = new AtomicInteger();
+		AtomicInteger crlCalls = new AtomicInteger();
+		AtomicInteger tspCalls = new AtomicInteger();
+
+		CertificateVerifier certificateVerifier = getCompleteCertificateVerifier();
+		OCSPSource ocspSource = (OCSPSource) certificateVerifier.getOcspSource();
+		certificateVerifier.setOcspSource((OCSPSource) (certificateToken, issuerCertificateToken) -> {
+			ocspCalls.incrementAndGet();
+			return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		});
+		CRLSource crlSource = (CRLSource) certificateVerifier.getCrlSource();
+		certificateVerifier.setCrlSource((CRLSource) (certificateToken, issuerCertificateToken) -> {
+			crlCalls.incrementAndGet();
+			return crlSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		});
+		TSPSource tspSource = getGoodTsa();
+
+		XAdESService service = new XAdESService(certificateVerifier);
+		service.setTspSource((digestAlgorithm, digest) -> {
+			tspCalls.incrementAndGet();
+			return tspSource.getTimeStampResponse(digestAlgorithm, digest);
+		});
+
+		// reference : a single signature
+		DSSDocument document = new InMemoryDocument("Hello".getBytes(StandardCharsets.UTF_8), "doc.bin");
+		XAdESSignatureParameters parameters = getParameters(new Date());
+		ToBeSigned dataToSign = service.getDataToSign(document, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getSignatureAlgorithm(), getPrivateKeyEntry());
+		service.signDocument(document, parameters, signatureValue);
+
+		int singleOCSPCalls = ocspCalls.getAndSet(0);
+		int singleCRLCalls = crlCalls.getAndSet(0);
+		assertTrue(singleOCSPCalls + singleCRLCalls > 0);
+		assertEquals(1, tspCalls.getAndSet(0));
+
+		List<DSSDocument> documents = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			documents.add(new InMemoryDocument(("Hello " + i).getBytes(StandardCharsets.UTF_8), "doc" + i + ".bin"));
+		}
+		Date signingDate = new Date();
+		List<DSSDocument> signedDocuments = service.signDocuments(documents, d -> getParameters(signingDate),
+				new TokenBatchSigner(getToken(), getPrivateKeyEntry()));
+		assertEquals(documents.size(), signedDocuments.size());
+
+		// the revocation data is requested once for the whole batch
+		assertEquals(singleOCSPCalls, ocspCalls.get());
+		assertEquals(singleCRLCalls, crlCalls.get());
+		// a signature time-stamp covers a single signature value
+		assertEquals(documents.size(), tspCalls.get());
+
+		for (DSSDocument signedDocument : signedDocuments) {
+			SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+			validator.setCertificateVerifier(getOfflineCertificateVerifier());
+			Reports reports = validator.validateDocument();
+			SimpleReport simpleReport = reports.getSimpleReport();
+			assertEquals(SignatureLevel.XAdES_BASELINE_LT, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+			assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+		}
+	}
+
+	@Test
+	void tokenBatchSignerTest() {
+		List<DSSDocument> documents = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			documents.add(new InMemoryDocument(("Hello " + i).getBytes(StandardCharsets.UTF_8), "doc" + i + ".bin"));
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+			service.setBatchExecutorService(executorService);
+
+			List<DSSDocument> signedDocuments = service.signDocuments(documents, document -> {
+				XAdESSignatureParameters parameters = getParameters(new Date());
+				parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+				return parameters;
+			}, new TokenBatchSigner(getToken(), getPrivateKeyEntry()));
+			assertEquals(documents.size(), signedDocuments.size());
+			// the provided executor service is managed by the caller
+			assertFalse(executorService.isShutdown());
+
+			for (DSSDocument signedDocument : signedDocuments) {
+				SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+				validator.setCertificateVerifier(getOfflineCertificateVerifier());
+				Reports reports = validator.validateDocument();
+				SimpleReport simpleReport = reports.getSimpleReport();
+				assertEquals(SignatureLevel.XAdES_BASELINE_B, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+				assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	void differentSigningCertificatesTest() {
+		List<DSSDocument> documents = new ArrayList<>();
+		documents.add(new InMemoryDocument("Hello".getBytes(StandardCharsets.UTF_8), "doc.bin"));
+		documents.add(new InMemoryDocument("World".getBytes(StandardCharsets.UTF_8), "doc.bin"));
+
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		AtomicInteger counter = new AtomicInteger();
+		assertThrows(IllegalArgumentException.class, () -> service.signDocuments(documents, document -> {
+			XAdESSignatureParameters parameters = getParameters(new Date());
+			parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+			if (counter.incrementAndGet() > 1) {
+				parameters.setSigningCertificate(getCertificate("good-user-crl-ocsp"));
+			}
+			return parameters;
+		}, (toBeSigned, signatureAlgorithm) -> new ArrayList<SignatureValue>()));
+	}
+
+	@Test
+	void wrongNumberOfSignatureValuesTest() {
+		List<DSSDocument> documents = new ArrayList<>();
+		documents.add(new InMemoryDocument("Hello".getBytes(StandardCharsets.UTF_8), "doc.bin"));
+
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		Exception exception = assertThrows(Exception.class, () -> service.signDocuments(documents, document -> {
+			XAdESSignatureParameters parameters = getParameters(new Date());
+			parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+			return parameters;
+		}, (toBeSigned, signatureAlgorithm) -> new ArrayList<SignatureValue>()));
+		assertEquals("The BatchSigner shall return 1 signature values!", exception.getMessage());
+	}
+
+	private XAdESSignatureParameters getParameters(Date signingDate) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(signingDate);
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_LT);
+		return signatureParameters;
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
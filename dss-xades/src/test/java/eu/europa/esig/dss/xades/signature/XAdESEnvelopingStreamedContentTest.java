@@ -0,0 +1,184 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.signature.resources.InMemoryResourcesHandlerBuilder;
+import eu.europa.esig.dss.signature.resources.TempFileResourcesHandlerBuilder;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XAdESEnvelopingStreamedContentTest extends PKIFactoryAccess {
+
+	private static final Date SIGNING_DATE = new Date();
+
+	@Test
+	void sameOutputTest() {
+		DSSDocument toSignDocument = getLargeDocument();
+
+		DSSDocument streamedSignature = sign(toSignDocument, SignatureLevel.XAdES_BASELINE_B, true);
+		assertTrue(streamedSignature instanceof FileDocument);
+
+		DSSDocument signature = sign(toSignDocument, SignatureLevel.XAdES_BASELINE_B, false);
+		assertArrayEquals(DSSUtils.toByteArray(signature), DSSUtils.toByteArray(streamedSignature));
+
+		validate(streamedSignature, SignatureLevel.XAdES_BASELINE_B);
+	}
+
+	@Test
+	void defaultResourcesHandlerTest() {
+		DSSDocument toSignDocument = getLargeDocument();
+
+		XAdESService service = new XAdESService(getCompleteCertificateVerifier());
+		DSSDocument streamedSignature = sign(service, toSignDocument, getParameters(SignatureLevel.XAdES_BASELINE_B, true));
+		// the signed document is written into a temporary file by default
+		assertTrue(streamedSignature instanceof FileDocument);
+
+		DSSDocument signature = sign(service, toSignDocument, getParameters(SignatureLevel.XAdES_BASELINE_B, false));
+		assertTrue(signature instanceof InMemoryDocument);
+		assertArrayEquals(DSSUtils.toByteArray(signature), DSSUtils.toByteArray(streamedSignature));
+	}
+
+	@Test
+	void inMemoryResourcesHandlerTest() {
+		DSSDocument toSignDocument = getLargeDocument();
+
+		XAdESService service = new XAdESService(getCompleteCertificateVerifier());
+		service.setResourcesHandlerBuilder(new InMemoryResourcesHandlerBuilder());
+		DSSDocument streamedSignature = sign(service, toSignDocument, getParameters(SignatureLevel.XAdES_BASELINE_B, true));
+		assertTrue(streamedSignature instanceof InMemoryDocument);
+
+		DSSDocument signature = sign(service, toSignDocument, getParameters(SignatureLevel.XAdES_BASELINE_B, false));
+		assertArrayEquals(DSSUtils.toByteArray(signature), DSSUtils.toByteArray(streamedSignature));
+	}
+
+	@Test
+	void prettyPrintTest() {
+		DSSDocument toSignDocument = getLargeDocument();
+
+		XAdESSignatureParameters parameters = getParameters(SignatureLevel.XAdES_BASELINE_B, true);
+		parameters.setPrettyPrint(true);
+		DSSDocument streamedSignature = sign(getService(), toSignDocument, parameters);
+
+		parameters = getParameters(SignatureLevel.XAdES_BASELINE_B, false);
+		parameters.setPrettyPrint(true);
+		DSSDocument signature = sign(getService(), toSignDocument, parameters);
+		assertArrayEquals(DSSUtils.toByteArray(signature), DSSUtils.toByteArray(streamedSignature));
+
+		validate(streamedSignature, SignatureLevel.XAdES_BASELINE_B);
+	}
+
+	@Test
+	void multipleDocumentsTest() {
+		List<DSSDocument> toSignDocuments = Arrays.asList(getLargeDocument(),
+				new FileDocument(new File("src/test/resources/sample.xml")),
+				new InMemoryDocument(new byte[] { 1, 2 }, "small.bin"));
+
+		XAdESService service = getService();
+		XAdESSignatureParameters parameters = getParameters(SignatureLevel.XAdES_BASELINE_B, true);
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocuments, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		DSSDocument signedDocument = service.signDocument(toSignDocuments, parameters, signatureValue);
+
+		validate(signedDocument, SignatureLevel.XAdES_BASELINE_B);
+	}
+
+	@Test
+	void extensionTest() {
+		DSSDocument streamedSignature = sign(getLargeDocument(), SignatureLevel.XAdES_BASELINE_LT, true);
+		validate(streamedSignature, SignatureLevel.XAdES_BASELINE_LT);
+	}
+
+	private DSSDocument sign(DSSDocument toSignDocument, SignatureLevel signatureLevel, boolean streamContent) {
+		return sign(getService(), toSignDocument, getParameters(signatureLevel, streamContent));
+	}
+
+	private DSSDocument sign(XAdESService service, DSSDocument toSignDocument, XAdESSignatureParameters parameters) {
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		return service.signDocument(toSignDocument, parameters, signatureValue);
+	}
+
+	private void validate(DSSDocument signedDocument, SignatureLevel expectedLevel) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(1, simpleReport.getSignatureIdList().size());
+		assertEquals(expectedLevel, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+		assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+	}
+
+	private XAdESService getService() {
+		XAdESService service = new XAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+		service.setResourcesHandlerBuilder(new TempFileResourcesHandlerBuilder());
+		return service;
+	}
+
+	private XAdESSignatureParameters getParameters(SignatureLevel signatureLevel, boolean streamContent) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(SIGNING_DATE);
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		signatureParameters.setStreamEnvelopingContent(streamContent);
+		return signatureParameters;
+	}
+
+	private DSSDocument getLargeDocument() {
+		// not a multiple of the base64 chunk size
+		byte[] content = new byte[1024 * 1024 + 7];
+		new Random(42).nextBytes(content);
+		return new InMemoryDocument(content, "large.bin");
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
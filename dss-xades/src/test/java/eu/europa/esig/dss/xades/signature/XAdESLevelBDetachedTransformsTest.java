@@ -32,6 +32,7 @@ import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.SignatureValue;
 import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.signature.AdvancedSignature;
 import eu.europa.esig.dss.test.PKIFactoryAccess;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
@@ -50,6 +51,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -66,6 +68,8 @@ class XAdESLevelBDetachedTransformsTest extends PKIFactoryAccess {
 		XAdESSignatureParameters signatureParameters = getSignatureParameters(references);
 		
 		DSSDocument signed = sign(document, signatureParameters);
+		// digest of a transformed content cannot be pre-computed on the original document
+		assertEquals(Collections.emptySet(), getDetachedContentsDigestAlgorithms(signed, document));
 		
 		DiagnosticData diagnosticData = validate(signed, signatureParameters, document);
 		List<SignerDataWrapper> originalDocuments = diagnosticData.getOriginalSignerDocuments();
@@ -108,6 +112,7 @@ class XAdESLevelBDetachedTransformsTest extends PKIFactoryAccess {
 		XAdESSignatureParameters signatureParameters = getSignatureParameters(references);
 
 		DSSDocument signed = sign(dssDocument, signatureParameters);
+		assertEquals(Collections.singleton(DigestAlgorithm.SHA512), getDetachedContentsDigestAlgorithms(signed, dssDocument));
 
 		DiagnosticData diagnosticData = validate(signed, signatureParameters, dssDocument);
 		List<SignerDataWrapper> originalDocuments = diagnosticData.getOriginalSignerDocuments();
@@ -154,6 +159,14 @@ class XAdESLevelBDetachedTransformsTest extends PKIFactoryAccess {
 		return service.signDocument(document, signatureParameters, value);
 	}
 	
+	private Set<DigestAlgorithm> getDetachedContentsDigestAlgorithms(DSSDocument signedDocument, DSSDocument originalDocument) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setDetachedContents(Collections.singletonList(originalDocument));
+		List<AdvancedSignature> signatures = validator.getSignatures();
+		assertEquals(1, signatures.size());
+		return signatures.get(0).getDetachedContentsDigestAlgorithms();
+	}
+
 	private DiagnosticData validate(DSSDocument signedDocument, XAdESSignatureParameters signatureParameters, DSSDocument originalDocument) {
 		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
 		validator.setCertificateVerifier(getOfflineCertificateVerifier());
@@ -0,0 +1,196 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDigestMatcher;
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XAdESParallelReferenceDigestTest extends PKIFactoryAccess {
+
+	private static final Date SIGNING_DATE = new Date();
+
+	private static final String THREAD_NAME_PREFIX = "reference-digest-";
+
+	private static ExecutorService executorService;
+
+	@BeforeAll
+	static void init() {
+		AtomicInteger threadCounter = new AtomicInteger();
+		executorService = Executors.newFixedThreadPool(4, r -> {
+			Thread thread = new Thread(r, THREAD_NAME_PREFIX + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@AfterAll
+	static void close() {
+		executorService.shutdown();
+	}
+
+	@Test
+	void test() {
+		List<DSSDocument> documents = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			documents.add(new InMemoryDocument(("Hello world " + i).getBytes(StandardCharsets.UTF_8), "doc" + i + ".txt"));
+		}
+		documents.add(new FileDocument(new File("src/test/resources/sample.xml")));
+
+		// new instances in order to ensure the digests are not cached between the runs
+		Set<String> signingThreads = ConcurrentHashMap.newKeySet();
+		DSSDocument signedDocument = sign(copy(documents, signingThreads), executorService);
+		assertThreads(signingThreads);
+
+		Set<String> sequentialThreads = ConcurrentHashMap.newKeySet();
+		DSSDocument sequentiallySignedDocument = sign(copy(documents, sequentialThreads), null);
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), sequentialThreads);
+		assertArrayEquals(DSSUtils.toByteArray(sequentiallySignedDocument), DSSUtils.toByteArray(signedDocument));
+
+		Set<String> validationThreads = ConcurrentHashMap.newKeySet();
+		XMLDocumentValidator validator = new XMLDocumentValidator(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		validator.setDetachedContents(copy(documents, validationThreads));
+		validator.setReferenceDigestExecutorService(executorService);
+		Reports reports = validator.validateDocument();
+		assertThreads(validationThreads);
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+
+		List<XmlDigestMatcher> referenceDigestMatchers = signature.getDigestMatchers().stream()
+				.filter(d -> DigestMatcherType.REFERENCE == d.getType()).collect(Collectors.toList());
+		assertEquals(documents.size(), referenceDigestMatchers.size());
+		for (int i = 0; i < documents.size(); i++) {
+			XmlDigestMatcher digestMatcher = referenceDigestMatchers.get(i);
+			assertEquals(documents.get(i).getName(), digestMatcher.getUri());
+			assertTrue(digestMatcher.isDataFound());
+			assertTrue(digestMatcher.isDataIntact());
+		}
+	}
+
+	private List<DSSDocument> copy(List<DSSDocument> documents, Set<String> threads) {
+		return documents.stream().map(d -> new ThreadRecordingDocument(DSSUtils.toByteArray(d), d.getName(), threads))
+				.collect(Collectors.toList());
+	}
+
+	private void assertThreads(Set<String> threads) {
+		// the content of the documents is read on the executor only
+		assertFalse(threads.isEmpty());
+		for (String threadName : threads) {
+			assertTrue(threadName.startsWith(THREAD_NAME_PREFIX), threadName);
+		}
+	}
+
+	private DSSDocument sign(List<DSSDocument> documents, ExecutorService referenceDigestExecutorService) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(SIGNING_DATE);
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		service.setReferenceDigestExecutorService(referenceDigestExecutorService);
+
+		ToBeSigned dataToSign = service.getDataToSign(documents, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		return service.signDocument(documents, signatureParameters, signatureValue);
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+	private static class ThreadRecordingDocument extends InMemoryDocument {
+
+		private static final long serialVersionUID = 2707154339411384585L;
+
+		private final transient Set<String> threads;
+
+		ThreadRecordingDocument(byte[] bytes, String name, Set<String> threads) {
+			super(bytes, name);
+			this.threads = threads;
+		}
+
+		@Override
+		public InputStream openStream() {
+			// records the threads actually reading the content
+			return new FilterInputStream(super.openStream()) {
+
+				@Override
+				public int read() throws IOException {
+					threads.add(Thread.currentThread().getName());
+					return super.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					threads.add(Thread.currentThread().getName());
+					return super.read(b, off, len);
+				}
+
+			};
+		}
+
+	}
+
+}
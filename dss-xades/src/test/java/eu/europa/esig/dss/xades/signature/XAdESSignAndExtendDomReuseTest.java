@@ -0,0 +1,211 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * <p>
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * <p>
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * <p>
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.validation.XMLDocumentAnalyzer;
+import eu.europa.esig.dss.xml.utils.DomUtils;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XAdESSignAndExtendDomReuseTest extends PKIFactoryAccess {
+
+	@Test
+	void signedDocumentDomTest() {
+		DSSDocument toSignDocument = new FileDocument(new File("src/test/resources/sample.xml"));
+		XAdESSignatureParameters parameters = getParameters(SignatureLevel.XAdES_BASELINE_B, false);
+
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getDigestAlgorithm(), getPrivateKeyEntry());
+
+		XAdESSignatureBuilder builder = (XAdESSignatureBuilder) parameters.getContext().getBuilder();
+		assertNotNull(builder);
+
+		DSSDocument signedDocument = builder.signDocument(signatureValue.getValue());
+		Document documentDom = builder.getSignedDocumentDom(signedDocument);
+		assertNotNull(documentDom);
+		assertNull(builder.getSignedDocumentDom(new InMemoryDocument(DSSUtils.toByteArray(signedDocument))));
+		assertNull(builder.getSignedDocumentDom(null));
+
+		XMLDocumentAnalyzer domAnalyzer = new XMLDocumentAnalyzer(signedDocument, documentDom);
+		assertSame(documentDom, domAnalyzer.getRootElement());
+
+		XMLDocumentAnalyzer parsedAnalyzer = new XMLDocumentAnalyzer(signedDocument);
+		assertEquals(1, domAnalyzer.getSignatures().size());
+		assertEquals(parsedAnalyzer.getSignatures().get(0).getId(), domAnalyzer.getSignatures().get(0).getId());
+		assertEquals(DomUtils.serializeNode(parsedAnalyzer.getRootElement()).length, DomUtils.serializeNode(documentDom).length);
+	}
+
+	@Test
+	void signLTAEnvelopedTest() {
+		signAndValidate(SignaturePackaging.ENVELOPED, false);
+	}
+
+	@Test
+	void signLTAEnvelopingPrettyPrintTest() {
+		signAndValidate(SignaturePackaging.ENVELOPING, true);
+	}
+
+	@Test
+	void signLTADetachedTest() {
+		signAndValidate(SignaturePackaging.DETACHED, false);
+	}
+
+	private void signAndValidate(SignaturePackaging packaging, boolean prettyPrint) {
+		DSSDocument toSignDocument = new FileDocument(new File("src/test/resources/sample.xml"));
+		XAdESSignatureParameters parameters = getParameters(SignatureLevel.XAdES_BASELINE_LTA, prettyPrint);
+		parameters.setSignaturePackaging(packaging);
+
+		XAdESService service = new XAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		if (SignaturePackaging.DETACHED.equals(packaging)) {
+			validator.setDetachedContents(Collections.singletonList(toSignDocument));
+		}
+		Reports reports = validator.validateDocument();
+
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(1, simpleReport.getSignatureIdList().size());
+		assertEquals(SignatureLevel.XAdES_BASELINE_LTA, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+		assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+		assertEquals(2, diagnosticData.getTimestampList().size());
+		for (TimestampWrapper timestampWrapper : diagnosticData.getTimestampList()) {
+			assertTrue(timestampWrapper.isMessageImprintDataFound());
+			assertTrue(timestampWrapper.isMessageImprintDataIntact());
+		}
+	}
+
+	@Test
+	void validationDataReuseTest() {
+		Map<String, Integer> revocationCalls = new HashMap<>();
+		Map<String, Integer> aiaCalls = new HashMap<>();
+
+		CertificateVerifier certificateVerifier = getCompleteCertificateVerifier();
+		OCSPSource ocspSource = (OCSPSource) certificateVerifier.getOcspSource();
+		certificateVerifier.setOcspSource((OCSPSource) (certificateToken, issuerCertificateToken) -> {
+			revocationCalls.merge("OCSP-" + certificateToken.getDSSIdAsString(), 1, Integer::sum);
+			return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		});
+		CRLSource crlSource = (CRLSource) certificateVerifier.getCrlSource();
+		certificateVerifier.setCrlSource((CRLSource) (certificateToken, issuerCertificateToken) -> {
+			revocationCalls.merge("CRL-" + certificateToken.getDSSIdAsString(), 1, Integer::sum);
+			return crlSource.getRevocationToken(certificateToken, issuerCertificateToken);
+		});
+		AIASource aiaSource = certificateVerifier.getAIASource();
+		certificateVerifier.setAIASource(certificateToken -> {
+			aiaCalls.merge(certificateToken.getDSSIdAsString(), 1, Integer::sum);
+			return aiaSource.getCertificatesByAIA(certificateToken);
+		});
+
+		DSSDocument toSignDocument = new FileDocument(new File("src/test/resources/sample.xml"));
+		XAdESSignatureParameters parameters = getParameters(SignatureLevel.XAdES_BASELINE_LT, false);
+		parameters.setCheckCertificateRevocation(true);
+
+		XAdESService service = new XAdESService(certificateVerifier);
+		service.setTspSource(getGoodTsa());
+
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, parameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		revocationCalls.clear();
+		aiaCalls.clear();
+
+		DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
+		assertNull(parameters.getSharedCertificateVerifier());
+
+		// the validation data obtained on signing is re-used by the extension
+		assertTrue(revocationCalls.size() > 0);
+		for (Map.Entry<String, Integer> entry : revocationCalls.entrySet()) {
+			assertEquals(1, entry.getValue(), entry.getKey());
+		}
+		for (Map.Entry<String, Integer> entry : aiaCalls.entrySet()) {
+			assertEquals(1, entry.getValue(), entry.getKey());
+		}
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(SignatureLevel.XAdES_BASELINE_LT, simpleReport.getSignatureFormat(simpleReport.getFirstSignatureId()));
+		assertNotEquals(Indication.TOTAL_FAILED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+	}
+
+	private XAdESSignatureParameters getParameters(SignatureLevel signatureLevel, boolean prettyPrint) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(new Date());
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		signatureParameters.setPrettyPrint(prettyPrint);
+		return signatureParameters;
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
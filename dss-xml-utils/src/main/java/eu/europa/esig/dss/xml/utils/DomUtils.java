@@ -939,6 +939,23 @@ public final class DomUtils {
 	 */
 	public static byte[] serializeNode(final Node xmlNode) {
 		try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+			serializeNode(xmlNode, bos);
+			return bos.toByteArray();
+		} catch (IOException e) {
+			throw new DSSException("An error occurred during a node serialization.", e);
+		}
+	}
+
+	/**
+	 * This method performs the serialization of the given node into the {@code OutputStream}
+	 *
+	 * @param xmlNode
+	 *            The node to be serialized.
+	 * @param os
+	 *            {@link OutputStream} to write the serialized node into
+	 */
+	public static void serializeNode(final Node xmlNode, final OutputStream os) {
+		try {
 			Transformer transformer = getSecureTransformer();
 			Document document;
 			if (Node.DOCUMENT_NODE == xmlNode.getNodeType()) {
@@ -954,11 +971,10 @@ public final class DomUtils {
 				}
 			}
 
-			StreamResult result = new StreamResult(bos);
+			StreamResult result = new StreamResult(os);
 			Source source = new DOMSource(xmlNode);
 			transformer.transform(source, result);
 
-			return bos.toByteArray();
 		} catch (Exception e) {
 			throw new DSSException("An error occurred during a node serialization.", e);
 		}